@@ -0,0 +1,319 @@
+package net.ghielmetti.utilities;
+
+import java.util.Arrays;
+
+/**
+ * The values of one component of a {@link ColumnarList}, kept in an array of primitives when the class of the component
+ * allows it (<code>long</code>, <code>int</code> and <code>double</code>) or else in an array of objects.<br>
+ * The primitive columns don't accept <code>null</code> values.
+ *
+ * @author Leopoldo Ghielmetti
+ * @param <T> The class of the values
+ */
+abstract class Column<T> {
+  /**
+   * Creates the column best suited for the given class of values.
+   *
+   * @param <T> The class of the values
+   * @param inClass The class of the values.
+   * @param inCapacity The initial capacity.
+   * @return The column.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> Column<T> of(final Class<T> inClass, final int inCapacity) {
+    if (inClass == Long.class) {
+      return (Column<T>) new OfLong(inCapacity);
+    }
+
+    if (inClass == Integer.class) {
+      return (Column<T>) new OfInt(inCapacity);
+    }
+
+    if (inClass == Double.class) {
+      return (Column<T>) new OfDouble(inCapacity);
+    }
+
+    return new OfObject<>(inCapacity);
+  }
+
+  /**
+   * Compares the values of two rows in their natural order.
+   *
+   * @param inRow1 The first row.
+   * @param inRow2 The second row.
+   * @return The comparison result.
+   * @throws ClassCastException If the values aren't {@link Comparable}.
+   */
+  abstract int compare(int inRow1, int inRow2);
+
+  /**
+   * Compares the value of a row with the given value in their natural order.
+   *
+   * @param inRow The row.
+   * @param inValue The value.
+   * @return The comparison result.
+   * @throws ClassCastException If the values aren't {@link Comparable}.
+   */
+  abstract int compareTo(int inRow, T inValue);
+
+  /**
+   * Forgets the values of the given rows, so that they can be collected.
+   *
+   * @param inFrom The first row.
+   * @param inTo The row after the last one.
+   */
+  void erase(final int inFrom, final int inTo) {
+    // The primitives don't retain anything
+  }
+
+  /**
+   * Returns the value of a row.
+   *
+   * @param inRow The row.
+   * @return The value.
+   */
+  abstract T get(int inRow);
+
+  /**
+   * Moves a range of rows, like {@link System#arraycopy(Object, int, Object, int, int)} does.
+   *
+   * @param inFrom The first row to move.
+   * @param inTo Where the first row goes.
+   * @param inLength The number of rows.
+   */
+  abstract void move(int inFrom, int inTo, int inLength);
+
+  /**
+   * Reorders the rows: the new row <code>i</code> is the old row <code>inOrder[i]</code>.
+   *
+   * @param inOrder The new order of the rows.
+   */
+  abstract void permute(int[] inOrder);
+
+  /**
+   * Changes the capacity of the column, keeping the values that fit.
+   *
+   * @param inCapacity The new capacity.
+   */
+  abstract void resize(int inCapacity);
+
+  /**
+   * Changes the value of a row.
+   *
+   * @param inRow The row.
+   * @param inValue The value.
+   */
+  abstract void set(int inRow, T inValue);
+
+  /** A column of <code>long</code>. */
+  static final class OfLong extends Column<Long> {
+    private long[] values;
+
+    OfLong(final int inCapacity) {
+      values = new long[inCapacity];
+    }
+
+    @Override
+    int compare(final int inRow1, final int inRow2) {
+      return Long.compare(values[inRow1], values[inRow2]);
+    }
+
+    @Override
+    int compareTo(final int inRow, final Long inValue) {
+      return Long.compare(values[inRow], inValue.longValue());
+    }
+
+    @Override
+    Long get(final int inRow) {
+      return Long.valueOf(values[inRow]);
+    }
+
+    @Override
+    void move(final int inFrom, final int inTo, final int inLength) {
+      System.arraycopy(values, inFrom, values, inTo, inLength);
+    }
+
+    @Override
+    void permute(final int[] inOrder) {
+      long[] permuted = new long[values.length];
+
+      for (int i = 0; i < inOrder.length; i++) {
+        permuted[i] = values[inOrder[i]];
+      }
+
+      values = permuted;
+    }
+
+    @Override
+    void resize(final int inCapacity) {
+      values = Arrays.copyOf(values, inCapacity);
+    }
+
+    @Override
+    void set(final int inRow, final Long inValue) {
+      values[inRow] = inValue.longValue();
+    }
+  }
+
+  /** A column of <code>int</code>. */
+  static final class OfInt extends Column<Integer> {
+    private int[] values;
+
+    OfInt(final int inCapacity) {
+      values = new int[inCapacity];
+    }
+
+    @Override
+    int compare(final int inRow1, final int inRow2) {
+      return Integer.compare(values[inRow1], values[inRow2]);
+    }
+
+    @Override
+    int compareTo(final int inRow, final Integer inValue) {
+      return Integer.compare(values[inRow], inValue.intValue());
+    }
+
+    @Override
+    Integer get(final int inRow) {
+      return Integer.valueOf(values[inRow]);
+    }
+
+    @Override
+    void move(final int inFrom, final int inTo, final int inLength) {
+      System.arraycopy(values, inFrom, values, inTo, inLength);
+    }
+
+    @Override
+    void permute(final int[] inOrder) {
+      int[] permuted = new int[values.length];
+
+      for (int i = 0; i < inOrder.length; i++) {
+        permuted[i] = values[inOrder[i]];
+      }
+
+      values = permuted;
+    }
+
+    @Override
+    void resize(final int inCapacity) {
+      values = Arrays.copyOf(values, inCapacity);
+    }
+
+    @Override
+    void set(final int inRow, final Integer inValue) {
+      values[inRow] = inValue.intValue();
+    }
+  }
+
+  /** A column of <code>double</code>. */
+  static final class OfDouble extends Column<Double> {
+    private double[] values;
+
+    OfDouble(final int inCapacity) {
+      values = new double[inCapacity];
+    }
+
+    @Override
+    int compare(final int inRow1, final int inRow2) {
+      return Double.compare(values[inRow1], values[inRow2]);
+    }
+
+    @Override
+    int compareTo(final int inRow, final Double inValue) {
+      return Double.compare(values[inRow], inValue.doubleValue());
+    }
+
+    @Override
+    Double get(final int inRow) {
+      return Double.valueOf(values[inRow]);
+    }
+
+    @Override
+    void move(final int inFrom, final int inTo, final int inLength) {
+      System.arraycopy(values, inFrom, values, inTo, inLength);
+    }
+
+    @Override
+    void permute(final int[] inOrder) {
+      double[] permuted = new double[values.length];
+
+      for (int i = 0; i < inOrder.length; i++) {
+        permuted[i] = values[inOrder[i]];
+      }
+
+      values = permuted;
+    }
+
+    @Override
+    void resize(final int inCapacity) {
+      values = Arrays.copyOf(values, inCapacity);
+    }
+
+    @Override
+    void set(final int inRow, final Double inValue) {
+      values[inRow] = inValue.doubleValue();
+    }
+  }
+
+  /**
+   * A column of objects.
+   *
+   * @param <T> The class of the values
+   */
+  static final class OfObject<T> extends Column<T> {
+    private Object[] values;
+
+    OfObject(final int inCapacity) {
+      values = new Object[inCapacity];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    int compare(final int inRow1, final int inRow2) {
+      return ((Comparable<Object>) values[inRow1]).compareTo(values[inRow2]);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    int compareTo(final int inRow, final T inValue) {
+      return ((Comparable<Object>) values[inRow]).compareTo(inValue);
+    }
+
+    @Override
+    void erase(final int inFrom, final int inTo) {
+      Arrays.fill(values, inFrom, inTo, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    T get(final int inRow) {
+      return (T) values[inRow];
+    }
+
+    @Override
+    void move(final int inFrom, final int inTo, final int inLength) {
+      System.arraycopy(values, inFrom, values, inTo, inLength);
+    }
+
+    @Override
+    void permute(final int[] inOrder) {
+      Object[] permuted = new Object[values.length];
+
+      for (int i = 0; i < inOrder.length; i++) {
+        permuted[i] = values[inOrder[i]];
+      }
+
+      values = permuted;
+    }
+
+    @Override
+    void resize(final int inCapacity) {
+      values = Arrays.copyOf(values, inCapacity);
+    }
+
+    @Override
+    void set(final int inRow, final T inValue) {
+      values[inRow] = inValue;
+    }
+  }
+}
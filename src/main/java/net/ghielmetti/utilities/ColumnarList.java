@@ -0,0 +1,188 @@
+package net.ghielmetti.utilities;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The common part of the lists keeping each component of their elements in a {@link Column} of its own: the elements
+ * exist only in the columns and are created on demand by {@link #get(int)}.<br>
+ * The rows are sorted by sorting an array of row numbers and then reordering every column once.<br>
+ * This class is not thread safe.
+ *
+ * @author Leopoldo Ghielmetti
+ * @param <E> The class of the elements
+ */
+abstract class ColumnarList<E> extends AbstractList<E> implements RandomAccess {
+  /** The initial capacity of the lists. */
+  static final int          DEFAULT_CAPACITY          = 16;
+  // Under that size the runs are sorted by insertion
+  private static final int  INSERTION_SORT_THRESHOLD  = 7;
+
+  private final Column<?>[] columns;
+  private int               capacity;
+  private int               size;
+
+  /**
+   * Constructor.
+   *
+   * @param inCapacity The capacity of the columns.
+   * @param inColumns The columns of the list.
+   */
+  ColumnarList(final int inCapacity, final Column<?>... inColumns) {
+    capacity = inCapacity;
+    columns = inColumns;
+  }
+
+  /**
+   * Sorts the row numbers.
+   *
+   * @param inSource A copy of the row numbers to sort.
+   * @param inDestination The row numbers to sort.
+   * @param inLow The first row number to sort.
+   * @param inHigh The index after the last row number to sort.
+   * @param inComparator Compares two rows.
+   */
+  private static void mergeSort(final int[] inSource, final int[] inDestination, final int inLow, final int inHigh, final IntBinaryOperator inComparator) {
+    if (inHigh - inLow < INSERTION_SORT_THRESHOLD) {
+      for (int i = inLow + 1; i < inHigh; i++) {
+        for (int j = i; j > inLow && inComparator.applyAsInt(inDestination[j - 1], inDestination[j]) > 0; j--) {
+          int row = inDestination[j];
+          inDestination[j] = inDestination[j - 1];
+          inDestination[j - 1] = row;
+        }
+      }
+
+      return;
+    }
+
+    // Each half is sorted in the source, then both are merged in the destination
+    int middle = (inLow + inHigh) >>> 1;
+    mergeSort(inDestination, inSource, inLow, middle, inComparator);
+    mergeSort(inDestination, inSource, middle, inHigh, inComparator);
+
+    if (inComparator.applyAsInt(inSource[middle - 1], inSource[middle]) <= 0) {
+      System.arraycopy(inSource, inLow, inDestination, inLow, inHigh - inLow);
+      return;
+    }
+
+    for (int i = inLow, p = inLow, q = middle; i < inHigh; i++) {
+      if (q >= inHigh || p < middle && inComparator.applyAsInt(inSource[p], inSource[q]) <= 0) {
+        inDestination[i] = inSource[p++];
+      } else {
+        inDestination[i] = inSource[q++];
+      }
+    }
+  }
+
+  @Override
+  public void clear() {
+    for (Column<?> column : columns) {
+      column.erase(0, size);
+    }
+
+    size = 0;
+    modCount++;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Adds an empty row at the end of the list.
+   *
+   * @return The index of the row.
+   */
+  int addRow() {
+    if (size == capacity) {
+      capacity = Math.max(DEFAULT_CAPACITY, capacity + (capacity >> 1));
+
+      for (Column<?> column : columns) {
+        column.resize(capacity);
+      }
+    }
+
+    modCount++;
+    return size++;
+  }
+
+  /**
+   * Verifies the given index.
+   *
+   * @param inIndex The index.
+   * @throws IndexOutOfBoundsException If there is no row at this index.
+   */
+  void checkIndex(final int inIndex) {
+    if (inIndex < 0 || inIndex >= size) {
+      throw new IndexOutOfBoundsException("Index: " + inIndex + ", Size: " + size);
+    }
+  }
+
+  /**
+   * Removes a row, the following rows are moved back.
+   *
+   * @param inIndex The index of the row.
+   */
+  void removeRow(final int inIndex) {
+    checkIndex(inIndex);
+
+    for (Column<?> column : columns) {
+      column.move(inIndex + 1, inIndex, size - inIndex - 1);
+      column.erase(size - 1, size);
+    }
+
+    size--;
+    modCount++;
+  }
+
+  /**
+   * Searches a row using the binary search algorithm, the rows must be sorted accordingly.
+   *
+   * @param inComparator Compares a row with the searched value.
+   * @return The index of a matching row or else <code>(-(insertion point) - 1)</code> like
+   *         {@link java.util.Arrays#binarySearch(int[], int)}.
+   */
+  int searchRow(final IntUnaryOperator inComparator) {
+    int low = 0;
+    int high = size - 1;
+
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int comparison = inComparator.applyAsInt(middle);
+
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+
+    return -(low + 1);
+  }
+
+  /**
+   * Sorts the rows. The sort is stable: the equal rows keep their order.
+   *
+   * @param inComparator Compares two rows.
+   */
+  void sortRows(final IntBinaryOperator inComparator) {
+    int[] order = new int[size];
+
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+
+    mergeSort(order.clone(), order, 0, size, inComparator);
+
+    for (Column<?> column : columns) {
+      column.permute(order);
+    }
+
+    modCount++;
+  }
+}
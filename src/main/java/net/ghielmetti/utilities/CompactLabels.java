@@ -0,0 +1,218 @@
+package net.ghielmetti.utilities;
+
+import java.lang.ref.WeakReference;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable and compact {@link Map} of labels.<br>
+ * The keys are kept in a {@link LabelIndex} shared by all the languages in use and the values of one language are
+ * packed one after the other in a single byte array, in ISO 8859-1 when all the characters allow it or else in UTF-8.
+ * The lookup stays O(1) but no {@link String} is kept for the values, it's decoded on demand.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+final class CompactLabels extends AbstractMap<String, String> {
+  // The labels still referenced, their keys are the ones kept when the shared index is rebuilt
+  private static final List<WeakReference<CompactLabels>> live        = new ArrayList<>();
+  private static LabelIndex                               sharedIndex = LabelIndex.build(new ArrayList<>());
+
+  private final LabelIndex                                index;
+  private final byte[]                                    values;
+  // The value of the slot i goes from offsets[i] to offsets[i + 1], a negative offset marks a missing value
+  private final int[]                                     offsets;
+  private final Charset                                   charset;
+  private final int                                       size;
+
+  private CompactLabels(final LabelIndex inIndex, final byte[] inValues, final int[] inOffsets, final Charset inCharset, final int inSize) {
+    index = inIndex;
+    values = inValues;
+    offsets = inOffsets;
+    charset = inCharset;
+    size = inSize;
+  }
+
+  /**
+   * Packs the given labels.
+   *
+   * @param inLabels The labels.
+   * @return The packed labels.
+   */
+  static CompactLabels of(final Map<String, String> inLabels) {
+    LabelIndex labelIndex = indexFor(inLabels.keySet());
+    Charset charset = isLatin1(inLabels.values()) ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8;
+    byte[][] encoded = new byte[labelIndex.capacity()][];
+    int total = 0;
+
+    for (Map.Entry<String, String> entry : inLabels.entrySet()) {
+      byte[] bytes = entry.getValue().getBytes(charset);
+      encoded[labelIndex.indexOf(entry.getKey())] = bytes;
+      total += bytes.length;
+    }
+
+    byte[] values = new byte[total];
+    int[] offsets = new int[encoded.length + 1];
+    int position = 0;
+
+    for (int i = 0; i < encoded.length; i++) {
+      if (encoded[i] == null) {
+        offsets[i] = -1 - position;
+      } else {
+        offsets[i] = position;
+        System.arraycopy(encoded[i], 0, values, position, encoded[i].length);
+        position += encoded[i].length;
+      }
+    }
+
+    offsets[encoded.length] = position;
+
+    CompactLabels labels = new CompactLabels(labelIndex, values, offsets, charset, inLabels.size());
+    register(labels);
+    return labels;
+  }
+
+  /**
+   * Returns the shared index if it contains all the keys or else replaces it by a new one built from the given keys and
+   * the keys of the labels still in use. The languages loaded before keep the previous index, but as soon as all the
+   * keys are known all the languages share the same one.<br>
+   * The keys of the labels no longer referenced are dropped at the next rebuild, the index is also rebuilt when they are
+   * more than the keys in use.
+   *
+   * @param inKeys The keys that must be in the index.
+   * @return The index.
+   */
+  private static synchronized LabelIndex indexFor(final Set<String> inKeys) {
+    Set<String> keys = new HashSet<>(inKeys);
+
+    for (Iterator<WeakReference<CompactLabels>> i = live.iterator(); i.hasNext();) {
+      CompactLabels labels = i.next().get();
+
+      if (labels == null) {
+        i.remove();
+      } else {
+        labels.addKeysTo(keys);
+      }
+    }
+
+    if (!sharedIndex.containsAll(inKeys) || sharedIndex.size() > 2 * keys.size()) {
+      sharedIndex = LabelIndex.build(keys);
+    }
+
+    return sharedIndex;
+  }
+
+  private static boolean isLatin1(final Iterable<String> inValues) {
+    for (String value : inValues) {
+      for (int i = 0; i < value.length(); i++) {
+        if (value.charAt(i) > 0xFF) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  private static synchronized void register(final CompactLabels inLabels) {
+    live.add(new WeakReference<>(inLabels));
+  }
+
+  @Override
+  public boolean containsKey(final Object inKey) {
+    int slot = index.indexOf(inKey);
+    return slot >= 0 && offsets[slot] >= 0;
+  }
+
+  @Override
+  public Set<Map.Entry<String, String>> entrySet() {
+    return new AbstractSet<Map.Entry<String, String>>() {
+      @Override
+      public Iterator<Map.Entry<String, String>> iterator() {
+        return new EntryIterator();
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public String get(final Object inKey) {
+    int slot = index.indexOf(inKey);
+    return slot < 0 ? null : valueAt(slot);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * For test purposes.
+   *
+   * @return The index of the keys.
+   */
+  LabelIndex getIndex() {
+    return index;
+  }
+
+  private void addKeysTo(final Set<String> inKeys) {
+    for (int slot = 0; slot < index.capacity(); slot++) {
+      if (offsets[slot] >= 0) {
+        inKeys.add(index.keyAt(slot));
+      }
+    }
+  }
+
+  private int end(final int inSlot) {
+    int next = offsets[inSlot + 1];
+    return next < 0 ? -1 - next : next;
+  }
+
+  private String valueAt(final int inSlot) {
+    int start = offsets[inSlot];
+    return start < 0 ? null : new String(values, start, end(inSlot) - start, charset);
+  }
+
+  /** Iterates over the slots having a value. */
+  private final class EntryIterator implements Iterator<Map.Entry<String, String>> {
+    private int next = advance(0);
+
+    @Override
+    public boolean hasNext() {
+      return next < index.capacity();
+    }
+
+    @Override
+    public Map.Entry<String, String> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      int slot = next;
+      next = advance(slot + 1);
+      return new SimpleImmutableEntry<>(index.keyAt(slot), valueAt(slot));
+    }
+
+    private int advance(final int inSlot) {
+      int slot = inSlot;
+
+      while (slot < index.capacity() && offsets[slot] < 0) {
+        slot++;
+      }
+
+      return slot;
+    }
+  }
+}
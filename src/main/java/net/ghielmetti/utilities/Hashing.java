@@ -0,0 +1,111 @@
+package net.ghielmetti.utilities;
+
+/**
+ * Hash functions spreading the bits of the values, so that near values (like small coordinates) don't cluster in the
+ * hash tables.<br>
+ * The mixing functions are the finalizers of the Murmur3 hash.<br>
+ * The hash codes of the tuples of objects are combined by {@link #combine(int, int)}, which packs the small values
+ * instead of mixing them.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+final class Hashing {
+  private Hashing() {
+    // nothing to do
+  }
+
+  /**
+   * Returns the hash of two hash codes, for the tuples of objects.<br>
+   * A right value below 32 (like a column, an ordinal or a flag) is packed under a left value below 2<sup>26</sup>:
+   * the tuples of small values get distinct and dense hash codes, that fill a hash table without collisions. The other
+   * values are mixed by {@link #hash(int, int)}.
+   *
+   * @param inLeft The left hash code.
+   * @param inRight The right hash code.
+   * @return The hash.
+   */
+  static int combine(final int inLeft, final int inRight) {
+    if (inLeft >>> 26 == 0 && inRight >>> 5 == 0) {
+      return inLeft << 5 | inRight;
+    }
+
+    return hash(inLeft, inRight);
+  }
+
+  /**
+   * Returns the hash of two integers.
+   *
+   * @param inValue1 The first value.
+   * @param inValue2 The second value.
+   * @return The hash.
+   */
+  static int hash(final int inValue1, final int inValue2) {
+    return hash((long) inValue1 << 32 | inValue2 & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Returns the hash of three integers.
+   *
+   * @param inValue1 The first value.
+   * @param inValue2 The second value.
+   * @param inValue3 The third value.
+   * @return The hash.
+   */
+  static int hash(final int inValue1, final int inValue2, final int inValue3) {
+    return hash(mix((long) inValue1 << 32 | inValue2 & 0xFFFFFFFFL) ^ inValue3 & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Returns the hash of a long.
+   *
+   * @param inValue The value.
+   * @return The hash.
+   */
+  static int hash(final long inValue) {
+    long h = mix(inValue);
+    return (int) (h ^ h >>> 32);
+  }
+
+  /**
+   * Returns the hash of a long and an integer.
+   *
+   * @param inValue1 The first value.
+   * @param inValue2 The second value.
+   * @return The hash.
+   */
+  static int hash(final long inValue1, final int inValue2) {
+    return hash(mix(inValue1) ^ inValue2 & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Spreads the bits of an integer, this is a bijection.
+   *
+   * @param inValue The value.
+   * @return The mixed value.
+   */
+  static int mix(final int inValue) {
+    int h = inValue;
+    h ^= h >>> 16;
+    h *= 0x85EBCA6B;
+    h ^= h >>> 13;
+    h *= 0xC2B2AE35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  /**
+   * Spreads the bits of a long, this is a bijection.
+   *
+   * @param inValue The value.
+   * @return The mixed value.
+   */
+  static long mix(final long inValue) {
+    long h = inValue;
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,79 @@
+package net.ghielmetti.utilities;
+
+/**
+ * An immutable group of three <code>int</code>, like a {@link Trio Trio&lt;Integer, Integer, Integer&gt;} without the
+ * boxing.<br>
+ * The hash code mixes the three values, so the groups of small values (like sheet, row and column) are well
+ * distributed in the hash tables. For the lookups without any object, see {@link IntIntIntTrioMap}.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class IntIntIntTrio {
+  private final int left;
+  private final int center;
+  private final int right;
+
+  /**
+   * Create a new group.
+   *
+   * @param inLeft The left value
+   * @param inCenter The center value
+   * @param inRight The right value
+   */
+  public IntIntIntTrio(final int inLeft, final int inCenter, final int inRight) {
+    left = inLeft;
+    center = inCenter;
+    right = inRight;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    if (!(obj instanceof IntIntIntTrio)) {
+      return false;
+    }
+
+    IntIntIntTrio other = (IntIntIntTrio) obj;
+    return left == other.left && center == other.center && right == other.right;
+  }
+
+  /**
+   * Returns the center value
+   *
+   * @return The value
+   */
+  public int getCenter() {
+    return center;
+  }
+
+  /**
+   * Returns the left value
+   *
+   * @return The value
+   */
+  public int getLeft() {
+    return left;
+  }
+
+  /**
+   * Returns the right value
+   *
+   * @return The value
+   */
+  public int getRight() {
+    return right;
+  }
+
+  @Override
+  public int hashCode() {
+    return Hashing.hash(left, center, right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + center + "," + right + ")";
+  }
+}
@@ -0,0 +1,277 @@
+package net.ghielmetti.utilities;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A hash map whose keys are groups of three <code>int</code>, the lookups don't need any key object.<br>
+ * The keys are stored in three <code>int</code> arrays and the values in a fourth array (open addressing with linear
+ * probing), so an entry costs no object besides the value. The <code>null</code> values are not allowed.<br>
+ * This class is not thread safe.
+ *
+ * @author Leopoldo Ghielmetti
+ * @param <V> The class of the values
+ */
+public class IntIntIntTrioMap<V> {
+  private static final int DEFAULT_SIZE = 16;
+
+  private int[]            lefts;
+  private int[]            centers;
+  private int[]            rights;
+  private Object[]         values;
+  private int              mask;
+  private int              threshold;
+  private int              size;
+
+  /** Constructor. */
+  public IntIntIntTrioMap() {
+    this(DEFAULT_SIZE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param inExpectedSize The number of entries the map can contain before growing.
+   */
+  public IntIntIntTrioMap(final int inExpectedSize) {
+    allocate(IntIntPairMap.capacityFor(inExpectedSize));
+  }
+
+  /** Removes all the entries. */
+  public void clear() {
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  /**
+   * Returns <code>true</code> if the map contains the given key.
+   *
+   * @param inLeft The left value of the key.
+   * @param inCenter The center value of the key.
+   * @param inRight The right value of the key.
+   * @return <code>true</code> if the key is present.
+   */
+  public boolean containsKey(final int inLeft, final int inCenter, final int inRight) {
+    return indexOf(inLeft, inCenter, inRight) >= 0;
+  }
+
+  /**
+   * Calls the visitor for each entry of the map.
+   *
+   * @param inVisitor The visitor.
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(final Visitor<? super V> inVisitor) {
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null) {
+        inVisitor.visit(lefts[i], centers[i], rights[i], (V) values[i]);
+      }
+    }
+  }
+
+  /**
+   * Returns the value of the given key.
+   *
+   * @param inLeft The left value of the key.
+   * @param inCenter The center value of the key.
+   * @param inRight The right value of the key.
+   * @return The value or <code>null</code> if the key is not present.
+   */
+  @SuppressWarnings("unchecked")
+  public V get(final int inLeft, final int inCenter, final int inRight) {
+    int index = indexOf(inLeft, inCenter, inRight);
+    return index < 0 ? null : (V) values[index];
+  }
+
+  /**
+   * Returns the value of the given key.
+   *
+   * @param inKey The key.
+   * @return The value or <code>null</code> if the key is not present.
+   */
+  public V get(final IntIntIntTrio inKey) {
+    return get(inKey.getLeft(), inKey.getCenter(), inKey.getRight());
+  }
+
+  /**
+   * Returns <code>true</code> if the map is empty.
+   *
+   * @return <code>true</code> if empty.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Associates the value to the given key.
+   *
+   * @param inLeft The left value of the key.
+   * @param inCenter The center value of the key.
+   * @param inRight The right value of the key.
+   * @param inValue The value, not <code>null</code>.
+   * @return The previous value or <code>null</code> if the key was not present.
+   */
+  @SuppressWarnings("unchecked")
+  public V put(final int inLeft, final int inCenter, final int inRight, final V inValue) {
+    Objects.requireNonNull(inValue);
+    int index = Hashing.hash(inLeft, inCenter, inRight) & mask;
+
+    while (values[index] != null) {
+      if (lefts[index] == inLeft && centers[index] == inCenter && rights[index] == inRight) {
+        V previous = (V) values[index];
+        values[index] = inValue;
+        return previous;
+      }
+
+      index = (index + 1) & mask;
+    }
+
+    lefts[index] = inLeft;
+    centers[index] = inCenter;
+    rights[index] = inRight;
+    values[index] = inValue;
+
+    if (++size > threshold) {
+      resize();
+    }
+
+    return null;
+  }
+
+  /**
+   * Associates the value to the given key.
+   *
+   * @param inKey The key.
+   * @param inValue The value, not <code>null</code>.
+   * @return The previous value or <code>null</code> if the key was not present.
+   */
+  public V put(final IntIntIntTrio inKey, final V inValue) {
+    return put(inKey.getLeft(), inKey.getCenter(), inKey.getRight(), inValue);
+  }
+
+  /**
+   * Removes the given key.
+   *
+   * @param inLeft The left value of the key.
+   * @param inCenter The center value of the key.
+   * @param inRight The right value of the key.
+   * @return The removed value or <code>null</code> if the key was not present.
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(final int inLeft, final int inCenter, final int inRight) {
+    int index = indexOf(inLeft, inCenter, inRight);
+
+    if (index < 0) {
+      return null;
+    }
+
+    V previous = (V) values[index];
+    closeGap(index);
+    size--;
+    return previous;
+  }
+
+  /**
+   * Returns the number of entries.
+   *
+   * @return The number of entries.
+   */
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    return "IntIntIntTrioMap[size=" + size + "]";
+  }
+
+  private void allocate(final int inCapacity) {
+    lefts = new int[inCapacity];
+    centers = new int[inCapacity];
+    rights = new int[inCapacity];
+    values = new Object[inCapacity];
+    mask = inCapacity - 1;
+    threshold = inCapacity / 4 * 3;
+  }
+
+  /**
+   * Removes the entry at the given index moving back the following entries of the same run, so that no entry becomes
+   * unreachable (no tombstones are needed).
+   *
+   * @param inIndex The index of the removed entry.
+   */
+  private void closeGap(final int inIndex) {
+    int gap = inIndex;
+
+    for (int index = (gap + 1) & mask; values[index] != null; index = (index + 1) & mask) {
+      int home = Hashing.hash(lefts[index], centers[index], rights[index]) & mask;
+
+      // The entry can fill the gap if the gap is between its home and its index
+      if (((index - home) & mask) >= ((index - gap) & mask)) {
+        lefts[gap] = lefts[index];
+        centers[gap] = centers[index];
+        rights[gap] = rights[index];
+        values[gap] = values[index];
+        gap = index;
+      }
+    }
+
+    values[gap] = null;
+  }
+
+  private int indexOf(final int inLeft, final int inCenter, final int inRight) {
+    int index = Hashing.hash(inLeft, inCenter, inRight) & mask;
+
+    while (values[index] != null) {
+      if (lefts[index] == inLeft && centers[index] == inCenter && rights[index] == inRight) {
+        return index;
+      }
+
+      index = (index + 1) & mask;
+    }
+
+    return -1;
+  }
+
+  private void resize() {
+    int[] oldLefts = lefts;
+    int[] oldCenters = centers;
+    int[] oldRights = rights;
+    Object[] oldValues = values;
+
+    allocate(values.length * 2);
+
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] != null) {
+        int index = Hashing.hash(oldLefts[i], oldCenters[i], oldRights[i]) & mask;
+
+        while (values[index] != null) {
+          index = (index + 1) & mask;
+        }
+
+        lefts[index] = oldLefts[i];
+        centers[index] = oldCenters[i];
+        rights[index] = oldRights[i];
+        values[index] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Receives the entries of the map.
+   *
+   * @param <V> The class of the values
+   */
+  @FunctionalInterface
+  public interface Visitor<V> {
+    /**
+     * Receives an entry.
+     *
+     * @param inLeft The left value of the key.
+   * @param inCenter The center value of the key.
+     * @param inRight The right value of the key.
+     * @param inValue The value.
+     */
+    void visit(int inLeft, int inCenter, int inRight, V inValue);
+  }
+}
@@ -0,0 +1,66 @@
+package net.ghielmetti.utilities;
+
+/**
+ * An immutable pair of <code>int</code>, like a {@link Pair Pair&lt;Integer, Integer&gt;} without the boxing.<br>
+ * The hash code mixes both values, so the pairs of small values (like the coordinates of a cell) are well distributed
+ * in the hash tables. For the lookups without any object, see {@link IntIntPairMap}.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class IntIntPair {
+  private final int left;
+  private final int right;
+
+  /**
+   * Create a new pair.
+   *
+   * @param inLeft The left value
+   * @param inRight The right value
+   */
+  public IntIntPair(final int inLeft, final int inRight) {
+    left = inLeft;
+    right = inRight;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    if (!(obj instanceof IntIntPair)) {
+      return false;
+    }
+
+    IntIntPair other = (IntIntPair) obj;
+    return left == other.left && right == other.right;
+  }
+
+  /**
+   * Return the left value
+   *
+   * @return The value
+   */
+  public int getLeft() {
+    return left;
+  }
+
+  /**
+   * Return the right value
+   *
+   * @return The value
+   */
+  public int getRight() {
+    return right;
+  }
+
+  @Override
+  public int hashCode() {
+    return Hashing.hash(left, right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + right + ")";
+  }
+}
@@ -0,0 +1,83 @@
+package net.ghielmetti.utilities;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded table of canonical instances, used by the factories of the immutable tuples ({@link Pair#of(Object, Object)}
+ * and {@link Trio#of(Object, Object, Object)}).<br>
+ * The table is direct mapped: each hash has a single slot and a new instance simply replaces the previous one of the
+ * same slot, so the table never grows and never needs a lock. The instances are weakly referenced, so the table doesn't
+ * keep alive the tuples (and their components) that aren't used any more.<br>
+ * It's a cache and not a strict interning: two equal instances may still coexist if they were evicted in between.
+ *
+ * @author Leopoldo Ghielmetti
+ * @param <T> The class of the instances
+ */
+final class InternTable<T> {
+  private final AtomicReferenceArray<WeakReference<T>> slots;
+  private final int                                    mask;
+
+  /**
+   * Constructor.
+   *
+   * @param inSize The number of slots, rounded up to a power of two.
+   */
+  InternTable(final int inSize) {
+    int size = Integer.highestOneBit(Math.max(2, inSize) - 1) << 1;
+    slots = new AtomicReferenceArray<>(size);
+    mask = size - 1;
+  }
+
+  /**
+   * Returns <code>true</code> if the two components are interchangeable in a canonical tuple: they must be equal and of
+   * the same class, so that the typed getters of the canonical instance return what the caller gave.
+   *
+   * @param inComponent1 The first component.
+   * @param inComponent2 The second component.
+   * @return <code>true</code> if they are interchangeable.
+   */
+  static boolean same(final Object inComponent1, final Object inComponent2) {
+    if (inComponent1 == inComponent2) {
+      return true;
+    }
+
+    return inComponent1 != null && inComponent2 != null && inComponent1.getClass() == inComponent2.getClass() && inComponent1.equals(inComponent2);
+  }
+
+  /**
+   * Returns the number of slots.
+   *
+   * @return The number of slots.
+   */
+  int capacity() {
+    return slots.length();
+  }
+
+  /**
+   * Returns the instance kept in the slot of the given hash. It's up to the caller to verify that it's the wanted one.
+   *
+   * @param inHash The hash of the wanted instance.
+   * @return The instance or <code>null</code> if the slot is empty or its instance has been collected.
+   */
+  T get(final int inHash) {
+    WeakReference<T> reference = slots.get(inHash & mask);
+    return reference == null ? null : reference.get();
+  }
+
+  /**
+   * Keeps the instance in the slot of the given hash, replacing the previous one.
+   *
+   * @param inHash The hash of the instance.
+   * @param inInstance The instance.
+   */
+  void put(final int inHash, final T inInstance) {
+    // A lazy set is enough, a reader that doesn't see the new instance will simply create another one
+    slots.lazySet(inHash & mask, new WeakReference<>(inInstance));
+  }
+
+  @Override
+  public String toString() {
+    return "InternTable[capacity=" + slots.length() + "]";
+  }
+}
@@ -0,0 +1,275 @@
+package net.ghielmetti.utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.DateFormat;
+import java.text.FieldPosition;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A compiled label of the "labels_xx.properties" files.<br>
+ * The label is analyzed once and the cheapest possible way to format it is kept:
+ * <ul>
+ * <li>a label without placeholders and quotes is a constant, the (interned) label itself is returned;</li>
+ * <li>a label with only simple positional placeholders (like <code>{0}</code>) is kept as a list of segments that are
+ * concatenated with the arguments;</li>
+ * <li>any other label (choice, number or date sub-formats, quotes) is formatted by a {@link MessageFormat}.</li>
+ * </ul>
+ * The output is always the same as the one of {@link MessageFormat#format(Object)} for the same label and
+ * {@link Locale}.<br>
+ * Instances are immutable and can be shared between threads.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public abstract class LabelFormat {
+  // More digits than that and the index is no more a simple one, MessageFormat rejects the indexes from 10000
+  private static final int MAX_INDEX_DIGITS = 4;
+
+  private final String     pattern;
+
+  private LabelFormat(final String inPattern) {
+    pattern = inPattern;
+  }
+
+  /**
+   * Compiles the label using the default {@link Locale} for the formatting of the arguments.
+   *
+   * @param inPattern The label to compile.
+   * @return The compiled label.
+   */
+  public static LabelFormat compile(final String inPattern) {
+    return compile(inPattern, Locale.getDefault(Locale.Category.FORMAT));
+  }
+
+  /**
+   * Compiles the label.
+   *
+   * @param inPattern The label to compile.
+   * @param inLocale The {@link Locale} used to format the arguments.
+   * @return The compiled label.
+   * @throws IllegalArgumentException If the label isn't a valid {@link MessageFormat} pattern.
+   */
+  public static LabelFormat compile(final String inPattern, final Locale inLocale) {
+    List<String> literals = new ArrayList<>();
+    List<Integer> indexes = new ArrayList<>();
+    int length = inPattern.length();
+    int start = 0;
+
+    for (int i = 0; i < length; i++) {
+      char c = inPattern.charAt(i);
+
+      if (c == '\'') {
+        // Quotes need the full MessageFormat rules
+        return new Complex(inPattern, inLocale);
+      }
+
+      if (c == '{') {
+        int end = inPattern.indexOf('}', i + 1);
+
+        if (end < 0 || !isSimpleIndex(inPattern, i + 1, end)) {
+          return new Complex(inPattern, inLocale);
+        }
+
+        literals.add(inPattern.substring(start, i));
+        indexes.add(Integer.valueOf(inPattern.substring(i + 1, end)));
+        start = end + 1;
+        i = end;
+      }
+    }
+
+    if (indexes.isEmpty()) {
+      return new Constant(inPattern);
+    }
+
+    literals.add(inPattern.substring(start));
+
+    return new Simple(inPattern, inLocale, literals, indexes);
+  }
+
+  /**
+   * Creates a label that is always formatted as the given text, without interpreting it.
+   *
+   * @param inText The text.
+   * @return The label.
+   */
+  static LabelFormat constant(final String inText) {
+    return new Constant(inText);
+  }
+
+  private static boolean isSimpleIndex(final String inPattern, final int inStart, final int inEnd) {
+    if (inEnd == inStart || inEnd - inStart > MAX_INDEX_DIGITS) {
+      return false;
+    }
+
+    for (int i = inStart; i < inEnd; i++) {
+      char c = inPattern.charAt(i);
+
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Formats the label with the given arguments.
+   *
+   * @param inArguments The arguments to put in the label.
+   * @return The formatted label.
+   */
+  public abstract String format(Object... inArguments);
+
+  /**
+   * Formats the label with the given arguments directly in the given {@link Appendable}, without building the
+   * intermediate {@link String} of the whole label.
+   *
+   * @param inAppendable Where to write the formatted label.
+   * @param inArguments The arguments to put in the label.
+   * @throws IOException If the {@link Appendable} fails.
+   */
+  public abstract void formatTo(Appendable inAppendable, Object... inArguments) throws IOException;
+
+  /**
+   * Returns the original label.
+   *
+   * @return The label.
+   */
+  public String getPattern() {
+    return pattern;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[pattern=\"" + pattern + "\"]";
+  }
+
+  /** A label without arguments. */
+  private static final class Constant extends LabelFormat {
+    private final String value;
+
+    Constant(final String inPattern) {
+      super(inPattern);
+      value = inPattern.intern();
+    }
+
+    @Override
+    public String format(final Object... inArguments) {
+      return value;
+    }
+
+    @Override
+    public void formatTo(final Appendable inAppendable, final Object... inArguments) throws IOException {
+      inAppendable.append(value);
+    }
+  }
+
+  /** A label with only positional arguments and no sub-formats. */
+  private static final class Simple extends LabelFormat {
+    private final Locale   locale;
+    private final String[] literals;
+    private final int[]    indexes;
+    private final int      literalsLength;
+
+    Simple(final String inPattern, final Locale inLocale, final List<String> inLiterals, final List<Integer> inIndexes) {
+      super(inPattern);
+      locale = inLocale;
+      literals = inLiterals.toArray(new String[inLiterals.size()]);
+      indexes = new int[inIndexes.size()];
+      int total = 0;
+
+      for (int i = 0; i < indexes.length; i++) {
+        indexes[i] = inIndexes.get(i).intValue();
+      }
+
+      for (String literal : literals) {
+        total += literal.length();
+      }
+
+      literalsLength = total;
+    }
+
+    @Override
+    public String format(final Object... inArguments) {
+      StringBuilder builder = new StringBuilder(literalsLength + indexes.length * 8);
+
+      try {
+        formatTo(builder, inArguments);
+      } catch (IOException e) {
+        // A StringBuilder never throws
+        throw new UncheckedIOException(e);
+      }
+
+      return builder.toString();
+    }
+
+    @Override
+    public void formatTo(final Appendable inAppendable, final Object... inArguments) throws IOException {
+      for (int i = 0; i < indexes.length; i++) {
+        inAppendable.append(literals[i]);
+        appendArgument(inAppendable, indexes[i], inArguments);
+      }
+
+      inAppendable.append(literals[indexes.length]);
+    }
+
+    /**
+     * Appends the argument the same way {@link MessageFormat} does for an argument without sub-format.
+     *
+     * @param inAppendable Where to append the argument.
+     * @param inIndex The index of the argument.
+     * @param inArguments The arguments.
+     * @throws IOException If the {@link Appendable} fails.
+     */
+    private void appendArgument(final Appendable inAppendable, final int inIndex, final Object[] inArguments) throws IOException {
+      if (inArguments == null || inIndex >= inArguments.length) {
+        inAppendable.append('{').append(Integer.toString(inIndex)).append('}');
+        return;
+      }
+
+      Object argument = inArguments[inIndex];
+
+      if (argument == null) {
+        inAppendable.append("null");
+      } else if (argument instanceof Number) {
+        inAppendable.append(NumberFormat.getInstance(locale).format(argument));
+      } else if (argument instanceof Date) {
+        inAppendable.append(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale).format(argument));
+      } else if (argument instanceof CharSequence) {
+        inAppendable.append((CharSequence) argument);
+      } else {
+        inAppendable.append(argument.toString());
+      }
+    }
+  }
+
+  /** A label that needs the full {@link MessageFormat} rules. */
+  private static final class Complex extends LabelFormat {
+    // Never used directly, MessageFormat isn't thread safe so we clone it (that is cheaper than parsing it again)
+    private final MessageFormat prototype;
+
+    Complex(final String inPattern, final Locale inLocale) {
+      super(inPattern);
+      prototype = new MessageFormat(inPattern, inLocale);
+    }
+
+    @Override
+    public String format(final Object... inArguments) {
+      return ((MessageFormat) prototype.clone()).format(inArguments);
+    }
+
+    @Override
+    public void formatTo(final Appendable inAppendable, final Object... inArguments) throws IOException {
+      if (inAppendable instanceof StringBuffer) {
+        ((MessageFormat) prototype.clone()).format(inArguments, (StringBuffer) inAppendable, new FieldPosition(0));
+      } else {
+        inAppendable.append(format(inArguments));
+      }
+    }
+  }
+}
@@ -0,0 +1,241 @@
+package net.ghielmetti.utilities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable perfect hash index of the labels keys.<br>
+ * Each key is associated to a distinct slot in <code>[0, {@link #capacity()})</code>, the slot is found with two hash
+ * computations and one {@link String#equals(Object)}, without any probing. The index is built with the
+ * "hash, displace and compress" method: the keys are distributed in small buckets and for each bucket a seed is
+ * searched that sends all its keys to free slots.<br>
+ * Keys having the same {@link String#hashCode()} cannot be separated by any seed, the (rare) ones that collide are kept
+ * in a small overflow map.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+final class LabelIndex {
+  private static final int           KEYS_PER_BUCKET = 4;
+  private static final int           MAX_SEED        = 1 << 16;
+  private static final int           GOLDEN          = 0x9E3779B9;
+
+  private final String[]             keys;
+  private final int[]                seeds;
+  private final int                  tableSize;
+  private final Map<String, Integer> overflow;
+  private final int                  size;
+
+  private LabelIndex(final String[] inKeys, final int[] inSeeds, final int inTableSize, final Map<String, Integer> inOverflow, final int inSize) {
+    keys = inKeys;
+    seeds = inSeeds;
+    tableSize = inTableSize;
+    overflow = inOverflow;
+    size = inSize;
+  }
+
+  /**
+   * Builds the index of the given keys.
+   *
+   * @param inKeys The keys, duplicates are ignored.
+   * @return The index.
+   */
+  static LabelIndex build(final Collection<String> inKeys) {
+    Set<String> distinct = new LinkedHashSet<>(inKeys);
+    // A little room makes the seeds search fast
+    int tableSize = Math.max(1, distinct.size() + distinct.size() / 8);
+
+    for (;;) {
+      LabelIndex index = build(distinct, tableSize);
+
+      if (index != null) {
+        return index;
+      }
+
+      tableSize += tableSize / 4 + 1;
+    }
+  }
+
+  private static LabelIndex build(final Set<String> inKeys, final int inTableSize) {
+    int bucketsCount = Math.max(1, inKeys.size() / KEYS_PER_BUCKET);
+    List<List<String>> buckets = new ArrayList<>(bucketsCount);
+    Map<Integer, String> hashes = new HashMap<>();
+    Map<String, Integer> overflow = new HashMap<>();
+    List<String> collisions = new ArrayList<>();
+
+    for (int i = 0; i < bucketsCount; i++) {
+      buckets.add(new ArrayList<>());
+    }
+
+    for (String key : inKeys) {
+      if (hashes.putIfAbsent(Integer.valueOf(key.hashCode()), key) == null) {
+        buckets.get(bucket(key.hashCode(), bucketsCount)).add(key);
+      } else {
+        collisions.add(key);
+      }
+    }
+
+    // The biggest buckets first, while there is still plenty of free slots
+    List<List<String>> ordered = new ArrayList<>(buckets);
+    ordered.sort((inBucket1, inBucket2) -> Integer.compare(inBucket2.size(), inBucket1.size()));
+
+    String[] table = new String[inTableSize + collisions.size()];
+    int[] seeds = new int[bucketsCount];
+    int[] slots = new int[KEYS_PER_BUCKET * 4];
+
+    for (List<String> bucket : ordered) {
+      if (bucket.isEmpty()) {
+        break;
+      }
+
+      if (slots.length < bucket.size()) {
+        slots = new int[bucket.size()];
+      }
+
+      int seed = findSeed(bucket, table, inTableSize, slots);
+
+      if (seed < 0) {
+        return null;
+      }
+
+      for (int i = 0; i < bucket.size(); i++) {
+        table[slots[i]] = bucket.get(i);
+      }
+
+      seeds[bucket(bucket.get(0).hashCode(), bucketsCount)] = seed;
+    }
+
+    for (int i = 0; i < collisions.size(); i++) {
+      table[inTableSize + i] = collisions.get(i);
+      overflow.put(collisions.get(i), Integer.valueOf(inTableSize + i));
+    }
+
+    return new LabelIndex(table, seeds, inTableSize, overflow.isEmpty() ? null : overflow, inKeys.size());
+  }
+
+  private static int bucket(final int inHash, final int inBucketsCount) {
+    return (Hashing.mix(inHash) & Integer.MAX_VALUE) % inBucketsCount;
+  }
+
+  private static int findSeed(final List<String> inBucket, final String[] inTable, final int inTableSize, final int[] outSlots) {
+    for (int seed = 0; seed < MAX_SEED; seed++) {
+      boolean free = true;
+
+      for (int i = 0; free && i < inBucket.size(); i++) {
+        int slot = slot(inBucket.get(i).hashCode(), seed, inTableSize);
+        outSlots[i] = slot;
+        free = inTable[slot] == null;
+
+        for (int j = 0; free && j < i; j++) {
+          free = outSlots[j] != slot;
+        }
+      }
+
+      if (free) {
+        return seed;
+      }
+    }
+
+    return -1;
+  }
+
+  private static int slot(final int inHash, final int inSeed, final int inTableSize) {
+    return (Hashing.mix(inHash ^ inSeed * GOLDEN) & Integer.MAX_VALUE) % inTableSize;
+  }
+
+  /**
+   * Returns the number of slots, all the slots are in <code>[0, capacity())</code>.
+   *
+   * @return The number of slots.
+   */
+  int capacity() {
+    return keys.length;
+  }
+
+  /**
+   * Returns <code>true</code> if all the given keys are in this index.
+   *
+   * @param inKeys The keys to check.
+   * @return <code>true</code> if all the keys are present.
+   */
+  boolean containsAll(final Collection<String> inKeys) {
+    for (String key : inKeys) {
+      if (indexOf(key) < 0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns the slot of the given key.
+   *
+   * @param inKey The key.
+   * @return The slot of the key or <code>-1</code> if the key isn't in the index.
+   */
+  int indexOf(final Object inKey) {
+    if (!(inKey instanceof String)) {
+      return -1;
+    }
+
+    int hash = inKey.hashCode();
+    int slot = slot(hash, seeds[bucket(hash, seeds.length)], tableSize);
+
+    if (inKey.equals(keys[slot])) {
+      return slot;
+    }
+
+    if (overflow != null) {
+      Integer index = overflow.get(inKey);
+      return index == null ? -1 : index.intValue();
+    }
+
+    return -1;
+  }
+
+  /**
+   * Returns the key of the given slot.
+   *
+   * @param inSlot The slot.
+   * @return The key or <code>null</code> if the slot is empty.
+   */
+  String keyAt(final int inSlot) {
+    return keys[inSlot];
+  }
+
+  /**
+   * Returns all the keys.
+   *
+   * @return The keys.
+   */
+  List<String> keys() {
+    List<String> result = new ArrayList<>(size);
+
+    for (String key : keys) {
+      if (key != null) {
+        result.add(key);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the number of keys.
+   *
+   * @return The number of keys.
+   */
+  int size() {
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    return "LabelIndex[size=" + size + ", capacity=" + keys.length + "]";
+  }
+}
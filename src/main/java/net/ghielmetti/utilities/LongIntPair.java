@@ -0,0 +1,67 @@
+package net.ghielmetti.utilities;
+
+/**
+ * An immutable pair of a <code>long</code> and an <code>int</code>, like a {@link Pair Pair&lt;Long, Integer&gt;}
+ * without the boxing.<br>
+ * The hash code mixes both values, so the pairs of small values (like an identifier and an index) are well distributed
+ * in the hash tables. For the lookups without any object, see {@link LongIntPairMap}.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class LongIntPair {
+  private final long left;
+  private final int  right;
+
+  /**
+   * Create a new pair.
+   *
+   * @param inLeft The left value
+   * @param inRight The right value
+   */
+  public LongIntPair(final long inLeft, final int inRight) {
+    left = inLeft;
+    right = inRight;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    if (!(obj instanceof LongIntPair)) {
+      return false;
+    }
+
+    LongIntPair other = (LongIntPair) obj;
+    return left == other.left && right == other.right;
+  }
+
+  /**
+   * Return the left value
+   *
+   * @return The value
+   */
+  public long getLeft() {
+    return left;
+  }
+
+  /**
+   * Return the right value
+   *
+   * @return The value
+   */
+  public int getRight() {
+    return right;
+  }
+
+  @Override
+  public int hashCode() {
+    return Hashing.hash(left, right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + right + ")";
+  }
+}
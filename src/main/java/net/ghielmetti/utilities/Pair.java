@@ -1,7 +1,13 @@
 package net.ghielmetti.utilities;
 
+import java.util.Objects;
+
 /**
- * Allow the creation of a pair of objects that can be used at will and added to Hashtables.
+ * Allow the creation of a pair of objects that can be used at will and added to Hashtables.<br>
+ * The hash code combines the hash codes of both objects with {@link Hashing#combine(int, int)}, so the pairs of near
+ * values are well distributed in the hash tables, and it's computed only once: a component changed after the first
+ * {@link #hashCode()} call leaves the pair with a stale hash code, like any mutable key of a hash table.<br>
+ * The {@link #of(Object, Object)} factory returns a shared instance for the pairs created often with the same values.
  *
  * @author Leopoldo Ghielmetti
  * @param <Left> The left parameter class
@@ -10,11 +16,13 @@ package net.ghielmetti.utilities;
  */
 @Deprecated
 public class Pair<Left, Right> {
-  private static final int PRIME = 31;
+  private static final InternTable<Pair<?, ?>> INTERNED = new InternTable<>(4096);
 
   // The two pair values
-  private final Left       left;
-  private final Right      right;
+  private final Left                           left;
+  private final Right                          right;
+  // The hash code, computed the first time it's needed (0 means not computed yet)
+  private int                                  hash;
 
   /**
    * Create a new object pair. You must specify a "left" and a "right" object.
@@ -27,6 +35,34 @@ public class Pair<Left, Right> {
     right = inRight;
   }
 
+  /**
+   * Returns a pair of the given objects, sharing the instance with the previous calls having the same objects when
+   * possible.<br>
+   * The shared instances are kept in a small cache of weak references: the pairs created often don't cost an
+   * allocation each and the comparisons between them are mostly a reference comparison, but two equal pairs may still
+   * be different instances. Prefer the constructor for the pairs created once.
+   *
+   * @param <L> The left object class
+   * @param <R> The right object class
+   * @param inLeft The left object
+   * @param inRight The right object
+   * @return The pair.
+   */
+  @SuppressWarnings("unchecked")
+  public static <L, R> Pair<L, R> of(final L inLeft, final R inRight) {
+    int h = Hashing.combine(Objects.hashCode(inLeft), Objects.hashCode(inRight));
+    Pair<?, ?> cached = INTERNED.get(h);
+
+    if (cached != null && cached.hash == h && InternTable.same(cached.left, inLeft) && InternTable.same(cached.right, inRight)) {
+      return (Pair<L, R>) cached;
+    }
+
+    Pair<L, R> pair = new Pair<>(inLeft, inRight);
+    pair.hash = h;
+    INTERNED.put(h, pair);
+    return pair;
+  }
+
   @Override
   public boolean equals(final Object obj) {
     if (this == obj) {
@@ -82,21 +118,14 @@ public class Pair<Left, Right> {
 
   @Override
   public int hashCode() {
-    int result = 1;
-
-    result *= PRIME;
-
-    if (left != null) {
-      result += left.hashCode();
-    }
-
-    result *= PRIME;
+    int h = hash;
 
-    if (right != null) {
-      result += right.hashCode();
+    if (h == 0) {
+      h = Hashing.combine(Objects.hashCode(left), Objects.hashCode(right));
+      hash = h;
     }
 
-    return result;
+    return h;
   }
 
   /**
@@ -0,0 +1,202 @@
+package net.ghielmetti.utilities;
+
+import java.util.Comparator;
+
+/**
+ * A list of {@link Pair} keeping the left and the right objects in two separate arrays, of primitives when the objects
+ * are {@link Long}, {@link Integer} or {@link Double}.<br>
+ * A list of a million <code>Pair&lt;Long, Double&gt;</code> costs then 16 MB instead of the about 60 MB of the pairs and
+ * boxes of an {@link java.util.ArrayList}. The pairs are created on demand by {@link #get(int)}, use
+ * {@link #getLeft(int)} and {@link #getRight(int)} to avoid it.<br>
+ * The primitive columns don't accept <code>null</code> values. This class is not thread safe.
+ *
+ * @author Leopoldo Ghielmetti
+ * @param <Left> The left parameter class
+ * @param <Right> The right parameter class
+ */
+@SuppressWarnings("deprecation")
+public class PairList<Left, Right> extends ColumnarList<Pair<Left, Right>> {
+  private final Column<Left>  lefts;
+  private final Column<Right> rights;
+
+  /**
+   * Constructor.
+   *
+   * @param inLeftClass The left parameter class.
+   * @param inRightClass The right parameter class.
+   */
+  public PairList(final Class<Left> inLeftClass, final Class<Right> inRightClass) {
+    this(inLeftClass, inRightClass, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param inLeftClass The left parameter class.
+   * @param inRightClass The right parameter class.
+   * @param inCapacity The number of pairs the list can contain before growing.
+   */
+  public PairList(final Class<Left> inLeftClass, final Class<Right> inRightClass, final int inCapacity) {
+    this(Column.of(inLeftClass, inCapacity), Column.of(inRightClass, inCapacity), inCapacity);
+  }
+
+  private PairList(final Column<Left> inLefts, final Column<Right> inRights, final int inCapacity) {
+    super(inCapacity, inLefts, inRights);
+    lefts = inLefts;
+    rights = inRights;
+  }
+
+  /**
+   * Adds a pair at the end of the list, without creating the {@link Pair}.
+   *
+   * @param inLeft The left object.
+   * @param inRight The right object.
+   * @return <code>true</code>.
+   */
+  public boolean add(final Left inLeft, final Right inRight) {
+    int row = addRow();
+
+    try {
+      lefts.set(row, inLeft);
+      rights.set(row, inRight);
+    } catch (NullPointerException e) {
+      removeRow(row);
+      throw e;
+    }
+
+    return true;
+  }
+
+  @Override
+  public boolean add(final Pair<Left, Right> inPair) {
+    return add(inPair.getLeft(), inPair.getRight());
+  }
+
+  /**
+   * Searches the given left object, the list must be sorted by {@link #sortByLeft()}.
+   *
+   * @param inLeft The searched object.
+   * @return The index of a pair having this left object or else <code>(-(insertion point) - 1)</code>.
+   */
+  public int binarySearchLeft(final Left inLeft) {
+    return searchRow(row -> lefts.compareTo(row, inLeft));
+  }
+
+  /**
+   * Searches the given left object, the list must be sorted by {@link #sortByLeft(Comparator)} with the same
+   * comparator.
+   *
+   * @param inLeft The searched object.
+   * @param inComparator The comparator.
+   * @return The index of a pair having this left object or else <code>(-(insertion point) - 1)</code>.
+   */
+  public int binarySearchLeft(final Left inLeft, final Comparator<? super Left> inComparator) {
+    return searchRow(row -> inComparator.compare(lefts.get(row), inLeft));
+  }
+
+  /**
+   * Searches the given right object, the list must be sorted by {@link #sortByRight()}.
+   *
+   * @param inRight The searched object.
+   * @return The index of a pair having this right object or else <code>(-(insertion point) - 1)</code>.
+   */
+  public int binarySearchRight(final Right inRight) {
+    return searchRow(row -> rights.compareTo(row, inRight));
+  }
+
+  /**
+   * Searches the given right object, the list must be sorted by {@link #sortByRight(Comparator)} with the same
+   * comparator.
+   *
+   * @param inRight The searched object.
+   * @param inComparator The comparator.
+   * @return The index of a pair having this right object or else <code>(-(insertion point) - 1)</code>.
+   */
+  public int binarySearchRight(final Right inRight, final Comparator<? super Right> inComparator) {
+    return searchRow(row -> inComparator.compare(rights.get(row), inRight));
+  }
+
+  /**
+   * Returns a new {@link Pair} with the objects at the given index.
+   *
+   * @param inIndex The index.
+   * @return The pair.
+   */
+  @Override
+  public Pair<Left, Right> get(final int inIndex) {
+    checkIndex(inIndex);
+    return new Pair<>(lefts.get(inIndex), rights.get(inIndex));
+  }
+
+  /**
+   * Returns the left object at the given index.
+   *
+   * @param inIndex The index.
+   * @return The left object.
+   */
+  public Left getLeft(final int inIndex) {
+    checkIndex(inIndex);
+    return lefts.get(inIndex);
+  }
+
+  /**
+   * Returns the right object at the given index.
+   *
+   * @param inIndex The index.
+   * @return The right object.
+   */
+  public Right getRight(final int inIndex) {
+    checkIndex(inIndex);
+    return rights.get(inIndex);
+  }
+
+  @Override
+  public Pair<Left, Right> remove(final int inIndex) {
+    Pair<Left, Right> previous = get(inIndex);
+    removeRow(inIndex);
+    return previous;
+  }
+
+  @Override
+  public Pair<Left, Right> set(final int inIndex, final Pair<Left, Right> inPair) {
+    Pair<Left, Right> previous = get(inIndex);
+    lefts.set(inIndex, inPair.getLeft());
+
+    try {
+      rights.set(inIndex, inPair.getRight());
+    } catch (NullPointerException e) {
+      lefts.set(inIndex, previous.getLeft());
+      throw e;
+    }
+
+    return previous;
+  }
+
+  /** Sorts the pairs by the natural order of their left objects, that must be {@link Comparable}. */
+  public void sortByLeft() {
+    sortRows(lefts::compare);
+  }
+
+  /**
+   * Sorts the pairs by their left objects.
+   *
+   * @param inComparator The comparator of the left objects.
+   */
+  public void sortByLeft(final Comparator<? super Left> inComparator) {
+    sortRows((row1, row2) -> inComparator.compare(lefts.get(row1), lefts.get(row2)));
+  }
+
+  /** Sorts the pairs by the natural order of their right objects, that must be {@link Comparable}. */
+  public void sortByRight() {
+    sortRows(rights::compare);
+  }
+
+  /**
+   * Sorts the pairs by their right objects.
+   *
+   * @param inComparator The comparator of the right objects.
+   */
+  public void sortByRight(final Comparator<? super Right> inComparator) {
+    sortRows((row1, row2) -> inComparator.compare(rights.get(row1), rights.get(row2)));
+  }
+}
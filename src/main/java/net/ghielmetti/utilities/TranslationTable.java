@@ -0,0 +1,109 @@
+package net.ghielmetti.utilities;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * A fixed set of translations resolved once by {@link Translations#resolve(String...)} and accessed by position.<br>
+ * This is meant for the code that translates the same labels many times, like the header and the enumerated values of
+ * the columns of a report:
+ *
+ * <pre>
+ * TranslationTable headers = Translations.getDefault().resolve("report.name", "report.amount");
+ * CellStyle headerStyle = styles.getStyle("GBC0Vtlbr");
+ *
+ * for (int column = 0; column &lt; headers.size(); column++) {
+ *   Cell cell = row.createCell(column);
+ *   cell.setCellValue(headers.get(column));
+ *   cell.setCellStyle(headerStyle);
+ * }
+ * </pre>
+ *
+ * The table is immutable and can be shared between threads. The unknown keys are translated as the key itself.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class TranslationTable {
+  private final Locale        locale;
+  private final String[]      keys;
+  private final LabelFormat[] formats;
+
+  /**
+   * Constructor.
+   *
+   * @param inLocale The {@link Locale} of the translations.
+   * @param inKeys The keys.
+   * @param inFormats The compiled labels, in the same order as the keys.
+   */
+  TranslationTable(final Locale inLocale, final String[] inKeys, final LabelFormat[] inFormats) {
+    locale = inLocale;
+    keys = inKeys;
+    formats = inFormats;
+  }
+
+  /**
+   * Returns the translation at the given position with the given arguments.
+   *
+   * @param inIndex The position of the key given to {@link Translations#resolve(String...)}.
+   * @param inArguments The arguments to put in the translation.
+   * @return The translation.
+   */
+  public String format(final int inIndex, final Object... inArguments) {
+    return formats[inIndex].format(inArguments);
+  }
+
+  /**
+   * Writes the translation at the given position with the given arguments in the given {@link Appendable}.
+   *
+   * @param inAppendable Where to write the translation.
+   * @param inIndex The position of the key given to {@link Translations#resolve(String...)}.
+   * @param inArguments The arguments to put in the translation.
+   * @throws IOException If the {@link Appendable} fails.
+   */
+  public void formatTo(final Appendable inAppendable, final int inIndex, final Object... inArguments) throws IOException {
+    formats[inIndex].formatTo(inAppendable, inArguments);
+  }
+
+  /**
+   * Returns the translation without arguments at the given position.
+   *
+   * @param inIndex The position of the key given to {@link Translations#resolve(String...)}.
+   * @return The translation.
+   */
+  public String get(final int inIndex) {
+    return formats[inIndex].format();
+  }
+
+  /**
+   * Returns the key at the given position.
+   *
+   * @param inIndex The position.
+   * @return The key.
+   */
+  public String getKey(final int inIndex) {
+    return keys[inIndex];
+  }
+
+  /**
+   * Returns the {@link Locale} of the translations.
+   *
+   * @return The {@link Locale}.
+   */
+  public Locale getLocale() {
+    return locale;
+  }
+
+  /**
+   * Returns the number of translations.
+   *
+   * @return The number of translations.
+   */
+  public int size() {
+    return keys.length;
+  }
+
+  @Override
+  public String toString() {
+    return "TranslationTable[locale=" + locale + ", size=" + keys.length + "]";
+  }
+}
@@ -1,10 +1,31 @@
 package net.ghielmetti.utilities;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.MissingResourceException;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,20 +33,78 @@ import org.slf4j.LoggerFactory;
 /**
  * Read the files named "labels_xx.properties" where xx is the country code specified by the default {@link Locale}. And
  * defines the {@link Properties} accordingly. Then is possible to ask to translate a specific tag (with arguments) to
- * the corresponding string in the properties file.
+ * the corresponding string in the properties file.<br>
+ * Each label is compiled once in a {@link LabelFormat}, so constant labels and labels with simple <code>{0}</code>
+ * placeholders don't pay the cost of a {@link MessageFormat}.<br>
+ * The static methods use the default {@link Locale}, the translations for any other {@link Locale} are obtained with
+ * {@link #forLocale(Locale)}. The instances are thread safe and can be used concurrently for different languages.<br>
+ * The labels can be reloaded at any time with {@link #reload()} or automatically when the files of a directory change
+ * with {@link #watch(Path)}. A reload publishes a new immutable snapshot of the labels, the readers never lock and see
+ * either the old or the new labels. Only the compiled formats of the labels that have changed are dropped.<br>
+ * With many languages loaded, {@link #setCompactStorage(boolean)} reduces the memory used by the labels.<br>
+ * When the same labels are translated many times (like the columns of a report), {@link #resolve(String...)} resolves
+ * them once in a {@link TranslationTable} and the <code>formatTo</code>/<code>translateTo</code> methods write the
+ * labels directly where they are needed.
  *
  * @author Leopoldo Ghielmetti
  */
 public class Translations {
-  private static final Logger   LOGGER = LoggerFactory.getLogger(Translations.class);
-  private static ResourceBundle labels;
+  private static final Logger                    LOGGER       = LoggerFactory.getLogger(Translations.class);
+  private static final String                    BUNDLE_NAME  = "labels";
+  private static final String                    EXTENSION    = ".properties";
+  private static final int                       MAX_LOCALES  = 16;
+  private static final long                      SETTLE_TIME  = 200;
+  private static final ResourceBundle.Control    CONTROL      = ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_DEFAULT);
+  private static final Map<Locale, Translations> instances    = new LocaleCache();
+  // Every instance still referenced, the ones dropped by the cache or by initialize() included, guarded by instances
+  private static final Set<Translations>         live         = Collections.newSetFromMap(new WeakHashMap<>());
+  private static volatile Translations           defaults;
+  private static volatile Path                   directory;
+  private static volatile boolean                compact;
+  private static WatchService                    watchService;
+
+  private final Locale                           locale;
+  private volatile Snapshot                      snapshot;
 
   static {
     initialize();
   }
 
-  private Translations() {
-    // nothing to do
+  private Translations(final Locale inLocale) {
+    locale = inLocale;
+    snapshot = new Snapshot(load(inLocale));
+  }
+
+  /**
+   * Returns the translations for the given {@link Locale}.<br>
+   * The labels are searched only in the files of the given {@link Locale} and in the default "labels.properties" file,
+   * the default {@link Locale} is never used as fallback. The last used languages are kept in a cache of bounded size.
+   *
+   * @param inLocale The {@link Locale} of the translations.
+   * @return The translations.
+   * @throws MissingResourceException If no "labels" file can be found.
+   */
+  public static Translations forLocale(final Locale inLocale) {
+    synchronized (instances) {
+      Translations translations = instances.get(inLocale);
+
+      if (translations == null) {
+        translations = new Translations(inLocale);
+        instances.put(inLocale, translations);
+        live.add(translations);
+      }
+
+      return translations;
+    }
+  }
+
+  /**
+   * Returns the translations of the default {@link Locale}, the ones used by the static methods.
+   *
+   * @return The translations.
+   */
+  public static Translations getDefault() {
+    return defaults;
   }
 
   /**
@@ -33,7 +112,70 @@ public class Translations {
    * This method can be called when the {@link Locale} has changed to reload the translations.
    */
   public static void initialize() {
-    labels = ResourceBundle.getBundle("labels");
+    ResourceBundle.clearCache();
+
+    synchronized (instances) {
+      instances.clear();
+    }
+
+    defaults = forLocale(Locale.getDefault());
+  }
+
+  /**
+   * Reloads the labels of all the translations in use.<br>
+   * The instances are kept, so the ones obtained with {@link #forLocale(Locale)} see the new labels, even the ones no
+   * longer in the cache or obtained before an {@link #initialize()}. If the labels of a language cannot be read, the
+   * previous ones are kept.<br>
+   * The reloads don't overlap, and don't overlap {@link #watch(Path)} and {@link #stopWatching()}: the last reload
+   * publishes the labels of the last watched directory.
+   */
+  public static synchronized void reload() {
+    List<Translations> translations;
+
+    ResourceBundle.clearCache();
+
+    synchronized (instances) {
+      translations = new ArrayList<>(live);
+    }
+
+    for (Translations translation : translations) {
+      try {
+        translation.reloadLabels();
+      } catch (MissingResourceException e) {
+        LOGGER.warn("Unable to reload the translations for {}", translation.locale, e);
+      }
+    }
+  }
+
+  /**
+   * Defines how the labels are stored, the change is applied to the labels loaded or reloaded after this call.<br>
+   * In compact mode the keys are shared by all the languages in a perfect hash index and the labels of each language are
+   * packed in a single byte array. A label is then decoded each time it's compiled, this is slower but only happens once
+   * per key.
+   *
+   * @param inCompact <code>true</code> to use the compact storage, <code>false</code> (the default) for a
+   *          {@link HashMap}.
+   */
+  public static void setCompactStorage(final boolean inCompact) {
+    compact = inCompact;
+  }
+
+  /**
+   * Stops watching the labels directory.<br>
+   * The labels already loaded are kept, the next reload will read them from the classpath.
+   */
+  public static synchronized void stopWatching() {
+    directory = null;
+
+    if (watchService != null) {
+      try {
+        watchService.close();
+      } catch (IOException e) {
+        LOGGER.warn("Unable to close the watch service", e);
+      }
+
+      watchService = null;
+    }
   }
 
   /**
@@ -45,11 +187,281 @@ public class Translations {
    * @return The requested translation.
    */
   public static String translate(final String inKey, final Object... inArguments) {
+    return defaults.format(inKey, inArguments);
+  }
+
+  /**
+   * Writes the translation for the given key with the arguments in the given {@link Appendable}.<br>
+   * The arguments are put following the {@link MessageFormat} rules.
+   *
+   * @param inAppendable Where to write the translation.
+   * @param inKey The key to use for the translation.
+   * @param inArguments The arguments to put in the translation.
+   * @throws IOException If the {@link Appendable} fails.
+   */
+  public static void translateTo(final Appendable inAppendable, final String inKey, final Object... inArguments) throws IOException {
+    defaults.formatTo(inAppendable, inKey, inArguments);
+  }
+
+  /**
+   * Reads the "labels_xx.properties" files from the given directory instead of the classpath and reloads them
+   * automatically each time they change.<br>
+   * The files are read as ISO 8859-1 like the {@link ResourceBundle} does. The changes are applied after the files have
+   * been stable for a short time, so a file is not read while it's still being written.
+   *
+   * @param inDirectory The directory containing the labels files.
+   * @throws IOException If the directory cannot be watched.
+   */
+  public static synchronized void watch(final Path inDirectory) throws IOException {
+    stopWatching();
+
+    WatchService service = FileSystems.getDefault().newWatchService();
+
     try {
-      return new MessageFormat(labels.getString(inKey)).format(inArguments);
-    } catch (MissingResourceException e) {
-      LOGGER.warn("Translation not found for message {}", inKey, e);
-      return inKey;
+      inDirectory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    } catch (IOException e) {
+      service.close();
+      throw e;
+    }
+
+    watchService = service;
+    directory = inDirectory;
+    reload();
+
+    Thread watcher = new Thread(() -> watchLabels(service), "Translations watcher");
+    watcher.setDaemon(true);
+    watcher.start();
+  }
+
+  private static boolean isLabelsFile(final Path inFile) {
+    String name = inFile.getFileName().toString();
+    return name.startsWith(BUNDLE_NAME) && name.endsWith(EXTENSION);
+  }
+
+  private static Map<String, String> load(final Locale inLocale) {
+    Path dir = directory;
+    Map<String, String> labels = new HashMap<>();
+
+    if (dir == null) {
+      ResourceBundle bundle = ResourceBundle.getBundle(BUNDLE_NAME, inLocale, CONTROL);
+
+      for (String key : bundle.keySet()) {
+        labels.put(key, bundle.getString(key));
+      }
+    } else {
+      List<Locale> candidates = CONTROL.getCandidateLocales(BUNDLE_NAME, inLocale);
+      boolean found = false;
+
+      // From the most generic to the most specific, so the specific labels override the generic ones
+      for (int i = candidates.size() - 1; i >= 0; i--) {
+        Path file = dir.resolve(CONTROL.toBundleName(BUNDLE_NAME, candidates.get(i)) + EXTENSION);
+
+        if (Files.isRegularFile(file)) {
+          loadFile(file, labels);
+          found = true;
+        }
+      }
+
+      if (!found) {
+        throw new MissingResourceException("No labels for " + inLocale + " in " + dir, BUNDLE_NAME, "");
+      }
+    }
+
+    return compact ? CompactLabels.of(labels) : Collections.unmodifiableMap(labels);
+  }
+
+  private static void loadFile(final Path inFile, final Map<String, String> inLabels) {
+    Properties properties = new Properties();
+
+    try (InputStream is = Files.newInputStream(inFile)) {
+      properties.load(is);
+    } catch (IOException e) {
+      MissingResourceException exception = new MissingResourceException("Unable to read " + inFile, BUNDLE_NAME, "");
+      exception.initCause(e);
+      throw exception;
+    }
+
+    for (String key : properties.stringPropertyNames()) {
+      inLabels.put(key, properties.getProperty(key));
+    }
+  }
+
+  /**
+   * Stops watching the labels directory if the given service is still the one in use.
+   *
+   * @param inService The service of the watcher thread.
+   */
+  private static synchronized void stopWatching(final WatchService inService) {
+    if (watchService == inService) {
+      stopWatching();
+    }
+  }
+
+  private static void watchLabels(final WatchService inService) {
+    try {
+      for (;;) {
+        boolean changed = false;
+
+        // Waits for a change, then waits until no more changes arrive
+        for (WatchKey key = inService.take(); key != null; key = inService.poll(SETTLE_TIME, TimeUnit.MILLISECONDS)) {
+          for (WatchEvent<?> event : key.pollEvents()) {
+            changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || isLabelsFile((Path) event.context());
+          }
+
+          if (!key.reset()) {
+            // The directory has been deleted or can't be accessed anymore
+            LOGGER.warn("Unable to watch the labels in {} anymore, reloading them from the classpath", directory);
+            stopWatching(inService);
+            reload();
+            return;
+          }
+        }
+
+        if (changed) {
+          LOGGER.info("Labels changed in {}, reloading", directory);
+          reload();
+        }
+      }
+    } catch (@SuppressWarnings("unused") ClosedWatchServiceException | InterruptedException e) {
+      // The watching has been stopped
+    }
+  }
+
+  /**
+   * Gets the translation for the given key and put the arguments in the returned {@link String}.<br>
+   * The arguments are put following the {@link MessageFormat} rules and formatted with the {@link Locale} of this
+   * translations.
+   *
+   * @param inKey The key to use for the translation.
+   * @param inArguments The arguments to put in the String.
+   * @return The requested translation.
+   */
+  public String format(final String inKey, final Object... inArguments) {
+    LabelFormat format = getFormat(snapshot, inKey);
+    return format == null ? inKey : format.format(inArguments);
+  }
+
+  /**
+   * Writes the translation for the given key with the arguments in the given {@link Appendable}.<br>
+   * The arguments are put following the {@link MessageFormat} rules and formatted with the {@link Locale} of this
+   * translations.
+   *
+   * @param inAppendable Where to write the translation.
+   * @param inKey The key to use for the translation.
+   * @param inArguments The arguments to put in the translation.
+   * @throws IOException If the {@link Appendable} fails.
+   */
+  public void formatTo(final Appendable inAppendable, final String inKey, final Object... inArguments) throws IOException {
+    LabelFormat format = getFormat(snapshot, inKey);
+
+    if (format == null) {
+      inAppendable.append(inKey);
+    } else {
+      format.formatTo(inAppendable, inArguments);
+    }
+  }
+
+  /**
+   * Returns the {@link Locale} of this translations.
+   *
+   * @return The {@link Locale}.
+   */
+  public Locale getLocale() {
+    return locale;
+  }
+
+  /**
+   * Resolves the given keys once in an immutable table, where the translations are then accessed by their position.
+   * <br>
+   * The table isn't affected by the later reloads of the labels.
+   *
+   * @param inKeys The keys to resolve.
+   * @return The table of the translations, in the same order as the keys.
+   */
+  public TranslationTable resolve(final String... inKeys) {
+    Snapshot labels = snapshot;
+    LabelFormat[] formats = new LabelFormat[inKeys.length];
+
+    for (int i = 0; i < inKeys.length; i++) {
+      LabelFormat format = getFormat(labels, inKeys[i]);
+      formats[i] = format == null ? LabelFormat.constant(inKeys[i]) : format;
+    }
+
+    return new TranslationTable(locale, inKeys.clone(), formats);
+  }
+
+  @Override
+  public String toString() {
+    return "Translations[locale=" + locale + "]";
+  }
+
+  /**
+   * Returns the compiled label of the given key, compiling it the first time.
+   *
+   * @param inLabels The labels to use.
+   * @param inKey The key of the label.
+   * @return The compiled label or <code>null</code> if the key is unknown.
+   */
+  private LabelFormat getFormat(final Snapshot inLabels, final String inKey) {
+    LabelFormat format = inLabels.formats.get(inKey);
+
+    if (format == null) {
+      String label = inLabels.labels.get(inKey);
+
+      if (label == null) {
+        LOGGER.warn("Translation not found for message {}", inKey);
+        return null;
+      }
+
+      format = LabelFormat.compile(label, locale);
+      inLabels.formats.put(inKey, format);
+    }
+
+    return format;
+  }
+
+  private void reloadLabels() {
+    Snapshot current = snapshot;
+    snapshot = new Snapshot(load(locale), current);
+  }
+
+  /** An immutable set of labels with the formats compiled so far. */
+  private static final class Snapshot {
+    private final Map<String, String>      labels;
+    private final Map<String, LabelFormat> formats = new ConcurrentHashMap<>();
+
+    Snapshot(final Map<String, String> inLabels) {
+      labels = inLabels;
+    }
+
+    /**
+     * Creates a new snapshot keeping the formats of the previous one for the labels that haven't changed.
+     *
+     * @param inLabels The new labels.
+     * @param inPrevious The previous snapshot.
+     */
+    Snapshot(final Map<String, String> inLabels, final Snapshot inPrevious) {
+      labels = inLabels;
+
+      for (Map.Entry<String, LabelFormat> entry : inPrevious.formats.entrySet()) {
+        if (Objects.equals(inLabels.get(entry.getKey()), inPrevious.labels.get(entry.getKey()))) {
+          formats.put(entry.getKey(), entry.getValue());
+        }
+      }
+    }
+  }
+
+  /** The cache of the last used translations, the least recently used {@link Locale} is dropped when full. */
+  private static final class LocaleCache extends LinkedHashMap<Locale, Translations> {
+    private static final long serialVersionUID = 1L;
+
+    LocaleCache() {
+      super(MAX_LOCALES, 0.75f, true);
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<Locale, Translations> inEldest) {
+      return size() > MAX_LOCALES;
     }
   }
 }
@@ -1,7 +1,14 @@
 package net.ghielmetti.utilities;
 
+import java.util.Objects;
+
 /**
- * Allow the creation of a three object group that can be used at will and added to Hashtables.
+ * Allow the creation of a three object group that can be used at will and added to Hashtables.<br>
+ * The hash code combines the hash codes of the three objects with {@link Hashing#combine(int, int)}, so the groups of
+ * near values are well distributed in the hash tables, and it's computed only once: a component changed after the
+ * first {@link #hashCode()} call leaves the group with a stale hash code, like any mutable key of a hash table.<br>
+ * The {@link #of(Object, Object, Object)} factory returns a shared instance for the groups created often with the same
+ * values.
  *
  * @author Leopoldo Ghielmetti
  * @param <Left> The left parameter class
@@ -11,12 +18,14 @@ package net.ghielmetti.utilities;
  */
 @Deprecated
 public class Trio<Left, Center, Right> {
-  private static final int PRIME = 31;
+  private static final InternTable<Trio<?, ?, ?>> INTERNED = new InternTable<>(4096);
 
   // The three values
-  private final Left       left;
-  private final Center     center;
-  private final Right      right;
+  private final Left                              left;
+  private final Center                            center;
+  private final Right                             right;
+  // The hash code, computed the first time it's needed (0 means not computed yet)
+  private int                                     hash;
 
   /**
    * Create a new object. You must specify a "left", a "center" and a "right" object.
@@ -31,6 +40,36 @@ public class Trio<Left, Center, Right> {
     right = inRight;
   }
 
+  /**
+   * Returns a group of the given objects, sharing the instance with the previous calls having the same objects when
+   * possible.<br>
+   * The shared instances are kept in a small cache of weak references: the groups created often don't cost an
+   * allocation each and the comparisons between them are mostly a reference comparison, but two equal groups may still
+   * be different instances. Prefer the constructor for the groups created once.
+   *
+   * @param <L> The left object class
+   * @param <C> The center object class
+   * @param <R> The right object class
+   * @param inLeft The left object
+   * @param inCenter The center object
+   * @param inRight The right object
+   * @return The group.
+   */
+  @SuppressWarnings("unchecked")
+  public static <L, C, R> Trio<L, C, R> of(final L inLeft, final C inCenter, final R inRight) {
+    int h = Hashing.combine(Hashing.combine(Objects.hashCode(inLeft), Objects.hashCode(inCenter)), Objects.hashCode(inRight));
+    Trio<?, ?, ?> cached = INTERNED.get(h);
+
+    if (cached != null && cached.hash == h && InternTable.same(cached.left, inLeft) && InternTable.same(cached.center, inCenter) && InternTable.same(cached.right, inRight)) {
+      return (Trio<L, C, R>) cached;
+    }
+
+    Trio<L, C, R> trio = new Trio<>(inLeft, inCenter, inRight);
+    trio.hash = h;
+    INTERNED.put(h, trio);
+    return trio;
+  }
+
   @Override
   public boolean equals(final Object obj) {
     if (this == obj) {
@@ -103,27 +142,14 @@ public class Trio<Left, Center, Right> {
 
   @Override
   public int hashCode() {
-    int result = 1;
-
-    result *= PRIME;
-
-    if (center != null) {
-      result += center.hashCode();
-    }
-
-    result *= PRIME;
-
-    if (left != null) {
-      result += left.hashCode();
-    }
-
-    result *= PRIME;
+    int h = hash;
 
-    if (right != null) {
-      result += right.hashCode();
+    if (h == 0) {
+      h = Hashing.combine(Hashing.combine(Objects.hashCode(left), Objects.hashCode(center)), Objects.hashCode(right));
+      hash = h;
     }
 
-    return result;
+    return h;
   }
 
   @Override
@@ -0,0 +1,258 @@
+package net.ghielmetti.utilities;
+
+import java.util.Comparator;
+
+/**
+ * A list of {@link Trio} keeping the left, the center and the right objects in three separate arrays, of primitives
+ * when the objects are {@link Long}, {@link Integer} or {@link Double}.<br>
+ * The groups are created on demand by {@link #get(int)}, use {@link #getLeft(int)}, {@link #getCenter(int)} and
+ * {@link #getRight(int)} to avoid it.<br>
+ * The primitive columns don't accept <code>null</code> values. This class is not thread safe.
+ *
+ * @author Leopoldo Ghielmetti
+ * @param <Left> The left parameter class
+ * @param <Center> The center parameter class
+ * @param <Right> The right parameter class
+ */
+@SuppressWarnings("deprecation")
+public class TrioList<Left, Center, Right> extends ColumnarList<Trio<Left, Center, Right>> {
+  private final Column<Left>   lefts;
+  private final Column<Center> centers;
+  private final Column<Right>  rights;
+
+  /**
+   * Constructor.
+   *
+   * @param inLeftClass The left parameter class.
+   * @param inCenterClass The center parameter class.
+   * @param inRightClass The right parameter class.
+   */
+  public TrioList(final Class<Left> inLeftClass, final Class<Center> inCenterClass, final Class<Right> inRightClass) {
+    this(inLeftClass, inCenterClass, inRightClass, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param inLeftClass The left parameter class.
+   * @param inCenterClass The center parameter class.
+   * @param inRightClass The right parameter class.
+   * @param inCapacity The number of groups the list can contain before growing.
+   */
+  public TrioList(final Class<Left> inLeftClass, final Class<Center> inCenterClass, final Class<Right> inRightClass, final int inCapacity) {
+    this(Column.of(inLeftClass, inCapacity), Column.of(inCenterClass, inCapacity), Column.of(inRightClass, inCapacity), inCapacity);
+  }
+
+  private TrioList(final Column<Left> inLefts, final Column<Center> inCenters, final Column<Right> inRights, final int inCapacity) {
+    super(inCapacity, inLefts, inCenters, inRights);
+    lefts = inLefts;
+    centers = inCenters;
+    rights = inRights;
+  }
+
+  /**
+   * Adds a group at the end of the list, without creating the {@link Trio}.
+   *
+   * @param inLeft The left object.
+   * @param inCenter The center object.
+   * @param inRight The right object.
+   * @return <code>true</code>.
+   */
+  public boolean add(final Left inLeft, final Center inCenter, final Right inRight) {
+    int row = addRow();
+
+    try {
+      lefts.set(row, inLeft);
+      centers.set(row, inCenter);
+      rights.set(row, inRight);
+    } catch (NullPointerException e) {
+      removeRow(row);
+      throw e;
+    }
+
+    return true;
+  }
+
+  @Override
+  public boolean add(final Trio<Left, Center, Right> inTrio) {
+    return add(inTrio.getLeft(), inTrio.getCenter(), inTrio.getRight());
+  }
+
+  /**
+   * Searches the given center object, the list must be sorted by {@link #sortByCenter()}.
+   *
+   * @param inCenter The searched object.
+   * @return The index of a group having this center object or else <code>(-(insertion point) - 1)</code>.
+   */
+  public int binarySearchCenter(final Center inCenter) {
+    return searchRow(row -> centers.compareTo(row, inCenter));
+  }
+
+  /**
+   * Searches the given center object, the list must be sorted by {@link #sortByCenter(Comparator)} with the same
+   * comparator.
+   *
+   * @param inCenter The searched object.
+   * @param inComparator The comparator.
+   * @return The index of a group having this center object or else <code>(-(insertion point) - 1)</code>.
+   */
+  public int binarySearchCenter(final Center inCenter, final Comparator<? super Center> inComparator) {
+    return searchRow(row -> inComparator.compare(centers.get(row), inCenter));
+  }
+
+  /**
+   * Searches the given left object, the list must be sorted by {@link #sortByLeft()}.
+   *
+   * @param inLeft The searched object.
+   * @return The index of a group having this left object or else <code>(-(insertion point) - 1)</code>.
+   */
+  public int binarySearchLeft(final Left inLeft) {
+    return searchRow(row -> lefts.compareTo(row, inLeft));
+  }
+
+  /**
+   * Searches the given left object, the list must be sorted by {@link #sortByLeft(Comparator)} with the same
+   * comparator.
+   *
+   * @param inLeft The searched object.
+   * @param inComparator The comparator.
+   * @return The index of a group having this left object or else <code>(-(insertion point) - 1)</code>.
+   */
+  public int binarySearchLeft(final Left inLeft, final Comparator<? super Left> inComparator) {
+    return searchRow(row -> inComparator.compare(lefts.get(row), inLeft));
+  }
+
+  /**
+   * Searches the given right object, the list must be sorted by {@link #sortByRight()}.
+   *
+   * @param inRight The searched object.
+   * @return The index of a group having this right object or else <code>(-(insertion point) - 1)</code>.
+   */
+  public int binarySearchRight(final Right inRight) {
+    return searchRow(row -> rights.compareTo(row, inRight));
+  }
+
+  /**
+   * Searches the given right object, the list must be sorted by {@link #sortByRight(Comparator)} with the same
+   * comparator.
+   *
+   * @param inRight The searched object.
+   * @param inComparator The comparator.
+   * @return The index of a group having this right object or else <code>(-(insertion point) - 1)</code>.
+   */
+  public int binarySearchRight(final Right inRight, final Comparator<? super Right> inComparator) {
+    return searchRow(row -> inComparator.compare(rights.get(row), inRight));
+  }
+
+  /**
+   * Returns a new {@link Trio} with the objects at the given index.
+   *
+   * @param inIndex The index.
+   * @return The group.
+   */
+  @Override
+  public Trio<Left, Center, Right> get(final int inIndex) {
+    checkIndex(inIndex);
+    return new Trio<>(lefts.get(inIndex), centers.get(inIndex), rights.get(inIndex));
+  }
+
+  /**
+   * Returns the center object at the given index.
+   *
+   * @param inIndex The index.
+   * @return The center object.
+   */
+  public Center getCenter(final int inIndex) {
+    checkIndex(inIndex);
+    return centers.get(inIndex);
+  }
+
+  /**
+   * Returns the left object at the given index.
+   *
+   * @param inIndex The index.
+   * @return The left object.
+   */
+  public Left getLeft(final int inIndex) {
+    checkIndex(inIndex);
+    return lefts.get(inIndex);
+  }
+
+  /**
+   * Returns the right object at the given index.
+   *
+   * @param inIndex The index.
+   * @return The right object.
+   */
+  public Right getRight(final int inIndex) {
+    checkIndex(inIndex);
+    return rights.get(inIndex);
+  }
+
+  @Override
+  public Trio<Left, Center, Right> remove(final int inIndex) {
+    Trio<Left, Center, Right> previous = get(inIndex);
+    removeRow(inIndex);
+    return previous;
+  }
+
+  @Override
+  public Trio<Left, Center, Right> set(final int inIndex, final Trio<Left, Center, Right> inTrio) {
+    Trio<Left, Center, Right> previous = get(inIndex);
+
+    try {
+      lefts.set(inIndex, inTrio.getLeft());
+      centers.set(inIndex, inTrio.getCenter());
+      rights.set(inIndex, inTrio.getRight());
+    } catch (NullPointerException e) {
+      // Puts back the previous group, whose objects are all accepted
+      lefts.set(inIndex, previous.getLeft());
+      centers.set(inIndex, previous.getCenter());
+      throw e;
+    }
+
+    return previous;
+  }
+
+  /** Sorts the groups by the natural order of their center objects, that must be {@link Comparable}. */
+  public void sortByCenter() {
+    sortRows(centers::compare);
+  }
+
+  /**
+   * Sorts the groups by their center objects.
+   *
+   * @param inComparator The comparator of the center objects.
+   */
+  public void sortByCenter(final Comparator<? super Center> inComparator) {
+    sortRows((row1, row2) -> inComparator.compare(centers.get(row1), centers.get(row2)));
+  }
+
+  /** Sorts the groups by the natural order of their left objects, that must be {@link Comparable}. */
+  public void sortByLeft() {
+    sortRows(lefts::compare);
+  }
+
+  /**
+   * Sorts the groups by their left objects.
+   *
+   * @param inComparator The comparator of the left objects.
+   */
+  public void sortByLeft(final Comparator<? super Left> inComparator) {
+    sortRows((row1, row2) -> inComparator.compare(lefts.get(row1), lefts.get(row2)));
+  }
+
+  /** Sorts the groups by the natural order of their right objects, that must be {@link Comparable}. */
+  public void sortByRight() {
+    sortRows(rights::compare);
+  }
+
+  /**
+   * Sorts the groups by their right objects.
+   *
+   * @param inComparator The comparator of the right objects.
+   */
+  public void sortByRight(final Comparator<? super Right> inComparator) {
+    sortRows((row1, row2) -> inComparator.compare(rights.get(row1), rights.get(row2)));
+  }
+}
@@ -0,0 +1,30 @@
+package net.ghielmetti.utilities;
+
+import java.io.IOException;
+
+/**
+ * Writes and reads one component of the tuples transferred by {@link TupleOutput} and {@link TupleInput}.<br>
+ * The codecs of the usual classes are in {@link TupleCodecs}, other classes can have their own implementation.
+ *
+ * @author Leopoldo Ghielmetti
+ * @param <T> The class of the component
+ */
+public interface TupleCodec<T> {
+  /**
+   * Reads a component.
+   *
+   * @param inInput Where to read.
+   * @return The component.
+   * @throws IOException If the reading fails.
+   */
+  T read(TupleInput inInput) throws IOException;
+
+  /**
+   * Writes a component.
+   *
+   * @param inOutput Where to write.
+   * @param inValue The component.
+   * @throws IOException If the writing fails.
+   */
+  void write(TupleOutput inOutput, T inValue) throws IOException;
+}
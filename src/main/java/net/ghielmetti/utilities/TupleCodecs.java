@@ -0,0 +1,101 @@
+package net.ghielmetti.utilities;
+
+import java.io.IOException;
+
+/**
+ * The {@link TupleCodec} of the usual classes.<br>
+ * Only {@link #STRING} accepts <code>null</code> values, use {@link #nullable(TupleCodec)} for the others.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class TupleCodecs {
+  /** The {@link Double}, on 8 bytes. */
+  public static final TupleCodec<Double>  DOUBLE  = new DoubleCodec();
+  /** The {@link Integer}, as a variable length integer. */
+  public static final TupleCodec<Integer> INTEGER = new IntegerCodec();
+  /** The {@link Long}, as a variable length integer. */
+  public static final TupleCodec<Long>    LONG    = new LongCodec();
+  /** The {@link String}, through the dictionary of the stream. */
+  public static final TupleCodec<String>  STRING  = new StringCodec();
+
+  private TupleCodecs() {
+    // nothing to do
+  }
+
+  /**
+   * Returns a codec accepting also the <code>null</code> values, they cost one byte more.
+   *
+   * @param <T> The class of the component
+   * @param inCodec The codec of the values that aren't <code>null</code>.
+   * @return The codec.
+   */
+  public static <T> TupleCodec<T> nullable(final TupleCodec<T> inCodec) {
+    return new TupleCodec<T>() {
+      @Override
+      public T read(final TupleInput inInput) throws IOException {
+        return inInput.readBoolean() ? inCodec.read(inInput) : null;
+      }
+
+      @Override
+      public void write(final TupleOutput inOutput, final T inValue) throws IOException {
+        inOutput.writeBoolean(inValue != null);
+
+        if (inValue != null) {
+          inCodec.write(inOutput, inValue);
+        }
+      }
+    };
+  }
+
+  /** The codec of the {@link Double}. */
+  private static final class DoubleCodec implements TupleCodec<Double> {
+    @Override
+    public Double read(final TupleInput inInput) throws IOException {
+      return Double.valueOf(inInput.readDouble());
+    }
+
+    @Override
+    public void write(final TupleOutput inOutput, final Double inValue) throws IOException {
+      inOutput.writeDouble(inValue.doubleValue());
+    }
+  }
+
+  /** The codec of the {@link Integer}. */
+  private static final class IntegerCodec implements TupleCodec<Integer> {
+    @Override
+    public Integer read(final TupleInput inInput) throws IOException {
+      return Integer.valueOf(inInput.readInt());
+    }
+
+    @Override
+    public void write(final TupleOutput inOutput, final Integer inValue) throws IOException {
+      inOutput.writeInt(inValue.intValue());
+    }
+  }
+
+  /** The codec of the {@link Long}. */
+  private static final class LongCodec implements TupleCodec<Long> {
+    @Override
+    public Long read(final TupleInput inInput) throws IOException {
+      return Long.valueOf(inInput.readLong());
+    }
+
+    @Override
+    public void write(final TupleOutput inOutput, final Long inValue) throws IOException {
+      inOutput.writeLong(inValue.longValue());
+    }
+  }
+
+  /** The codec of the {@link String}. */
+  private static final class StringCodec implements TupleCodec<String> {
+    @Override
+    public String read(final TupleInput inInput) throws IOException {
+      return inInput.readString();
+    }
+
+    @Override
+    public void write(final TupleOutput inOutput, final String inValue) throws IOException {
+      inOutput.writeString(inValue);
+    }
+  }
+}
@@ -0,0 +1,283 @@
+package net.ghielmetti.utilities;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a stream of {@link Pair} and {@link Trio} written by {@link TupleOutput}, with the same {@link TupleCodec} and
+ * in the same order.<br>
+ * This class is not thread safe.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public abstract class TupleInput {
+  private final List<String> dictionary = new ArrayList<>();
+
+  private TupleInput() {
+    // nothing to do
+  }
+
+  /**
+   * Creates a stream reading from the given {@link ByteBuffer}.
+   *
+   * @param inBuffer The buffer.
+   * @return The stream.
+   */
+  public static TupleInput of(final ByteBuffer inBuffer) {
+    return new OfByteBuffer(inBuffer);
+  }
+
+  /**
+   * Creates a stream reading from the given {@link DataInput}.
+   *
+   * @param inInput The input.
+   * @return The stream.
+   */
+  public static TupleInput of(final DataInput inInput) {
+    return new OfDataInput(inInput);
+  }
+
+  /**
+   * Reads a boolean written by {@link TupleOutput#writeBoolean(boolean)}.
+   *
+   * @return The value.
+   * @throws IOException If the reading fails.
+   */
+  public boolean readBoolean() throws IOException {
+    return readByte() != 0;
+  }
+
+  /**
+   * Reads a double written by {@link TupleOutput#writeDouble(double)}.
+   *
+   * @return The value.
+   * @throws IOException If the reading fails.
+   */
+  public double readDouble() throws IOException {
+    return Double.longBitsToDouble(readRawLong());
+  }
+
+  /**
+   * Reads an integer written by {@link TupleOutput#writeInt(int)}.
+   *
+   * @return The value.
+   * @throws IOException If the reading fails.
+   */
+  public int readInt() throws IOException {
+    int value = readUnsignedInt();
+    return value >>> 1 ^ -(value & 1);
+  }
+
+  /**
+   * Reads a long written by {@link TupleOutput#writeLong(long)}.
+   *
+   * @return The value.
+   * @throws IOException If the reading fails.
+   */
+  public long readLong() throws IOException {
+    long value = 0;
+
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = readByte();
+      value |= (long) (b & 0x7F) << shift;
+
+      if ((b & 0x80) == 0) {
+        return value >>> 1 ^ -(value & 1);
+      }
+    }
+
+    throw new StreamCorruptedException("Malformed variable length long");
+  }
+
+  /**
+   * Reads a pair written by {@link TupleOutput#writePair(Pair, TupleCodec, TupleCodec)}.
+   *
+   * @param <L> The left object class
+   * @param <R> The right object class
+   * @param inLeftCodec The codec of the left object.
+   * @param inRightCodec The codec of the right object.
+   * @return The pair.
+   * @throws IOException If the reading fails.
+   */
+  @SuppressWarnings("deprecation")
+  public <L, R> Pair<L, R> readPair(final TupleCodec<L> inLeftCodec, final TupleCodec<R> inRightCodec) throws IOException {
+    L left = inLeftCodec.read(this);
+    return new Pair<>(left, inRightCodec.read(this));
+  }
+
+  /**
+   * Reads a string written by {@link TupleOutput#writeString(String)}.
+   *
+   * @return The value, can be <code>null</code>.
+   * @throws IOException If the reading fails.
+   */
+  public String readString() throws IOException {
+    int code = readUnsignedInt();
+
+    if (code == TupleOutput.NULL_STRING) {
+      return null;
+    }
+
+    if (code == TupleOutput.NEW_STRING) {
+      int length = readUnsignedInt();
+
+      if (length < 0) {
+        throw new StreamCorruptedException("Invalid string length " + length);
+      }
+
+      byte[] bytes = readBytes(length);
+      String value = new String(bytes, StandardCharsets.UTF_8);
+      dictionary.add(value);
+      return value;
+    }
+
+    int index = code - TupleOutput.DICTIONARY;
+
+    if (index < 0 || index >= dictionary.size()) {
+      throw new StreamCorruptedException("Unknown string " + index);
+    }
+
+    return dictionary.get(index);
+  }
+
+  /**
+   * Reads a group of three objects written by {@link TupleOutput#writeTrio(Trio, TupleCodec, TupleCodec, TupleCodec)}.
+   *
+   * @param <L> The left object class
+   * @param <C> The center object class
+   * @param <R> The right object class
+   * @param inLeftCodec The codec of the left object.
+   * @param inCenterCodec The codec of the center object.
+   * @param inRightCodec The codec of the right object.
+   * @return The group.
+   * @throws IOException If the reading fails.
+   */
+  @SuppressWarnings("deprecation")
+  public <L, C, R> Trio<L, C, R> readTrio(final TupleCodec<L> inLeftCodec, final TupleCodec<C> inCenterCodec, final TupleCodec<R> inRightCodec) throws IOException {
+    L left = inLeftCodec.read(this);
+    C center = inCenterCodec.read(this);
+    return new Trio<>(left, center, inRightCodec.read(this));
+  }
+
+  /**
+   * Reads a byte.
+   *
+   * @return The byte.
+   * @throws IOException If the reading fails.
+   */
+  abstract int readByte() throws IOException;
+
+  /**
+   * Reads the given number of bytes.<br>
+   * The length comes from the stream, the memory is only allocated for the bytes that can really be read.
+   *
+   * @param inLength The number of bytes, not negative.
+   * @return The bytes.
+   * @throws IOException If the reading fails or the stream is shorter than the given length.
+   */
+  abstract byte[] readBytes(int inLength) throws IOException;
+
+  /**
+   * Reads a value of 8 bytes, the high byte first.
+   *
+   * @return The value.
+   * @throws IOException If the reading fails.
+   */
+  abstract long readRawLong() throws IOException;
+
+  private int readUnsignedInt() throws IOException {
+    int value = 0;
+
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = readByte();
+
+      // The fifth byte only has the 4 high bits of the value
+      if (shift == 28 && (b & 0xF0) != 0) {
+        break;
+      }
+
+      value |= (b & 0x7F) << shift;
+
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+
+    throw new StreamCorruptedException("Malformed variable length integer");
+  }
+
+  /** A stream reading from a {@link ByteBuffer}. */
+  private static final class OfByteBuffer extends TupleInput {
+    private final ByteBuffer buffer;
+
+    OfByteBuffer(final ByteBuffer inBuffer) {
+      buffer = inBuffer;
+    }
+
+    @Override
+    int readByte() {
+      return buffer.get();
+    }
+
+    @Override
+    byte[] readBytes(final int inLength) throws StreamCorruptedException {
+      if (inLength > buffer.remaining()) {
+        throw new StreamCorruptedException("Invalid length " + inLength + ", only " + buffer.remaining() + " bytes remaining");
+      }
+
+      byte[] bytes = new byte[inLength];
+      buffer.get(bytes);
+      return bytes;
+    }
+
+    @Override
+    long readRawLong() {
+      return buffer.getLong();
+    }
+  }
+
+  /** A stream reading from a {@link DataInput}. */
+  private static final class OfDataInput extends TupleInput {
+    // The remaining length of the input is unknown, a long array is grown while its bytes are read
+    private static final int CHUNK = 8192;
+
+    private final DataInput  input;
+
+    OfDataInput(final DataInput inInput) {
+      input = inInput;
+    }
+
+    @Override
+    int readByte() throws IOException {
+      return input.readByte();
+    }
+
+    @Override
+    byte[] readBytes(final int inLength) throws IOException {
+      byte[] bytes = new byte[Math.min(inLength, CHUNK)];
+      int read = 0;
+
+      while (true) {
+        input.readFully(bytes, read, bytes.length - read);
+        read = bytes.length;
+
+        if (read == inLength) {
+          return bytes;
+        }
+
+        bytes = Arrays.copyOf(bytes, (int) Math.min(inLength, 2L * read));
+      }
+    }
+
+    @Override
+    long readRawLong() throws IOException {
+      return input.readLong();
+    }
+  }
+}
@@ -0,0 +1,244 @@
+package net.ghielmetti.utilities;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes a stream of {@link Pair} and {@link Trio} in a compact binary form, to be read by {@link TupleInput}.<br>
+ * Only the components are written, through their {@link TupleCodec}: no class descriptor and no object graph. The
+ * integers are written as variable length integers (7 bits by byte, the negative values zigzag encoded) and each
+ * distinct {@link String} is written once, the following occurrences are a reference to the dictionary of the
+ * stream.<br>
+ * The dictionary grows with the stream, so a stream of many distinct strings should be split.<br>
+ * This class is not thread safe.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public abstract class TupleOutput {
+  // A string is written as a null, a new string or else a reference to the dictionary (DICTIONARY + index)
+  static final int                   NULL_STRING = 0;
+  static final int                   NEW_STRING  = 1;
+  static final int                   DICTIONARY  = 2;
+
+  private final Map<String, Integer> dictionary  = new HashMap<>();
+
+  private TupleOutput() {
+    // nothing to do
+  }
+
+  /**
+   * Creates a stream writing in the given {@link ByteBuffer}.
+   *
+   * @param inBuffer The buffer.
+   * @return The stream.
+   */
+  public static TupleOutput of(final ByteBuffer inBuffer) {
+    return new OfByteBuffer(inBuffer);
+  }
+
+  /**
+   * Creates a stream writing in the given {@link DataOutput}.
+   *
+   * @param inOutput The output.
+   * @return The stream.
+   */
+  public static TupleOutput of(final DataOutput inOutput) {
+    return new OfDataOutput(inOutput);
+  }
+
+  /**
+   * Writes a boolean on one byte.
+   *
+   * @param inValue The value.
+   * @throws IOException If the writing fails.
+   */
+  public void writeBoolean(final boolean inValue) throws IOException {
+    writeByte(inValue ? 1 : 0);
+  }
+
+  /**
+   * Writes a double on 8 bytes.
+   *
+   * @param inValue The value.
+   * @throws IOException If the writing fails.
+   */
+  public void writeDouble(final double inValue) throws IOException {
+    writeRawLong(Double.doubleToLongBits(inValue));
+  }
+
+  /**
+   * Writes an integer on 1 to 5 bytes, the small values (positive or negative) take less space.
+   *
+   * @param inValue The value.
+   * @throws IOException If the writing fails.
+   */
+  public void writeInt(final int inValue) throws IOException {
+    writeUnsignedInt(inValue << 1 ^ inValue >> 31);
+  }
+
+  /**
+   * Writes a long on 1 to 10 bytes, the small values (positive or negative) take less space.
+   *
+   * @param inValue The value.
+   * @throws IOException If the writing fails.
+   */
+  public void writeLong(final long inValue) throws IOException {
+    long value = inValue << 1 ^ inValue >> 63;
+
+    while ((value & ~0x7FL) != 0) {
+      writeByte((int) value & 0x7F | 0x80);
+      value >>>= 7;
+    }
+
+    writeByte((int) value);
+  }
+
+  /**
+   * Writes a pair.
+   *
+   * @param <L> The left object class
+   * @param <R> The right object class
+   * @param inPair The pair.
+   * @param inLeftCodec The codec of the left object.
+   * @param inRightCodec The codec of the right object.
+   * @throws IOException If the writing fails.
+   */
+  @SuppressWarnings("deprecation")
+  public <L, R> void writePair(final Pair<L, R> inPair, final TupleCodec<? super L> inLeftCodec, final TupleCodec<? super R> inRightCodec) throws IOException {
+    inLeftCodec.write(this, inPair.getLeft());
+    inRightCodec.write(this, inPair.getRight());
+  }
+
+  /**
+   * Writes a string, that can be <code>null</code>. The first occurrence of the string is written in UTF-8, the
+   * following ones are a reference to the first one.
+   *
+   * @param inValue The value.
+   * @throws IOException If the writing fails.
+   */
+  public void writeString(final String inValue) throws IOException {
+    if (inValue == null) {
+      writeUnsignedInt(NULL_STRING);
+      return;
+    }
+
+    Integer index = dictionary.get(inValue);
+
+    if (index != null) {
+      writeUnsignedInt(DICTIONARY + index.intValue());
+      return;
+    }
+
+    dictionary.put(inValue, Integer.valueOf(dictionary.size()));
+    byte[] bytes = inValue.getBytes(StandardCharsets.UTF_8);
+    writeUnsignedInt(NEW_STRING);
+    writeUnsignedInt(bytes.length);
+    writeBytes(bytes);
+  }
+
+  /**
+   * Writes a group of three objects.
+   *
+   * @param <L> The left object class
+   * @param <C> The center object class
+   * @param <R> The right object class
+   * @param inTrio The group.
+   * @param inLeftCodec The codec of the left object.
+   * @param inCenterCodec The codec of the center object.
+   * @param inRightCodec The codec of the right object.
+   * @throws IOException If the writing fails.
+   */
+  @SuppressWarnings("deprecation")
+  public <L, C, R> void writeTrio(final Trio<L, C, R> inTrio, final TupleCodec<? super L> inLeftCodec, final TupleCodec<? super C> inCenterCodec, final TupleCodec<? super R> inRightCodec) throws IOException {
+    inLeftCodec.write(this, inTrio.getLeft());
+    inCenterCodec.write(this, inTrio.getCenter());
+    inRightCodec.write(this, inTrio.getRight());
+  }
+
+  /**
+   * Writes the lowest 8 bits of the value.
+   *
+   * @param inValue The value.
+   * @throws IOException If the writing fails.
+   */
+  abstract void writeByte(int inValue) throws IOException;
+
+  /**
+   * Writes the bytes.
+   *
+   * @param inBytes The bytes.
+   * @throws IOException If the writing fails.
+   */
+  abstract void writeBytes(byte[] inBytes) throws IOException;
+
+  /**
+   * Writes the value on 8 bytes, the high byte first.
+   *
+   * @param inValue The value.
+   * @throws IOException If the writing fails.
+   */
+  abstract void writeRawLong(long inValue) throws IOException;
+
+  private void writeUnsignedInt(final int inValue) throws IOException {
+    int value = inValue;
+
+    while ((value & ~0x7F) != 0) {
+      writeByte(value & 0x7F | 0x80);
+      value >>>= 7;
+    }
+
+    writeByte(value);
+  }
+
+  /** A stream writing in a {@link ByteBuffer}. */
+  private static final class OfByteBuffer extends TupleOutput {
+    private final ByteBuffer buffer;
+
+    OfByteBuffer(final ByteBuffer inBuffer) {
+      buffer = inBuffer;
+    }
+
+    @Override
+    void writeByte(final int inValue) {
+      buffer.put((byte) inValue);
+    }
+
+    @Override
+    void writeBytes(final byte[] inBytes) {
+      buffer.put(inBytes);
+    }
+
+    @Override
+    void writeRawLong(final long inValue) {
+      buffer.putLong(inValue);
+    }
+  }
+
+  /** A stream writing in a {@link DataOutput}. */
+  private static final class OfDataOutput extends TupleOutput {
+    private final DataOutput output;
+
+    OfDataOutput(final DataOutput inOutput) {
+      output = inOutput;
+    }
+
+    @Override
+    void writeByte(final int inValue) throws IOException {
+      output.writeByte(inValue);
+    }
+
+    @Override
+    void writeBytes(final byte[] inBytes) throws IOException {
+      output.write(inBytes);
+    }
+
+    @Override
+    void writeRawLong(final long inValue) throws IOException {
+      output.writeLong(inValue);
+    }
+  }
+}
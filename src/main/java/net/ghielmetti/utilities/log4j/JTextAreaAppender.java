@@ -1,13 +1,21 @@
 package net.ghielmetti.utilities.log4j;
 
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.swing.JComponent;
-import javax.swing.SwingUtilities;
 
 import org.apache.log4j.Appender;
 import org.apache.log4j.AppenderSkeleton;
 import org.apache.log4j.Layout;
+import org.apache.log4j.Level;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.spi.LoggingEvent;
 
@@ -15,11 +23,42 @@ import net.ghielmetti.utilities.swing.JTextAreaPanel;
 
 /**
  * A TextArea that is updated via the Log4j utility.<br>
+ * The <code>MaximumLines</code> and <code>MaximumCharacters</code> parameters limit the text kept, the oldest lines
+ * are removed (see {@link JTextAreaPanel#setMaximumLines(int)}). The messages are appended by batches of at most
+ * <code>BatchSize</code> messages (see {@link JTextAreaPanel#appendLater(String)}).<br>
+ * With the <code>Async</code> parameter the events are formatted by a thread of the appender instead of the logging
+ * threads. The events wait in a queue of <code>BufferSize</code> events and the <code>OverflowPolicy</code> parameter
+ * tells what to do when the queue is full (see {@link OverflowPolicy}), the number of dropped events is given by
+ * {@link #getDroppedEvents()} and reported in the panel. The events still queued when the appender is closed are
+ * formatted before the thread ends. The location of the events is kept only with the
+ * <code>LocationInfo</code> parameter, because it's computed by the logging thread.<br>
+ * With the <code>LogView</code> parameter the panel displays the lines by a virtualized view (see
+ * {@link JTextAreaPanel#setLogView(boolean)}). The events are then given to the panel as records, the level, the time,
+ * the logger and the message with the stack trace, displayed by columns colored by level; the layout isn't used.
  *
  * @author Leopoldo Ghielmetti
  */
 public class JTextAreaAppender extends AppenderSkeleton {
-  private JTextAreaPanel panel = new JTextAreaPanel();
+  /** The default number of events waiting to be formatted in asynchronous mode. */
+  public static final int                      DEFAULT_BUFFER_SIZE = 8192;
+
+  // The maximum number of events formatted together by the asynchronous mode
+  private static final int                     MAXIMUM_BATCH       = 1024;
+  // The maximum time in milliseconds waited by close() for the formatting of the queued events
+  private static final long                    CLOSE_TIMEOUT       = 1000;
+  // The maximum time in milliseconds waited by a logging thread for room in the queue with the BLOCK policy
+  private static final long                    BLOCK_TIMEOUT       = 1000;
+
+  private final AtomicLong                     droppedEvents       = new AtomicLong();
+  private JTextAreaPanel                       panel               = new JTextAreaPanel();
+  private boolean                              async;
+  private boolean                              locationInfo;
+  private int                                  bufferSize          = DEFAULT_BUFFER_SIZE;
+  private OverflowPolicy                       overflowPolicy      = OverflowPolicy.DROP_OLDEST;
+  private Level                                dropThreshold       = Level.WARN;
+  // Volatile to read its size without the lock held by a logging thread waiting for room
+  private volatile BlockingQueue<LoggingEvent> events;
+  private Thread                               formatter;
 
   /** Constructor, the Log4J library requires a public constructor. */
   public JTextAreaAppender() {
@@ -62,35 +101,262 @@ public class JTextAreaAppender extends AppenderSkeleton {
   }
 
   @Override
-  public void close() {
+  public synchronized void close() {
+    closed = true;
+
+    if (formatter != null) {
+      formatter.interrupt();
+
+      try {
+        formatter.join(CLOSE_TIMEOUT);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      formatter = null;
+    }
+
     panel.close();
   }
 
+  /**
+   * Returns the number of messages appended to the panel without waiting for the delay.
+   *
+   * @return The batch size.
+   */
+  public int getBatchSize() {
+    return panel.getBatchSize();
+  }
+
+  /**
+   * Returns the number of events waiting to be formatted in asynchronous mode.
+   *
+   * @return The size of the queue.
+   */
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * Returns the number of events dropped because the queue of the asynchronous mode was full.
+   *
+   * @return The number of dropped events.
+   */
+  public long getDroppedEvents() {
+    return droppedEvents.get();
+  }
+
+  /**
+   * Returns the level under which the events are dropped by {@link OverflowPolicy#DROP_BELOW_LEVEL}.
+   *
+   * @return The level.
+   */
+  public Level getDropThreshold() {
+    return dropThreshold;
+  }
+
+  /**
+   * Returns <code>true</code> if the location of the events is kept in asynchronous mode.
+   *
+   * @return <code>true</code> if the location is kept.
+   */
+  public boolean getLocationInfo() {
+    return locationInfo;
+  }
+
+  /**
+   * Returns the maximum number of characters kept by the panel.
+   *
+   * @return The limit.
+   */
+  public int getMaximumCharacters() {
+    return panel.getMaximumCharacters();
+  }
+
+  /**
+   * Returns the maximum number of lines kept by the panel.
+   *
+   * @return The limit.
+   */
+  public int getMaximumLines() {
+    return panel.getMaximumLines();
+  }
+
+  /**
+   * Returns the name of the policy applied when the queue of the asynchronous mode is full.
+   *
+   * @return The name of the {@link OverflowPolicy}.
+   */
+  public String getOverflowPolicy() {
+    return overflowPolicy.name();
+  }
+
+  /**
+   * Returns the number of events waiting to be formatted.
+   *
+   * @return The number of events in the queue, 0 if not in asynchronous mode.
+   */
+  public int getQueuedEvents() {
+    BlockingQueue<LoggingEvent> queue = events;
+    return queue == null ? 0 : queue.size();
+  }
+
+  /**
+   * Returns <code>true</code> if the events are formatted by a thread of the appender.
+   *
+   * @return <code>true</code> in asynchronous mode.
+   */
+  public boolean isAsync() {
+    return async;
+  }
+
+  /**
+   * Returns <code>true</code> if the panel displays the lines by a virtualized view.
+   *
+   * @return <code>true</code> if the log view is used.
+   */
+  public boolean isLogView() {
+    return panel.isLogView();
+  }
+
   @Override
   public boolean requiresLayout() {
     return true;
   }
 
+  /**
+   * Sets the asynchronous mode, the <code>Async</code> parameter. The mode must be set before the first event.
+   *
+   * @param inAsync <code>true</code> if the events must be formatted by a thread of the appender.
+   */
+  public void setAsync(final boolean inAsync) {
+    async = inAsync;
+  }
+
+  /**
+   * Sets the number of messages appended to the panel without waiting for the delay, the <code>BatchSize</code>
+   * parameter.
+   *
+   * @param inBatchSize The batch size, at least 1.
+   */
+  public void setBatchSize(final int inBatchSize) {
+    panel.setBatchSize(inBatchSize);
+  }
+
+  /**
+   * Sets the number of events waiting to be formatted in asynchronous mode, the <code>BufferSize</code> parameter. The
+   * size must be set before the first event.
+   *
+   * @param inBufferSize The size of the queue, at least 1.
+   */
+  public void setBufferSize(final int inBufferSize) {
+    if (inBufferSize < 1) {
+      throw new IllegalArgumentException("Invalid buffer size " + inBufferSize);
+    }
+
+    bufferSize = inBufferSize;
+  }
+
+  /**
+   * Sets the level under which the events are dropped by {@link OverflowPolicy#DROP_BELOW_LEVEL}, the
+   * <code>DropThreshold</code> parameter.
+   *
+   * @param inDropThreshold The level, {@link Level#WARN} by default.
+   */
+  public void setDropThreshold(final Level inDropThreshold) {
+    dropThreshold = Objects.requireNonNull(inDropThreshold);
+  }
+
+  /**
+   * Sets if the location of the events is kept in asynchronous mode, the <code>LocationInfo</code> parameter.
+   *
+   * @param inLocationInfo <code>true</code> if the layout prints the location of the events.
+   */
+  public void setLocationInfo(final boolean inLocationInfo) {
+    locationInfo = inLocationInfo;
+  }
+
+  /**
+   * Sets if the panel displays the lines by a virtualized view, the <code>LogView</code> parameter.
+   *
+   * @param inLogView <code>true</code> to use the log view.
+   */
+  public void setLogView(final boolean inLogView) {
+    panel.setLogView(inLogView);
+  }
+
+  /**
+   * Sets the maximum number of characters kept by the panel, the <code>MaximumCharacters</code> parameter.
+   *
+   * @param inMaximumCharacters The limit, at least 1.
+   */
+  public void setMaximumCharacters(final int inMaximumCharacters) {
+    panel.setMaximumCharacters(inMaximumCharacters);
+  }
+
+  /**
+   * Sets the maximum number of lines kept by the panel, the <code>MaximumLines</code> parameter.
+   *
+   * @param inMaximumLines The limit, at least 1.
+   */
+  public void setMaximumLines(final int inMaximumLines) {
+    panel.setMaximumLines(inMaximumLines);
+  }
+
+  /**
+   * Sets the policy applied when the queue of the asynchronous mode is full, the <code>OverflowPolicy</code> parameter.
+   *
+   * @param inOverflowPolicy The name of the {@link OverflowPolicy}, the case is ignored.
+   */
+  public void setOverflowPolicy(final String inOverflowPolicy) {
+    try {
+      overflowPolicy = OverflowPolicy.valueOf(inOverflowPolicy.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown overflow policy " + inOverflowPolicy, e);
+    }
+  }
+
   @Override
   protected void append(final LoggingEvent inEvent) {
     if (checkEntryConditions()) {
-      StringBuilder message = new StringBuilder(layout.format(inEvent));
+      if (async) {
+        enqueue(inEvent);
+      } else if (panel.isLogView()) {
+        appendRecord(inEvent);
+      } else {
+        StringBuilder message = new StringBuilder();
+        format(message, inEvent);
+        // Append formatted message to textArea using the Swing Thread, by batches.
+        panel.appendLater(message.toString());
+      }
+    }
+  }
 
-      if (layout.ignoresThrowable()) {
-        String[] s = inEvent.getThrowableStrRep();
+  /**
+   * For test purposes.
+   *
+   * @return The panel
+   */
+  JTextAreaPanel getPanel() {
+    return panel;
+  }
 
-        if (s != null) {
-          int len = s.length;
+  /**
+   * Appends the event to the panel as a record, for the log view.
+   *
+   * @param inEvent The event.
+   */
+  private void appendRecord(final LoggingEvent inEvent) {
+    StringBuilder message = new StringBuilder(String.valueOf(inEvent.getRenderedMessage()));
+    String[] s = inEvent.getThrowableStrRep();
 
-          for (int i = 0; i < len; i++) {
-            message.append(s[i]).append(Layout.LINE_SEP);
-          }
-        }
+    if (s != null) {
+      for (String line : s) {
+        message.append(Layout.LINE_SEP).append(line);
       }
-
-      // Append formatted message to textArea using the Swing Thread.
-      SwingUtilities.invokeLater(() -> panel.append(message.toString()));
     }
+
+    panel.appendLater(inEvent.getLevel().toInt(), inEvent.getTimeStamp(), inEvent.getLoggerName(), message.toString());
   }
 
   /**
@@ -105,4 +371,152 @@ public class JTextAreaAppender extends AppenderSkeleton {
     }
     return true;
   }
+
+  /**
+   * Drops the oldest event until the given one enters the queue.
+   *
+   * @param inEvent The event.
+   */
+  private void dropOldest(final LoggingEvent inEvent) {
+    while (!events.offer(inEvent)) {
+      if (events.poll() != null) {
+        droppedEvents.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Puts the event in the queue of the asynchronous mode, called by the logging thread.
+   *
+   * @param inEvent The event.
+   */
+  private void enqueue(final LoggingEvent inEvent) {
+    if (formatter == null) {
+      events = new ArrayBlockingQueue<>(bufferSize);
+      formatter = new Thread(this::formatEvents, "JTextAreaAppender " + name);
+      formatter.setDaemon(true);
+      formatter.start();
+    }
+
+    // The values depending on the logging thread are taken now, the message and the throwable are formatted later
+    inEvent.getNDC();
+    inEvent.getThreadName();
+    inEvent.getMDCCopy();
+    inEvent.getRenderedMessage();
+
+    if (locationInfo) {
+      inEvent.getLocationInformation();
+    }
+
+    if (events.offer(inEvent)) {
+      return;
+    }
+
+    switch (overflowPolicy) {
+      case BLOCK:
+        try {
+          if (!events.offer(inEvent, BLOCK_TIMEOUT, TimeUnit.MILLISECONDS)) {
+            droppedEvents.incrementAndGet();
+          }
+        } catch (InterruptedException e) {
+          droppedEvents.incrementAndGet();
+          Thread.currentThread().interrupt();
+        }
+        break;
+      case DROP_BELOW_LEVEL:
+        if (inEvent.getLevel().isGreaterOrEqual(dropThreshold)) {
+          dropOldest(inEvent);
+        } else {
+          droppedEvents.incrementAndGet();
+        }
+        break;
+      default:
+        dropOldest(inEvent);
+        break;
+    }
+  }
+
+  /**
+   * Appends the formatted event to the message.
+   *
+   * @param inMessage The message.
+   * @param inEvent The event.
+   */
+  private void format(final StringBuilder inMessage, final LoggingEvent inEvent) {
+    inMessage.append(layout.format(inEvent));
+
+    if (layout.ignoresThrowable()) {
+      String[] s = inEvent.getThrowableStrRep();
+
+      if (s != null) {
+        int len = s.length;
+
+        for (int i = 0; i < len; i++) {
+          inMessage.append(s[i]).append(Layout.LINE_SEP);
+        }
+      }
+    }
+  }
+
+  /**
+   * Formats the events of the queue until the appender is closed, then the events still queued, the body of the
+   * formatter thread.
+   */
+  private void formatEvents() {
+    BlockingQueue<LoggingEvent> queue = events;
+    List<LoggingEvent> batch = new ArrayList<>();
+    long reportedDrops = 0;
+    boolean open = true;
+
+    while (open) {
+      try {
+        batch.add(queue.take());
+        queue.drainTo(batch, MAXIMUM_BATCH - 1);
+      } catch (@SuppressWarnings("unused") InterruptedException e) {
+        // The appender is closed, no more events are added
+        open = false;
+        queue.drainTo(batch);
+      }
+
+      StringBuilder message = new StringBuilder();
+      boolean logView = panel.isLogView();
+
+      for (LoggingEvent event : batch) {
+        if (logView) {
+          appendRecord(event);
+        } else {
+          format(message, event);
+        }
+      }
+
+      long drops = droppedEvents.get();
+
+      if (drops != reportedDrops) {
+        message.append("... ").append(drops - reportedDrops).append(" events dropped ...").append(Layout.LINE_SEP);
+        reportedDrops = drops;
+      }
+
+      if (message.length() > 0) {
+        panel.appendLater(message.toString());
+      }
+
+      batch.clear();
+    }
+  }
+
+  /** The policies applied when an event doesn't enter the full queue of the asynchronous mode. */
+  public enum OverflowPolicy {
+    /** The oldest events of the queue are dropped, the default policy. */
+    DROP_OLDEST,
+    /**
+     * The event is dropped if its level is lower than the drop threshold, otherwise the oldest event of the queue is
+     * dropped.
+     */
+    DROP_BELOW_LEVEL,
+    /**
+     * The logging thread waits until the event enters the queue, for at most one second, then the event is dropped.<br>
+     * The wait holds the lock of the appender: the other logging threads and the closing of the appender wait too.
+     */
+    BLOCK
+  }
 }
\ No newline at end of file
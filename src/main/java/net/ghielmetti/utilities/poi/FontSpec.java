@@ -0,0 +1,224 @@
+package net.ghielmetti.utilities.poi;
+
+import java.util.Objects;
+
+import org.apache.poi.ss.usermodel.IndexedColors;
+
+/**
+ * The immutable description of a font of a {@link StyleSpec}.<br>
+ * {@link Styles} creates one font by distinct description and shares it between all the styles using it.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class FontSpec {
+  /** The default font of the workbook. */
+  public static final FontSpec DEFAULT = new Builder().build();
+
+  private final String        name;
+  private final short         height;
+  private final IndexedColors color;
+  private final boolean       bold;
+  private final boolean       italic;
+  private final boolean       underline;
+  private final int           hash;
+
+  private FontSpec(final Builder inBuilder) {
+    name = inBuilder.name;
+    height = inBuilder.height;
+    color = inBuilder.color;
+    bold = inBuilder.bold;
+    italic = inBuilder.italic;
+    underline = inBuilder.underline;
+    hash = Objects.hash(name, Short.valueOf(height), color, Boolean.valueOf(bold), Boolean.valueOf(italic), Boolean.valueOf(underline));
+  }
+
+  /**
+   * Returns a builder of the default font.
+   *
+   * @return The builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    if (!(obj instanceof FontSpec)) {
+      return false;
+    }
+
+    FontSpec other = (FontSpec) obj;
+    return hash == other.hash && height == other.height && bold == other.bold && italic == other.italic && underline == other.underline && color == other.color && Objects.equals(name, other.name);
+  }
+
+  /**
+   * Returns the color.
+   *
+   * @return The color or <code>null</code> for the default one.
+   */
+  public IndexedColors getColor() {
+    return color;
+  }
+
+  /**
+   * Returns the height.
+   *
+   * @return The height in points or 0 for the default one.
+   */
+  public short getHeight() {
+    return height;
+  }
+
+  /**
+   * Returns the name.
+   *
+   * @return The name or <code>null</code> for the default one.
+   */
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  /**
+   * Returns <code>true</code> if the font is bold.
+   *
+   * @return <code>true</code> if bold.
+   */
+  public boolean isBold() {
+    return bold;
+  }
+
+  /**
+   * Returns <code>true</code> if the font is italic.
+   *
+   * @return <code>true</code> if italic.
+   */
+  public boolean isItalic() {
+    return italic;
+  }
+
+  /**
+   * Returns <code>true</code> if the font is underlined.
+   *
+   * @return <code>true</code> if underlined.
+   */
+  public boolean isUnderline() {
+    return underline;
+  }
+
+  /**
+   * Returns a builder initialized with this font.
+   *
+   * @return The builder.
+   */
+  public Builder toBuilder() {
+    return new Builder().name(name).height(height).color(color).bold(bold).italic(italic).underline(underline);
+  }
+
+  @Override
+  public String toString() {
+    return "FontSpec[name=" + name + ", height=" + height + ", color=" + color + ", bold=" + bold + ", italic=" + italic + ", underline=" + underline + "]";
+  }
+
+  /** Builds a {@link FontSpec}, all the attributes not given are the default ones. */
+  public static final class Builder {
+    private String        name;
+    private short         height;
+    private IndexedColors color;
+    private boolean       bold;
+    private boolean       italic;
+    private boolean       underline;
+
+    private Builder() {
+      // nothing to do
+    }
+
+    /**
+     * Sets the bold attribute.
+     *
+     * @param inBold <code>true</code> for a bold font.
+     * @return This builder.
+     */
+    public Builder bold(final boolean inBold) {
+      bold = inBold;
+      return this;
+    }
+
+    /**
+     * Builds the font.
+     *
+     * @return The font.
+     */
+    public FontSpec build() {
+      return new FontSpec(this);
+    }
+
+    /**
+     * Sets the color.
+     *
+     * @param inColor The color, <code>null</code> for the default one.
+     * @return This builder.
+     */
+    public Builder color(final IndexedColors inColor) {
+      color = inColor;
+      return this;
+    }
+
+    /**
+     * Sets the height.
+     *
+     * @param inHeight The height in points, 0 for the default one.
+     * @return This builder.
+     * @throws IllegalArgumentException If the height isn't between 0 and 409.
+     */
+    public Builder height(final int inHeight) {
+      if (inHeight < 0 || inHeight > 409) {
+        throw new IllegalArgumentException("Invalid font height " + inHeight);
+      }
+
+      height = (short) inHeight;
+      return this;
+    }
+
+    /**
+     * Sets the italic attribute.
+     *
+     * @param inItalic <code>true</code> for an italic font.
+     * @return This builder.
+     */
+    public Builder italic(final boolean inItalic) {
+      italic = inItalic;
+      return this;
+    }
+
+    /**
+     * Sets the name.
+     *
+     * @param inName The name, <code>null</code> for the default one.
+     * @return This builder.
+     */
+    public Builder name(final String inName) {
+      name = inName;
+      return this;
+    }
+
+    /**
+     * Sets the underline attribute.
+     *
+     * @param inUnderline <code>true</code> for an underlined font.
+     * @return This builder.
+     */
+    public Builder underline(final boolean inUnderline) {
+      underline = inUnderline;
+      return this;
+    }
+  }
+}
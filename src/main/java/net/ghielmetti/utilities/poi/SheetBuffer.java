@@ -0,0 +1,156 @@
+package net.ghielmetti.utilities.poi;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+/**
+ * The values of the cells of a sheet, prepared without POI by any thread and written later in the sheet by
+ * {@link #writeTo(Sheet, int, CellStyle[])}.<br>
+ * The cells are kept row after row in parallel arrays, a text or a date only costs its reference and a number or a
+ * boolean its <code>double</code>.<br>
+ * This class is not thread safe.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+final class SheetBuffer {
+  private static final byte BLANK            = 0;
+  private static final byte NUMBER           = 1;
+  private static final byte TEXT             = 2;
+  private static final byte BOOLEAN          = 3;
+  private static final byte DATE             = 4;
+  private static final int  DEFAULT_CAPACITY = 1024;
+
+  private final int columns;
+  private byte[]    types;
+  private double[]  numbers;
+  private Object[]  objects;
+  private int       size;
+
+  /**
+   * Constructor.
+   *
+   * @param inColumns The number of cells by row.
+   */
+  SheetBuffer(final int inColumns) {
+    columns = inColumns;
+    types = new byte[DEFAULT_CAPACITY];
+    numbers = new double[DEFAULT_CAPACITY];
+    objects = new Object[DEFAULT_CAPACITY];
+  }
+
+  /** Adds a blank cell. */
+  void addBlank() {
+    add(BLANK);
+  }
+
+  /**
+   * Adds a boolean cell.
+   *
+   * @param inValue The value.
+   */
+  void addBoolean(final boolean inValue) {
+    numbers[size] = inValue ? 1 : 0;
+    add(BOOLEAN);
+  }
+
+  /**
+   * Adds a date cell.
+   *
+   * @param inValue The value.
+   */
+  void addDate(final Date inValue) {
+    objects[size] = inValue;
+    add(DATE);
+  }
+
+  /**
+   * Adds a numeric cell.
+   *
+   * @param inValue The value.
+   */
+  void addNumber(final double inValue) {
+    numbers[size] = inValue;
+    add(NUMBER);
+  }
+
+  /**
+   * Adds a text cell.
+   *
+   * @param inValue The value.
+   */
+  void addText(final String inValue) {
+    objects[size] = inValue;
+    add(TEXT);
+  }
+
+  /**
+   * Returns the number of complete rows.
+   *
+   * @return The number of rows.
+   */
+  int getRows() {
+    return columns == 0 ? 0 : size / columns;
+  }
+
+  @Override
+  public String toString() {
+    return "SheetBuffer[columns=" + columns + ", rows=" + getRows() + "]";
+  }
+
+  /**
+   * Writes the rows in the sheet.
+   *
+   * @param inSheet The sheet.
+   * @param inFirstRow The index of the first row written.
+   * @param inStyles The styles of the columns.
+   * @return The number of rows written.
+   */
+  int writeTo(final Sheet inSheet, final int inFirstRow, final CellStyle[] inStyles) {
+    int rows = getRows();
+    int index = 0;
+
+    for (int r = 0; r < rows; r++) {
+      Row row = inSheet.createRow(inFirstRow + r);
+
+      for (int c = 0; c < columns; c++, index++) {
+        Cell cell = row.createCell(c);
+        cell.setCellStyle(inStyles[c]);
+
+        switch (types[index]) {
+          case NUMBER:
+            cell.setCellValue(numbers[index]);
+            break;
+          case TEXT:
+            cell.setCellValue((String) objects[index]);
+            break;
+          case BOOLEAN:
+            cell.setCellValue(numbers[index] != 0);
+            break;
+          case DATE:
+            cell.setCellValue((Date) objects[index]);
+            break;
+          default:
+            break;
+        }
+      }
+    }
+
+    return rows;
+  }
+
+  private void add(final byte inType) {
+    types[size++] = inType;
+
+    if (size == types.length) {
+      int capacity = size + (size >> 1);
+      types = Arrays.copyOf(types, capacity);
+      numbers = Arrays.copyOf(numbers, capacity);
+      objects = Arrays.copyOf(objects, capacity);
+    }
+  }
+}
@@ -0,0 +1,273 @@
+package net.ghielmetti.utilities.poi;
+
+import java.util.Date;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+import org.apache.poi.ss.usermodel.Cell;
+
+/**
+ * The specification of a column written by a {@link SheetWriter}: how to get the value of the cell from the record,
+ * the style of the cells and the width of the column.
+ *
+ * @author Leopoldo Ghielmetti
+ * @param <T> The class of the records
+ */
+public abstract class SheetColumn<T> {
+  private final int       styleCode;
+  private final StyleSpec styleSpec;
+  private int             width;
+
+  private SheetColumn(final int inStyleCode) {
+    StyleKey.of(inStyleCode);
+    styleCode = inStyleCode;
+    styleSpec = null;
+  }
+
+  private SheetColumn(final StyleSpec inStyleSpec) {
+    styleCode = 0;
+    styleSpec = Objects.requireNonNull(inStyleSpec);
+  }
+
+  /**
+   * Creates a column of booleans.
+   *
+   * @param <T> The class of the records
+   * @param inValue Gets the value from the record.
+   * @param inStyleCode The code of the style of the cells, see {@link StyleKey#getCode()}.
+   * @return The column.
+   * @throws IllegalArgumentException If the style code isn't valid.
+   */
+  public static <T> SheetColumn<T> ofBoolean(final Predicate<? super T> inValue, final int inStyleCode) {
+    return new OfBoolean<>(inValue, inStyleCode);
+  }
+
+  /**
+   * Creates a column of dates. The <code>null</code> values leave the cell blank.
+   *
+   * @param <T> The class of the records
+   * @param inValue Gets the value from the record.
+   * @param inStyleSpec The style of the cells, with a date format like {@link StyleSpec#DATE_FORMAT}.
+   * @return The column.
+   */
+  public static <T> SheetColumn<T> ofDate(final Function<? super T, ? extends Date> inValue, final StyleSpec inStyleSpec) {
+    return new OfDate<>(inValue, inStyleSpec);
+  }
+
+  /**
+   * Creates a column of numbers. The <code>NaN</code> values leave the cell blank.
+   *
+   * @param <T> The class of the records
+   * @param inValue Gets the value from the record, without boxing it.
+   * @param inStyleCode The code of the style of the cells, see {@link StyleKey#getCode()}.
+   * @return The column.
+   * @throws IllegalArgumentException If the style code isn't valid.
+   */
+  public static <T> SheetColumn<T> ofNumber(final ToDoubleFunction<? super T> inValue, final int inStyleCode) {
+    return new OfNumber<>(inValue, inStyleCode);
+  }
+
+  /**
+   * Creates a column of texts. The <code>null</code> values leave the cell blank.
+   *
+   * @param <T> The class of the records
+   * @param inValue Gets the value from the record.
+   * @param inStyleCode The code of the style of the cells, see {@link StyleKey#getCode()}.
+   * @return The column.
+   * @throws IllegalArgumentException If the style code isn't valid.
+   */
+  public static <T> SheetColumn<T> ofText(final Function<? super T, String> inValue, final int inStyleCode) {
+    return new OfText<>(inValue, inStyleCode);
+  }
+
+  /**
+   * Returns the code of the style of the cells.
+   *
+   * @return The code, 0 if the style is given by a {@link StyleSpec}.
+   */
+  public int getStyleCode() {
+    return styleCode;
+  }
+
+  /**
+   * Returns the description of the style of the cells, used in place of the code.
+   *
+   * @return The description or <code>null</code> if the style is given by its code.
+   */
+  public StyleSpec getStyleSpec() {
+    return styleSpec;
+  }
+
+  /**
+   * Returns the width of the column.
+   *
+   * @return The width in characters, 0 to keep the default width.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Sets the width of the column.
+   *
+   * @param inWidth The width in characters, 0 to keep the default width.
+   * @return This column.
+   */
+  public SheetColumn<T> setWidth(final int inWidth) {
+    if (inWidth < 0 || inWidth > 255) {
+      throw new IllegalArgumentException("Invalid column width " + inWidth);
+    }
+
+    width = inWidth;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[styleCode=" + styleCode + (styleSpec == null ? "" : ", styleSpec=" + styleSpec) + ", width=" + width + "]";
+  }
+
+  /**
+   * Adds the value of the cell to the buffer.
+   *
+   * @param inBuffer The buffer.
+   * @param inRecord The record.
+   */
+  abstract void addValue(SheetBuffer inBuffer, T inRecord);
+
+  /**
+   * Sets the value of the cell.
+   *
+   * @param inCell The cell.
+   * @param inRecord The record.
+   */
+  abstract void setValue(Cell inCell, T inRecord);
+
+  /**
+   * A column of booleans.
+   *
+   * @param <T> The class of the records
+   */
+  private static final class OfBoolean<T> extends SheetColumn<T> {
+    private final Predicate<? super T> value;
+
+    OfBoolean(final Predicate<? super T> inValue, final int inStyleCode) {
+      super(inStyleCode);
+      value = inValue;
+    }
+
+    @Override
+    void addValue(final SheetBuffer inBuffer, final T inRecord) {
+      inBuffer.addBoolean(value.test(inRecord));
+    }
+
+    @Override
+    void setValue(final Cell inCell, final T inRecord) {
+      inCell.setCellValue(value.test(inRecord));
+    }
+  }
+
+  /**
+   * A column of dates.
+   *
+   * @param <T> The class of the records
+   */
+  private static final class OfDate<T> extends SheetColumn<T> {
+    private final Function<? super T, ? extends Date> value;
+
+    OfDate(final Function<? super T, ? extends Date> inValue, final StyleSpec inStyleSpec) {
+      super(inStyleSpec);
+      value = inValue;
+    }
+
+    @Override
+    void addValue(final SheetBuffer inBuffer, final T inRecord) {
+      Date date = value.apply(inRecord);
+
+      if (date == null) {
+        inBuffer.addBlank();
+      } else {
+        inBuffer.addDate(date);
+      }
+    }
+
+    @Override
+    void setValue(final Cell inCell, final T inRecord) {
+      Date date = value.apply(inRecord);
+
+      if (date != null) {
+        inCell.setCellValue(date);
+      }
+    }
+  }
+
+  /**
+   * A column of numbers.
+   *
+   * @param <T> The class of the records
+   */
+  private static final class OfNumber<T> extends SheetColumn<T> {
+    private final ToDoubleFunction<? super T> value;
+
+    OfNumber(final ToDoubleFunction<? super T> inValue, final int inStyleCode) {
+      super(inStyleCode);
+      value = inValue;
+    }
+
+    @Override
+    void addValue(final SheetBuffer inBuffer, final T inRecord) {
+      double number = value.applyAsDouble(inRecord);
+
+      if (Double.isNaN(number)) {
+        inBuffer.addBlank();
+      } else {
+        inBuffer.addNumber(number);
+      }
+    }
+
+    @Override
+    void setValue(final Cell inCell, final T inRecord) {
+      double number = value.applyAsDouble(inRecord);
+
+      if (!Double.isNaN(number)) {
+        inCell.setCellValue(number);
+      }
+    }
+  }
+
+  /**
+   * A column of texts.
+   *
+   * @param <T> The class of the records
+   */
+  private static final class OfText<T> extends SheetColumn<T> {
+    private final Function<? super T, String> value;
+
+    OfText(final Function<? super T, String> inValue, final int inStyleCode) {
+      super(inStyleCode);
+      value = inValue;
+    }
+
+    @Override
+    void addValue(final SheetBuffer inBuffer, final T inRecord) {
+      String text = value.apply(inRecord);
+
+      if (text == null) {
+        inBuffer.addBlank();
+      } else {
+        inBuffer.addText(text);
+      }
+    }
+
+    @Override
+    void setValue(final Cell inCell, final T inRecord) {
+      String text = value.apply(inRecord);
+
+      if (text != null) {
+        inCell.setCellValue(text);
+      }
+    }
+  }
+}
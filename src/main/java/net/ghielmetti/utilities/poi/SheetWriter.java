@@ -0,0 +1,186 @@
+package net.ghielmetti.utilities.poi;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import net.ghielmetti.utilities.TranslationTable;
+
+/**
+ * Writes records in a sheet, one row by record and one cell by {@link SheetColumn}:
+ *
+ * <pre>
+ * SheetWriter&lt;Order&gt; writer = new SheetWriter&lt;&gt;(styles, Arrays.asList(
+ *     SheetColumn.ofText(Order::getCustomer, StyleKey.encode("NNL0Tnnnn")).setWidth(30),
+ *     SheetColumn.ofNumber(Order::getAmount, StyleKey.encode("NNR0Nnnnn"))));
+ * writer.setHeaders(Translations.getDefault().resolve("order.customer", "order.amount"), StyleKey.encode("GBC0Vnnbn"));
+ * writer.write(workbook.createSheet("Orders"), orders.stream());
+ * </pre>
+ *
+ * The styles of the columns are resolved once by call and no object is created for a cell besides the ones of POI. With
+ * a streaming workbook (<code>SXSSFWorkbook</code>) the memory doesn't depend on the number of records.
+ *
+ * @author Leopoldo Ghielmetti
+ * @param <T> The class of the records
+ */
+public class SheetWriter<T> {
+  private final Styles                       styles;
+  private final List<SheetColumn<? super T>> columns;
+  private TranslationTable                   headers;
+  private int                                headerStyleCode;
+
+  /**
+   * Constructor.
+   *
+   * @param inStyles The styles of the workbook.
+   * @param inColumns The columns.
+   */
+  public SheetWriter(final Styles inStyles, final List<? extends SheetColumn<? super T>> inColumns) {
+    styles = inStyles;
+    columns = new ArrayList<>(inColumns);
+  }
+
+  /**
+   * Sets the headers of the columns, written in the first row of the empty sheets.
+   *
+   * @param inHeaders The headers, one by column in the same order.
+   * @param inStyleCode The code of the style of the headers, see {@link StyleKey#getCode()}.
+   * @throws IllegalArgumentException If the number of headers isn't the number of columns or if the style code isn't
+   *           valid.
+   */
+  public void setHeaders(final TranslationTable inHeaders, final int inStyleCode) {
+    if (inHeaders.size() != columns.size()) {
+      throw new IllegalArgumentException(inHeaders.size() + " headers for " + columns.size() + " columns");
+    }
+
+    StyleKey.of(inStyleCode);
+    headers = inHeaders;
+    headerStyleCode = inStyleCode;
+  }
+
+  @Override
+  public String toString() {
+    return "SheetWriter[columns=" + columns.size() + "]";
+  }
+
+  /**
+   * Writes the records after the last row of the sheet, preceded by the headers if the sheet is empty.
+   *
+   * @param inSheet The sheet.
+   * @param inRecords The records.
+   * @return The number of records written.
+   */
+  public int write(final Sheet inSheet, final Iterator<? extends T> inRecords) {
+    int count = columns.size();
+    @SuppressWarnings("unchecked")
+    SheetColumn<? super T>[] specifications = columns.toArray(new SheetColumn[count]);
+    CellStyle[] cellStyles = prepare(inSheet);
+    int rowIndex = firstRow(inSheet);
+    int written = 0;
+
+    while (inRecords.hasNext()) {
+      T record = inRecords.next();
+      Row row = inSheet.createRow(rowIndex++);
+
+      for (int c = 0; c < count; c++) {
+        Cell cell = row.createCell(c);
+        cell.setCellStyle(cellStyles[c]);
+        specifications[c].setValue(cell, record);
+      }
+
+      written++;
+    }
+
+    return written;
+  }
+
+  /**
+   * Writes the records after the last row of the sheet, preceded by the headers if the sheet is empty.
+   *
+   * @param inSheet The sheet.
+   * @param inRecords The records.
+   * @return The number of records written.
+   */
+  public int write(final Sheet inSheet, final Stream<? extends T> inRecords) {
+    return write(inSheet, inRecords.iterator());
+  }
+
+  /**
+   * Gets the values of the records without touching the workbook, can be called by any thread.
+   *
+   * @param inRecords The records.
+   * @return The values.
+   */
+  SheetBuffer buffer(final Iterator<? extends T> inRecords) {
+    int count = columns.size();
+    @SuppressWarnings("unchecked")
+    SheetColumn<? super T>[] specifications = columns.toArray(new SheetColumn[count]);
+    SheetBuffer buffer = new SheetBuffer(count);
+
+    while (inRecords.hasNext()) {
+      T record = inRecords.next();
+
+      for (int c = 0; c < count; c++) {
+        specifications[c].addValue(buffer, record);
+      }
+    }
+
+    return buffer;
+  }
+
+  /**
+   * Writes the values prepared by {@link #buffer(Iterator)} after the last row of the sheet, preceded by the headers if
+   * the sheet is empty.
+   *
+   * @param inSheet The sheet.
+   * @param inBuffer The values.
+   * @return The number of rows written.
+   */
+  int write(final Sheet inSheet, final SheetBuffer inBuffer) {
+    CellStyle[] cellStyles = prepare(inSheet);
+    return inBuffer.writeTo(inSheet, firstRow(inSheet), cellStyles);
+  }
+
+  // Writes the headers if the sheet is empty and returns the index of the first row of the records
+  private int firstRow(final Sheet inSheet) {
+    int rowIndex = inSheet.getPhysicalNumberOfRows() == 0 ? 0 : inSheet.getLastRowNum() + 1;
+
+    if (rowIndex == 0 && headers != null) {
+      writeHeaders(inSheet.createRow(rowIndex++));
+    }
+
+    return rowIndex;
+  }
+
+  // Sets the widths of the columns and returns their styles
+  private CellStyle[] prepare(final Sheet inSheet) {
+    CellStyle[] cellStyles = new CellStyle[columns.size()];
+
+    for (int c = 0; c < cellStyles.length; c++) {
+      SheetColumn<? super T> column = columns.get(c);
+      cellStyles[c] = column.getStyleSpec() == null ? styles.getStyle(column.getStyleCode()) : styles.getCellStyle(column.getStyleSpec());
+
+      if (column.getWidth() > 0) {
+        inSheet.setColumnWidth(c, column.getWidth() * 256);
+      }
+    }
+
+    return cellStyles;
+  }
+
+  private void writeHeaders(final Row inRow) {
+    CellStyle headerStyle = styles.getStyle(headerStyleCode);
+
+    for (int c = 0; c < headers.size(); c++) {
+      Cell cell = inRow.createCell(c);
+      cell.setCellValue(headers.get(c));
+      cell.setCellStyle(headerStyle);
+    }
+  }
+}
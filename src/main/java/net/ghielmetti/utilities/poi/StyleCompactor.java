@@ -0,0 +1,519 @@
+package net.ghielmetti.utilities.poi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.hssf.usermodel.HSSFOptimiser;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.ExtendedColor;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import net.ghielmetti.utilities.poi.StyleKey.Alignment;
+import net.ghielmetti.utilities.poi.StyleKey.Border;
+import net.ghielmetti.utilities.poi.StyleKey.Color;
+import net.ghielmetti.utilities.poi.StyleKey.FontWeight;
+import net.ghielmetti.utilities.poi.StyleKey.Format;
+import net.ghielmetti.utilities.poi.StyleKey.Rotation;
+
+/**
+ * Merges the identical styles and fonts of an existing workbook, then registers the remaining styles in {@link Styles}
+ * so that {@link Styles#getStyle(int)} reuses them instead of creating new ones:
+ *
+ * <pre>
+ * Styles styles = new Styles(workbook);
+ * new StyleCompactor(styles).compact();
+ * </pre>
+ *
+ * Two fonts are identical when all their attributes are, two styles when all their attributes are and their fonts are
+ * identical. The cells, the rows and the columns using a duplicate style are moved to the first identical style, in a
+ * single pass over the sheets. The definitions of the XLSX columns are read by reflection, the XLSX classes being
+ * optional.<br>
+ * The XLS workbooks are then optimized by {@link HSSFOptimiser}, that removes the styles and the fonts no longer used.
+ * The other workbooks have no API to remove them: they stay in the file but aren't used any more. The rows already
+ * flushed by a streaming workbook can't be changed, so the compaction has to be done before the streaming.<br>
+ * The styles already known by {@link Styles} are forgotten when a style has been merged or renumbered, the ones
+ * matching a {@link StyleKey} are registered again.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class StyleCompactor {
+  // The first 15 styles of a XLS workbook are the parents of the cell styles, the cells can't use them
+  private static final int    HSSF_FIRST_CELL_STYLE = 15;
+  private static final String XSSF_COLS_ARRAY       = "[Lorg.openxmlformats.schemas.spreadsheetml.x2006.main.CTCols;";
+
+  private final Styles        styles;
+  private final Workbook      workbook;
+  private int                 mergedFonts;
+  private int                 mergedStyles;
+  private int                 registeredStyles;
+
+  /**
+   * Constructor.
+   *
+   * @param inStyles The styles of the workbook to compact.
+   */
+  public StyleCompactor(final Styles inStyles) {
+    styles = inStyles;
+    workbook = inStyles.getWorkbook();
+  }
+
+  /**
+   * Merges the identical styles and fonts and registers the remaining styles that match a {@link StyleKey}.
+   */
+  public void compact() {
+    mergeFonts();
+    int[] replacements = mergeStyles();
+
+    if (mergedStyles > 0) {
+      replaceStyles(replacements);
+    }
+
+    if (workbook instanceof HSSFWorkbook) {
+      // The optimizer renumbers the styles and the fonts
+      HSSFOptimiser.optimiseFonts((HSSFWorkbook) workbook);
+      HSSFOptimiser.optimiseCellStyles((HSSFWorkbook) workbook);
+      styles.clear();
+    } else if (mergedFonts > 0 || mergedStyles > 0) {
+      // The known styles and fonts can be duplicates no longer used
+      styles.clear();
+    }
+
+    registerStyles();
+  }
+
+  /**
+   * Returns the number of fonts merged in an identical one by the last compaction.
+   *
+   * @return The number of fonts.
+   */
+  public int getMergedFonts() {
+    return mergedFonts;
+  }
+
+  /**
+   * Returns the number of styles merged in an identical one by the last compaction.
+   *
+   * @return The number of styles.
+   */
+  public int getMergedStyles() {
+    return mergedStyles;
+  }
+
+  /**
+   * Returns the number of styles registered in {@link Styles} by the last compaction.
+   *
+   * @return The number of styles.
+   */
+  public int getRegisteredStyles() {
+    return registeredStyles;
+  }
+
+  @Override
+  public String toString() {
+    return "StyleCompactor[mergedFonts=" + mergedFonts + ", mergedStyles=" + mergedStyles + ", registeredStyles=" + registeredStyles + "]";
+  }
+
+  /**
+   * Returns the <code>CTCols</code> elements of a XLSX worksheet.<br>
+   * The method is looked up alone, without listing the methods of the worksheet: some of them use classes missing from
+   * the lite version of the XLSX schemas.
+   *
+   * @param inWorksheet The <code>CTWorksheet</code>.
+   * @return The elements.
+   * @throws ReflectiveOperationException If the method can't be called.
+   */
+  private static Object[] getColsArray(final Object inWorksheet) throws ReflectiveOperationException {
+    Class<?> colsArray = Class.forName(XSSF_COLS_ARRAY, false, inWorksheet.getClass().getClassLoader());
+    MethodHandle getColsArray = MethodHandles.publicLookup().findVirtual(inWorksheet.getClass(), "getColsArray", MethodType.methodType(colsArray));
+
+    try {
+      return (Object[]) getColsArray.invokeWithArguments(inWorksheet);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      // Not expected, the method declares no exception
+      throw new InvocationTargetException(e);
+    }
+  }
+
+  private static boolean hasMethod(final Object inTarget, final String inMethod) {
+    try {
+      inTarget.getClass().getMethod(inMethod);
+      return true;
+    } catch (@SuppressWarnings("unused") NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  private static Object invoke(final Object inTarget, final String inMethod) throws ReflectiveOperationException {
+    return inTarget.getClass().getMethod(inMethod).invoke(inTarget);
+  }
+
+  /**
+   * Returns the definitions of the columns of a XLSX sheet, the <code>CTCol</code> elements of its worksheet.
+   *
+   * @param inSheet The sheet.
+   * @return The definitions, <code>null</code> if the sheet isn't a XLSX sheet.
+   */
+  private Object[] columnDefinitions(final Sheet inSheet) {
+    try {
+      Object sheet = inSheet;
+
+      // The streaming sheets keep their columns in the sheet of the underlying workbook
+      if (!hasMethod(inSheet, "getCTWorksheet") && hasMethod(workbook, "getXSSFWorkbook")) {
+        sheet = ((Workbook) invoke(workbook, "getXSSFWorkbook")).getSheetAt(workbook.getSheetIndex(inSheet));
+      }
+
+      if (!hasMethod(sheet, "getCTWorksheet")) {
+        return null;
+      }
+
+      List<Object> columns = new ArrayList<>();
+
+      for (Object cols : getColsArray(invoke(sheet, "getCTWorksheet"))) {
+        Collections.addAll(columns, (Object[]) invoke(cols, "getColArray"));
+      }
+
+      return columns.toArray();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Invalid XLSX sheet " + inSheet.getSheetName(), e);
+    }
+  }
+
+  /**
+   * Returns the {@link StyleKey} whose style {@link Styles} would create identical to the given one, but the rotation.
+   *
+   * @param inCellStyle The style.
+   * @return The builder of the key or else <code>null</code>.
+   */
+  private StyleKey.Builder decode(final CellStyle inCellStyle) {
+    if (inCellStyle.getVerticalAlignmentEnum() != VerticalAlignment.BOTTOM || inCellStyle.getIndention() != 0 || !inCellStyle.getLocked() || inCellStyle.getHidden() || inCellStyle.getShrinkToFit()) {
+      return null;
+    }
+
+    Color color = decodeColor(inCellStyle);
+    FontWeight fontWeight = decodeFontWeight(inCellStyle);
+    Alignment alignment = decodeAlignment(inCellStyle);
+    Format format = decodeFormat(inCellStyle);
+    Border top = decodeBorder(inCellStyle.getBorderTopEnum(), inCellStyle.getTopBorderColor());
+    Border left = decodeBorder(inCellStyle.getBorderLeftEnum(), inCellStyle.getLeftBorderColor());
+    Border bottom = decodeBorder(inCellStyle.getBorderBottomEnum(), inCellStyle.getBottomBorderColor());
+    Border right = decodeBorder(inCellStyle.getBorderRightEnum(), inCellStyle.getRightBorderColor());
+
+    if (color == null || fontWeight == null || alignment == null || format == null || top == null || left == null || bottom == null || right == null) {
+      return null;
+    }
+
+    return StyleKey.builder().color(color).fontWeight(fontWeight).alignment(alignment).format(format).borderTop(top).borderLeft(left).borderBottom(bottom).borderRight(right);
+  }
+
+  private Alignment decodeAlignment(final CellStyle inCellStyle) {
+    if (inCellStyle.getAlignmentEnum() == HorizontalAlignment.GENERAL) {
+      return Alignment.NORMAL;
+    }
+
+    for (Alignment alignment : Alignment.values()) {
+      if (alignment.getHorizontalAlignment() == inCellStyle.getAlignmentEnum()) {
+        return alignment;
+      }
+    }
+
+    return null;
+  }
+
+  private Border decodeBorder(final BorderStyle inBorderStyle, final short inColor) {
+    if (inBorderStyle == BorderStyle.NONE) {
+      return Border.NONE;
+    }
+
+    for (Border border : Border.values()) {
+      if (border.getBorderStyle() == inBorderStyle && inColor == IndexedColors.BLACK.getIndex()) {
+        return border;
+      }
+    }
+
+    return null;
+  }
+
+  private Color decodeColor(final CellStyle inCellStyle) {
+    if (inCellStyle.getFillPatternEnum() == FillPatternType.NO_FILL) {
+      return Color.NONE;
+    }
+
+    if (inCellStyle.getFillPatternEnum() == FillPatternType.SOLID_FOREGROUND) {
+      for (Color color : Color.values()) {
+        if (color.getIndexedColor() != null && color.getIndexedColor().getIndex() == inCellStyle.getFillForegroundColor()) {
+          return color;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  private FontWeight decodeFontWeight(final CellStyle inCellStyle) {
+    if (inCellStyle.getFontIndex() == 0) {
+      return FontWeight.NORMAL;
+    }
+
+    Font font = workbook.getFontAt(inCellStyle.getFontIndex());
+    Font normal = workbook.getFontAt((short) 0);
+
+    if (!normal.getFontName().equals(font.getFontName()) || normal.getFontHeight() != font.getFontHeight() || normal.getItalic() != font.getItalic() || normal.getStrikeout() != font.getStrikeout() || normal.getUnderline() != font.getUnderline() || normal.getTypeOffset() != font.getTypeOffset()) {
+      return null;
+    }
+
+    if (font.getBold() && !normal.getBold()) {
+      return FontWeight.BOLD;
+    }
+
+    if (font.getBold() == normal.getBold() && font.getColor() == inCellStyle.getFillForegroundColor()) {
+      return FontWeight.HIDDEN;
+    }
+
+    return null;
+  }
+
+  private Format decodeFormat(final CellStyle inCellStyle) {
+    String dataFormat = inCellStyle.getDataFormatString();
+
+    if ("General".equals(dataFormat) && !inCellStyle.getWrapText()) {
+      return Format.VARIABLE;
+    }
+
+    if (Format.NUMERIC.getDataFormat().equals(dataFormat) && !inCellStyle.getWrapText()) {
+      return Format.NUMERIC;
+    }
+
+    if (Format.TEXT.getDataFormat().equals(dataFormat) && inCellStyle.getWrapText()) {
+      return Format.TEXT;
+    }
+
+    return null;
+  }
+
+  private int firstCellStyle() {
+    return workbook instanceof HSSFWorkbook ? HSSF_FIRST_CELL_STYLE : 0;
+  }
+
+  /**
+   * Returns the description of all the attributes of the font, without its index.
+   *
+   * @param inFont The font.
+   * @return The description.
+   */
+  private String fingerprint(final Font inFont) {
+    // Both the XLS and the XLSX fonts describe all their attributes, including the colors that aren't indexed
+    return inFont.getClass().getName() + inFont;
+  }
+
+  /**
+   * Returns the description of all the attributes of the style, with the font given by its first identical font.
+   *
+   * @param inCellStyle The style.
+   * @return The description.
+   */
+  private String fingerprint(final CellStyle inCellStyle) {
+    StringBuilder builder = new StringBuilder(128);
+    builder.append(inCellStyle.getFontIndex()).append('|').append(inCellStyle.getDataFormatString());
+    builder.append('|').append(inCellStyle.getAlignmentEnum()).append('|').append(inCellStyle.getVerticalAlignmentEnum());
+    builder.append('|').append(inCellStyle.getRotation()).append('|').append(inCellStyle.getIndention());
+    builder.append('|').append(inCellStyle.getWrapText()).append('|').append(inCellStyle.getShrinkToFit());
+    builder.append('|').append(inCellStyle.getLocked()).append('|').append(inCellStyle.getHidden());
+    builder.append('|').append(inCellStyle.getBorderTopEnum()).append(inCellStyle.getTopBorderColor());
+    builder.append('|').append(inCellStyle.getBorderLeftEnum()).append(inCellStyle.getLeftBorderColor());
+    builder.append('|').append(inCellStyle.getBorderBottomEnum()).append(inCellStyle.getBottomBorderColor());
+    builder.append('|').append(inCellStyle.getBorderRightEnum()).append(inCellStyle.getRightBorderColor());
+    builder.append('|').append(inCellStyle.getFillPatternEnum());
+    builder.append('|').append(inCellStyle.getFillForegroundColor()).append(fingerprint(inCellStyle.getFillForegroundColorColor()));
+    builder.append('|').append(inCellStyle.getFillBackgroundColor()).append(fingerprint(inCellStyle.getFillBackgroundColorColor()));
+    return builder.toString();
+  }
+
+  private String fingerprint(final org.apache.poi.ss.usermodel.Color inColor) {
+    if (inColor instanceof ExtendedColor) {
+      ExtendedColor color = (ExtendedColor) inColor;
+      return "#" + color.getARGBHex() + "/" + color.getTint() + "/" + color.getTheme();
+    }
+
+    return "";
+  }
+
+  private boolean matches(final Rotation inRotation, final short inDegrees) {
+    // The XLSX workbooks keep the negative angles as 90 + |angle|
+    return inRotation.getDegrees() == inDegrees || inRotation.getDegrees() < 0 && 90 - inRotation.getDegrees() == inDegrees;
+  }
+
+  /** Moves the styles using a duplicate font to the first identical font. */
+  private void mergeFonts() {
+    int count = workbook.getNumCellStyles();
+    BitSet used = new BitSet();
+
+    for (int i = 0; i < count; i++) {
+      used.set(workbook.getCellStyleAt(i).getFontIndex() & 0xFFFF);
+    }
+
+    Map<String, Font> fonts = new HashMap<>();
+    Map<Integer, Font> replacements = new HashMap<>();
+
+    for (int index = used.nextSetBit(0); index >= 0; index = used.nextSetBit(index + 1)) {
+      Font font = workbook.getFontAt((short) index);
+      Font first = fonts.putIfAbsent(fingerprint(font), font);
+
+      if (first != null) {
+        replacements.put(Integer.valueOf(index), first);
+      }
+    }
+
+    mergedFonts = replacements.size();
+
+    for (int i = 0; i < count && !replacements.isEmpty(); i++) {
+      CellStyle cellStyle = workbook.getCellStyleAt(i);
+      Font first = replacements.get(Integer.valueOf(cellStyle.getFontIndex() & 0xFFFF));
+
+      if (first != null) {
+        cellStyle.setFont(first);
+      }
+    }
+  }
+
+  /**
+   * Finds the duplicate styles.
+   *
+   * @return The index of the first identical style of each style, indexed by the unsigned index of the style.
+   */
+  private int[] mergeStyles() {
+    int count = workbook.getNumCellStyles();
+    int[] replacements = new int[count];
+    Map<String, Integer> firsts = new HashMap<>();
+    mergedStyles = 0;
+
+    for (int i = 0; i < count; i++) {
+      replacements[i] = i;
+
+      if (i >= firstCellStyle()) {
+        Integer first = firsts.putIfAbsent(fingerprint(workbook.getCellStyleAt(i)), Integer.valueOf(i));
+
+        if (first != null) {
+          replacements[i] = first.intValue();
+          mergedStyles++;
+        }
+      }
+    }
+
+    return replacements;
+  }
+
+  /** Registers in {@link Styles} the styles that match a {@link StyleKey}. */
+  private void registerStyles() {
+    registeredStyles = 0;
+    int count = workbook.getNumCellStyles();
+
+    for (int i = firstCellStyle(); i < count; i++) {
+      CellStyle cellStyle = workbook.getCellStyleAt(i);
+      StyleKey.Builder key = decode(cellStyle);
+
+      // A style can match several rotations, it's then the style of each of them
+      for (Rotation rotation : Rotation.values()) {
+        if (key != null && matches(rotation, cellStyle.getRotation()) && styles.register(key.rotation(rotation).build().getCode(), cellStyle)) {
+          registeredStyles++;
+        }
+      }
+    }
+  }
+
+  /**
+   * Moves the columns of a sheet to the first identical style.<br>
+   * The default styles of the columns can be set past the last cell, even on a sheet without rows. The XLSX columns are
+   * read from their definitions, the other sheets have at most 256 columns that are all checked.
+   *
+   * @param inSheet The sheet.
+   * @param inReplacements The index of the first identical style of each style.
+   */
+  private void replaceColumnStyles(final Sheet inSheet, final int[] inReplacements) {
+    Object[] definitions = columnDefinitions(inSheet);
+
+    if (definitions == null) {
+      int columns = workbook.getSpreadsheetVersion().getMaxColumns();
+
+      for (int c = 0; c < columns; c++) {
+        CellStyle columnStyle = inSheet.getColumnStyle(c);
+
+        if (columnStyle != null) {
+          int index = columnStyle.getIndex() & 0xFFFF;
+
+          if (inReplacements[index] != index) {
+            inSheet.setDefaultColumnStyle(c, workbook.getCellStyleAt(inReplacements[index]));
+          }
+        }
+      }
+
+      return;
+    }
+
+    try {
+      for (Object definition : definitions) {
+        // The style is kept as a long, the styles after 32767 can't be read by the short index of the interface
+        if (((Boolean) invoke(definition, "isSetStyle")).booleanValue()) {
+          long index = ((Long) invoke(definition, "getStyle")).longValue();
+
+          if (index < inReplacements.length && inReplacements[(int) index] != index) {
+            definition.getClass().getMethod("setStyle", long.class).invoke(definition, Long.valueOf(inReplacements[(int) index]));
+          }
+        }
+      }
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Invalid XLSX sheet " + inSheet.getSheetName(), e);
+    }
+  }
+
+  /**
+   * Moves the cells, the rows and the columns of all the sheets to the first identical style.
+   *
+   * @param inReplacements The index of the first identical style of each style.
+   */
+  private void replaceStyles(final int[] inReplacements) {
+    // The XLSX workbooks have up to 64000 styles, their short index is negative after 32767
+    for (Sheet sheet : workbook) {
+      for (Row row : sheet) {
+        CellStyle rowStyle = row.getRowStyle();
+
+        if (rowStyle != null) {
+          int index = rowStyle.getIndex() & 0xFFFF;
+
+          if (inReplacements[index] != index) {
+            row.setRowStyle(workbook.getCellStyleAt(inReplacements[index]));
+          }
+        }
+
+        for (Cell cell : row) {
+          int index = cell.getCellStyle().getIndex() & 0xFFFF;
+
+          if (inReplacements[index] != index) {
+            cell.setCellStyle(workbook.getCellStyleAt(inReplacements[index]));
+          }
+        }
+      }
+
+      replaceColumnStyles(sheet, inReplacements);
+    }
+  }
+}
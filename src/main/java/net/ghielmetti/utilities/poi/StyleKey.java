@@ -0,0 +1,565 @@
+package net.ghielmetti.utilities.poi;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+
+/**
+ * The description of a style of {@link Styles}, packed in a single <code>int</code>: the code.<br>
+ * The code of a style is between 0 and {@link #COUNT} (excluded) and can be kept by the callers in place of the key
+ * itself, so that getting the style of a cell costs neither an allocation nor a string. The keys are built with a
+ * {@link Builder} or from the style string described in {@link Styles#getStyle(String)}:
+ *
+ * <pre>
+ * int header = StyleKey.builder().color(Color.GREY).fontWeight(FontWeight.BOLD).border(Border.THIN).build().getCode();
+ * ...
+ * cell.setCellStyle(styles.getStyle(header));
+ * </pre>
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class StyleKey {
+  /** The number of distinct codes. */
+  public static final int      COUNT          = 8 * 3 * 4 * 4 * 3 * 3 * 3 * 3 * 3;
+  /** The style without any color, font, alignment, rotation, format or border. */
+  public static final StyleKey DEFAULT        = new StyleKey(0);
+
+  // The letters of the style string, in the order of the enumerations
+  private static final String  COLORS         = "NWOTGrgb";
+  private static final String  FONT_WEIGHTS   = "NBH";
+  private static final String  ALIGNMENTS     = "NLCR";
+  private static final String  ROTATIONS      = "0123";
+  private static final String  FORMATS        = "VNT";
+  private static final String  BORDERS_TOP    = "ntT";
+  private static final String  BORDERS_LEFT   = "nlL";
+  private static final String  BORDERS_BOTTOM = "nbB";
+  private static final String  BORDERS_RIGHT  = "nrR";
+
+  private final int            code;
+
+  private StyleKey(final int inCode) {
+    code = inCode;
+  }
+
+  /**
+   * Returns a builder of the default style.
+   *
+   * @return The builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns how much two styles differ, the parts are weighted by how much they change the look of a cell: the fill
+   * color is the most visible part, then the font, the format, the alignment, the rotation and the borders. Each part
+   * weights more than all the following ones together.
+   *
+   * @param inCode1 The code of the first style.
+   * @param inCode2 The code of the second style.
+   * @return The distance, 0 for the same style.
+   */
+  static int distance(final int inCode1, final int inCode2) {
+    StyleKey key1 = new StyleKey(inCode1);
+    StyleKey key2 = new StyleKey(inCode2);
+    int distance = 0;
+    distance += key1.getColor() == key2.getColor() ? 0 : 80;
+    distance += key1.getFontWeight() == key2.getFontWeight() ? 0 : 40;
+    distance += key1.getFormat() == key2.getFormat() ? 0 : 20;
+    distance += key1.getAlignment() == key2.getAlignment() ? 0 : 10;
+    distance += key1.getRotation() == key2.getRotation() ? 0 : 5;
+    distance += key1.getBorderTop() == key2.getBorderTop() ? 0 : 1;
+    distance += key1.getBorderLeft() == key2.getBorderLeft() ? 0 : 1;
+    distance += key1.getBorderBottom() == key2.getBorderBottom() ? 0 : 1;
+    return distance + (key1.getBorderRight() == key2.getBorderRight() ? 0 : 1);
+  }
+
+  /**
+   * Returns the code of the given style string, without creating any key.
+   *
+   * @param inStyle The style string, as described in {@link Styles#getStyle(String)}.
+   * @return The code.
+   * @throws IllegalArgumentException If the style string isn't valid.
+   */
+  public static int encode(final String inStyle) {
+    if (inStyle == null || inStyle.length() != 9) {
+      throw new IllegalArgumentException("Invalid style name");
+    }
+
+    int value = letter(COLORS, inStyle.charAt(0), "color", "N, W, G, O, T, g, b, r");
+    value = value * 3 + letter(FONT_WEIGHTS, inStyle.charAt(1), "font weight", "B, H, N");
+    value = value * 4 + letter(ALIGNMENTS, inStyle.charAt(2), "alignment", "L, C, R, N");
+    value = value * 4 + letter(ROTATIONS, inStyle.charAt(3), "rotation", "0, 1, 2, 3");
+    value = value * 3 + letter(FORMATS, inStyle.charAt(4), "format", "N, T, V");
+    value = value * 3 + letter(BORDERS_TOP, inStyle.charAt(5), "border top", "t, T, n");
+    value = value * 3 + letter(BORDERS_LEFT, inStyle.charAt(6), "border left", "l, L, n");
+    value = value * 3 + letter(BORDERS_BOTTOM, inStyle.charAt(7), "border bottom", "b, B, n");
+    return value * 3 + letter(BORDERS_RIGHT, inStyle.charAt(8), "border right", "r, R, n");
+  }
+
+  /**
+   * Returns the key of the given code.
+   *
+   * @param inCode The code.
+   * @return The key.
+   * @throws IllegalArgumentException If the code isn't between 0 and {@link #COUNT} (excluded).
+   */
+  public static StyleKey of(final int inCode) {
+    if (inCode < 0 || inCode >= COUNT) {
+      throw new IllegalArgumentException("Invalid style code " + inCode);
+    }
+
+    return new StyleKey(inCode);
+  }
+
+  /**
+   * Returns the key of the given style string.
+   *
+   * @param inStyle The style string, as described in {@link Styles#getStyle(String)}.
+   * @return The key.
+   * @throws IllegalArgumentException If the style string isn't valid.
+   */
+  public static StyleKey of(final String inStyle) {
+    return new StyleKey(encode(inStyle));
+  }
+
+  private static int letter(final String inLetters, final char inLetter, final String inName, final String inAllowed) {
+    int index = inLetters.indexOf(inLetter);
+
+    if (index < 0) {
+      throw new IllegalArgumentException("Invalid " + inName + " \"" + inLetter + "\", should be one of (" + inAllowed + ")");
+    }
+
+    return index;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    return obj instanceof StyleKey && ((StyleKey) obj).code == code;
+  }
+
+  /**
+   * Returns the horizontal alignment.
+   *
+   * @return The alignment.
+   */
+  public Alignment getAlignment() {
+    return Alignment.values()[digit(3 * 3 * 3 * 3 * 3 * 4, 4)];
+  }
+
+  /**
+   * Returns the bottom border.
+   *
+   * @return The border.
+   */
+  public Border getBorderBottom() {
+    return Border.values()[digit(3, 3)];
+  }
+
+  /**
+   * Returns the left border.
+   *
+   * @return The border.
+   */
+  public Border getBorderLeft() {
+    return Border.values()[digit(3 * 3, 3)];
+  }
+
+  /**
+   * Returns the right border.
+   *
+   * @return The border.
+   */
+  public Border getBorderRight() {
+    return Border.values()[digit(1, 3)];
+  }
+
+  /**
+   * Returns the top border.
+   *
+   * @return The border.
+   */
+  public Border getBorderTop() {
+    return Border.values()[digit(3 * 3 * 3, 3)];
+  }
+
+  /**
+   * Returns the code of the key, between 0 and {@link #COUNT} (excluded).
+   *
+   * @return The code.
+   */
+  public int getCode() {
+    return code;
+  }
+
+  /**
+   * Returns the fill color.
+   *
+   * @return The color.
+   */
+  public Color getColor() {
+    return Color.values()[digit(3 * 3 * 3 * 3 * 3 * 4 * 4 * 3, 8)];
+  }
+
+  /**
+   * Returns the font weight.
+   *
+   * @return The font weight.
+   */
+  public FontWeight getFontWeight() {
+    return FontWeight.values()[digit(3 * 3 * 3 * 3 * 3 * 4 * 4, 3)];
+  }
+
+  /**
+   * Returns the data format.
+   *
+   * @return The format.
+   */
+  public Format getFormat() {
+    return Format.values()[digit(3 * 3 * 3 * 3, 3)];
+  }
+
+  /**
+   * Returns the rotation.
+   *
+   * @return The rotation.
+   */
+  public Rotation getRotation() {
+    return Rotation.values()[digit(3 * 3 * 3 * 3 * 3, 4)];
+  }
+
+  /**
+   * Returns the style string of the key, as described in {@link Styles#getStyle(String)}.
+   *
+   * @return The style string.
+   */
+  public String getStyleName() {
+    StringBuilder builder = new StringBuilder(9);
+    builder.append(COLORS.charAt(getColor().ordinal()));
+    builder.append(FONT_WEIGHTS.charAt(getFontWeight().ordinal()));
+    builder.append(ALIGNMENTS.charAt(getAlignment().ordinal()));
+    builder.append(ROTATIONS.charAt(getRotation().ordinal()));
+    builder.append(FORMATS.charAt(getFormat().ordinal()));
+    builder.append(BORDERS_TOP.charAt(getBorderTop().ordinal()));
+    builder.append(BORDERS_LEFT.charAt(getBorderLeft().ordinal()));
+    builder.append(BORDERS_BOTTOM.charAt(getBorderBottom().ordinal()));
+    builder.append(BORDERS_RIGHT.charAt(getBorderRight().ordinal()));
+    return builder.toString();
+  }
+
+  @Override
+  public int hashCode() {
+    return code;
+  }
+
+  /**
+   * Returns a builder initialized with this key.
+   *
+   * @return The builder.
+   */
+  public Builder toBuilder() {
+    Builder builder = new Builder().color(getColor()).fontWeight(getFontWeight()).alignment(getAlignment()).rotation(getRotation()).format(getFormat());
+    return builder.borderTop(getBorderTop()).borderLeft(getBorderLeft()).borderBottom(getBorderBottom()).borderRight(getBorderRight());
+  }
+
+  @Override
+  public String toString() {
+    return "StyleKey[code=" + code + ", style=" + getStyleName() + "]";
+  }
+
+  private int digit(final int inWeight, final int inRadix) {
+    return code / inWeight % inRadix;
+  }
+
+  /** The horizontal alignments. */
+  public enum Alignment {
+    /** The default alignment. */
+    NORMAL(null),
+    /** Left. */
+    LEFT(HorizontalAlignment.LEFT),
+    /** Center. */
+    CENTER(HorizontalAlignment.CENTER),
+    /** Right. */
+    RIGHT(HorizontalAlignment.RIGHT);
+
+    private final HorizontalAlignment alignment;
+
+    Alignment(final HorizontalAlignment inAlignment) {
+      alignment = inAlignment;
+    }
+
+    /**
+     * Returns the POI alignment.
+     *
+     * @return The alignment or <code>null</code> for the default one.
+     */
+    public HorizontalAlignment getHorizontalAlignment() {
+      return alignment;
+    }
+  }
+
+  /** The borders, always black. */
+  public enum Border {
+    /** No border. */
+    NONE(BorderStyle.NONE),
+    /** A thin border. */
+    THIN(BorderStyle.THIN),
+    /** A thick border. */
+    THICK(BorderStyle.THICK);
+
+    private final BorderStyle style;
+
+    Border(final BorderStyle inStyle) {
+      style = inStyle;
+    }
+
+    /**
+     * Returns the POI border style.
+     *
+     * @return The border style.
+     */
+    public BorderStyle getBorderStyle() {
+      return style;
+    }
+  }
+
+  /** The fill colors. */
+  public enum Color {
+    /** No fill. */
+    NONE(null),
+    /** White. */
+    WHITE(IndexedColors.WHITE),
+    /** Light orange. */
+    ORANGE(IndexedColors.LIGHT_ORANGE),
+    /** Light turquoise. */
+    TURQUOISE(IndexedColors.LIGHT_TURQUOISE),
+    /** Grey 25%. */
+    GREY(IndexedColors.GREY_25_PERCENT),
+    /** Red. */
+    RED(IndexedColors.RED),
+    /** Green. */
+    GREEN(IndexedColors.GREEN),
+    /** Blue. */
+    BLUE(IndexedColors.BLUE);
+
+    private final IndexedColors color;
+
+    Color(final IndexedColors inColor) {
+      color = inColor;
+    }
+
+    /**
+     * Returns the POI color.
+     *
+     * @return The color or <code>null</code> for no fill.
+     */
+    public IndexedColors getIndexedColor() {
+      return color;
+    }
+  }
+
+  /** The font weights. */
+  public enum FontWeight {
+    /** The default font. */
+    NORMAL,
+    /** The bold font. */
+    BOLD,
+    /** A font of the same color as the fill, the value is hidden. */
+    HIDDEN
+  }
+
+  /** The data formats. */
+  public enum Format {
+    /** The default format. */
+    VARIABLE(null),
+    /** A number with 3 to 4 decimals. */
+    NUMERIC("0.000#"),
+    /** A text, wrapped. */
+    TEXT("@");
+
+    private final String format;
+
+    Format(final String inFormat) {
+      format = inFormat;
+    }
+
+    /**
+     * Returns the POI data format.
+     *
+     * @return The data format or <code>null</code> for the default one.
+     */
+    public String getDataFormat() {
+      return format;
+    }
+  }
+
+  /** The text rotations. */
+  public enum Rotation {
+    /** No rotation. */
+    DEGREES_0(0),
+    /** 90°. */
+    DEGREES_90(90),
+    /** 180°. */
+    DEGREES_180(180),
+    /** 270°. */
+    DEGREES_270(-90);
+
+    private final short degrees;
+
+    Rotation(final int inDegrees) {
+      degrees = (short) inDegrees;
+    }
+
+    /**
+     * Returns the POI rotation.
+     *
+     * @return The rotation in degrees.
+     */
+    public short getDegrees() {
+      return degrees;
+    }
+  }
+
+  /** Builds a {@link StyleKey}, all the parts not given are the default ones. */
+  public static final class Builder {
+    private Color      color        = Color.NONE;
+    private FontWeight fontWeight   = FontWeight.NORMAL;
+    private Alignment  alignment    = Alignment.NORMAL;
+    private Rotation   rotation     = Rotation.DEGREES_0;
+    private Format     format       = Format.VARIABLE;
+    private Border     borderTop    = Border.NONE;
+    private Border     borderLeft   = Border.NONE;
+    private Border     borderBottom = Border.NONE;
+    private Border     borderRight  = Border.NONE;
+
+    private Builder() {
+      // nothing to do
+    }
+
+    /**
+     * Sets the horizontal alignment.
+     *
+     * @param inAlignment The alignment.
+     * @return This builder.
+     */
+    public Builder alignment(final Alignment inAlignment) {
+      alignment = inAlignment;
+      return this;
+    }
+
+    /**
+     * Sets the four borders.
+     *
+     * @param inBorder The border.
+     * @return This builder.
+     */
+    public Builder border(final Border inBorder) {
+      return borderTop(inBorder).borderLeft(inBorder).borderBottom(inBorder).borderRight(inBorder);
+    }
+
+    /**
+     * Sets the bottom border.
+     *
+     * @param inBorder The border.
+     * @return This builder.
+     */
+    public Builder borderBottom(final Border inBorder) {
+      borderBottom = inBorder;
+      return this;
+    }
+
+    /**
+     * Sets the left border.
+     *
+     * @param inBorder The border.
+     * @return This builder.
+     */
+    public Builder borderLeft(final Border inBorder) {
+      borderLeft = inBorder;
+      return this;
+    }
+
+    /**
+     * Sets the right border.
+     *
+     * @param inBorder The border.
+     * @return This builder.
+     */
+    public Builder borderRight(final Border inBorder) {
+      borderRight = inBorder;
+      return this;
+    }
+
+    /**
+     * Sets the top border.
+     *
+     * @param inBorder The border.
+     * @return This builder.
+     */
+    public Builder borderTop(final Border inBorder) {
+      borderTop = inBorder;
+      return this;
+    }
+
+    /**
+     * Builds the key.
+     *
+     * @return The key.
+     */
+    public StyleKey build() {
+      int value = color.ordinal();
+      value = value * 3 + fontWeight.ordinal();
+      value = value * 4 + alignment.ordinal();
+      value = value * 4 + rotation.ordinal();
+      value = value * 3 + format.ordinal();
+      value = value * 3 + borderTop.ordinal();
+      value = value * 3 + borderLeft.ordinal();
+      value = value * 3 + borderBottom.ordinal();
+      return new StyleKey(value * 3 + borderRight.ordinal());
+    }
+
+    /**
+     * Sets the fill color.
+     *
+     * @param inColor The color.
+     * @return This builder.
+     */
+    public Builder color(final Color inColor) {
+      color = inColor;
+      return this;
+    }
+
+    /**
+     * Sets the font weight.
+     *
+     * @param inFontWeight The font weight.
+     * @return This builder.
+     */
+    public Builder fontWeight(final FontWeight inFontWeight) {
+      fontWeight = inFontWeight;
+      return this;
+    }
+
+    /**
+     * Sets the data format.
+     *
+     * @param inFormat The format.
+     * @return This builder.
+     */
+    public Builder format(final Format inFormat) {
+      format = inFormat;
+      return this;
+    }
+
+    /**
+     * Sets the rotation.
+     *
+     * @param inRotation The rotation.
+     * @return This builder.
+     */
+    public Builder rotation(final Rotation inRotation) {
+      rotation = inRotation;
+      return this;
+    }
+  }
+}
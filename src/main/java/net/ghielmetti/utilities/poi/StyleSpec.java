@@ -0,0 +1,395 @@
+package net.ghielmetti.utilities.poi;
+
+import java.util.Objects;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+
+/**
+ * The immutable description of a style of {@link Styles#getCellStyle(StyleSpec)}, for the styles that a
+ * {@link StyleKey} can't describe: any fill color, any data format, any font and the vertical alignment.<br>
+ * A description is made of independent parts (the font, the data format, the fill, the alignments and the borders),
+ * so the styles are composed from a few common descriptions instead of enumerating all the combinations:
+ *
+ * <pre>
+ * StyleSpec date = StyleSpec.builder().format(StyleSpec.DATE_FORMAT).alignment(HorizontalAlignment.CENTER).build();
+ * FontSpec bold = FontSpec.builder().bold(true).height(12).build();
+ * StyleSpec header = date.toBuilder().font(bold).fillColor(IndexedColors.LIGHT_YELLOW).build();
+ * </pre>
+ *
+ * Each distinct description becomes a single style of the workbook, created at its first use, and the equal fonts and
+ * data formats are shared between the styles.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class StyleSpec {
+  /** The ISO date format. */
+  public static final String    DATE_FORMAT      = "yyyy-mm-dd";
+  /** The ISO date and time format. */
+  public static final String    DATE_TIME_FORMAT = "yyyy-mm-dd hh:mm:ss";
+  /** The currency format: two decimals, thousands separators and red negative amounts. */
+  public static final String    CURRENCY_FORMAT  = "#,##0.00;[Red]-#,##0.00";
+  /** The text format. */
+  public static final String    TEXT_FORMAT      = "@";
+  /** The default style of the workbook. */
+  public static final StyleSpec DEFAULT          = new Builder().build();
+
+  private final FontSpec            font;
+  private final String              format;
+  private final IndexedColors       fillColor;
+  private final HorizontalAlignment alignment;
+  private final VerticalAlignment   verticalAlignment;
+  private final short               rotation;
+  private final boolean             wrapText;
+  private final BorderStyle         borderTop;
+  private final BorderStyle         borderLeft;
+  private final BorderStyle         borderBottom;
+  private final BorderStyle         borderRight;
+  private final IndexedColors       borderColor;
+  private final int                 hash;
+
+  private StyleSpec(final Builder inBuilder) {
+    font = inBuilder.font;
+    format = inBuilder.format;
+    fillColor = inBuilder.fillColor;
+    alignment = inBuilder.alignment;
+    verticalAlignment = inBuilder.verticalAlignment;
+    rotation = inBuilder.rotation;
+    wrapText = inBuilder.wrapText;
+    borderTop = inBuilder.borderTop;
+    borderLeft = inBuilder.borderLeft;
+    borderBottom = inBuilder.borderBottom;
+    borderRight = inBuilder.borderRight;
+    borderColor = inBuilder.borderColor;
+    hash = Objects.hash(font, format, fillColor, alignment, verticalAlignment, Short.valueOf(rotation), Boolean.valueOf(wrapText), borderTop, borderLeft, borderBottom, borderRight, borderColor);
+  }
+
+  /**
+   * Returns a builder of the default style.
+   *
+   * @return The builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    if (!(obj instanceof StyleSpec)) {
+      return false;
+    }
+
+    StyleSpec other = (StyleSpec) obj;
+    return hash == other.hash && rotation == other.rotation && wrapText == other.wrapText && fillColor == other.fillColor && alignment == other.alignment && verticalAlignment == other.verticalAlignment && borderTop == other.borderTop && borderLeft == other.borderLeft && borderBottom == other.borderBottom && borderRight == other.borderRight && borderColor == other.borderColor && font.equals(other.font) && Objects.equals(format, other.format);
+  }
+
+  /**
+   * Returns the horizontal alignment.
+   *
+   * @return The alignment.
+   */
+  public HorizontalAlignment getAlignment() {
+    return alignment;
+  }
+
+  /**
+   * Returns the bottom border.
+   *
+   * @return The border.
+   */
+  public BorderStyle getBorderBottom() {
+    return borderBottom;
+  }
+
+  /**
+   * Returns the color of the borders.
+   *
+   * @return The color.
+   */
+  public IndexedColors getBorderColor() {
+    return borderColor;
+  }
+
+  /**
+   * Returns the left border.
+   *
+   * @return The border.
+   */
+  public BorderStyle getBorderLeft() {
+    return borderLeft;
+  }
+
+  /**
+   * Returns the right border.
+   *
+   * @return The border.
+   */
+  public BorderStyle getBorderRight() {
+    return borderRight;
+  }
+
+  /**
+   * Returns the top border.
+   *
+   * @return The border.
+   */
+  public BorderStyle getBorderTop() {
+    return borderTop;
+  }
+
+  /**
+   * Returns the fill color.
+   *
+   * @return The color or <code>null</code> for no fill.
+   */
+  public IndexedColors getFillColor() {
+    return fillColor;
+  }
+
+  /**
+   * Returns the font.
+   *
+   * @return The font.
+   */
+  public FontSpec getFont() {
+    return font;
+  }
+
+  /**
+   * Returns the data format.
+   *
+   * @return The format or <code>null</code> for the general one.
+   */
+  public String getFormat() {
+    return format;
+  }
+
+  /**
+   * Returns the rotation.
+   *
+   * @return The rotation in degrees.
+   */
+  public short getRotation() {
+    return rotation;
+  }
+
+  /**
+   * Returns the vertical alignment.
+   *
+   * @return The alignment.
+   */
+  public VerticalAlignment getVerticalAlignment() {
+    return verticalAlignment;
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  /**
+   * Returns <code>true</code> if the text is wrapped.
+   *
+   * @return <code>true</code> if wrapped.
+   */
+  public boolean isWrapText() {
+    return wrapText;
+  }
+
+  /**
+   * Returns a builder initialized with this style.
+   *
+   * @return The builder.
+   */
+  public Builder toBuilder() {
+    Builder builder = new Builder().font(font).format(format).fillColor(fillColor).alignment(alignment).verticalAlignment(verticalAlignment).rotation(rotation).wrapText(wrapText);
+    return builder.borderTop(borderTop).borderLeft(borderLeft).borderBottom(borderBottom).borderRight(borderRight).borderColor(borderColor);
+  }
+
+  @Override
+  public String toString() {
+    return "StyleSpec[font=" + font + ", format=" + format + ", fillColor=" + fillColor + ", alignment=" + alignment + ", verticalAlignment=" + verticalAlignment + ", rotation=" + rotation + ", wrapText=" + wrapText + ", borders=" + borderTop + "/" + borderLeft + "/" + borderBottom + "/" + borderRight + ", borderColor=" + borderColor + "]";
+  }
+
+  /** Builds a {@link StyleSpec}, all the parts not given are the default ones. */
+  public static final class Builder {
+    private FontSpec            font              = FontSpec.DEFAULT;
+    private String              format;
+    private IndexedColors       fillColor;
+    private HorizontalAlignment alignment         = HorizontalAlignment.GENERAL;
+    private VerticalAlignment   verticalAlignment = VerticalAlignment.BOTTOM;
+    private short               rotation;
+    private boolean             wrapText;
+    private BorderStyle         borderTop         = BorderStyle.NONE;
+    private BorderStyle         borderLeft        = BorderStyle.NONE;
+    private BorderStyle         borderBottom      = BorderStyle.NONE;
+    private BorderStyle         borderRight       = BorderStyle.NONE;
+    private IndexedColors       borderColor       = IndexedColors.BLACK;
+
+    private Builder() {
+      // nothing to do
+    }
+
+    /**
+     * Sets the horizontal alignment.
+     *
+     * @param inAlignment The alignment.
+     * @return This builder.
+     */
+    public Builder alignment(final HorizontalAlignment inAlignment) {
+      alignment = Objects.requireNonNull(inAlignment);
+      return this;
+    }
+
+    /**
+     * Sets the four borders.
+     *
+     * @param inBorder The border.
+     * @return This builder.
+     */
+    public Builder border(final BorderStyle inBorder) {
+      return borderTop(inBorder).borderLeft(inBorder).borderBottom(inBorder).borderRight(inBorder);
+    }
+
+    /**
+     * Sets the bottom border.
+     *
+     * @param inBorder The border.
+     * @return This builder.
+     */
+    public Builder borderBottom(final BorderStyle inBorder) {
+      borderBottom = Objects.requireNonNull(inBorder);
+      return this;
+    }
+
+    /**
+     * Sets the color of the borders.
+     *
+     * @param inColor The color.
+     * @return This builder.
+     */
+    public Builder borderColor(final IndexedColors inColor) {
+      borderColor = Objects.requireNonNull(inColor);
+      return this;
+    }
+
+    /**
+     * Sets the left border.
+     *
+     * @param inBorder The border.
+     * @return This builder.
+     */
+    public Builder borderLeft(final BorderStyle inBorder) {
+      borderLeft = Objects.requireNonNull(inBorder);
+      return this;
+    }
+
+    /**
+     * Sets the right border.
+     *
+     * @param inBorder The border.
+     * @return This builder.
+     */
+    public Builder borderRight(final BorderStyle inBorder) {
+      borderRight = Objects.requireNonNull(inBorder);
+      return this;
+    }
+
+    /**
+     * Sets the top border.
+     *
+     * @param inBorder The border.
+     * @return This builder.
+     */
+    public Builder borderTop(final BorderStyle inBorder) {
+      borderTop = Objects.requireNonNull(inBorder);
+      return this;
+    }
+
+    /**
+     * Builds the style.
+     *
+     * @return The style.
+     */
+    public StyleSpec build() {
+      return new StyleSpec(this);
+    }
+
+    /**
+     * Sets the fill color, a solid fill.
+     *
+     * @param inColor The color, <code>null</code> for no fill.
+     * @return This builder.
+     */
+    public Builder fillColor(final IndexedColors inColor) {
+      fillColor = inColor;
+      return this;
+    }
+
+    /**
+     * Sets the font.
+     *
+     * @param inFont The font.
+     * @return This builder.
+     */
+    public Builder font(final FontSpec inFont) {
+      font = Objects.requireNonNull(inFont);
+      return this;
+    }
+
+    /**
+     * Sets the data format.
+     *
+     * @param inFormat The format, for example {@link StyleSpec#DATE_FORMAT}, <code>null</code> for the general one.
+     * @return This builder.
+     */
+    public Builder format(final String inFormat) {
+      format = inFormat;
+      return this;
+    }
+
+    /**
+     * Sets the rotation.
+     *
+     * @param inRotation The rotation in degrees.
+     * @return This builder.
+     * @throws IllegalArgumentException If the rotation isn't between -90 and 90.
+     */
+    public Builder rotation(final int inRotation) {
+      if (inRotation < -90 || inRotation > 90) {
+        throw new IllegalArgumentException("Invalid rotation " + inRotation);
+      }
+
+      rotation = (short) inRotation;
+      return this;
+    }
+
+    /**
+     * Sets the vertical alignment.
+     *
+     * @param inAlignment The alignment.
+     * @return This builder.
+     */
+    public Builder verticalAlignment(final VerticalAlignment inAlignment) {
+      verticalAlignment = Objects.requireNonNull(inAlignment);
+      return this;
+    }
+
+    /**
+     * Sets the text wrapping.
+     *
+     * @param inWrapText <code>true</code> to wrap the text.
+     * @return This builder.
+     */
+    public Builder wrapText(final boolean inWrapText) {
+      wrapText = inWrapText;
+      return this;
+    }
+  }
+}
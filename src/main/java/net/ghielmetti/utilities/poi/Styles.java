@@ -1,28 +1,61 @@
 package net.ghielmetti.utilities.poi;
 
+import java.util.BitSet;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
-import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.DataFormat;
 import org.apache.poi.ss.usermodel.FillPatternType;
 import org.apache.poi.ss.usermodel.Font;
-import org.apache.poi.ss.usermodel.HorizontalAlignment;
 import org.apache.poi.ss.usermodel.IndexedColors;
 import org.apache.poi.ss.usermodel.Workbook;
 
+import net.ghielmetti.utilities.poi.StyleKey.Alignment;
+import net.ghielmetti.utilities.poi.StyleKey.Border;
+import net.ghielmetti.utilities.poi.StyleKey.Color;
+import net.ghielmetti.utilities.poi.StyleKey.FontWeight;
+import net.ghielmetti.utilities.poi.StyleKey.Format;
+import net.ghielmetti.utilities.poi.StyleKey.Rotation;
+
 /**
- * Class containing the styles for the Excel sheets.
+ * Class containing the styles for the Excel sheets.<br>
+ * A style is described by a {@link StyleKey}, by its code or by its style string. The code is the cheapest way: the
+ * styles are kept in an array indexed by code, so getting an already created style is a single array load, and the
+ * callers can keep the codes of their styles instead of building a string for each cell.<br>
+ * The styles that a key can't describe (any color, data format or font, the vertical alignment) are described by a
+ * {@link StyleSpec} and returned by {@link #getCellStyle(StyleSpec)}.<br>
+ * A workbook can't contain more than 4000 (XLS) or 64000 (XLSX) styles: the number of styles still available can be
+ * verified before starting a long export with {@link #checkCapacity(int...)}, and with
+ * {@link #setFallbackToNearest(boolean)} the styles that can't be created any more are replaced by the nearest
+ * existing ones instead of failing.<br>
+ * The styles belong to the workbook and not to a sheet or a row, so one instance of this class per workbook serves all
+ * its sheets. That's also true for the streaming workbooks (<code>SXSSFWorkbook</code>): the rows flushed to disk keep
+ * referencing the styles by index and the memory used by this class doesn't depend on the number of rows.<br>
+ * This class is thread safe: the styles already created are read without lock and only the creation of a new style is
+ * serialized. The workbook itself isn't thread safe and a new style is created in the workbook, so the new styles
+ * shouldn't be resolved while another thread writes in the workbook: resolve them before or in the writing thread, as
+ * {@link WorkbookExport} does.
  *
  * @author Leopoldo Ghielmetti
  */
 public class Styles {
-  private Workbook               workBook;
-  private Map<Character, Font>   fontHidden = new HashMap<>();
-  private Font                   fontBold;
-  private DataFormat             dataFormat;
-  private Map<String, CellStyle> stylesMap  = new HashMap<>();
+  private Workbook                                 workBook;
+  private Map<Color, Font>                         fontHidden   = new EnumMap<>(Color.class);
+  private Font                                     fontBold;
+  private DataFormat                               dataFormat;
+  // The styles by code, allocated at the first use (StyleKey.COUNT references), read without lock
+  private volatile AtomicReferenceArray<CellStyle> stylesByCode;
+  // The styles, the fonts and the data formats of the descriptions, shared between the equal ones
+  private Map<StyleSpec, CellStyle>                stylesBySpec = new ConcurrentHashMap<>();
+  private Map<FontSpec, Font>                      fontsBySpec  = new HashMap<>();
+  private Map<String, Short>                       formats      = new HashMap<>();
+  private volatile int                             createdStyles;
+  private volatile int                             createdFonts;
+  private volatile boolean                         fallbackToNearest;
 
   /**
    * Constructor.
@@ -34,6 +67,70 @@ public class Styles {
     dataFormat = inWorkBook.createDataFormat();
   }
 
+  /**
+   * Verifies that the styles of the given codes can be created, counting only the styles not created yet.
+   *
+   * @param inCodes The codes of the styles that will be needed.
+   * @throws IllegalStateException If the workbook can't contain all the styles.
+   */
+  public void checkCapacity(final int... inCodes) {
+    int missing = countMissing(inCodes);
+
+    if (missing > getAvailableStyles()) {
+      throw new IllegalStateException(missing + " new styles are needed but only " + getAvailableStyles() + " of " + getMaximumStyles() + " are still available");
+    }
+  }
+
+  /**
+   * Returns the number of styles that can still be created in the workbook, the styles created without this class
+   * included.
+   *
+   * @return The number of styles.
+   */
+  public int getAvailableStyles() {
+    return Math.max(0, getMaximumStyles() - workBook.getNumCellStyles());
+  }
+
+  /**
+   * Returns the style of the given description, created at the first call. The fonts and the data formats are shared
+   * with the other styles.
+   *
+   * @param inSpec The description of the style.
+   * @return The Style object for the POI Cells
+   * @throws IllegalStateException If the style has to be created but the workbook can't contain more styles.
+   */
+  public CellStyle getCellStyle(final StyleSpec inSpec) {
+    CellStyle cellStyle = stylesBySpec.get(inSpec);
+    return cellStyle == null ? resolveStyle(inSpec) : cellStyle;
+  }
+
+  /**
+   * Returns the number of fonts created by this class.
+   *
+   * @return The number of fonts.
+   */
+  public int getCreatedFonts() {
+    return createdFonts;
+  }
+
+  /**
+   * Returns the number of styles created by this class.
+   *
+   * @return The number of styles.
+   */
+  public int getCreatedStyles() {
+    return createdStyles;
+  }
+
+  /**
+   * Returns the maximum number of styles of the workbook: 4000 for the XLS files and 64000 for the XLSX ones.
+   *
+   * @return The number of styles.
+   */
+  public int getMaximumStyles() {
+    return workBook.getSpreadsheetVersion().getMaxCellStyles();
+  }
+
   /**
    * The Style string is constructed concatenating the following letters:<br>
    * <dl>
@@ -64,322 +161,392 @@ public class Styles {
    * </dl>
    * </dl>
    *
+   * The string is parsed at each call, prefer {@link #getStyle(int)} for the styles used often.
+   *
    * @param inStyle The style format string
    * @return The Style object for the POI Cells
+   * @throws IllegalArgumentException If the style string isn't valid.
    */
   public CellStyle getStyle(final String inStyle) {
-    if (inStyle == null || inStyle.length() != 9) {
-      throw new IllegalArgumentException("Invalid style name");
-    }
-
-    CellStyle cellStyle = stylesMap.get(inStyle);
-
-    if (cellStyle == null) {
-      cellStyle = workBook.createCellStyle();
-      char color = inStyle.charAt(0);
-      char fontWeight = inStyle.charAt(1);
-      char alignment = inStyle.charAt(2);
-      char rotation = inStyle.charAt(3);
-      char format = inStyle.charAt(4);
-      char borderTop = inStyle.charAt(5);
-      char borderLeft = inStyle.charAt(6);
-      char borderBottom = inStyle.charAt(7);
-      char borderRight = inStyle.charAt(8);
-      setColor(cellStyle, color);
-      setFontWeight(inStyle, cellStyle, fontWeight);
-      setAlignment(cellStyle, alignment);
-      setRotation(cellStyle, rotation);
-      setFormat(cellStyle, format);
-      setBorder(cellStyle, borderTop, borderLeft, borderBottom, borderRight);
-      stylesMap.put(inStyle, cellStyle);
-    }
+    return getStyle(StyleKey.encode(inStyle));
+  }
 
-    return cellStyle;
+  /**
+   * Returns the style of the given code.
+   *
+   * @param inCode The code of the style, see {@link StyleKey#getCode()}.
+   * @return The Style object for the POI Cells
+   * @throws IllegalArgumentException If the code isn't valid.
+   */
+  public CellStyle getStyle(final int inCode) {
+    checkCode(inCode);
+    AtomicReferenceArray<CellStyle> styles = stylesByCode;
+    CellStyle cellStyle = styles == null ? null : styles.get(inCode);
+    return cellStyle == null ? resolveStyle(inCode) : cellStyle;
   }
 
   /**
-   * @param inCellStyle Cell style to set
-   * @param inAlignment
-   *          <ul>
-   *          <li><b>L</b>: left</li>
-   *          <li><b>C</b>: center</li>
-   *          <li><b>R</b>: right</li>
-   *          <li><b>N</b>: normal</li>
-   *          </ul>
+   * Returns <code>true</code> if the styles of the given codes can be created, counting only the styles not created
+   * yet.
+   *
+   * @param inCodes The codes of the styles that will be needed.
+   * @return <code>true</code> if the workbook can contain all the styles.
    */
-  private void setAlignment(final CellStyle inCellStyle, final char inAlignment) {
-    switch (inAlignment) {
-      case 'L': // Left
-        inCellStyle.setAlignment(HorizontalAlignment.LEFT);
-        break;
+  public boolean hasCapacityFor(final int... inCodes) {
+    return countMissing(inCodes) <= getAvailableStyles();
+  }
 
-      case 'C': // Center
-        inCellStyle.setAlignment(HorizontalAlignment.CENTER);
-        break;
+  /**
+   * Returns <code>true</code> if the nearest existing style is used when no more styles can be created.
+   *
+   * @return <code>true</code> if the nearest style is used.
+   */
+  public boolean isFallbackToNearest() {
+    return fallbackToNearest;
+  }
 
-      case 'R': // Right
-        inCellStyle.setAlignment(HorizontalAlignment.RIGHT);
-        break;
+  /**
+   * Sets the behavior when no more styles can be created in the workbook: by default an {@link IllegalStateException}
+   * is thrown, with the fallback the nearest existing style is used (the fill color and the font are preserved first,
+   * then the format, the alignment, the rotation and the borders).
+   *
+   * @param inFallbackToNearest <code>true</code> to use the nearest style.
+   */
+  public void setFallbackToNearest(final boolean inFallbackToNearest) {
+    fallbackToNearest = inFallbackToNearest;
+  }
 
-      case 'N': // Normal
-        break;
+  /**
+   * Forgets the styles and the fonts already known, when the workbook renumbered them.
+   */
+  synchronized void clear() {
+    stylesByCode = null;
+    fontBold = null;
+    fontHidden.clear();
+    stylesBySpec.clear();
+    fontsBySpec.clear();
+    formats.clear();
+  }
 
-      default:
-        throw new IllegalArgumentException("Invalid alignment \"" + inAlignment + "\", should be one of (L, C, R, N)");
-    }
+  /**
+   * Returns the workbook.
+   *
+   * @return The workbook.
+   */
+  Workbook getWorkbook() {
+    return workBook;
   }
 
   /**
-   * Sets the border, always in top-left-bottom-right order.<br>
-   * Uppercase for <b>Thick</b> border, lowercase for <b>Thin</b> border:<br>
-   * <ul>
-   * <li><b>t</b>: top</li>
-   * <li><b>l</b>: left</li>
-   * <li><b>b</b>: bottom</li>
-   * <li><b>r</b>: right</li>
-   * <li><b>n</b>: not present</li>
-   * </ul>
+   * Registers an existing style of the workbook as the style of the given code, the returned one by
+   * {@link #getStyle(int)} if the code has no style yet. Its bold or hidden font is also reused by the styles created
+   * later.
    *
-   * @param inCellStyle Cell style to set
-   * @param inBorderTop The top border description (t, T or n)
-   * @param inBorderLeft The left border description (l, L or n)
-   * @param inBorderBottom The bottom border description (b, B or n)
-   * @param inBorderRight The right border description (r, R or n)
+   * @param inCode The code.
+   * @param inCellStyle The style, that must be exactly the one this class would create for the code.
+   * @return <code>true</code> if the style has been registered.
    */
-  private void setBorder(final CellStyle inCellStyle, final char inBorderTop, final char inBorderLeft, final char inBorderBottom, final char inBorderRight) {
-    switch (inBorderTop) {
-      case 't': // Thin
-        inCellStyle.setBorderTop(BorderStyle.THIN);
-        inCellStyle.setTopBorderColor(IndexedColors.BLACK.getIndex());
-        break;
+  synchronized boolean register(final int inCode, final CellStyle inCellStyle) {
+    checkCode(inCode);
+    AtomicReferenceArray<CellStyle> styles = allocateStylesByCode();
 
-      case 'T': // Thick
-        inCellStyle.setBorderTop(BorderStyle.THICK);
-        inCellStyle.setTopBorderColor(IndexedColors.BLACK.getIndex());
-        break;
+    if (styles.get(inCode) != null) {
+      return false;
+    }
 
-      case 'n': // Not present
-        break;
+    styles.set(inCode, inCellStyle);
+    StyleKey key = StyleKey.of(inCode);
 
-      default:
-        throw new IllegalArgumentException("Invalid border top \"" + inBorderTop + "\", should be one of (t, T, n)");
+    if (key.getFontWeight() == FontWeight.BOLD && fontBold == null) {
+      fontBold = workBook.getFontAt(inCellStyle.getFontIndex());
+    } else if (key.getFontWeight() == FontWeight.HIDDEN && !fontHidden.containsKey(key.getColor())) {
+      fontHidden.put(key.getColor(), workBook.getFontAt(inCellStyle.getFontIndex()));
     }
 
-    switch (inBorderLeft) {
-      case 'l': // Thin
-        inCellStyle.setBorderLeft(BorderStyle.THIN);
-        inCellStyle.setLeftBorderColor(IndexedColors.BLACK.getIndex());
-        break;
-
-      case 'L': // Thick
-        inCellStyle.setBorderLeft(BorderStyle.THICK);
-        inCellStyle.setLeftBorderColor(IndexedColors.BLACK.getIndex());
-        break;
+    return true;
+  }
 
-      case 'n': // Not present
-        break;
+  // Called with the lock
+  private AtomicReferenceArray<CellStyle> allocateStylesByCode() {
+    AtomicReferenceArray<CellStyle> styles = stylesByCode;
 
-      default:
-        throw new IllegalArgumentException("Invalid border left \"" + inBorderLeft + "\", should be one of (l, L, n)");
+    if (styles == null) {
+      styles = new AtomicReferenceArray<>(StyleKey.COUNT);
+      stylesByCode = styles;
     }
 
-    switch (inBorderBottom) {
-      case 'b': // Thin
-        inCellStyle.setBorderBottom(BorderStyle.THIN);
-        inCellStyle.setBottomBorderColor(IndexedColors.BLACK.getIndex());
-        break;
+    return styles;
+  }
 
-      case 'B': // Thick
-        inCellStyle.setBorderBottom(BorderStyle.THICK);
-        inCellStyle.setBottomBorderColor(IndexedColors.BLACK.getIndex());
-        break;
+  private void checkCode(final int inCode) {
+    if (inCode < 0 || inCode >= StyleKey.COUNT) {
+      throw new IllegalArgumentException("Invalid style code " + inCode);
+    }
+  }
 
-      case 'n': // Not present
-        break;
+  private int countMissing(final int[] inCodes) {
+    AtomicReferenceArray<CellStyle> styles = stylesByCode;
+    BitSet missing = new BitSet();
 
-      default:
-        throw new IllegalArgumentException("Invalid border bottom \"" + inBorderBottom + "\", should be one of (b, B, n)");
+    for (int code : inCodes) {
+      checkCode(code);
+
+      if (styles == null || styles.get(code) == null) {
+        missing.set(code);
+      }
     }
 
-    switch (inBorderRight) {
-      case 'r': // Thin
-        inCellStyle.setBorderRight(BorderStyle.THIN);
-        inCellStyle.setRightBorderColor(IndexedColors.BLACK.getIndex());
-        break;
+    return missing.cardinality();
+  }
 
-      case 'R': // Thick
-        inCellStyle.setBorderRight(BorderStyle.THICK);
-        inCellStyle.setRightBorderColor(IndexedColors.BLACK.getIndex());
-        break;
+  private CellStyle createStyle(final StyleKey inKey) {
+    CellStyle cellStyle = workBook.createCellStyle();
+    setColor(cellStyle, inKey.getColor());
+    setFontWeight(cellStyle, inKey);
+    setAlignment(cellStyle, inKey.getAlignment());
+    setRotation(cellStyle, inKey.getRotation());
+    setFormat(cellStyle, inKey.getFormat());
+    setBorder(cellStyle, inKey);
+    return cellStyle;
+  }
 
-      case 'n': // Not present
-        break;
+  private CellStyle createStyle(final StyleSpec inSpec) {
+    CellStyle cellStyle = workBook.createCellStyle();
 
-      default:
-        throw new IllegalArgumentException("Invalid border right \"" + inBorderRight + "\", should be one of (r, R, n)");
+    if (!inSpec.getFont().equals(FontSpec.DEFAULT)) {
+      cellStyle.setFont(getFont(inSpec.getFont()));
+    }
+
+    if (inSpec.getFormat() != null) {
+      cellStyle.setDataFormat(getFormat(inSpec.getFormat()));
+    }
+
+    if (inSpec.getFillColor() != null) {
+      cellStyle.setFillForegroundColor(inSpec.getFillColor().getIndex());
+      cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
     }
+
+    cellStyle.setAlignment(inSpec.getAlignment());
+    cellStyle.setVerticalAlignment(inSpec.getVerticalAlignment());
+    cellStyle.setRotation(inSpec.getRotation());
+    cellStyle.setWrapText(inSpec.isWrapText());
+    cellStyle.setBorderTop(inSpec.getBorderTop());
+    cellStyle.setBorderLeft(inSpec.getBorderLeft());
+    cellStyle.setBorderBottom(inSpec.getBorderBottom());
+    cellStyle.setBorderRight(inSpec.getBorderRight());
+    short borderColor = inSpec.getBorderColor().getIndex();
+    cellStyle.setTopBorderColor(borderColor);
+    cellStyle.setLeftBorderColor(borderColor);
+    cellStyle.setBottomBorderColor(borderColor);
+    cellStyle.setRightBorderColor(borderColor);
+    return cellStyle;
   }
 
   /**
-   * @param inCellStyle Cell style to set
-   * @param inColor
-   *          <ul>
-   *          <li><b>W</b>: white</li>
-   *          <li><b>O</b>: orange</li>
-   *          <li><b>T</b>: turquoise</li>
-   *          <li><b>G</b>: grey_25</li>
-   *          </ul>
+   * Returns the created style nearest to the given code or else the default style of the workbook.
+   *
+   * @param inCode The code of the wanted style.
+   * @return The style.
    */
-  private void setColor(final CellStyle inCellStyle, final char inColor) {
-    switch (inColor) {
-      case 'N': // None
-        break;
-
-      case 'W': // white
-        inCellStyle.setFillForegroundColor(IndexedColors.WHITE.getIndex());
-        inCellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        break;
+  private CellStyle findNearest(final int inCode) {
+    CellStyle nearest = workBook.getCellStyleAt(0);
+    int nearestDistance = Integer.MAX_VALUE;
+
+    for (int code = 0; code < stylesByCode.length(); code++) {
+      if (stylesByCode.get(code) != null) {
+        int distance = StyleKey.distance(inCode, code);
+
+        if (distance < nearestDistance) {
+          nearest = stylesByCode.get(code);
+          nearestDistance = distance;
+        }
+      }
+    }
 
-      case 'G': // gray
-        inCellStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        inCellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        break;
+    return nearest;
+  }
 
-      case 'O': // orange
-        inCellStyle.setFillForegroundColor(IndexedColors.LIGHT_ORANGE.getIndex());
-        inCellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        break;
+  private Font getFont(final FontSpec inSpec) {
+    Font font = fontsBySpec.get(inSpec);
 
-      case 'T': // Turquoise
-        inCellStyle.setFillForegroundColor(IndexedColors.LIGHT_TURQUOISE.getIndex());
-        inCellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        break;
+    if (font == null) {
+      font = workBook.createFont();
 
-      case 'g': // green
-        inCellStyle.setFillForegroundColor(IndexedColors.GREEN.getIndex());
-        inCellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        break;
+      if (inSpec.getName() != null) {
+        font.setFontName(inSpec.getName());
+      }
 
-      case 'b': // blue
-        inCellStyle.setFillForegroundColor(IndexedColors.BLUE.getIndex());
-        inCellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        break;
+      if (inSpec.getHeight() != 0) {
+        font.setFontHeightInPoints(inSpec.getHeight());
+      }
 
-      case 'r': // red
-        inCellStyle.setFillForegroundColor(IndexedColors.RED.getIndex());
-        inCellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        break;
+      if (inSpec.getColor() != null) {
+        font.setColor(inSpec.getColor().getIndex());
+      }
 
-      default:
-        throw new IllegalArgumentException("Invalid color \"" + inColor + "\", should be one of (N, W, G, O, T, g, b, r)");
+      font.setBold(inSpec.isBold());
+      font.setItalic(inSpec.isItalic());
+      font.setUnderline(inSpec.isUnderline() ? Font.U_SINGLE : Font.U_NONE);
+      fontsBySpec.put(inSpec, font);
+      createdFonts++;
     }
+
+    return font;
   }
 
-  private void setFontBold(final CellStyle inCellStyle) {
-    if (fontBold == null) {
-      fontBold = workBook.createFont();
-      fontBold.setBold(true);
+  private short getFormat(final String inFormat) {
+    Short index = formats.get(inFormat);
+
+    if (index == null) {
+      index = Short.valueOf(dataFormat.getFormat(inFormat));
+      formats.put(inFormat, index);
     }
 
-    inCellStyle.setFont(fontBold);
+    return index.shortValue();
   }
 
-  private void setFontHidden(final CellStyle inCellStyle, final String inStyle) {
-    Font hidden = fontHidden.get(Character.valueOf(inStyle.charAt(0)));
+  /**
+   * Returns the style of the code, created if another thread didn't create it meanwhile.
+   *
+   * @param inCode The code.
+   * @return The style.
+   */
+  private synchronized CellStyle resolveStyle(final int inCode) {
+    AtomicReferenceArray<CellStyle> styles = allocateStylesByCode();
+    CellStyle cellStyle = styles.get(inCode);
 
-    if (hidden == null) {
-      hidden = workBook.createFont();
-      hidden.setColor(inCellStyle.getFillForegroundColor());
-      fontHidden.put(Character.valueOf(inStyle.charAt(0)), hidden);
+    if (cellStyle == null) {
+      if (workBook.getNumCellStyles() < getMaximumStyles()) {
+        cellStyle = createStyle(StyleKey.of(inCode));
+        createdStyles++;
+      } else if (fallbackToNearest) {
+        cellStyle = findNearest(inCode);
+      } else {
+        throw new IllegalStateException("The workbook can't contain more than " + getMaximumStyles() + " styles");
+      }
+
+      styles.set(inCode, cellStyle);
     }
 
-    inCellStyle.setFont(hidden);
+    return cellStyle;
   }
 
   /**
-   * @param inCellStyle Cell style to set
-   * @param inFont
-   *          <ul>
-   *          <li><b>N</b>: normal</li>
-   *          <li><b>B</b>: bold</li>
-   *          <li><b>H</b>: hidden</li>
-   *          </ul>
+   * Returns the style of the description, created if another thread didn't create it meanwhile.
+   *
+   * @param inSpec The description.
+   * @return The style.
    */
-  private void setFontWeight(final String inStyle, final CellStyle inCellStyle, final char inFontWeight) {
-    switch (inFontWeight) {
-      case 'B': // Bold
-        setFontBold(inCellStyle);
-        break;
+  private synchronized CellStyle resolveStyle(final StyleSpec inSpec) {
+    CellStyle cellStyle = stylesBySpec.get(inSpec);
 
-      case 'H': // Hidden
-        setFontHidden(inCellStyle, inStyle);
-        break;
+    if (cellStyle == null) {
+      if (workBook.getNumCellStyles() >= getMaximumStyles()) {
+        throw new IllegalStateException("The workbook can't contain more than " + getMaximumStyles() + " styles");
+      }
 
-      case 'N': // Normal
-        break;
+      cellStyle = createStyle(inSpec);
+      createdStyles++;
+      stylesBySpec.put(inSpec, cellStyle);
+    }
 
-      default:
-        throw new IllegalArgumentException("Invalid font weight \"" + inFontWeight + "\", should be one of (B, H, N)");
+    return cellStyle;
+  }
+
+  private void setAlignment(final CellStyle inCellStyle, final Alignment inAlignment) {
+    if (inAlignment.getHorizontalAlignment() != null) {
+      inCellStyle.setAlignment(inAlignment.getHorizontalAlignment());
     }
   }
 
   /**
+   * Sets the four borders, always black.
+   *
    * @param inCellStyle Cell style to set
-   * @param inFormat
-   *          <ul>
-   *          <li><b>V</b>: variable</li>
-   *          <li><b>N</b>: numeric</li>
-   *          <li><b>T</b>: text</li>
-   *          </ul>
+   * @param inKey The key of the style.
    */
-  private void setFormat(final CellStyle inCellStyle, final char inFormat) {
-    switch (inFormat) {
-      case 'N': // Numeric
-        inCellStyle.setDataFormat(dataFormat.getFormat("0.000#"));
-        break;
+  private void setBorder(final CellStyle inCellStyle, final StyleKey inKey) {
+    short black = IndexedColors.BLACK.getIndex();
 
-      case 'T': // Text
-        inCellStyle.setDataFormat(dataFormat.getFormat("@"));
-        inCellStyle.setWrapText(true);
-        break;
+    if (inKey.getBorderTop() != Border.NONE) {
+      inCellStyle.setBorderTop(inKey.getBorderTop().getBorderStyle());
+      inCellStyle.setTopBorderColor(black);
+    }
 
-      case 'V': // Variable
-        break;
+    if (inKey.getBorderLeft() != Border.NONE) {
+      inCellStyle.setBorderLeft(inKey.getBorderLeft().getBorderStyle());
+      inCellStyle.setLeftBorderColor(black);
+    }
 
-      default:
-        throw new IllegalArgumentException("Invalid format \"" + inFormat + "\", should be one of (N, T, V)");
+    if (inKey.getBorderBottom() != Border.NONE) {
+      inCellStyle.setBorderBottom(inKey.getBorderBottom().getBorderStyle());
+      inCellStyle.setBottomBorderColor(black);
+    }
+
+    if (inKey.getBorderRight() != Border.NONE) {
+      inCellStyle.setBorderRight(inKey.getBorderRight().getBorderStyle());
+      inCellStyle.setRightBorderColor(black);
     }
   }
 
-  /**
-   * @param inCellStyle Cell style to set
-   * @param inRotation
-   *          <ul>
-   *          <li><b>0</b>: 0°</li>
-   *          <li><b>1</b>: 90°</li>
-   *          <li><b>2</b>: 180°</li>
-   *          <li><b>3</b>: 270°</li>
-   *          </ul>
-   */
-  private void setRotation(final CellStyle inCellStyle, final char inRotation) {
-    switch (inRotation) {
-      case '1': // 90°
-        inCellStyle.setRotation((short) 90);
-        break;
+  private void setColor(final CellStyle inCellStyle, final Color inColor) {
+    if (inColor.getIndexedColor() != null) {
+      inCellStyle.setFillForegroundColor(inColor.getIndexedColor().getIndex());
+      inCellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+    }
+  }
 
-      case '2': // 180°
-        inCellStyle.setRotation((short) 180);
-        break;
+  private void setFontBold(final CellStyle inCellStyle) {
+    if (fontBold == null) {
+      fontBold = workBook.createFont();
+      fontBold.setBold(true);
+      createdFonts++;
+    }
+
+    inCellStyle.setFont(fontBold);
+  }
+
+  private void setFontHidden(final CellStyle inCellStyle, final Color inColor) {
+    Font hidden = fontHidden.get(inColor);
+
+    if (hidden == null) {
+      hidden = workBook.createFont();
+      hidden.setColor(inCellStyle.getFillForegroundColor());
+      fontHidden.put(inColor, hidden);
+      createdFonts++;
+    }
 
-      case '3': // 270°
-        inCellStyle.setRotation((short) -90);
+    inCellStyle.setFont(hidden);
+  }
+
+  private void setFontWeight(final CellStyle inCellStyle, final StyleKey inKey) {
+    switch (inKey.getFontWeight()) {
+      case BOLD:
+        setFontBold(inCellStyle);
         break;
 
-      case '0': // 0°
+      case HIDDEN:
+        setFontHidden(inCellStyle, inKey.getColor());
         break;
 
       default:
-        throw new IllegalArgumentException("Invalid rotation \"" + inRotation + "\", should be one of (0, 1, 2, 3)");
+        break;
+    }
+  }
+
+  private void setFormat(final CellStyle inCellStyle, final Format inFormat) {
+    if (inFormat.getDataFormat() != null) {
+      inCellStyle.setDataFormat(getFormat(inFormat.getDataFormat()));
+    }
+
+    if (inFormat == Format.TEXT) {
+      inCellStyle.setWrapText(true);
+    }
+  }
+
+  private void setRotation(final CellStyle inCellStyle, final Rotation inRotation) {
+    if (inRotation != Rotation.DEGREES_0) {
+      inCellStyle.setRotation(inRotation.getDegrees());
     }
   }
 }
@@ -0,0 +1,129 @@
+package net.ghielmetti.utilities.poi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * Exports several sheets in a workbook, the values of the sheets being prepared in parallel:
+ *
+ * <pre>
+ * WorkbookExport export = new WorkbookExport(workbook);
+ * export.addSheet("Orders", orderWriter, orders);
+ * export.addSheet("Customers", customerWriter, customers);
+ * export.write(executor);
+ * </pre>
+ *
+ * The workers of the executor read the records and keep the values of the cells in memory, without touching the
+ * workbook. The calling thread then writes the sheets one after the other, in the order they have been added, as soon
+ * as their values are ready: POI isn't thread safe, so only this thread creates the rows, the cells and, through the
+ * {@link Styles} of the {@link SheetWriter}, the styles.<br>
+ * The values of a sheet stay in memory until the sheet is written, about 17 bytes by cell plus the texts.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class WorkbookExport {
+  private final Workbook           workbook;
+  private final List<SheetTask<?>> tasks = new ArrayList<>();
+
+  /**
+   * Constructor.
+   *
+   * @param inWorkbook The workbook, the one of the {@link Styles} of the writers.
+   */
+  public WorkbookExport(final Workbook inWorkbook) {
+    workbook = inWorkbook;
+  }
+
+  /**
+   * Adds a sheet to export.
+   *
+   * @param <T> The class of the records
+   * @param inName The name of the sheet.
+   * @param inWriter The writer of the sheet.
+   * @param inRecords The records, read by a worker.
+   * @throws IllegalArgumentException If a sheet with this name already exists.
+   */
+  public <T> void addSheet(final String inName, final SheetWriter<T> inWriter, final Iterable<? extends T> inRecords) {
+    if (workbook.getSheet(inName) != null || tasks.stream().anyMatch(t -> t.name.equalsIgnoreCase(inName))) {
+      throw new IllegalArgumentException("The sheet \"" + inName + "\" already exists");
+    }
+
+    tasks.add(new SheetTask<>(inName, inWriter, inRecords));
+  }
+
+  @Override
+  public String toString() {
+    return "WorkbookExport[sheets=" + tasks.size() + "]";
+  }
+
+  /**
+   * Writes the sheets added since the last call, their values being prepared by the executor.
+   *
+   * @param inExecutor The executor.
+   * @return The number of records written.
+   * @throws InterruptedException If the thread is interrupted while waiting for the values of a sheet.
+   */
+  public int write(final ExecutorService inExecutor) throws InterruptedException {
+    List<SheetTask<?>> pending = new ArrayList<>(tasks);
+    tasks.clear();
+    List<Future<SheetBuffer>> buffers = new ArrayList<>(pending.size());
+
+    for (SheetTask<?> task : pending) {
+      buffers.add(inExecutor.submit(task::buffer));
+    }
+
+    int written = 0;
+
+    try {
+      for (int i = 0; i < pending.size(); i++) {
+        SheetBuffer buffer = buffers.get(i).get();
+        SheetTask<?> task = pending.get(i);
+        written += task.writer.write(workbook.createSheet(task.name), buffer);
+      }
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+
+      throw new IllegalStateException(cause);
+    } finally {
+      for (Future<SheetBuffer> buffer : buffers) {
+        buffer.cancel(true);
+      }
+    }
+
+    return written;
+  }
+
+  /**
+   * A sheet to export.
+   *
+   * @param <T> The class of the records
+   */
+  private static final class SheetTask<T> {
+    private final String                name;
+    private final SheetWriter<T>        writer;
+    private final Iterable<? extends T> records;
+
+    SheetTask(final String inName, final SheetWriter<T> inWriter, final Iterable<? extends T> inRecords) {
+      name = inName;
+      writer = inWriter;
+      records = inRecords;
+    }
+
+    SheetBuffer buffer() {
+      return writer.buffer(records.iterator());
+    }
+  }
+}
@@ -0,0 +1,476 @@
+package net.ghielmetti.utilities.swing;
+
+import java.awt.Color;
+import java.awt.Container;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Insets;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+import javax.swing.event.ChangeListener;
+
+import org.apache.log4j.Level;
+
+/**
+ * A view of the lines of a {@link LogStore}, painting only the visible lines.<br>
+ * All the lines have the same height, so the size of the view and the position of a line are computed without looking
+ * at the other lines, and the view scrolls to the end without any layout. The width is given by the longest line, the
+ * font should then be a monospaced font (the font of the text areas by default).<br>
+ * In auto scroll mode the view follows the last line, otherwise the displayed lines stay in place when lines are added
+ * or removed.<br>
+ * The lines of the log events are painted by columns: the time, the level, the logger and the message, the level and
+ * the message colored by the level. The following lines of an event, like a stack trace, are painted in the column of
+ * the message. Each column is painted directly from the record of the line in the store, so the cost of a paint
+ * depends only on the number of visible lines. A click on a logger name notifies the action listeners, the command of
+ * the action is the name of the logger.<br>
+ * With {@link #setIndex(LogIndex)} only the lines of a {@link LogIndex} are displayed, a row by entry of the index.<br>
+ * The view must be used in the event dispatch thread. The store can be changed by any thread, the view follows the
+ * changes in the event dispatch thread.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class JLogView extends JComponent implements Scrollable {
+  private static final int     VISIBLE_COLUMNS = 80;
+  private static final int     VISIBLE_ROWS    = 20;
+  private static final String  TIME_PATTERN    = "HH:mm:ss.SSS";
+  private static final int     LEVEL_COLUMNS   = 5;
+  private static final Color   TIME_COLOR      = Color.GRAY;
+  private static final Color   LOGGER_COLOR    = new Color(0x00, 0x33, 0x99);
+  private static final Color   WARN_COLOR      = new Color(0xB0, 0x60, 0x00);
+  private static final Color   ERROR_COLOR     = new Color(0xC0, 0x00, 0x00);
+  private static final Color   DEBUG_COLOR     = Color.GRAY;
+
+  private final LogStore       store;
+  private final ChangeListener storeListener   = inEvent -> storeChanged();
+  private final AtomicBoolean  rowsPosted      = new AtomicBoolean();
+  private final ChangeListener indexListener   = inEvent -> rowsChanged();
+  private final DateFormat     timeFormat      = new SimpleDateFormat(TIME_PATTERN);
+  private LogIndex             index;
+  private boolean              auto            = true;
+  private long                 displayedLine;
+  private int                  rowHeight;
+  private int                  ascent;
+  private int                  columnWidth;
+
+  /**
+   * Constructor.
+   *
+   * @param inStore The store of the displayed lines.
+   */
+  public JLogView(final LogStore inStore) {
+    store = inStore;
+    displayedLine = store.getFirstLine();
+    setOpaque(true);
+    Font font = UIManager.getFont("TextArea.font");
+    setFont(font == null ? new Font(Font.MONOSPACED, Font.PLAIN, 12) : font);
+    setForeground(UIManager.getColor("TextArea.foreground"));
+    setBackground(UIManager.getColor("TextArea.background"));
+    store.addChangeListener(storeListener);
+
+    MouseAdapter loggerListener = new MouseAdapter() {
+      @Override
+      public void mouseClicked(final MouseEvent inEvent) {
+        String logger = getLoggerAt(inEvent.getPoint());
+
+        if (logger != null) {
+          fireActionPerformed(logger);
+        }
+      }
+
+      @Override
+      public void mouseMoved(final MouseEvent inEvent) {
+        setCursor(getLoggerAt(inEvent.getPoint()) == null ? null : Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+      }
+    };
+    addMouseListener(loggerListener);
+    addMouseMotionListener(loggerListener);
+  }
+
+  /**
+   * Adds a listener notified when a logger name is clicked, the command of the action is the name of the logger.
+   *
+   * @param inListener The listener.
+   */
+  public void addActionListener(final ActionListener inListener) {
+    listenerList.add(ActionListener.class, inListener);
+  }
+
+  /**
+   * Returns the index of the displayed lines.
+   *
+   * @return The index, <code>null</code> if all the lines of the store are displayed.
+   */
+  public LogIndex getIndex() {
+    return index;
+  }
+
+  /**
+   * Returns the number of the line displayed at the given location.
+   *
+   * @param inPoint The location in the view.
+   * @return The number of the line in the store, it can be a removed line or a line not yet added, -1 if the row of an
+   *         index has no line.
+   */
+  public long getLineAt(final Point inPoint) {
+    return getLineOfRow(getFirstRow() + Math.floorDiv(inPoint.y - getInsets().top, rowHeight));
+  }
+
+  /**
+   * Returns the name of the logger displayed at the given location.
+   *
+   * @param inPoint The location in the view.
+   * @return The name of the logger, <code>null</code> if there is no logger name at the location.
+   */
+  public String getLoggerAt(final Point inPoint) {
+    long line = getLineAt(inPoint);
+    String logger;
+
+    // The line can be removed by another thread, both are read at once
+    synchronized (store) {
+      logger = store.isEventStart(line) ? store.getLogger(line) : null;
+    }
+
+    if (logger == null) {
+      return null;
+    }
+
+    int x = getInsets().left + getLoggerColumn() * columnWidth;
+    return inPoint.x >= x && inPoint.x < x + logger.length() * columnWidth ? logger : null;
+  }
+
+  @Override
+  public Dimension getPreferredScrollableViewportSize() {
+    Insets insets = getInsets();
+    return new Dimension(VISIBLE_COLUMNS * columnWidth + insets.left + insets.right, VISIBLE_ROWS * rowHeight + insets.top + insets.bottom);
+  }
+
+  @Override
+  public Dimension getPreferredSize() {
+    if (isPreferredSizeSet()) {
+      return super.getPreferredSize();
+    }
+
+    Insets insets = getInsets();
+    return new Dimension((getMessageColumn() + store.getLongestLine()) * columnWidth + insets.left + insets.right, getRowCount() * rowHeight + insets.top + insets.bottom);
+  }
+
+  /**
+   * Returns the height of the lines.
+   *
+   * @return The height in pixels.
+   */
+  public int getRowHeight() {
+    return rowHeight;
+  }
+
+  @Override
+  public int getScrollableBlockIncrement(final Rectangle inVisibleRect, final int inOrientation, final int inDirection) {
+    if (inOrientation == SwingConstants.VERTICAL) {
+      return Math.max(rowHeight, inVisibleRect.height - rowHeight);
+    }
+
+    return inVisibleRect.width;
+  }
+
+  @Override
+  public boolean getScrollableTracksViewportHeight() {
+    Container parent = getParent();
+    return parent instanceof JViewport && parent.getHeight() > getPreferredSize().height;
+  }
+
+  @Override
+  public boolean getScrollableTracksViewportWidth() {
+    Container parent = getParent();
+    return parent instanceof JViewport && parent.getWidth() > getPreferredSize().width;
+  }
+
+  @Override
+  public int getScrollableUnitIncrement(final Rectangle inVisibleRect, final int inOrientation, final int inDirection) {
+    return inOrientation == SwingConstants.VERTICAL ? rowHeight : columnWidth;
+  }
+
+  /**
+   * Returns the store of the displayed lines.
+   *
+   * @return The store.
+   */
+  public LogStore getStore() {
+    return store;
+  }
+
+  /**
+   * Returns <code>true</code> if the view follows the last line.
+   *
+   * @return <code>true</code> if auto scroll.
+   */
+  public boolean isAuto() {
+    return auto;
+  }
+
+  /**
+   * Removes a listener.
+   *
+   * @param inListener The listener.
+   */
+  public void removeActionListener(final ActionListener inListener) {
+    listenerList.remove(ActionListener.class, inListener);
+  }
+
+  /**
+   * Sets the auto scroll mode, the view scrolls immediately to the last line when the mode is set.
+   *
+   * @param inAuto <code>true</code> if the view must follow the last line.
+   */
+  public void setAuto(final boolean inAuto) {
+    auto = inAuto;
+
+    if (auto) {
+      rowsChanged();
+    }
+  }
+
+  /**
+   * Displays only the lines of the given index.
+   *
+   * @param inIndex The index, <code>null</code> to display all the lines of the store.
+   */
+  public void setIndex(final LogIndex inIndex) {
+    if (index != null) {
+      index.removeChangeListener(indexListener);
+    }
+
+    index = inIndex;
+
+    if (index != null) {
+      index.addChangeListener(indexListener);
+    }
+
+    displayedLine = getFirstRow();
+    rowsChanged();
+  }
+
+  @Override
+  public void setFont(final Font inFont) {
+    super.setFont(inFont);
+    FontMetrics metrics = getFontMetrics(getFont());
+    rowHeight = metrics.getHeight();
+    ascent = metrics.getAscent();
+    columnWidth = metrics.charWidth('m');
+    revalidate();
+    repaint();
+  }
+
+  @Override
+  protected void paintComponent(final Graphics inGraphics) {
+    Rectangle clip = inGraphics.getClipBounds();
+
+    if (isOpaque()) {
+      inGraphics.setColor(getBackground());
+      inGraphics.fillRect(clip.x, clip.y, clip.width, clip.height);
+    }
+
+    Insets insets = getInsets();
+    long first = getFirstRow();
+    int firstRow = Math.max(0, (clip.y - insets.top) / rowHeight);
+    int lastRow = Math.min(getRowCount() - 1, (clip.y + clip.height - insets.top) / rowHeight);
+
+    inGraphics.setFont(getFont());
+    int messageX = insets.left + getMessageColumn() * columnWidth;
+
+    for (int row = firstRow; row <= lastRow; row++) {
+      long number = getLineOfRow(first + row);
+      String line = store.getLine(number);
+
+      if (line == null) {
+        continue;
+      }
+
+      int y = insets.top + row * rowHeight + ascent;
+      int level = store.getLevel(number);
+
+      if (level == 0) {
+        // A line of plain text
+        inGraphics.setColor(getForeground());
+        inGraphics.drawString(expandTabs(line), insets.left, y);
+        continue;
+      }
+
+      if (store.isEventStart(number)) {
+        paintRecord(inGraphics, number, level, y);
+      }
+
+      inGraphics.setColor(getLevelColor(level));
+      inGraphics.drawString(expandTabs(line), messageX, y);
+    }
+  }
+
+  private static String expandTabs(final String inLine) {
+    if (inLine.indexOf('\t') < 0) {
+      return inLine;
+    }
+
+    StringBuilder line = new StringBuilder(inLine.length() + LogStore.TAB_SIZE);
+
+    for (int i = 0; i < inLine.length(); i++) {
+      char c = inLine.charAt(i);
+
+      if (c == '\t') {
+        do {
+          line.append(' ');
+        } while (line.length() % LogStore.TAB_SIZE != 0);
+      } else {
+        line.append(c);
+      }
+    }
+
+    return line.toString();
+  }
+
+  private void fireActionPerformed(final String inLogger) {
+    ActionEvent event = new ActionEvent(this, ActionEvent.ACTION_PERFORMED, inLogger);
+
+    for (ActionListener listener : listenerList.getListeners(ActionListener.class)) {
+      listener.actionPerformed(event);
+    }
+  }
+
+  /**
+   * Returns the number of the first row, the rows are numbered as the lines of the store or the entries of the index.
+   *
+   * @return The number.
+   */
+  private long getFirstRow() {
+    return index == null ? store.getFirstLine() : index.getFirstEntry();
+  }
+
+  private Color getLevelColor(final int inLevel) {
+    if (inLevel >= Level.ERROR_INT) {
+      return ERROR_COLOR;
+    }
+
+    if (inLevel >= Level.WARN_INT) {
+      return WARN_COLOR;
+    }
+
+    return inLevel >= Level.INFO_INT ? getForeground() : DEBUG_COLOR;
+  }
+
+  private long getLineOfRow(final long inRow) {
+    return index == null ? inRow : index.getLine(inRow);
+  }
+
+  private int getLoggerColumn() {
+    return TIME_PATTERN.length() + 1 + LEVEL_COLUMNS + 1;
+  }
+
+  /**
+   * Returns the column of the messages of the events, after the longest logger name.
+   *
+   * @return The column, 0 if the store contains no event.
+   */
+  private int getMessageColumn() {
+    int longestLogger = store.getLongestLogger();
+    return longestLogger == 0 ? 0 : getLoggerColumn() + longestLogger + 1;
+  }
+
+  private int getRowCount() {
+    return index == null ? store.getLineCount() : index.getSize();
+  }
+
+  /**
+   * Paints the time, the level and the logger of the event starting at the given line.
+   *
+   * @param inGraphics The graphics.
+   * @param inLine The number of the line.
+   * @param inLevel The level of the event.
+   * @param inY The baseline of the line.
+   */
+  private void paintRecord(final Graphics inGraphics, final long inLine, final int inLevel, final int inY) {
+    long timestamp;
+    String logger;
+
+    // The line can be removed by another thread since it has been read, the view is then repainted
+    synchronized (store) {
+      timestamp = store.getTimestamp(inLine);
+      logger = store.getLogger(inLine);
+    }
+
+    if (logger == null) {
+      return;
+    }
+
+    int x = getInsets().left;
+    inGraphics.setColor(TIME_COLOR);
+    inGraphics.drawString(timeFormat.format(Long.valueOf(timestamp)), x, inY);
+
+    x += (TIME_PATTERN.length() + 1) * columnWidth;
+    inGraphics.setColor(getLevelColor(inLevel));
+    inGraphics.drawString(Level.toLevel(inLevel).toString(), x, inY);
+
+    x = getInsets().left + getLoggerColumn() * columnWidth;
+    inGraphics.setColor(LOGGER_COLOR);
+    inGraphics.drawString(logger, x, inY);
+    // Underlined as a link
+    inGraphics.drawLine(x, inY + 1, x + logger.length() * columnWidth - 1, inY + 1);
+  }
+
+  /** Resizes the view to the rows and scrolls it, without waiting for a layout. */
+  private void rowsChanged() {
+    long first = getFirstRow();
+    long removed = first - displayedLine;
+    displayedLine = first;
+    Container parent = getParent();
+
+    if (!(parent instanceof JViewport)) {
+      revalidate();
+      repaint();
+      return;
+    }
+
+    JViewport viewport = (JViewport) parent;
+    Dimension extent = viewport.getExtentSize();
+    Dimension size = getPreferredSize();
+    size.width = Math.max(size.width, extent.width);
+    size.height = Math.max(size.height, extent.height);
+
+    if (!size.equals(getSize())) {
+      viewport.setViewSize(size);
+    }
+
+    Point position = viewport.getViewPosition();
+    long y = auto ? size.height - extent.height : position.y - removed * rowHeight;
+    position.y = (int) Math.max(0, Math.min(y, size.height - extent.height));
+    viewport.setViewPosition(position);
+    // The lines moved in the view, the visible part is painted again
+    repaint();
+  }
+
+  /** Follows the changes of the store in the event dispatch thread, the changes made by other threads are coalesced. */
+  private void storeChanged() {
+    if (SwingUtilities.isEventDispatchThread()) {
+      rowsChanged();
+    } else if (rowsPosted.compareAndSet(false, true)) {
+      SwingUtilities.invokeLater(() -> {
+        rowsPosted.set(false);
+        rowsChanged();
+      });
+    }
+  }
+}
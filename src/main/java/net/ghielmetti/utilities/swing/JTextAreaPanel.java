@@ -1,28 +1,81 @@
 package net.ghielmetti.utilities.swing;
 
+import java.awt.Color;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.text.DefaultCaret;
 
+import org.apache.log4j.Level;
+
 import net.ghielmetti.utilities.log4j.JTextAreaAppender;
+import net.ghielmetti.utilities.swing.text.JBoundedDocument;
 
 /**
- * A panel that display the informations from the {@link JTextAreaAppender}.
+ * A panel that display the informations from the {@link JTextAreaAppender}.<br>
+ * The text is kept in a {@link JBoundedDocument}, the oldest lines are removed when the number of lines or of
+ * characters exceeds the limits set by {@link #setMaximumLines(int)} and {@link #setMaximumCharacters(int)}.<br>
+ * The messages given to {@link #appendLater(String)} are queued and appended by batches on the event dispatch thread,
+ * so that a burst of messages doesn't fill the event queue.<br>
+ * With {@link #setLogView(boolean)} the lines are displayed by a {@link JLogView} instead of the text area, painting
+ * only the visible lines of a {@link LogStore}, for the logs of many lines. The events given to
+ * {@link #appendLater(int, long, String, String)} are kept there as records, displayed by columns colored by level.<br>
+ * The log view has a filter bar: only the lines matching the regular expression, ignoring the case, and the minimum
+ * level are displayed (see {@link #setFilter(String, Level)}). The matching lines are found by a {@link LogIndex}, in
+ * a background thread, and the new lines are scanned as they are added. The lines are scanned again only once the
+ * typing in the filter field has paused for {@link #FILTER_DELAY} milliseconds.
  *
  * @author Leopoldo Ghielmetti
  */
 public class JTextAreaPanel extends JPanel {
-  private JTextArea textArea;
-  private JCheckBox auto;
-  private JButton   clear;
+  /** The delay in milliseconds between two appends of the queued messages. */
+  public static final int        DRAIN_DELAY        = 50;
+  /** The default number of queued messages appended without waiting for the delay. */
+  public static final int        DEFAULT_BATCH_SIZE = 500;
+  /** The delay in milliseconds between the last change of the filter field and the scan of the matching lines. */
+  public static final int        FILTER_DELAY       = 300;
+
+  private final JBoundedDocument document           = new JBoundedDocument();
+  private final LogStore         store              = new LogStore();
+  private final Queue<Pending>   pendingMessages    = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger    pendingCount       = new AtomicInteger();
+  private final AtomicBoolean    drainPosted        = new AtomicBoolean();
+  private final Timer            drainTimer         = new Timer(DRAIN_DELAY, inEvent -> drainOnTimer());
+  private final Timer            filterTimer        = new Timer(FILTER_DELAY, inEvent -> filterChanged());
+  private volatile int           batchSize          = DEFAULT_BATCH_SIZE;
+  private volatile boolean       logViewMode;
+  private JTextArea              textArea;
+  private JLogView               logView;
+  private JScrollPane            scroll;
+  private JPanel                 filterBar;
+  private JTextField             filter;
+  private Color                  filterBackground;
+  private JComboBox<Level>       filterLevel;
+  private JLabel                 matches;
+  private LogIndex               index;
+  // True while setFilter() updates the filter bar, the index is then built once at the end
+  private boolean                updatingFilter;
+  private JCheckBox              auto;
+  private JButton                clear;
 
   /** Constructor. */
   public JTextAreaPanel() {
@@ -31,11 +84,16 @@ public class JTextAreaPanel extends JPanel {
   }
 
   /**
-   * Append a message into the JTextArea.
+   * Append a message into the JTextArea, or the log view.
    *
    * @param inMessage The message to add
    */
   public synchronized void append(final String inMessage) {
+    if (isLogView()) {
+      store.append(inMessage);
+      return;
+    }
+
     textArea.append(inMessage);
 
     if (auto.isSelected()) {
@@ -43,17 +101,93 @@ public class JTextAreaPanel extends JPanel {
     }
   }
 
+  /**
+   * Appends a message from any thread. The message is queued and appended on the event dispatch thread with the
+   * other queued messages, by a single {@link JTextArea#append(String)}, after at most {@link #DRAIN_DELAY}
+   * milliseconds or as soon as the batch size is reached.<br>
+   * The timer and the batch size share a single pending append: the append is posted only if none is pending and the
+   * timer skips its turn while one is, so the event queue never holds more than one append.
+   *
+   * @param inMessage The message to add
+   */
+  public void appendLater(final String inMessage) {
+    queue(new Pending(0, 0, null, inMessage));
+  }
+
+  /**
+   * Appends a log event from any thread, queued as the messages of {@link #appendLater(String)}. In the log view the
+   * event is kept as a record and displayed by columns, in the text area it's appended as a line with the level and
+   * the logger.
+   *
+   * @param inLevel The level of the event, as given by {@link Level#toInt()}.
+   * @param inTimestamp The time of the event in milliseconds.
+   * @param inLogger The name of the logger.
+   * @param inMessage The message of the event, the following lines can be the stack trace of its throwable.
+   */
+  public void appendLater(final int inLevel, final long inTimestamp, final String inLogger, final String inMessage) {
+    queue(new Pending(inLevel, inTimestamp, inLogger, inMessage));
+  }
+
   /** Clear the textArea */
   public void clear() {
     textArea.setText("");
+    store.clear();
   }
 
   /** Close the appender. */
   public void close() {
+    drainTimer.stop();
+    filterTimer.stop();
+    closeIndex();
     removeAll();
     add(new JLabel("This appender is closed!"), new GridBagConstraints(0, 0, 1, 1, 0.0, 0.0, GridBagConstraints.EAST, GridBagConstraints.NONE, new Insets(2, 2, 2, 2), 0, 0));
   }
 
+  /**
+   * Returns the number of queued messages appended without waiting for the delay.
+   *
+   * @return The batch size.
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Returns the regular expression of the filter of the log view.
+   *
+   * @return The regular expression, empty if the text isn't filtered.
+   */
+  public String getFilter() {
+    return filter.getText();
+  }
+
+  /**
+   * Returns the minimum level of the filter of the log view.
+   *
+   * @return The level, {@link Level#ALL} if the levels aren't filtered.
+   */
+  public Level getFilterLevel() {
+    return (Level) filterLevel.getSelectedItem();
+  }
+
+  /**
+   * Returns the maximum number of characters kept.
+   *
+   * @return The limit, {@link JBoundedDocument#UNBOUNDED} if the number of characters isn't limited.
+   */
+  public int getMaximumCharacters() {
+    return document.getMaximumCharacters();
+  }
+
+  /**
+   * Returns the maximum number of lines kept.
+   *
+   * @return The limit, {@link JBoundedDocument#UNBOUNDED} if the number of lines isn't limited.
+   */
+  public int getMaximumLines() {
+    return document.getMaximumLines();
+  }
+
   /**
    * Returns <code>true</code> if the auto scroll is on.
    *
@@ -63,6 +197,15 @@ public class JTextAreaPanel extends JPanel {
     return auto.isSelected();
   }
 
+  /**
+   * Returns <code>true</code> if the lines are displayed by a {@link JLogView}.
+   *
+   * @return <code>true</code> if the log view is used.
+   */
+  public boolean isLogView() {
+    return logViewMode;
+  }
+
   /**
    * Sets the auto scroll mode.
    *
@@ -72,11 +215,189 @@ public class JTextAreaPanel extends JPanel {
     auto.setSelected(inAuto);
   }
 
+  /**
+   * Sets the number of queued messages appended without waiting for the delay.
+   *
+   * @param inBatchSize The batch size, at least 1.
+   */
+  public void setBatchSize(final int inBatchSize) {
+    if (inBatchSize < 1) {
+      throw new IllegalArgumentException("Invalid batch size " + inBatchSize);
+    }
+
+    batchSize = inBatchSize;
+  }
+
+  /**
+   * Sets the filter of the log view, only the lines matching the regular expression and of at least the given level are
+   * displayed. The lines of plain text have no level, they are displayed only by a filter of {@link Level#ALL}.
+   *
+   * @param inRegex The regular expression found in the lines, the case is ignored, empty for any text.
+   * @param inLevel The minimum level, {@link Level#ALL} for any level.
+   * @throws PatternSyntaxException If the regular expression is invalid.
+   */
+  public void setFilter(final String inRegex, final Level inLevel) {
+    Pattern.compile(inRegex);
+    updatingFilter = true;
+
+    try {
+      filter.setText(inRegex);
+      filterLevel.setSelectedItem(inLevel);
+    } finally {
+      updatingFilter = false;
+    }
+
+    filterChanged();
+  }
+
+  /**
+   * Displays the lines by a {@link JLogView} or by the text area, the lines already displayed are moved.
+   *
+   * @param inLogView <code>true</code> to use the log view.
+   */
+  public void setLogView(final boolean inLogView) {
+    if (inLogView == isLogView()) {
+      return;
+    }
+
+    logViewMode = inLogView;
+    filterBar.setVisible(inLogView);
+
+    if (inLogView) {
+      store.append(textArea.getText());
+      textArea.setText("");
+      scroll.setViewportView(logView);
+    } else {
+      // The records of the events are lost, only their text is moved
+      setFilter("", Level.ALL);
+      StringBuilder text = new StringBuilder();
+
+      for (long line = store.getFirstLine(); line < store.getEndLine(); line++) {
+        text.append(store.getLine(line)).append('\n');
+      }
+
+      store.clear();
+      scroll.setViewportView(textArea);
+      append(text.toString());
+    }
+  }
+
+  /**
+   * Sets the maximum number of characters kept, the oldest lines are removed when the text is longer.
+   *
+   * @param inMaximumCharacters The limit, at least 1, {@link JBoundedDocument#UNBOUNDED} for no limit.
+   */
+  public void setMaximumCharacters(final int inMaximumCharacters) {
+    document.setMaximumCharacters(inMaximumCharacters);
+    store.setMaximumCharacters(inMaximumCharacters);
+  }
+
+  /**
+   * Sets the maximum number of lines kept, the oldest lines are removed when there are more lines.
+   *
+   * @param inMaximumLines The limit, at least 1, {@link JBoundedDocument#UNBOUNDED} for no limit.
+   */
+  public void setMaximumLines(final int inMaximumLines) {
+    document.setMaximumLines(inMaximumLines);
+    store.setMaximumLines(inMaximumLines);
+  }
+
+  private void closeIndex() {
+    if (index != null) {
+      index.close();
+      index = null;
+    }
+  }
+
+  /** Appends the queued messages, on the event dispatch thread. */
+  private void drain() {
+    drainPosted.set(false);
+    // Takes only the messages already counted, the producers could be faster than this loop
+    int count = pendingCount.get();
+
+    if (count == 0) {
+      // Nothing more to append, the next message restarts the timer
+      drainTimer.stop();
+
+      if (!pendingMessages.isEmpty()) {
+        drainTimer.start();
+      }
+
+      return;
+    }
+
+    if (isLogView()) {
+      // The events are kept as records, the store notifies the view once for the whole batch
+      synchronized (store) {
+        for (int i = 0; i < count; i++) {
+          pendingMessages.poll().addTo(store);
+        }
+      }
+
+      pendingCount.addAndGet(-count);
+      store.fireStateChanged();
+      return;
+    }
+
+    StringBuilder batch = new StringBuilder();
+
+    for (int i = 0; i < count; i++) {
+      pendingMessages.poll().appendTo(batch);
+    }
+
+    pendingCount.addAndGet(-count);
+    append(batch.toString());
+  }
+
+  /** Appends the queued messages when the timer fires, unless an append is already posted. */
+  private void drainOnTimer() {
+    if (drainPosted.compareAndSet(false, true)) {
+      drain();
+    }
+  }
+
+  /** Replaces the index of the log view by an index of the new filter, called when the filter bar is changed. */
+  private void filterChanged() {
+    filterTimer.stop();
+    Pattern pattern;
+
+    try {
+      pattern = filter.getText().isEmpty() ? null : Pattern.compile(filter.getText(), Pattern.CASE_INSENSITIVE);
+      filter.setBackground(filterBackground);
+    } catch (PatternSyntaxException e) {
+      // The previous filter is kept until the expression is valid
+      filter.setBackground(Color.RED);
+      return;
+    }
+
+    int minimumLevel = getFilterLevel().toInt();
+    closeIndex();
+
+    if (pattern == null && minimumLevel == LogIndex.ALL_LEVELS) {
+      matches.setText("");
+    } else {
+      LogIndex created = new LogIndex(store, pattern, minimumLevel);
+      created.addChangeListener(inEvent -> matches.setText(created.getSize() + " lines"));
+      index = created;
+      matches.setText("0 lines");
+    }
+
+    logView.setIndex(index);
+  }
+
+  /** Restarts the delay of the filter after a change of the filter field, the lines are scanned once it elapses. */
+  private void filterTyped() {
+    if (!updatingFilter) {
+      filterTimer.restart();
+    }
+  }
+
   private void initialize() {
-    textArea = new JTextArea();
+    textArea = new JTextArea(document);
     textArea.setEditable(false);
+    logView = new JLogView(store);
 
-    JScrollPane scroll = new JScrollPane(textArea);
+    scroll = new JScrollPane(textArea);
 
     clear = new JButton("Clear");
     clear.addActionListener(inEvent -> clear());
@@ -86,9 +407,63 @@ public class JTextAreaPanel extends JPanel {
     // Force the Auto to true (the listener is invoked and the policy updated accordingly)
     auto.setSelected(true);
 
-    add(scroll, new GridBagConstraints(0, 0, 2, 1, 1.0, 1.0, GridBagConstraints.CENTER, GridBagConstraints.BOTH, new Insets(2, 2, 2, 2), 0, 0));
-    add(auto, new GridBagConstraints(0, 1, 1, 1, 0.0, 0.0, GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(2, 2, 2, 2), 0, 0));
-    add(clear, new GridBagConstraints(1, 1, 1, 1, 0.0, 0.0, GridBagConstraints.EAST, GridBagConstraints.NONE, new Insets(2, 2, 2, 2), 0, 0));
+    filterTimer.setRepeats(false);
+    filter = new JTextField(20);
+    filterBackground = filter.getBackground();
+    filter.getDocument().addDocumentListener(new DocumentListener() {
+      @Override
+      public void changedUpdate(final DocumentEvent inEvent) {
+        // nothing to do
+      }
+
+      @Override
+      public void insertUpdate(final DocumentEvent inEvent) {
+        filterTyped();
+      }
+
+      @Override
+      public void removeUpdate(final DocumentEvent inEvent) {
+        filterTyped();
+      }
+    });
+
+    filterLevel = new JComboBox<>(new Level[] { Level.ALL, Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR, Level.FATAL });
+    filterLevel.addActionListener(inEvent -> {
+      if (!updatingFilter) {
+        filterChanged();
+      }
+    });
+
+    matches = new JLabel();
+
+    filterBar = new JPanel(new GridBagLayout());
+    filterBar.add(new JLabel("Filter"), new GridBagConstraints(0, 0, 1, 1, 0.0, 0.0, GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(0, 0, 0, 2), 0, 0));
+    filterBar.add(filter, new GridBagConstraints(1, 0, 1, 1, 1.0, 0.0, GridBagConstraints.WEST, GridBagConstraints.HORIZONTAL, new Insets(0, 2, 0, 2), 0, 0));
+    filterBar.add(filterLevel, new GridBagConstraints(2, 0, 1, 1, 0.0, 0.0, GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(0, 2, 0, 2), 0, 0));
+    filterBar.add(matches, new GridBagConstraints(3, 0, 1, 1, 0.0, 0.0, GridBagConstraints.EAST, GridBagConstraints.NONE, new Insets(0, 2, 0, 0), 0, 0));
+    filterBar.setVisible(false);
+
+    add(scroll, new GridBagConstraints(0, 1, 2, 1, 1.0, 1.0, GridBagConstraints.CENTER, GridBagConstraints.BOTH, new Insets(2, 2, 2, 2), 0, 0));
+    add(auto, new GridBagConstraints(0, 2, 1, 1, 0.0, 0.0, GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(2, 2, 2, 2), 0, 0));
+    add(clear, new GridBagConstraints(1, 2, 1, 1, 0.0, 0.0, GridBagConstraints.EAST, GridBagConstraints.NONE, new Insets(2, 2, 2, 2), 0, 0));
+    add(filterBar, new GridBagConstraints(0, 0, 2, 1, 1.0, 0.0, GridBagConstraints.WEST, GridBagConstraints.HORIZONTAL, new Insets(2, 2, 2, 2), 0, 0));
+  }
+
+  /**
+   * Queues a message, the messages are appended by {@link #drain()}.
+   *
+   * @param inPending The message.
+   */
+  private void queue(final Pending inPending) {
+    pendingMessages.add(inPending);
+
+    if (pendingCount.incrementAndGet() >= batchSize) {
+      if (drainPosted.compareAndSet(false, true)) {
+        SwingUtilities.invokeLater(this::drain);
+      }
+    } else if (!drainTimer.isRunning()) {
+      drainTimer.start();
+    }
   }
 
   /**
@@ -97,6 +472,8 @@ public class JTextAreaPanel extends JPanel {
    * @param inAutoUpdate true if the component is in auto update mode, false otherwise
    */
   private synchronized void setCaretPolicy(final boolean inAutoUpdate) {
+    logView.setAuto(inAutoUpdate);
+
     if (inAutoUpdate) {
       ((DefaultCaret) textArea.getCaret()).setUpdatePolicy(DefaultCaret.ALWAYS_UPDATE);
       textArea.setCaretPosition(textArea.getDocument().getLength());
@@ -123,6 +500,42 @@ public class JTextAreaPanel extends JPanel {
     return clear;
   }
 
+  /**
+   * For test purposes.
+   *
+   * @return The Timer appending the last messages
+   */
+  Timer getDrainTimer() {
+    return drainTimer;
+  }
+
+  /**
+   * For test purposes.
+   *
+   * @return The filter JTextField
+   */
+  JTextField getFilterField() {
+    return filter;
+  }
+
+  /**
+   * For test purposes.
+   *
+   * @return The Timer applying the typed filter
+   */
+  Timer getFilterTimer() {
+    return filterTimer;
+  }
+
+  /**
+   * For test purposes.
+   *
+   * @return The JLogView
+   */
+  JLogView getLogView() {
+    return logView;
+  }
+
   /**
    * For test purposes.
    *
@@ -131,4 +544,46 @@ public class JTextAreaPanel extends JPanel {
   JTextArea getTextArea() {
     return textArea;
   }
+
+  /** A queued message, a plain text or a log event. */
+  private static final class Pending {
+    private final int    level;
+    private final long   timestamp;
+    // null for a plain text
+    private final String logger;
+    private final String message;
+
+    Pending(final int inLevel, final long inTimestamp, final String inLogger, final String inMessage) {
+      level = inLevel;
+      timestamp = inTimestamp;
+      logger = inLogger;
+      message = inMessage;
+    }
+
+    /**
+     * Adds the message to the store, the caller holds the lock of the store.
+     *
+     * @param inStore The store.
+     */
+    void addTo(final LogStore inStore) {
+      if (logger == null) {
+        inStore.addText(message);
+      } else {
+        inStore.addEvent(level, timestamp, logger, message);
+      }
+    }
+
+    /**
+     * Appends the text of the message.
+     *
+     * @param inText The text.
+     */
+    void appendTo(final StringBuilder inText) {
+      if (logger == null) {
+        inText.append(message);
+      } else {
+        inText.append(Level.toLevel(level)).append(' ').append(logger).append(" - ").append(message).append('\n');
+      }
+    }
+  }
 }
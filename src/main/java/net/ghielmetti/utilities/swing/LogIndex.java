@@ -0,0 +1,306 @@
+package net.ghielmetti.utilities.swing;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.EventListenerList;
+
+/**
+ * An index of the lines of a {@link LogStore} matching a filter, a regular expression and a minimum level.<br>
+ * The lines are scanned by a thread of the index: all the lines of the store when the index is created, then only the
+ * lines added since the last scan, each time the store changes. The numbers of the matching lines are kept in a ring of
+ * primitives, the entries of the lines removed from the store are removed from the index.<br>
+ * Like the lines of the store, the entries are numbered from the first entry ever added, the numbers don't change when
+ * the oldest entries are removed. The listeners are notified in the event dispatch thread, the changes of a scan are
+ * coalesced. The filter can't be changed, a new index is created for a new filter.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class LogIndex {
+  /** The minimum level of an index keeping the lines of every level, the plain text included. */
+  public static final int         ALL_LEVELS      = Integer.MIN_VALUE;
+
+  private static final int        INITIAL_ENTRIES = 1024;
+  // The number of lines scanned between two updates of the index
+  private static final int        CHUNK           = 4096;
+
+  private final LogStore          store;
+  private final Pattern           pattern;
+  private final int               minimumLevel;
+  private final ChangeListener    storeListener   = inEvent -> requestScan();
+  private final EventListenerList listeners       = new EventListenerList();
+  private final ChangeEvent       changeEvent     = new ChangeEvent(this);
+  private final AtomicBoolean     changePosted    = new AtomicBoolean();
+  private long[]                  lines           = new long[INITIAL_ENTRIES];
+  // The entries are [firstEntry, endEntry[, both absolute
+  private long                    firstEntry;
+  private long                    endEntry;
+  // The next line of the store to scan
+  private long                    scannedLine;
+  private boolean                 scanRequested   = true;
+  private boolean                 scanning;
+  private boolean                 closed;
+
+  /**
+   * Create an index and starts the scan of the lines of the store.
+   *
+   * @param inStore The store.
+   * @param inPattern The regular expression found in the matching lines, <code>null</code> to match any text.
+   * @param inMinimumLevel The minimum level of the matching lines, as given by <code>Level.toInt()</code>,
+   *          {@link #ALL_LEVELS} to match any level. The lines of plain text have the level 0.
+   */
+  public LogIndex(final LogStore inStore, final Pattern inPattern, final int inMinimumLevel) {
+    store = inStore;
+    pattern = inPattern;
+    minimumLevel = inMinimumLevel;
+    scannedLine = store.getFirstLine();
+    store.addChangeListener(storeListener);
+    Thread scanner = new Thread(this::scan, "LogIndex " + (pattern == null ? "" : pattern.pattern()));
+    scanner.setDaemon(true);
+    scanner.start();
+  }
+
+  /**
+   * Adds a listener notified in the event dispatch thread after the entries changed.
+   *
+   * @param inListener The listener.
+   */
+  public void addChangeListener(final ChangeListener inListener) {
+    listeners.add(ChangeListener.class, inListener);
+  }
+
+  /** Stops the scan of the lines, the index isn't updated anymore. */
+  public void close() {
+    store.removeChangeListener(storeListener);
+
+    synchronized (this) {
+      closed = true;
+      notifyAll();
+    }
+  }
+
+  /**
+   * Returns the number of the entry after the last one, the number of the next entry.
+   *
+   * @return The number.
+   */
+  public synchronized long getEndEntry() {
+    return endEntry;
+  }
+
+  /**
+   * Returns the number of the oldest entry kept.
+   *
+   * @return The number, equals to {@link #getEndEntry()} if the index is empty.
+   */
+  public synchronized long getFirstEntry() {
+    return firstEntry;
+  }
+
+  /**
+   * Returns the number of the line of the store of the given entry.
+   *
+   * @param inEntry The number of the entry.
+   * @return The number of the line, -1 if the entry was removed or doesn't exist yet.
+   */
+  public synchronized long getLine(final long inEntry) {
+    return inEntry < firstEntry || inEntry >= endEntry ? -1 : lines[entryIndex(inEntry)];
+  }
+
+  /**
+   * Returns the minimum level of the matching lines.
+   *
+   * @return The level, {@link #ALL_LEVELS} if any level matches.
+   */
+  public int getMinimumLevel() {
+    return minimumLevel;
+  }
+
+  /**
+   * Returns the regular expression found in the matching lines.
+   *
+   * @return The pattern, <code>null</code> if any text matches.
+   */
+  public Pattern getPattern() {
+    return pattern;
+  }
+
+  /**
+   * Returns the number of entries kept.
+   *
+   * @return The number of matching lines.
+   */
+  public synchronized int getSize() {
+    return (int) (endEntry - firstEntry);
+  }
+
+  /**
+   * Returns <code>true</code> while lines of the store wait to be scanned.
+   *
+   * @return <code>true</code> if the index isn't up to date.
+   */
+  public synchronized boolean isScanning() {
+    return !closed && (scanRequested || scanning);
+  }
+
+  /**
+   * Removes a listener.
+   *
+   * @param inListener The listener.
+   */
+  public void removeChangeListener(final ChangeListener inListener) {
+    listeners.remove(ChangeListener.class, inListener);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "LogIndex[firstEntry=" + firstEntry + ", endEntry=" + endEntry + ", scannedLine=" + scannedLine + "]";
+  }
+
+  /**
+   * Adds the matching lines of a chunk and removes the entries of the lines removed from the store.
+   *
+   * @param inMatches The numbers of the matching lines.
+   * @param inCount The number of matching lines.
+   * @param inScanned The line after the chunk.
+   * @param inFirstLine The first line of the store.
+   * @return <code>true</code> if the entries changed.
+   */
+  private synchronized boolean addMatches(final long[] inMatches, final int inCount, final long inScanned, final long inFirstLine) {
+    long oldFirst = firstEntry;
+    long oldEnd = endEntry;
+
+    if (endEntry - firstEntry + inCount > lines.length) {
+      int capacity = lines.length;
+
+      while (capacity < endEntry - firstEntry + inCount) {
+        capacity <<= 1;
+      }
+
+      long[] grown = new long[capacity];
+
+      for (long entry = firstEntry; entry < endEntry; entry++) {
+        grown[(int) (entry & capacity - 1)] = lines[entryIndex(entry)];
+      }
+
+      lines = grown;
+    }
+
+    for (int i = 0; i < inCount; i++) {
+      lines[entryIndex(endEntry++)] = inMatches[i];
+    }
+
+    // The lines can be removed from the store during the scan, even the ones of the chunk
+    while (firstEntry < endEntry && lines[entryIndex(firstEntry)] < inFirstLine) {
+      firstEntry++;
+    }
+
+    scannedLine = inScanned;
+    return firstEntry != oldFirst || endEntry != oldEnd;
+  }
+
+  private int entryIndex(final long inEntry) {
+    return (int) (inEntry & lines.length - 1);
+  }
+
+  /** Notifies the listeners in the event dispatch thread, unless a notification is already pending. */
+  private void fireStateChangedLater() {
+    if (changePosted.compareAndSet(false, true)) {
+      SwingUtilities.invokeLater(() -> {
+        changePosted.set(false);
+        Object[] list = listeners.getListenerList();
+
+        for (int i = list.length - 2; i >= 0; i -= 2) {
+          if (list[i] == ChangeListener.class) {
+            ((ChangeListener) list[i + 1]).stateChanged(changeEvent);
+          }
+        }
+      });
+    }
+  }
+
+  private boolean matches(final long inLine) {
+    if (store.getLevel(inLine) < minimumLevel) {
+      return false;
+    }
+
+    if (pattern == null) {
+      return true;
+    }
+
+    String line = store.getLine(inLine);
+    return line != null && pattern.matcher(line).find();
+  }
+
+  private synchronized void requestScan() {
+    scanRequested = true;
+    notifyAll();
+  }
+
+  /** Scans the lines added to the store until the index is closed, the body of the scanner thread. */
+  private void scan() {
+    long[] matches = new long[CHUNK];
+
+    try {
+      while (true) {
+        long from;
+
+        synchronized (this) {
+          scanning = false;
+
+          while (!scanRequested && !closed) {
+            wait();
+          }
+
+          if (closed) {
+            return;
+          }
+
+          scanRequested = false;
+          scanning = true;
+          from = scannedLine;
+        }
+
+        long first;
+        long end;
+
+        synchronized (store) {
+          first = store.getFirstLine();
+          // The open line can still grow, it's scanned once terminated
+          end = store.getEndLine() - (store.isLastLineOpen() ? 1 : 0);
+        }
+
+        from = Math.max(from, first);
+
+        do {
+          long to = Math.max(from, Math.min(end, from + CHUNK));
+          int count = 0;
+
+          for (long line = from; line < to; line++) {
+            if (matches(line)) {
+              matches[count++] = line;
+            }
+          }
+
+          synchronized (this) {
+            if (closed) {
+              return;
+            }
+          }
+
+          if (addMatches(matches, count, to, store.getFirstLine())) {
+            fireStateChangedLater();
+          }
+
+          from = to;
+        } while (from < end);
+      }
+    } catch (InterruptedException e) {
+      // The index is closed
+      Thread.currentThread().interrupt();
+    }
+  }
+}
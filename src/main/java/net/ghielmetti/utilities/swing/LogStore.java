@@ -0,0 +1,493 @@
+package net.ghielmetti.utilities.swing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.EventListenerList;
+
+/**
+ * An indexed store of log lines, the characters and the start of the lines are kept in rings of primitives.<br>
+ * The lines of a log event added by {@link #append(int, long, String, String)} have also a record of the event: its
+ * level, its timestamp and the index of its logger in the dictionary of the loggers, in rings parallel to the start of
+ * the lines. The text of the event is its message, without the level or the logger.<br>
+ * The lines are numbered from the first line ever added, the numbers don't change when the oldest lines are removed. The
+ * oldest lines are removed by chunks of a tenth of the limit when the number of lines or of characters exceeds one of
+ * the limits.<br>
+ * The text is added by {@link #append(String)}, the last line stays open until its newline is added. The newlines
+ * aren't kept. The listeners are notified after each change, in the thread of the change, that can be any thread. The
+ * lines can be read by any thread.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class LogStore {
+  /** The value of a limit not limiting the store. */
+  public static final int            UNBOUNDED         = Integer.MAX_VALUE;
+  /** The number of columns of a tab, for the length of the longest line. */
+  public static final int            TAB_SIZE          = 8;
+
+  private static final int           INITIAL_LINES     = 1024;
+  private static final int           INITIAL_CHARS     = 64 * INITIAL_LINES;
+  private static final int           NO_LOGGER         = Integer.MIN_VALUE;
+
+  private final EventListenerList    listeners         = new EventListenerList();
+  private final ChangeEvent          changeEvent       = new ChangeEvent(this);
+  private char[]                     chars             = new char[INITIAL_CHARS];
+  private long[]                     starts            = new long[INITIAL_LINES];
+  private int[]                      levels            = new int[INITIAL_LINES];
+  private long[]                     timestamps        = new long[INITIAL_LINES];
+  // The index of the logger, the ones' complement for the following lines of an event, NO_LOGGER for the plain text
+  private int[]                      loggers           = new int[INITIAL_LINES];
+  private final List<String>         loggerNames       = new ArrayList<>();
+  private final Map<String, Integer> loggerIndexes     = new HashMap<>();
+  // The lines are [firstLine, endLine[ and the characters [firstChar, endChar[, both absolute
+  private long                       firstLine;
+  private long                       endLine;
+  private long                       firstChar;
+  private long                       endChar;
+  private boolean                    open;
+  private int                        longestLine;
+  private int                        longestLogger;
+  private int                        maximumLines;
+  private int                        maximumCharacters;
+
+  /** Create a store without limits, they can be set later. */
+  public LogStore() {
+    this(UNBOUNDED, UNBOUNDED);
+  }
+
+  /**
+   * Create a store with the given limits.
+   *
+   * @param inMaximumLines The maximum number of lines, at least 1.
+   * @param inMaximumCharacters The maximum number of characters, without the newlines, at least 1.
+   */
+  public LogStore(final int inMaximumLines, final int inMaximumCharacters) {
+    maximumLines = checkLimit(inMaximumLines);
+    maximumCharacters = checkLimit(inMaximumCharacters);
+  }
+
+  /**
+   * Adds a listener notified after each change of the lines.
+   *
+   * @param inListener The listener.
+   */
+  public void addChangeListener(final ChangeListener inListener) {
+    listeners.add(ChangeListener.class, inListener);
+  }
+
+  /**
+   * Appends a log event, on new lines.
+   *
+   * @param inLevel The level of the event, as given by <code>Level.toInt()</code>.
+   * @param inTimestamp The time of the event in milliseconds.
+   * @param inLogger The name of the logger.
+   * @param inText The message of the event, the following lines can be the stack trace of its throwable.
+   */
+  public void append(final int inLevel, final long inTimestamp, final String inLogger, final String inText) {
+    synchronized (this) {
+      addEvent(inLevel, inTimestamp, inLogger, inText);
+    }
+
+    fireStateChanged();
+  }
+
+  /**
+   * Appends the text, the first line continues the last line if it wasn't terminated by a newline.
+   *
+   * @param inText The text, the lines separated by <code>\n</code> or <code>\r\n</code>.
+   */
+  public void append(final String inText) {
+    synchronized (this) {
+      addText(inText);
+    }
+
+    fireStateChanged();
+  }
+
+  /** Removes all the lines, the numbers of the next lines follow the removed ones. */
+  public void clear() {
+    synchronized (this) {
+      firstLine = endLine;
+      firstChar = endChar;
+      open = false;
+      longestLine = 0;
+      longestLogger = 0;
+      loggerNames.clear();
+      loggerIndexes.clear();
+    }
+
+    fireStateChanged();
+  }
+
+  /**
+   * Returns the number of the line after the last one, the number of the next line.
+   *
+   * @return The number.
+   */
+  public synchronized long getEndLine() {
+    return endLine;
+  }
+
+  /**
+   * Returns the number of the oldest line kept.
+   *
+   * @return The number, equals to {@link #getEndLine()} if the store is empty.
+   */
+  public synchronized long getFirstLine() {
+    return firstLine;
+  }
+
+  /**
+   * Returns the level of the event of the given line.
+   *
+   * @param inLine The number of the line.
+   * @return The level as given by <code>Level.toInt()</code>, 0 if the line isn't a line of an event or doesn't exist.
+   */
+  public synchronized int getLevel(final long inLine) {
+    return isLoggedLine(inLine) ? levels[lineIndex(inLine)] : 0;
+  }
+
+  /**
+   * Returns the line with the given number.
+   *
+   * @param inLine The number of the line.
+   * @return The line without its newline, <code>null</code> if the line was removed or doesn't exist yet.
+   */
+  public synchronized String getLine(final long inLine) {
+    if (inLine < firstLine || inLine >= endLine) {
+      return null;
+    }
+
+    long start = Math.max(starts[lineIndex(inLine)], firstChar);
+    long end = inLine + 1 < endLine ? starts[lineIndex(inLine + 1)] : endChar;
+    int length = (int) (end - start);
+    int index = (int) (start & chars.length - 1);
+    int contiguous = Math.min(length, chars.length - index);
+
+    if (contiguous == length) {
+      return new String(chars, index, length);
+    }
+
+    char[] line = new char[length];
+    System.arraycopy(chars, index, line, 0, contiguous);
+    System.arraycopy(chars, 0, line, contiguous, length - contiguous);
+    return new String(line);
+  }
+
+  /**
+   * Returns the number of lines kept.
+   *
+   * @return The number of lines.
+   */
+  public synchronized int getLineCount() {
+    return (int) (endLine - firstLine);
+  }
+
+  /**
+   * Returns the name of the logger of the event of the given line.
+   *
+   * @param inLine The number of the line.
+   * @return The name, <code>null</code> if the line isn't a line of an event or doesn't exist.
+   */
+  public synchronized String getLogger(final long inLine) {
+    if (!isLoggedLine(inLine)) {
+      return null;
+    }
+
+    int logger = loggers[lineIndex(inLine)];
+    return loggerNames.get(logger < 0 ? ~logger : logger);
+  }
+
+  /**
+   * Returns the length of the longest line added since the last {@link #clear()}, a tab counting for
+   * {@link #TAB_SIZE} characters. The length isn't reduced when the line is removed.
+   *
+   * @return The length.
+   */
+  public synchronized int getLongestLine() {
+    return longestLine;
+  }
+
+  /**
+   * Returns the length of the longest logger name added since the last {@link #clear()}.
+   *
+   * @return The length.
+   */
+  public synchronized int getLongestLogger() {
+    return longestLogger;
+  }
+
+  /**
+   * Returns the maximum number of characters.
+   *
+   * @return The limit, {@link #UNBOUNDED} if the number of characters isn't limited.
+   */
+  public synchronized int getMaximumCharacters() {
+    return maximumCharacters;
+  }
+
+  /**
+   * Returns the maximum number of lines.
+   *
+   * @return The limit, {@link #UNBOUNDED} if the number of lines isn't limited.
+   */
+  public synchronized int getMaximumLines() {
+    return maximumLines;
+  }
+
+  /**
+   * Returns the timestamp of the event of the given line.
+   *
+   * @param inLine The number of the line.
+   * @return The time in milliseconds, 0 if the line isn't a line of an event or doesn't exist.
+   */
+  public synchronized long getTimestamp(final long inLine) {
+    return isLoggedLine(inLine) ? timestamps[lineIndex(inLine)] : 0;
+  }
+
+  /**
+   * Returns <code>true</code> if the given line is the first line of an event.
+   *
+   * @param inLine The number of the line.
+   * @return <code>true</code> if the line starts an event.
+   */
+  public synchronized boolean isEventStart(final long inLine) {
+    return isLoggedLine(inLine) && loggers[lineIndex(inLine)] >= 0;
+  }
+
+  /**
+   * Returns <code>true</code> if the last line isn't terminated yet, the next text can continue it.
+   *
+   * @return <code>true</code> if the last line is open.
+   */
+  public synchronized boolean isLastLineOpen() {
+    return open;
+  }
+
+  /**
+   * Removes a listener.
+   *
+   * @param inListener The listener.
+   */
+  public void removeChangeListener(final ChangeListener inListener) {
+    listeners.remove(ChangeListener.class, inListener);
+  }
+
+  /**
+   * Sets the maximum number of characters, the oldest lines are immediately removed if the text is too long.
+   *
+   * @param inMaximumCharacters The maximum number of characters, at least 1, {@link #UNBOUNDED} for no limit.
+   */
+  public void setMaximumCharacters(final int inMaximumCharacters) {
+    synchronized (this) {
+      maximumCharacters = checkLimit(inMaximumCharacters);
+      evict();
+    }
+
+    fireStateChanged();
+  }
+
+  /**
+   * Sets the maximum number of lines, the oldest lines are immediately removed if there are too many lines.
+   *
+   * @param inMaximumLines The maximum number of lines, at least 1, {@link #UNBOUNDED} for no limit.
+   */
+  public void setMaximumLines(final int inMaximumLines) {
+    synchronized (this) {
+      maximumLines = checkLimit(inMaximumLines);
+      evict();
+    }
+
+    fireStateChanged();
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "LogStore[firstLine=" + firstLine + ", endLine=" + endLine + ", characters=" + (endChar - firstChar) + "]";
+  }
+
+  /**
+   * Appends a log event without notifying the listeners, the caller holds the lock of the store.
+   *
+   * @param inLevel The level of the event.
+   * @param inTimestamp The time of the event.
+   * @param inLogger The name of the logger.
+   * @param inText The message of the event.
+   */
+  void addEvent(final int inLevel, final long inTimestamp, final String inLogger, final String inText) {
+    Integer index = loggerIndexes.get(inLogger);
+
+    if (index == null) {
+      index = Integer.valueOf(loggerNames.size());
+      loggerNames.add(inLogger);
+      loggerIndexes.put(inLogger, index);
+      longestLogger = Math.max(longestLogger, inLogger.length());
+    }
+
+    // An event always starts a new line and ends its last line, even an empty one
+    long first = endLine;
+    open = false;
+    addLines(inText);
+
+    if (endLine == first) {
+      addLine();
+    }
+
+    open = false;
+
+    for (long line = first; line < endLine; line++) {
+      int i = lineIndex(line);
+      levels[i] = inLevel;
+      timestamps[i] = inTimestamp;
+      loggers[i] = line == first ? index.intValue() : ~index.intValue();
+    }
+
+    evict();
+  }
+
+  /**
+   * Appends the text without notifying the listeners, the caller holds the lock of the store.
+   *
+   * @param inText The text.
+   */
+  void addText(final String inText) {
+    addLines(inText);
+    evict();
+  }
+
+  /** Notifies the listeners of a change. */
+  void fireStateChanged() {
+    Object[] list = listeners.getListenerList();
+
+    for (int i = list.length - 2; i >= 0; i -= 2) {
+      if (list[i] == ChangeListener.class) {
+        ((ChangeListener) list[i + 1]).stateChanged(changeEvent);
+      }
+    }
+  }
+
+  private static int checkLimit(final int inLimit) {
+    if (inLimit < 1) {
+      throw new IllegalArgumentException("Invalid limit " + inLimit);
+    }
+
+    return inLimit;
+  }
+
+  private void addChars(final String inText, final int inFrom, final int inTo) {
+    int count = inTo - inFrom;
+    long size = endChar - firstChar + count;
+
+    if (size > chars.length) {
+      int capacity = chars.length;
+
+      while (capacity < size) {
+        capacity <<= 1;
+      }
+
+      chars = grow(chars, capacity);
+    }
+
+    int mask = chars.length - 1;
+    int columns = 0;
+
+    for (int i = inFrom; i < inTo; i++) {
+      char c = inText.charAt(i);
+      chars[(int) (endChar++ & mask)] = c;
+      columns += c == '\t' ? TAB_SIZE : 1;
+    }
+
+    long lineStart = starts[lineIndex(endLine - 1)];
+    longestLine = (int) Math.max(longestLine, endChar - lineStart - count + columns);
+  }
+
+  private void addLine() {
+    if (endLine - firstLine == starts.length) {
+      int capacity = starts.length << 1;
+      long[] newStarts = new long[capacity];
+      int[] newLevels = new int[capacity];
+      long[] newTimestamps = new long[capacity];
+      int[] newLoggers = new int[capacity];
+
+      for (long line = firstLine; line < endLine; line++) {
+        int from = lineIndex(line);
+        int to = (int) (line & capacity - 1);
+        newStarts[to] = starts[from];
+        newLevels[to] = levels[from];
+        newTimestamps[to] = timestamps[from];
+        newLoggers[to] = loggers[from];
+      }
+
+      starts = newStarts;
+      levels = newLevels;
+      timestamps = newTimestamps;
+      loggers = newLoggers;
+    }
+
+    int index = lineIndex(endLine++);
+    starts[index] = endChar;
+    levels[index] = 0;
+    timestamps[index] = 0;
+    loggers[index] = NO_LOGGER;
+  }
+
+  private void addLines(final String inText) {
+    for (int from = 0; from < inText.length();) {
+      int newline = inText.indexOf('\n', from);
+      int to = newline < 0 ? inText.length() : newline;
+
+      if (newline > from && inText.charAt(newline - 1) == '\r') {
+        to--;
+      }
+
+      if (!open) {
+        addLine();
+      }
+
+      addChars(inText, from, to);
+      open = newline < 0;
+      from = newline < 0 ? to : newline + 1;
+    }
+  }
+
+  private void evict() {
+    if (endLine - firstLine <= maximumLines && endChar - firstChar <= maximumCharacters) {
+      return;
+    }
+
+    // Removes a chunk of lines, down to the nine tenth of the limits
+    long keptLines = maximumLines - maximumLines / 10;
+    long keptCharacters = maximumCharacters - maximumCharacters / 10;
+    long line = Math.max(firstLine, endLine - keptLines);
+
+    while (line < endLine - 1 && endChar - starts[lineIndex(line)] > keptCharacters) {
+      line++;
+    }
+
+    firstLine = line;
+    // Only the last line is cut if it's longer than the limit
+    firstChar = Math.max(starts[lineIndex(line)], endChar - keptCharacters);
+  }
+
+  private char[] grow(final char[] inChars, final int inCapacity) {
+    char[] grown = new char[inCapacity];
+
+    for (long c = firstChar; c < endChar; c++) {
+      grown[(int) (c & inCapacity - 1)] = inChars[(int) (c & inChars.length - 1)];
+    }
+
+    return grown;
+  }
+
+  private boolean isLoggedLine(final long inLine) {
+    return inLine >= firstLine && inLine < endLine && loggers[lineIndex(inLine)] != NO_LOGGER;
+  }
+
+  private int lineIndex(final long inLine) {
+    return (int) (inLine & starts.length - 1);
+  }
+}
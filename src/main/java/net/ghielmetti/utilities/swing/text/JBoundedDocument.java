@@ -0,0 +1,143 @@
+package net.ghielmetti.utilities.swing.text;
+
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Element;
+import javax.swing.text.PlainDocument;
+
+/**
+ * Document keeping at most a maximum number of lines and of characters, the oldest lines are removed when the text
+ * grows over one of the limits.<br>
+ * The lines are removed by chunks of a tenth of the limit, so that a document growing line by line, like a log, isn't
+ * shrunk at each new line. The characters are kept in a {@link RingContent}, removing the oldest lines doesn't move the
+ * rest of the text.<br>
+ * The empty line following the last newline isn't counted, a document of <code>n</code> lines terminated by a newline
+ * has <code>n</code> lines.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class JBoundedDocument extends PlainDocument {
+  /** The value of a limit not limiting the document. */
+  public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+  private int             maximumLines;
+  private int             maximumCharacters;
+
+  /** Create a document without limits, they can be set later. */
+  public JBoundedDocument() {
+    this(UNBOUNDED, UNBOUNDED);
+  }
+
+  /**
+   * Create a document with the given limits.
+   *
+   * @param inMaximumLines The maximum number of lines, at least 1.
+   * @param inMaximumCharacters The maximum number of characters, at least 1.
+   */
+  public JBoundedDocument(final int inMaximumLines, final int inMaximumCharacters) {
+    super(new RingContent());
+    maximumLines = checkLimit(inMaximumLines);
+    maximumCharacters = checkLimit(inMaximumCharacters);
+  }
+
+  /**
+   * Returns the maximum number of characters.
+   *
+   * @return The limit, {@link #UNBOUNDED} if the number of characters isn't limited.
+   */
+  public int getMaximumCharacters() {
+    return maximumCharacters;
+  }
+
+  /**
+   * Returns the maximum number of lines.
+   *
+   * @return The limit, {@link #UNBOUNDED} if the number of lines isn't limited.
+   */
+  public int getMaximumLines() {
+    return maximumLines;
+  }
+
+  @Override
+  public void insertString(final int inOffset, final String inText, final AttributeSet inAttributes) throws BadLocationException {
+    super.insertString(inOffset, inText, inAttributes);
+    evict();
+  }
+
+  /**
+   * Sets the maximum number of characters, the oldest lines are immediately removed if the text is too long.
+   *
+   * @param inMaximumCharacters The maximum number of characters, at least 1, {@link #UNBOUNDED} for no limit.
+   */
+  public void setMaximumCharacters(final int inMaximumCharacters) {
+    maximumCharacters = checkLimit(inMaximumCharacters);
+    evictNow();
+  }
+
+  /**
+   * Sets the maximum number of lines, the oldest lines are immediately removed if there are too many lines.
+   *
+   * @param inMaximumLines The maximum number of lines, at least 1, {@link #UNBOUNDED} for no limit.
+   */
+  public void setMaximumLines(final int inMaximumLines) {
+    maximumLines = checkLimit(inMaximumLines);
+    evictNow();
+  }
+
+  @Override
+  public String toString() {
+    return "JBoundedDocument[maximumLines=" + maximumLines + ", maximumCharacters=" + maximumCharacters + "]";
+  }
+
+  private static int checkLimit(final int inLimit) {
+    if (inLimit < 1) {
+      throw new IllegalArgumentException("Invalid limit " + inLimit);
+    }
+
+    return inLimit;
+  }
+
+  private void evict() throws BadLocationException {
+    Element root = getDefaultRootElement();
+    int lines = root.getElementCount();
+    int length = getLength();
+
+    // The empty element following the last newline isn't a line
+    if (length > 0 && getText(length - 1, 1).charAt(0) == '\n') {
+      lines--;
+    }
+
+    if (lines <= maximumLines && length <= maximumCharacters) {
+      return;
+    }
+
+    // Removes a chunk of lines, down to the nine tenth of the limits
+    int keptLines = maximumLines - maximumLines / 10;
+    int keptCharacters = maximumCharacters - maximumCharacters / 10;
+    int end = root.getElement(Math.max(0, lines - keptLines)).getStartOffset();
+
+    if (length - end > keptCharacters) {
+      int cut = length - keptCharacters;
+      Element line = root.getElement(root.getElementIndex(cut));
+
+      // Keeps the lines following the cut, only the last line is cut if it's longer than the limit
+      if (line.getStartOffset() == cut) {
+        end = cut;
+      } else {
+        end = line.getEndOffset() < length ? line.getEndOffset() : cut;
+      }
+    }
+
+    if (end > 0) {
+      remove(0, end);
+    }
+  }
+
+  private void evictNow() {
+    try {
+      evict();
+    } catch (BadLocationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,291 @@
+package net.ghielmetti.utilities.swing.text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Position;
+import javax.swing.text.Segment;
+import javax.swing.undo.UndoableEdit;
+
+/**
+ * A document {@link AbstractDocument.Content} keeping the characters in a ring buffer.<br>
+ * Removing characters at the beginning only moves the head of the ring and inserting characters at the end only moves
+ * the characters after the insertion point (the final newline), so a document growing at the end and shrinking at the
+ * beginning, like a log, never moves its whole content as a {@link javax.swing.text.GapContent} does. The other edits
+ * move the smaller side of the ring.<br>
+ * The edits can't be undone. This class is not thread safe, the document lock protects it.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class RingContent implements AbstractDocument.Content {
+  private static final int DEFAULT_CAPACITY = 1024;
+
+  private final List<Mark> marks            = new ArrayList<>();
+  private char[]           buffer;
+  private int              head;
+  private int              length;
+  // The absolute position of the first character, the characters removed at the beginning
+  private long             base;
+
+  /** Constructor. */
+  public RingContent() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param inCapacity The number of characters the content can contain before growing.
+   */
+  public RingContent(final int inCapacity) {
+    if (inCapacity < 1) {
+      throw new IllegalArgumentException("Invalid capacity " + inCapacity);
+    }
+
+    buffer = new char[Integer.highestOneBit(inCapacity - 1 | 1) << 1];
+    // The content always ends with a newline, as the other contents
+    buffer[0] = '\n';
+    length = 1;
+  }
+
+  @Override
+  public Position createPosition(final int inOffset) throws BadLocationException {
+    if (inOffset < 0 || inOffset > length) {
+      throw new BadLocationException("Invalid offset", inOffset);
+    }
+
+    long absolute = base + inOffset;
+    int index = upperMark(absolute);
+
+    // The positions at the same offset always move together, so they are shared. Otherwise the end positions of the
+    // last lines replaced by the document would pile up at the end and be moved by each insertion
+    if (index > 0 && marks.get(index - 1).absolute == absolute) {
+      return marks.get(index - 1);
+    }
+
+    Mark mark = new Mark(absolute);
+    marks.add(index, mark);
+    return mark;
+  }
+
+  /**
+   * Returns the number of characters the content can contain before growing.
+   *
+   * @return The capacity.
+   */
+  public int getCapacity() {
+    return buffer.length;
+  }
+
+  @Override
+  public void getChars(final int inWhere, final int inLength, final Segment inSegment) throws BadLocationException {
+    checkRange(inWhere, inLength);
+    int start = head + inWhere & buffer.length - 1;
+    int contiguous = Math.min(inLength, buffer.length - start);
+
+    if (contiguous == inLength || inSegment.isPartialReturn()) {
+      inSegment.array = buffer;
+      inSegment.offset = start;
+      inSegment.count = contiguous;
+    } else {
+      char[] chars = new char[inLength];
+      System.arraycopy(buffer, start, chars, 0, contiguous);
+      System.arraycopy(buffer, 0, chars, contiguous, inLength - contiguous);
+      inSegment.array = chars;
+      inSegment.offset = 0;
+      inSegment.count = inLength;
+    }
+  }
+
+  @Override
+  public String getString(final int inWhere, final int inLength) throws BadLocationException {
+    Segment segment = new Segment();
+    getChars(inWhere, inLength, segment);
+    return new String(segment.array, segment.offset, segment.count);
+  }
+
+  @Override
+  public UndoableEdit insertString(final int inWhere, final String inText) throws BadLocationException {
+    if (inWhere < 0 || inWhere >= length) {
+      throw new BadLocationException("Invalid insert", inWhere);
+    }
+
+    int count = inText.length();
+
+    if (count == 0) {
+      return null;
+    }
+
+    ensureCapacity(length + count);
+
+    if (inWhere < length - inWhere) {
+      head = head - count & buffer.length - 1;
+      move(count, 0, inWhere);
+    } else {
+      move(inWhere, inWhere + count, length - inWhere);
+    }
+
+    for (int i = 0; i < count; i++) {
+      buffer[head + inWhere + i & buffer.length - 1] = inText.charAt(i);
+    }
+
+    length += count;
+
+    // The positions after the insertion point follow the text, the ones at the beginning stay there
+    for (int i = upperMark(base + Math.max(inWhere, 1) - 1); i < marks.size(); i++) {
+      marks.get(i).absolute += count;
+    }
+
+    return null;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public UndoableEdit remove(final int inWhere, final int inLength) throws BadLocationException {
+    if (inWhere < 0 || inLength < 0 || inWhere + inLength >= length) {
+      throw new BadLocationException("Invalid remove", inWhere + inLength);
+    }
+
+    if (inLength == 0) {
+      return null;
+    }
+
+    if (inWhere == 0) {
+      head = head + inLength & buffer.length - 1;
+      base += inLength;
+      // The positions in the removed characters are at the beginning for ever, they don't need to be updated anymore
+      marks.subList(0, upperMark(base - 1)).clear();
+    } else {
+      if (inWhere < length - inWhere - inLength) {
+        move(0, inLength, inWhere);
+        head = head + inLength & buffer.length - 1;
+      } else {
+        move(inWhere + inLength, inWhere, length - inWhere - inLength);
+      }
+
+      long where = base + inWhere;
+      long end = where + inLength;
+
+      for (int i = upperMark(where); i < marks.size(); i++) {
+        Mark mark = marks.get(i);
+        mark.absolute = mark.absolute <= end ? where : mark.absolute - inLength;
+      }
+    }
+
+    length -= inLength;
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return "RingContent[length=" + length + ", capacity=" + buffer.length + ", positions=" + marks.size() + "]";
+  }
+
+  /**
+   * For test purposes.
+   *
+   * @return The number of positions still updated by the edits.
+   */
+  int getMarkCount() {
+    return marks.size();
+  }
+
+  private void checkRange(final int inWhere, final int inLength) throws BadLocationException {
+    if (inWhere < 0 || inLength < 0 || inWhere + inLength > length) {
+      throw new BadLocationException("Invalid range", inWhere + inLength);
+    }
+  }
+
+  private void ensureCapacity(final int inCapacity) {
+    if (inCapacity <= buffer.length) {
+      return;
+    }
+
+    int capacity = buffer.length;
+
+    while (capacity < inCapacity) {
+      capacity <<= 1;
+    }
+
+    char[] chars = new char[capacity];
+    int contiguous = Math.min(length, buffer.length - head);
+    System.arraycopy(buffer, head, chars, 0, contiguous);
+    System.arraycopy(buffer, 0, chars, contiguous, length - contiguous);
+    buffer = chars;
+    head = 0;
+  }
+
+  /**
+   * Moves characters inside the ring, the source and the target can overlap.
+   *
+   * @param inFrom The offset of the first character to move.
+   * @param inTo The offset where to move it.
+   * @param inCount The number of characters to move.
+   */
+  private void move(final int inFrom, final int inTo, final int inCount) {
+    int mask = buffer.length - 1;
+
+    if (inTo > inFrom) {
+      for (int i = inCount - 1; i >= 0; i--) {
+        buffer[head + inTo + i & mask] = buffer[head + inFrom + i & mask];
+      }
+    } else {
+      for (int i = 0; i < inCount; i++) {
+        buffer[head + inTo + i & mask] = buffer[head + inFrom + i & mask];
+      }
+    }
+  }
+
+  /**
+   * Returns the index of the first mark after the given absolute position.
+   *
+   * @param inAbsolute The absolute position.
+   * @return The index, the number of marks if none.
+   */
+  private int upperMark(final long inAbsolute) {
+    int low = 0;
+    int high = marks.size();
+
+    // The marks are mostly created at the end
+    if (high == 0 || marks.get(high - 1).absolute <= inAbsolute) {
+      return high;
+    }
+
+    while (low < high) {
+      int middle = low + high >>> 1;
+
+      if (marks.get(middle).absolute <= inAbsolute) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    return low;
+  }
+
+  /** A position following the edits, relative to the characters removed at the beginning. */
+  private final class Mark implements Position {
+    private long absolute;
+
+    Mark(final long inAbsolute) {
+      absolute = inAbsolute;
+    }
+
+    @Override
+    public int getOffset() {
+      return (int) Math.max(0, absolute - base);
+    }
+
+    @Override
+    public String toString() {
+      return Integer.toString(getOffset());
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link Column} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class ColumnTest {
+  /** Tests {@link Column#erase(int, int)}. */
+  @Test
+  public void erase_objects_forgetsTheValues() {
+    Column<String> column = Column.of(String.class, 2);
+    column.set(1, "a");
+    column.erase(0, 2);
+    assertNull(column.get(1));
+  }
+
+  /** Tests {@link Column#of(Class, int)}. */
+  @Test
+  public void of_anyClass_returnsTheBestColumn() {
+    assertTrue(Column.of(Long.class, 1) instanceof Column.OfLong);
+    assertTrue(Column.of(Integer.class, 1) instanceof Column.OfInt);
+    assertTrue(Column.of(Double.class, 1) instanceof Column.OfDouble);
+    assertTrue(Column.of(String.class, 1) instanceof Column.OfObject);
+  }
+
+  /** Tests {@link Column#permute(int[])}. */
+  @Test
+  public void permute_always_reordersTheRows() {
+    Column<Double> column = Column.of(Double.class, 4);
+
+    for (int i = 0; i < 3; i++) {
+      column.set(i, Double.valueOf(i));
+    }
+
+    column.permute(new int[] { 2, 0, 1 });
+    assertEquals(Double.valueOf(2), column.get(0));
+    assertEquals(Double.valueOf(0), column.get(1));
+    assertEquals(Double.valueOf(1), column.get(2));
+  }
+
+  /** Tests {@link Column#resize(int)}. */
+  @Test
+  public void resize_always_keepsTheValues() {
+    Column<Long> column = Column.of(Long.class, 1);
+    column.set(0, Long.valueOf(42));
+    column.resize(10);
+    column.set(9, Long.valueOf(7));
+    assertEquals(Long.valueOf(42), column.get(0));
+    assertEquals(0, column.compareTo(9, Long.valueOf(7)));
+  }
+}
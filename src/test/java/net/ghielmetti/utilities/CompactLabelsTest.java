@@ -0,0 +1,89 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link CompactLabels} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class CompactLabelsTest {
+  private static Map<String, String> labels(final String... inKeysAndValues) {
+    Map<String, String> labels = new HashMap<>();
+
+    for (int i = 0; i < inKeysAndValues.length; i += 2) {
+      labels.put(inKeysAndValues[i], inKeysAndValues[i + 1]);
+    }
+
+    return labels;
+  }
+
+  /** Tests {@link CompactLabels#containsKey(Object)}. */
+  @Test
+  public void containsKey_aKeyOfAnotherLanguage_returnsFalse() {
+    CompactLabels.of(labels("compact.only.english", "English"));
+    CompactLabels italian = CompactLabels.of(labels("compact.only.italian", "Italiano"));
+    assertTrue(italian.containsKey("compact.only.italian"));
+    assertFalse(italian.containsKey("compact.only.english"));
+    assertNull(italian.get("compact.only.english"));
+  }
+
+  /** Tests {@link CompactLabels#entrySet()}. */
+  @Test
+  public void entrySet_always_containsAllTheLabels() {
+    Map<String, String> labels = labels("compact.a", "A", "compact.b", "", "compact.c", "C");
+    CompactLabels compact = CompactLabels.of(labels);
+    assertEquals(labels, new HashMap<>(compact));
+    assertEquals(labels, compact);
+    assertEquals(3, compact.size());
+  }
+
+  /** Tests {@link CompactLabels#get(Object)}. */
+  @Test
+  public void get_nonLatin1Labels_returnsTheLabels() {
+    CompactLabels compact = CompactLabels.of(labels("compact.greek", "αβγ", "compact.latin", "àè"));
+    assertEquals("αβγ", compact.get("compact.greek"));
+    assertEquals("àè", compact.get("compact.latin"));
+    assertNull(compact.get("compact.unknown"));
+  }
+
+  /**
+   * Tests {@link CompactLabels#of(Map)}.
+   *
+   * @throws InterruptedException Not expected.
+   */
+  @Test
+  public void of_labelsNoLongerReferenced_keysDroppedFromTheIndex() throws InterruptedException {
+    WeakReference<CompactLabels> dropped = new WeakReference<>(CompactLabels.of(labels("compact.dropped", "Dropped")));
+
+    for (int i = 0; i < 100 && dropped.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    CompactLabels kept = CompactLabels.of(labels("compact.kept", "Kept"));
+    assertTrue(kept.getIndex().containsAll(Collections.singleton("compact.kept")));
+    assertFalse(kept.getIndex().containsAll(Collections.singleton("compact.dropped")));
+  }
+
+  /** Tests {@link CompactLabels#of(Map)}. */
+  @Test
+  public void of_sameKeysInTwoLanguages_sharesTheIndex() {
+    CompactLabels english = CompactLabels.of(labels("compact.shared.1", "One", "compact.shared.2", "Two"));
+    CompactLabels italian = CompactLabels.of(labels("compact.shared.1", "Uno", "compact.shared.2", "Due"));
+    assertSame(english.getIndex(), italian.getIndex());
+    assertEquals("Two", english.get("compact.shared.2"));
+    assertEquals("Due", italian.get("compact.shared.2"));
+  }
+}
@@ -0,0 +1,71 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link Hashing} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class HashingTest {
+  /** Tests {@link Hashing#combine(int, int)}. */
+  @Test
+  public void combine_largeValues_mixed() {
+    assertEquals(Hashing.hash(1000, 32), Hashing.combine(1000, 32));
+    assertEquals(Hashing.hash(-1, 1), Hashing.combine(-1, 1));
+  }
+
+  /** Tests {@link Hashing#combine(int, int)}. */
+  @Test
+  public void combine_smallValues_distinctAndDense() {
+    Set<Integer> hashes = new HashSet<>();
+
+    for (int row = 0; row < 2000; row++) {
+      for (int column = 0; column < 32; column++) {
+        int hash = Hashing.combine(row, column);
+        assertTrue(hash >= 0 && hash < 2000 * 32);
+        hashes.add(Integer.valueOf(hash));
+      }
+    }
+
+    assertEquals(2000 * 32, hashes.size());
+  }
+
+  /** Tests {@link Hashing#hash(int, int)}. */
+  @Test
+  public void hash_smallCoordinates_spreadOnTheLowBits() {
+    Set<Integer> buckets = new HashSet<>();
+
+    for (int row = 0; row < 64; row++) {
+      for (int column = 0; column < 16; column++) {
+        buckets.add(Integer.valueOf(Hashing.hash(row, column) & 1023));
+      }
+    }
+
+    // 1024 keys in 1024 buckets, a random distribution fills about 63% of them
+    assertTrue(buckets.size() > 550);
+  }
+
+  /** Tests {@link Hashing#hash(int, int, int)}. */
+  @Test
+  public void hash_swappedValues_returnsDifferentHashes() {
+    assertNotEquals(Hashing.hash(1, 2, 3), Hashing.hash(3, 2, 1));
+    assertNotEquals(Hashing.hash(1, 2), Hashing.hash(2, 1));
+    assertNotEquals(Hashing.hash(1L, 2), Hashing.hash(2L, 1));
+  }
+
+  /** Tests {@link Hashing#mix(int)}. */
+  @Test
+  public void mix_zero_returnsZero() {
+    assertEquals(0, Hashing.mix(0));
+    assertEquals(0L, Hashing.mix(0L));
+    assertNotEquals(1, Hashing.mix(1));
+  }
+}
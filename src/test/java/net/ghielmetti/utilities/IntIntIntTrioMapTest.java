@@ -0,0 +1,115 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link IntIntIntTrioMap} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class IntIntIntTrioMapTest {
+  private IntIntIntTrioMap<String> map;
+
+  /** Tests {@link IntIntIntTrioMap#clear()}. */
+  @Test
+  public void clear_always_removesAllTheEntries() {
+    map.put(1, 0, 2, "a");
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertNull(map.get(1, 0, 2));
+  }
+
+  /** Tests {@link IntIntIntTrioMap#containsKey(int, int, int)}. */
+  @Test
+  public void containsKey_aMissingKey_returnsFalse() {
+    map.put(1, 0, 2, "a");
+    assertTrue(map.containsKey(1, 0, 2));
+    assertFalse(map.containsKey(2, 0, 1));
+  }
+
+  /** Tests {@link IntIntIntTrioMap#forEach(IntIntIntTrioMap.Visitor)}. */
+  @Test
+  public void forEach_always_visitsAllTheEntries() {
+    map.put(1, 0, 2, "a");
+    map.put(3, 0, 4, "b");
+    Map<IntIntIntTrio, String> visited = new HashMap<>();
+    map.forEach((inLeft, inCenter, inRight, inValue) -> visited.put(new IntIntIntTrio(inLeft, inCenter, inRight), inValue));
+    assertEquals(2, visited.size());
+    assertEquals("b", visited.get(new IntIntIntTrio(3, 0, 4)));
+  }
+
+  /** Tests {@link IntIntIntTrioMap#get(IntIntIntTrio)}. */
+  @Test
+  public void get_aKeyObject_returnsTheValue() {
+    map.put(new IntIntIntTrio(1, 0, 2), "a");
+    assertEquals("a", map.get(new IntIntIntTrio(1, 0, 2)));
+  }
+
+  /** Tests {@link IntIntIntTrioMap#put(int, int, int, Object)}. */
+  @Test
+  public void put_anExistingKey_replacesTheValue() {
+    assertNull(map.put(1, 0, 2, "a"));
+    assertEquals("a", map.put(1, 0, 2, "b"));
+    assertEquals("b", map.get(1, 0, 2));
+    assertEquals(1, map.size());
+  }
+
+  /** Tests {@link IntIntIntTrioMap#put(int, int, int, Object)}. */
+  @Test(expected = NullPointerException.class)
+  public void put_aNullValue_throwsAnException() {
+    map.put(1, 0, 2, null);
+  }
+
+  /** Tests {@link IntIntIntTrioMap#put(int, int, int, Object)} and {@link IntIntIntTrioMap#remove(int, int, int)}. */
+  @Test
+  public void putAndRemove_manyRandomKeys_behavesLikeAHashMap() {
+    Random random = new Random(1);
+    Map<IntIntIntTrio, String> reference = new HashMap<>();
+
+    for (int i = 0; i < 100000; i++) {
+      int left = random.nextInt(64);
+      int center = random.nextInt(4);
+      int right = random.nextInt(64);
+
+      if (random.nextInt(3) == 0) {
+        assertEquals(reference.remove(new IntIntIntTrio(left, center, right)), map.remove(left, center, right));
+      } else {
+        assertEquals(reference.put(new IntIntIntTrio(left, center, right), "v" + i), map.put(left, center, right, "v" + i));
+      }
+    }
+
+    assertEquals(reference.size(), map.size());
+
+    for (Map.Entry<IntIntIntTrio, String> entry : reference.entrySet()) {
+      assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+  }
+
+  /** Tests {@link IntIntIntTrioMap#remove(int, int, int)}. */
+  @Test
+  public void remove_aMissingKey_returnsNull() {
+    assertNull(map.remove(1, 0, 2));
+  }
+
+  /** Initializes the tests. */
+  @Before
+  public void setUp() {
+    map = new IntIntIntTrioMap<>(2);
+  }
+
+  /** Tests {@link IntIntIntTrioMap#toString()}. */
+  @Test
+  public void toString_always_returnsAString() {
+    assertEquals("IntIntIntTrioMap[size=0]", new IntIntIntTrioMap<>().toString());
+  }
+}
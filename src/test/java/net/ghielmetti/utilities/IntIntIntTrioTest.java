@@ -0,0 +1,74 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link IntIntIntTrio} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class IntIntIntTrioTest {
+  /** Tests {@link IntIntIntTrio#equals(Object)}. */
+  @Test
+  public void equals_equalObjects_returnsTrue() {
+    assertTrue(new IntIntIntTrio(1, 2, 3).equals(new IntIntIntTrio(1, 2, 3)));
+  }
+
+  /** Tests {@link IntIntIntTrio#equals(Object)}. */
+  @Test
+  public void equals_notEqualObjects_returnsFalse() {
+    assertFalse(new IntIntIntTrio(1, 2, 3).equals(new IntIntIntTrio(0, 2, 3)));
+    assertFalse(new IntIntIntTrio(1, 2, 3).equals(new IntIntIntTrio(1, 0, 3)));
+    assertFalse(new IntIntIntTrio(1, 2, 3).equals(new IntIntIntTrio(1, 2, 0)));
+    assertFalse(new IntIntIntTrio(1, 2, 3).equals(null));
+    assertFalse(new IntIntIntTrio(1, 2, 3).equals(""));
+  }
+
+  /** Tests {@link IntIntIntTrio#equals(Object)}. */
+  @Test
+  public void equals_sameObjects_returnsTrue() {
+    IntIntIntTrio t = new IntIntIntTrio(1, 2, 3);
+    assertTrue(t.equals(t));
+  }
+
+  /** Tests {@link IntIntIntTrio#getCenter()}. */
+  @Test
+  public void getCenter_always_returnsTheCenterElement() {
+    assertEquals(2, new IntIntIntTrio(1, 2, 3).getCenter());
+  }
+
+  /** Tests {@link IntIntIntTrio#getLeft()}. */
+  @Test
+  public void getLeft_always_returnsTheLeftElement() {
+    assertEquals(1, new IntIntIntTrio(1, 2, 3).getLeft());
+  }
+
+  /** Tests {@link IntIntIntTrio#getRight()}. */
+  @Test
+  public void getRight_always_returnsTheRightElement() {
+    assertEquals(3, new IntIntIntTrio(1, 2, 3).getRight());
+  }
+
+  /** Tests {@link IntIntIntTrio#hashCode()}. */
+  @Test
+  public void hashCode_equalObjects_returnsSameHash() {
+    assertEquals(new IntIntIntTrio(1, 2, 3).hashCode(), new IntIntIntTrio(1, 2, 3).hashCode());
+  }
+
+  /** Tests {@link IntIntIntTrio#hashCode()}. */
+  @Test
+  public void hashCode_swappedObjects_returnsDifferentHash() {
+    assertNotEquals(new IntIntIntTrio(1, 2, 3).hashCode(), new IntIntIntTrio(3, 2, 1).hashCode());
+  }
+
+  /** Tests {@link IntIntIntTrio#toString()}. */
+  @Test
+  public void toString_always_returnsAString() {
+    assertEquals("(1,2,3)", new IntIntIntTrio(1, 2, 3).toString());
+  }
+}
@@ -0,0 +1,114 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link IntIntPairMap} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class IntIntPairMapTest {
+  private IntIntPairMap<String> map;
+
+  /** Tests {@link IntIntPairMap#clear()}. */
+  @Test
+  public void clear_always_removesAllTheEntries() {
+    map.put(1, 2, "a");
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertNull(map.get(1, 2));
+  }
+
+  /** Tests {@link IntIntPairMap#containsKey(int, int)}. */
+  @Test
+  public void containsKey_aMissingKey_returnsFalse() {
+    map.put(1, 2, "a");
+    assertTrue(map.containsKey(1, 2));
+    assertFalse(map.containsKey(2, 1));
+  }
+
+  /** Tests {@link IntIntPairMap#forEach(IntIntPairMap.Visitor)}. */
+  @Test
+  public void forEach_always_visitsAllTheEntries() {
+    map.put(1, 2, "a");
+    map.put(3, 4, "b");
+    Map<IntIntPair, String> visited = new HashMap<>();
+    map.forEach((inLeft, inRight, inValue) -> visited.put(new IntIntPair(inLeft, inRight), inValue));
+    assertEquals(2, visited.size());
+    assertEquals("b", visited.get(new IntIntPair(3, 4)));
+  }
+
+  /** Tests {@link IntIntPairMap#get(IntIntPair)}. */
+  @Test
+  public void get_aKeyObject_returnsTheValue() {
+    map.put(new IntIntPair(1, 2), "a");
+    assertEquals("a", map.get(new IntIntPair(1, 2)));
+  }
+
+  /** Tests {@link IntIntPairMap#put(int, int, Object)}. */
+  @Test
+  public void put_anExistingKey_replacesTheValue() {
+    assertNull(map.put(1, 2, "a"));
+    assertEquals("a", map.put(1, 2, "b"));
+    assertEquals("b", map.get(1, 2));
+    assertEquals(1, map.size());
+  }
+
+  /** Tests {@link IntIntPairMap#put(int, int, Object)}. */
+  @Test(expected = NullPointerException.class)
+  public void put_aNullValue_throwsAnException() {
+    map.put(1, 2, null);
+  }
+
+  /** Tests {@link IntIntPairMap#put(int, int, Object)} and {@link IntIntPairMap#remove(int, int)}. */
+  @Test
+  public void putAndRemove_manyRandomKeys_behavesLikeAHashMap() {
+    Random random = new Random(1);
+    Map<IntIntPair, String> reference = new HashMap<>();
+
+    for (int i = 0; i < 100000; i++) {
+      int left = random.nextInt(64);
+      int right = random.nextInt(64);
+
+      if (random.nextInt(3) == 0) {
+        assertEquals(reference.remove(new IntIntPair(left, right)), map.remove(left, right));
+      } else {
+        assertEquals(reference.put(new IntIntPair(left, right), "v" + i), map.put(left, right, "v" + i));
+      }
+    }
+
+    assertEquals(reference.size(), map.size());
+
+    for (Map.Entry<IntIntPair, String> entry : reference.entrySet()) {
+      assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+  }
+
+  /** Tests {@link IntIntPairMap#remove(int, int)}. */
+  @Test
+  public void remove_aMissingKey_returnsNull() {
+    assertNull(map.remove(1, 2));
+  }
+
+  /** Initializes the tests. */
+  @Before
+  public void setUp() {
+    map = new IntIntPairMap<>(2);
+  }
+
+  /** Tests {@link IntIntPairMap#toString()}. */
+  @Test
+  public void toString_always_returnsAString() {
+    assertEquals("IntIntPairMap[size=0]", new IntIntPairMap<>().toString());
+  }
+}
@@ -0,0 +1,67 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link IntIntPair} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class IntIntPairTest {
+  /** Tests {@link IntIntPair#equals(Object)}. */
+  @Test
+  public void equals_equalObjects_returnsTrue() {
+    assertTrue(new IntIntPair(1, 2).equals(new IntIntPair(1, 2)));
+  }
+
+  /** Tests {@link IntIntPair#equals(Object)}. */
+  @Test
+  public void equals_notEqualObjects_returnsFalse() {
+    assertFalse(new IntIntPair(1, 2).equals(new IntIntPair(2, 1)));
+    assertFalse(new IntIntPair(1, 2).equals(new IntIntPair(1, 3)));
+    assertFalse(new IntIntPair(1, 2).equals(null));
+    assertFalse(new IntIntPair(1, 2).equals(""));
+  }
+
+  /** Tests {@link IntIntPair#equals(Object)}. */
+  @Test
+  public void equals_sameObjects_returnsTrue() {
+    IntIntPair p = new IntIntPair(1, 2);
+    assertTrue(p.equals(p));
+  }
+
+  /** Tests {@link IntIntPair#getLeft()}. */
+  @Test
+  public void getLeft_always_returnsTheLeftElement() {
+    assertEquals(1, new IntIntPair(1, 2).getLeft());
+  }
+
+  /** Tests {@link IntIntPair#getRight()}. */
+  @Test
+  public void getRight_always_returnsTheRightElement() {
+    assertEquals(2, new IntIntPair(1, 2).getRight());
+  }
+
+  /** Tests {@link IntIntPair#hashCode()}. */
+  @Test
+  public void hashCode_equalObjects_returnsSameHash() {
+    assertEquals(new IntIntPair(1, 2).hashCode(), new IntIntPair(1, 2).hashCode());
+  }
+
+  /** Tests {@link IntIntPair#hashCode()}. */
+  @Test
+  public void hashCode_swappedObjects_returnsDifferentHash() {
+    assertNotEquals(new IntIntPair(1, 2).hashCode(), new IntIntPair(2, 1).hashCode());
+  }
+
+  /** Tests {@link IntIntPair#toString()}. */
+  @Test
+  public void toString_always_returnsAString() {
+    assertEquals("(1,2)", new IntIntPair(1, 2).toString());
+  }
+}
@@ -0,0 +1,70 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link InternTable} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class InternTableTest {
+  /** Tests {@link InternTable#InternTable(int)}. */
+  @Test
+  public void constructor_anySize_roundsToAPowerOfTwo() {
+    assertEquals(2, new InternTable<String>(0).capacity());
+    assertEquals(16, new InternTable<String>(16).capacity());
+    assertEquals(32, new InternTable<String>(17).capacity());
+  }
+
+  /** Tests {@link InternTable#get(int)}. */
+  @Test
+  public void get_anEmptySlot_returnsNull() {
+    assertNull(new InternTable<String>(16).get(3));
+  }
+
+  /** Tests {@link InternTable#put(int, Object)}. */
+  @Test
+  public void put_aSlotInUse_replacesTheInstance() {
+    InternTable<String> table = new InternTable<>(16);
+    String second = "second";
+    table.put(3, "first");
+    table.put(19, second);
+    assertSame(second, table.get(3));
+  }
+
+  /** Tests {@link InternTable#put(int, Object)}. */
+  @Test
+  public void put_anInstance_canBeRetrieved() {
+    InternTable<String> table = new InternTable<>(16);
+    String value = "value";
+    table.put(-7, value);
+    assertSame(value, table.get(-7));
+  }
+
+  /** Tests {@link InternTable#same(Object, Object)}. */
+  @Test
+  public void same_differentClasses_returnsFalse() {
+    assertFalse(InternTable.same(Integer.valueOf(1), Long.valueOf(1)));
+    assertFalse(InternTable.same(null, "a"));
+    assertFalse(InternTable.same("a", null));
+  }
+
+  /** Tests {@link InternTable#same(Object, Object)}. */
+  @Test
+  public void same_equalObjects_returnsTrue() {
+    assertTrue(InternTable.same(null, null));
+    assertTrue(InternTable.same(new String("a"), new String("a")));
+  }
+
+  /** Tests {@link InternTable#toString()}. */
+  @Test
+  public void toString_always_returnsAString() {
+    assertEquals("InternTable[capacity=16]", new InternTable<String>(16).toString());
+  }
+}
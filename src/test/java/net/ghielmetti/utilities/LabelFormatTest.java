@@ -0,0 +1,116 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link LabelFormat} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class LabelFormatTest {
+  private static void assertSameAsMessageFormat(final String inPattern, final Object... inArguments) {
+    assertEquals(new MessageFormat(inPattern, Locale.ITALIAN).format(inArguments), LabelFormat.compile(inPattern, Locale.ITALIAN).format(inArguments));
+  }
+
+  /** Tests {@link LabelFormat#compile(String, Locale)}. */
+  @Test
+  public void compile_aLargeIndex_sameOutcomeAsMessageFormat() {
+    String expected;
+    String actual;
+
+    // The recent versions of MessageFormat reject the indexes from 10000
+    try {
+      expected = new MessageFormat("A {10000} label", Locale.ITALIAN).format(new Object[0]);
+    } catch (IllegalArgumentException e) {
+      expected = e.toString();
+    }
+
+    try {
+      actual = LabelFormat.compile("A {10000} label", Locale.ITALIAN).format();
+    } catch (IllegalArgumentException e) {
+      actual = e.toString();
+    }
+
+    assertEquals(expected, actual);
+  }
+
+  /** Tests {@link LabelFormat#compile(String, Locale)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void compile_anUnmatchedBrace_throwsAnException() {
+    LabelFormat.compile("A {0 label", Locale.ITALIAN);
+  }
+
+  /** Tests {@link LabelFormat#format(Object...)}. */
+  @Test
+  public void format_aChoice_returnsTheSameAsMessageFormat() {
+    assertSameAsMessageFormat("{0,choice,0#none|1#one|1<{0,number,integer} many}", Integer.valueOf(0));
+    assertSameAsMessageFormat("{0,choice,0#none|1#one|1<{0,number,integer} many}", Integer.valueOf(1234));
+  }
+
+  /** Tests {@link LabelFormat#format(Object...)}. */
+  @Test
+  public void format_aConstant_returnsTheInternedLabel() {
+    assertSame("A constant label", LabelFormat.compile(new String("A constant label"), Locale.ITALIAN).format());
+  }
+
+  /** Tests {@link LabelFormat#format(Object...)}. */
+  @Test
+  public void format_aQuotedLabel_returnsTheSameAsMessageFormat() {
+    assertSameAsMessageFormat("It''s {0} and '{1}'", "a", "b");
+  }
+
+  /** Tests {@link LabelFormat#format(Object...)}. */
+  @Test
+  public void format_missingArguments_returnsTheSameAsMessageFormat() {
+    assertSameAsMessageFormat("{0} and {1}", "a");
+    assertSameAsMessageFormat("{0} and {1}");
+    assertSameAsMessageFormat("{0} and {1}", (Object[]) null);
+    assertSameAsMessageFormat("{9999} and {0}", "a");
+  }
+
+  /** Tests {@link LabelFormat#format(Object...)}. */
+  @Test
+  public void format_simpleArguments_returnsTheSameAsMessageFormat() {
+    assertSameAsMessageFormat("{1} before {0}, {0} again}", "a", Integer.valueOf(12345));
+    assertSameAsMessageFormat("{0}{1}{2}", null, Double.valueOf(1.5), new Date(0));
+    assertSameAsMessageFormat("Object {0}", Locale.ITALIAN);
+  }
+
+  /**
+   * Tests {@link LabelFormat#formatTo(Appendable, Object...)}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void formatTo_allKindsOfLabels_appendsTheSameAsFormat() throws IOException {
+    for (String pattern : new String[] { "A constant", "A {0} and {1}", "It''s {0,number,integer}" }) {
+      LabelFormat format = LabelFormat.compile(pattern, Locale.ITALIAN);
+      StringBuilder builder = new StringBuilder();
+      StringBuffer buffer = new StringBuffer();
+      format.formatTo(builder, Integer.valueOf(1234), new StringBuilder("b"));
+      format.formatTo(buffer, Integer.valueOf(1234), new StringBuilder("b"));
+      assertEquals(format.format(Integer.valueOf(1234), "b"), builder.toString());
+      assertEquals(format.format(Integer.valueOf(1234), "b"), buffer.toString());
+    }
+  }
+
+  /** Tests {@link LabelFormat#getPattern()}. */
+  @Test
+  public void getPattern_always_returnsTheOriginalLabel() {
+    assertEquals("A {0} label", LabelFormat.compile("A {0} label").getPattern());
+  }
+
+  /** Tests {@link LabelFormat#toString()}. */
+  @Test
+  public void toString_always_returnsAString() {
+    assertEquals("Simple[pattern=\"A {0} label\"]", LabelFormat.compile("A {0} label").toString());
+  }
+}
@@ -0,0 +1,109 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link LabelIndex} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class LabelIndexTest {
+  private static List<String> keys(final int inCount) {
+    List<String> keys = new ArrayList<>();
+
+    for (int i = 0; i < inCount; i++) {
+      keys.add("some.label.key." + i);
+    }
+
+    return keys;
+  }
+
+  /** Tests {@link LabelIndex#build(java.util.Collection)}. */
+  @Test
+  public void build_manyKeys_givesADistinctSlotToEachKey() {
+    List<String> keys = keys(10000);
+    LabelIndex index = LabelIndex.build(keys);
+    Set<Integer> slots = new HashSet<>();
+
+    for (String key : keys) {
+      int slot = index.indexOf(key);
+      assertEquals(key, index.keyAt(slot));
+      assertTrue(slots.add(Integer.valueOf(slot)));
+    }
+
+    assertEquals(10000, index.size());
+    assertTrue(index.capacity() < 10000 * 2);
+  }
+
+  /** Tests {@link LabelIndex#build(java.util.Collection)}. */
+  @Test
+  public void build_noKeys_createsAnEmptyIndex() {
+    LabelIndex index = LabelIndex.build(Collections.emptyList());
+    assertEquals(0, index.size());
+    assertEquals(-1, index.indexOf("a.key"));
+  }
+
+  /** Tests {@link LabelIndex#containsAll(java.util.Collection)}. */
+  @Test
+  public void containsAll_someUnknownKeys_returnsFalse() {
+    LabelIndex index = LabelIndex.build(keys(10));
+    assertTrue(index.containsAll(keys(5)));
+    assertFalse(index.containsAll(keys(11)));
+  }
+
+  /** Tests {@link LabelIndex#indexOf(Object)}. */
+  @Test
+  public void indexOf_keysWithTheSameHashCode_returnsDistinctSlots() {
+    // "Aa" and "BB" have the same hash code
+    LabelIndex index = LabelIndex.build(Arrays.asList("Aa", "BB", "AaAa", "BBBB", "AaBB"));
+    assertEquals("Aa", index.keyAt(index.indexOf("Aa")));
+    assertEquals("BB", index.keyAt(index.indexOf("BB")));
+    assertEquals("AaAa", index.keyAt(index.indexOf("AaAa")));
+    assertEquals("BBBB", index.keyAt(index.indexOf("BBBB")));
+    assertEquals("AaBB", index.keyAt(index.indexOf("AaBB")));
+    assertEquals(-1, index.indexOf("BBAa"));
+  }
+
+  /** Tests {@link LabelIndex#indexOf(Object)}. */
+  @Test
+  public void indexOf_notAString_returnsMinusOne() {
+    assertEquals(-1, LabelIndex.build(keys(10)).indexOf(Integer.valueOf(1)));
+  }
+
+  /** Tests {@link LabelIndex#keys()}. */
+  @Test
+  public void keys_always_returnsAllTheKeys() {
+    assertEquals(new HashSet<>(keys(100)), new HashSet<>(LabelIndex.build(keys(100)).keys()));
+  }
+
+  /** Tests {@link LabelIndex#keyAt(int)}. */
+  @Test
+  public void keyAt_anEmptySlot_returnsNull() {
+    LabelIndex index = LabelIndex.build(keys(100));
+    int empty = 0;
+
+    while (index.keyAt(empty) != null) {
+      empty++;
+    }
+
+    assertNull(index.keyAt(empty));
+  }
+
+  /** Tests {@link LabelIndex#toString()}. */
+  @Test
+  public void toString_always_returnsAString() {
+    assertTrue(LabelIndex.build(keys(10)).toString().startsWith("LabelIndex[size=10, "));
+  }
+}
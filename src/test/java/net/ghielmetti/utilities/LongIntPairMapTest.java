@@ -0,0 +1,114 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link LongIntPairMap} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class LongIntPairMapTest {
+  private LongIntPairMap<String> map;
+
+  /** Tests {@link LongIntPairMap#clear()}. */
+  @Test
+  public void clear_always_removesAllTheEntries() {
+    map.put(1L, 2, "a");
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertNull(map.get(1L, 2));
+  }
+
+  /** Tests {@link LongIntPairMap#containsKey(long, int)}. */
+  @Test
+  public void containsKey_aMissingKey_returnsFalse() {
+    map.put(1L, 2, "a");
+    assertTrue(map.containsKey(1L, 2));
+    assertFalse(map.containsKey(2L, 1));
+  }
+
+  /** Tests {@link LongIntPairMap#forEach(LongIntPairMap.Visitor)}. */
+  @Test
+  public void forEach_always_visitsAllTheEntries() {
+    map.put(1L, 2, "a");
+    map.put(3L, 4, "b");
+    Map<LongIntPair, String> visited = new HashMap<>();
+    map.forEach((inLeft, inRight, inValue) -> visited.put(new LongIntPair(inLeft, inRight), inValue));
+    assertEquals(2, visited.size());
+    assertEquals("b", visited.get(new LongIntPair(3L, 4)));
+  }
+
+  /** Tests {@link LongIntPairMap#get(LongIntPair)}. */
+  @Test
+  public void get_aKeyObject_returnsTheValue() {
+    map.put(new LongIntPair(1L, 2), "a");
+    assertEquals("a", map.get(new LongIntPair(1L, 2)));
+  }
+
+  /** Tests {@link LongIntPairMap#put(long, int, Object)}. */
+  @Test
+  public void put_anExistingKey_replacesTheValue() {
+    assertNull(map.put(1L, 2, "a"));
+    assertEquals("a", map.put(1L, 2, "b"));
+    assertEquals("b", map.get(1L, 2));
+    assertEquals(1, map.size());
+  }
+
+  /** Tests {@link LongIntPairMap#put(long, int, Object)}. */
+  @Test(expected = NullPointerException.class)
+  public void put_aNullValue_throwsAnException() {
+    map.put(1L, 2, null);
+  }
+
+  /** Tests {@link LongIntPairMap#put(long, int, Object)} and {@link LongIntPairMap#remove(long, int)}. */
+  @Test
+  public void putAndRemove_manyRandomKeys_behavesLikeAHashMap() {
+    Random random = new Random(1);
+    Map<LongIntPair, String> reference = new HashMap<>();
+
+    for (int i = 0; i < 100000; i++) {
+      long left = random.nextInt(64) * 0x100000000L;
+      int right = random.nextInt(64);
+
+      if (random.nextInt(3) == 0) {
+        assertEquals(reference.remove(new LongIntPair(left, right)), map.remove(left, right));
+      } else {
+        assertEquals(reference.put(new LongIntPair(left, right), "v" + i), map.put(left, right, "v" + i));
+      }
+    }
+
+    assertEquals(reference.size(), map.size());
+
+    for (Map.Entry<LongIntPair, String> entry : reference.entrySet()) {
+      assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+  }
+
+  /** Tests {@link LongIntPairMap#remove(long, int)}. */
+  @Test
+  public void remove_aMissingKey_returnsNull() {
+    assertNull(map.remove(1L, 2));
+  }
+
+  /** Initializes the tests. */
+  @Before
+  public void setUp() {
+    map = new LongIntPairMap<>(2);
+  }
+
+  /** Tests {@link LongIntPairMap#toString()}. */
+  @Test
+  public void toString_always_returnsAString() {
+    assertEquals("LongIntPairMap[size=0]", new LongIntPairMap<>().toString());
+  }
+}
@@ -0,0 +1,67 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link LongIntPair} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class LongIntPairTest {
+  /** Tests {@link LongIntPair#equals(Object)}. */
+  @Test
+  public void equals_equalObjects_returnsTrue() {
+    assertTrue(new LongIntPair(1L, 2).equals(new LongIntPair(1L, 2)));
+  }
+
+  /** Tests {@link LongIntPair#equals(Object)}. */
+  @Test
+  public void equals_notEqualObjects_returnsFalse() {
+    assertFalse(new LongIntPair(1L, 2).equals(new LongIntPair(2L, 1)));
+    assertFalse(new LongIntPair(1L, 2).equals(new LongIntPair(1L, 3)));
+    assertFalse(new LongIntPair(1L, 2).equals(null));
+    assertFalse(new LongIntPair(1L, 2).equals(""));
+  }
+
+  /** Tests {@link LongIntPair#equals(Object)}. */
+  @Test
+  public void equals_sameObjects_returnsTrue() {
+    LongIntPair p = new LongIntPair(1L, 2);
+    assertTrue(p.equals(p));
+  }
+
+  /** Tests {@link LongIntPair#getLeft()}. */
+  @Test
+  public void getLeft_always_returnsTheLeftElement() {
+    assertEquals(1L, new LongIntPair(1L, 2).getLeft());
+  }
+
+  /** Tests {@link LongIntPair#getRight()}. */
+  @Test
+  public void getRight_always_returnsTheRightElement() {
+    assertEquals(2, new LongIntPair(1L, 2).getRight());
+  }
+
+  /** Tests {@link LongIntPair#hashCode()}. */
+  @Test
+  public void hashCode_equalObjects_returnsSameHash() {
+    assertEquals(new LongIntPair(1L, 2).hashCode(), new LongIntPair(1L, 2).hashCode());
+  }
+
+  /** Tests {@link LongIntPair#hashCode()}. */
+  @Test
+  public void hashCode_swappedObjects_returnsDifferentHash() {
+    assertNotEquals(new LongIntPair(1L, 2).hashCode(), new LongIntPair(2L, 1).hashCode());
+  }
+
+  /** Tests {@link LongIntPair#toString()}. */
+  @Test
+  public void toString_always_returnsAString() {
+    assertEquals("(1,2)", new LongIntPair(1L, 2).toString());
+  }
+}
@@ -0,0 +1,147 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link PairList} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+@Deprecated
+@SuppressWarnings("deprecation")
+public class PairListTest {
+  private static PairList<Long, Double> numbers(final long... inLefts) {
+    PairList<Long, Double> list = new PairList<>(Long.class, Double.class, 2);
+
+    for (long left : inLefts) {
+      list.add(Long.valueOf(left), Double.valueOf(left / 2.0));
+    }
+
+    return list;
+  }
+
+  /** Tests {@link PairList#add(Object, Object)}. */
+  @Test
+  public void add_manyPairs_growsTheList() {
+    PairList<Long, Double> list = numbers(5, 4, 3, 2, 1, 0);
+    assertEquals(6, list.size());
+    assertEquals(new Pair<>(Long.valueOf(3), Double.valueOf(1.5)), list.get(2));
+  }
+
+  /** Tests {@link PairList#add(Object, Object)}. */
+  @Test
+  public void add_nullInAPrimitiveColumn_throwsAnExceptionAndLeavesTheListUnchanged() {
+    PairList<Long, Double> list = numbers(1);
+
+    try {
+      list.add(Long.valueOf(2), null);
+    } catch (@SuppressWarnings("unused") NullPointerException e) {
+      assertEquals(1, list.size());
+      return;
+    }
+
+    throw new AssertionError("No exception");
+  }
+
+  /** Tests {@link PairList#add(Pair)}. */
+  @Test
+  public void add_objects_keepsNulls() {
+    PairList<String, Object> list = new PairList<>(String.class, Object.class);
+    list.add(new Pair<>(null, "b"));
+    assertEquals(new Pair<>(null, "b"), list.get(0));
+  }
+
+  /** Tests {@link PairList#binarySearchLeft(Object)}. */
+  @Test
+  public void binarySearchLeft_sortedList_findsTheObjects() {
+    PairList<Long, Double> list = numbers(8, 2, 6, 4);
+    list.sortByLeft();
+    assertEquals(2, list.binarySearchLeft(Long.valueOf(6)));
+    assertEquals(-2, list.binarySearchLeft(Long.valueOf(3)));
+    assertEquals(-5, list.binarySearchLeft(Long.valueOf(9)));
+  }
+
+  /** Tests {@link PairList#binarySearchRight(Object, Comparator)}. */
+  @Test
+  public void binarySearchRight_sortedWithAComparator_findsTheObjects() {
+    PairList<Integer, String> list = new PairList<>(Integer.class, String.class);
+    list.add(Integer.valueOf(1), "a10");
+    list.add(Integer.valueOf(2), "a2");
+    list.add(Integer.valueOf(3), "a1");
+    NaturalComparator comparator = new NaturalComparator();
+    list.sortByRight(comparator);
+    assertEquals(Arrays.asList("a1", "a2", "a10"), Arrays.asList(list.getRight(0), list.getRight(1), list.getRight(2)));
+    assertEquals(2, list.binarySearchRight("a10", comparator));
+  }
+
+  /** Tests {@link PairList#clear()}. */
+  @Test
+  public void clear_always_emptiesTheList() {
+    PairList<Long, Double> list = numbers(1, 2);
+    list.clear();
+    assertTrue(list.isEmpty());
+  }
+
+  /** Tests {@link PairList#get(int)}. */
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void get_outOfBounds_throwsAnException() {
+    numbers(1, 2).get(2);
+  }
+
+  /** Tests {@link PairList#remove(int)}. */
+  @Test
+  public void remove_aPair_movesTheFollowingPairs() {
+    PairList<Long, Double> list = numbers(1, 2, 3);
+    assertEquals(new Pair<>(Long.valueOf(2), Double.valueOf(1)), list.remove(1));
+    assertEquals(numbers(1, 3), list);
+  }
+
+  /** Tests {@link PairList#set(int, Pair)}. */
+  @Test
+  public void set_aPair_replacesThePair() {
+    PairList<Long, Double> list = numbers(1, 2);
+    list.set(0, new Pair<>(Long.valueOf(7), Double.valueOf(0)));
+    assertEquals(Long.valueOf(7), list.getLeft(0));
+    assertEquals(Double.valueOf(0), list.getRight(0));
+  }
+
+  /** Tests {@link PairList#sortByLeft(Comparator)}. */
+  @Test
+  public void sortByLeft_aComparator_sortsStably() {
+    PairList<String, Integer> list = new PairList<>(String.class, Integer.class);
+
+    for (int i = 0; i < 100; i++) {
+      list.add("x" + i % 3, Integer.valueOf(i));
+    }
+
+    list.sortByLeft(Comparator.reverseOrder());
+
+    for (int i = 1; i < 100; i++) {
+      int comparison = list.getLeft(i - 1).compareTo(list.getLeft(i));
+      assertTrue(comparison > 0 || comparison == 0 && list.getRight(i - 1).intValue() < list.getRight(i).intValue());
+    }
+  }
+
+  /** Tests {@link PairList#sortByRight()}. */
+  @Test
+  public void sortByRight_primitives_keepsThePairsTogether() {
+    PairList<Long, Double> list = new PairList<>(Long.class, Double.class);
+
+    for (int i = 0; i < 50; i++) {
+      list.add(Long.valueOf(i), Double.valueOf((i * 37) % 50));
+    }
+
+    list.sortByRight();
+
+    for (int i = 0; i < 50; i++) {
+      assertEquals(i, list.getRight(i).doubleValue(), 0);
+      assertEquals(i, (list.getLeft(i).longValue() * 37) % 50);
+    }
+  }
+}
@@ -2,9 +2,16 @@ package net.ghielmetti.utilities;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
 import org.junit.Test;
 
 /**
@@ -21,6 +28,31 @@ public class PairTest {
     assertNotNull(new Pair<>("a", "b"));
   }
 
+  /** Tests {@link Pair#equals(Object)}. */
+  @Test
+  public void equals_differentCachedHashes_returnsFalse() {
+    Pair<String, String> pair = new Pair<>("1", "2");
+    Pair<String, String> other = new Pair<>("1", "0");
+
+    // Both hash codes cached and different
+    assertTrue(pair.hashCode() != other.hashCode());
+    assertFalse(pair.equals(other));
+    assertFalse(other.equals(pair));
+  }
+
+  /** Tests {@link Pair#equals(Object)}. */
+  @Test
+  public void equals_equalCachedHashes_returnsTrue() {
+    Pair<String, String> pair = new Pair<>("1", "2");
+    Pair<String, String> other = new Pair<>("1", "2");
+    pair.hashCode();
+
+    // Only one hash code cached
+    assertTrue(pair.equals(other));
+    other.hashCode();
+    assertTrue(pair.equals(other));
+  }
+
   /** Tests {@link Pair#equals(Object)}. */
   @Test
   public void equals_equalObjects_returnsTrue() {
@@ -39,6 +71,21 @@ public class PairTest {
     assertTrue(new Pair<>("1", null).equals(new Pair<>("1", null)));
   }
 
+  /** Tests {@link Pair#equals(Object)}. */
+  @Test
+  public void equals_mutatedComponent_comparesTheComponents() {
+    List<String> list = new ArrayList<>();
+    list.add("1");
+    Pair<List<String>, String> pair = new Pair<>(list, "2");
+    Pair<List<String>, String> other = new Pair<List<String>, String>(new ArrayList<>(), "2");
+
+    // Hash code cached before the component changes
+    assertTrue(pair.hashCode() != other.hashCode());
+    other.getLeft().add("1");
+    assertTrue(pair.equals(other));
+    assertTrue(other.equals(pair));
+  }
+
   /** Tests {@link Pair#equals(Object)}. */
   @Test
   public void equals_notEqualObjects_returnsFalse() {
@@ -112,6 +159,17 @@ public class PairTest {
     assertEquals("b", new Pair<>("a", "b").getRight());
   }
 
+  /** Tests {@link Pair#hashCode()}. */
+  @Test
+  public void hashCode_calledTwice_returnsTheSameHash() {
+    Pair<String, String> pair = new Pair<>("1", "2");
+    int hash = pair.hashCode();
+
+    assertEquals(hash, pair.hashCode());
+    // The interned instance has the same hash code as the constructed one
+    assertEquals(hash, Pair.of("1", "2").hashCode());
+  }
+
   /** Tests {@link Pair#hashCode()}. */
   @Test
   public void hashCode_equalObjects_returnsSameHash() {
@@ -136,6 +194,28 @@ public class PairTest {
     assertTrue(new Pair<>("1", "2").hashCode() != new Pair<>("a", "b").hashCode());
   }
 
+  /** Tests {@link Pair#of(Object, Object)}. */
+  @Test
+  public void of_differentClasses_returnsDifferentInstances() {
+    Pair<List<String>, String> pair = Pair.of(new ArrayList<String>(), "b");
+    assertNotSame(pair, Pair.of(new LinkedList<String>(), "b"));
+  }
+
+  /** Tests {@link Pair#of(Object, Object)}. */
+  @Test
+  public void of_equalObjects_returnsTheSameInstance() {
+    Pair<String, Integer> pair = Pair.of(new String("a"), Integer.valueOf(1000));
+    assertSame(pair, Pair.of(new String("a"), Integer.valueOf(1000)));
+    assertEquals(new Pair<>("a", Integer.valueOf(1000)), pair);
+    assertEquals(new Pair<>("a", Integer.valueOf(1000)).hashCode(), pair.hashCode());
+  }
+
+  /** Tests {@link Pair#of(Object, Object)}. */
+  @Test
+  public void of_notEqualObjects_returnsDifferentPairs() {
+    assertNotEquals(Pair.of("a", null), Pair.of("a", "b"));
+  }
+
   /** Tests {@link Pair#toString()}. */
   @Test
   public void toString_always_returnsAString() {
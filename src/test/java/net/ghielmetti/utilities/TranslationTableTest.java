@@ -0,0 +1,78 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link TranslationTable} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class TranslationTableTest {
+  private TranslationTable table;
+
+  /** Tests {@link TranslationTable#format(int, Object...)}. */
+  @Test
+  public void format_aKnownKey_returnsTheTranslation() {
+    assertEquals("Una stringa conosciuta con 2 argomento.", table.format(1, Integer.valueOf(2)));
+  }
+
+  /**
+   * Tests {@link TranslationTable#formatTo(Appendable, int, Object...)}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void formatTo_aKnownKey_appendsTheTranslation() throws IOException {
+    StringBuilder builder = new StringBuilder("> ");
+    table.formatTo(builder, 1, Integer.valueOf(3));
+    assertEquals("> Una stringa conosciuta con 3 argomento.", builder.toString());
+  }
+
+  /** Tests {@link TranslationTable#get(int)}. */
+  @Test
+  public void get_anUnknownKey_returnsTheKey() {
+    assertEquals("unknown.{0}.string", table.get(2));
+  }
+
+  /** Tests {@link TranslationTable#get(int)}. */
+  @Test
+  public void get_aKnownKey_returnsTheTranslation() {
+    assertEquals("Una stringa conosciuta senza argomenti.", table.get(0));
+  }
+
+  /** Tests {@link TranslationTable#getKey(int)}. */
+  @Test
+  public void getKey_always_returnsTheKey() {
+    assertEquals("known.string.with.arguments", table.getKey(1));
+  }
+
+  /** Tests {@link TranslationTable#getLocale()}. */
+  @Test
+  public void getLocale_always_returnsTheLocale() {
+    assertEquals(Locale.ITALIAN, table.getLocale());
+  }
+
+  /** Initializes the tests. */
+  @Before
+  public void setUp() {
+    table = Translations.forLocale(Locale.ITALIAN).resolve("known.string.without.arguments", "known.string.with.arguments", "unknown.{0}.string");
+  }
+
+  /** Tests {@link TranslationTable#size()}. */
+  @Test
+  public void size_always_returnsTheNumberOfKeys() {
+    assertEquals(3, table.size());
+  }
+
+  /** Tests {@link TranslationTable#toString()}. */
+  @Test
+  public void toString_always_returnsAString() {
+    assertEquals("TranslationTable[locale=it, size=3]", table.toString());
+  }
+}
@@ -2,11 +2,23 @@ package net.ghielmetti.utilities;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.Locale;
 
+import org.junit.After;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  * Tests the {@link Translations} class.
@@ -14,21 +26,141 @@ import org.junit.Test;
  * @author Leopoldo Ghielmetti
  */
 public class TranslationsTest {
+  /** The folder where the labels files are written. */
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  /** Tests {@link Translations} constructor inaccessible. */
+  @Test
+  public void constructor_always_isPrivate() {
+    Constructor<?>[] constructors = Translations.class.getDeclaredConstructors();
+    assertEquals(1, constructors.length);
+
+    assertFalse(constructors[0].isAccessible());
+    assertTrue(Modifier.isPrivate(constructors[0].getModifiers()));
+  }
+
+  /** Tests {@link Translations#format(String, Object...)}. */
+  @Test
+  public void format_aKnownStringForADefinedLanguage_returnsTheTranslationFromRightPropertiesFile() {
+    Locale.setDefault(Locale.ENGLISH);
+    Translations.initialize();
+    assertEquals("Una stringa conosciuta con 1 argomento.", Translations.forLocale(Locale.ITALIAN).format("known.string.with.arguments", Integer.valueOf(1)));
+  }
+
+  /** Tests {@link Translations#format(String, Object...)}. */
+  @Test
+  public void format_aKnownStringForNotDefinedLanguage_neverUsesTheDefaultLocale() {
+    Locale.setDefault(Locale.ITALIAN);
+    Translations.initialize();
+    assertEquals("A known string with 1 argument.", Translations.forLocale(Locale.GERMAN).format("known.string.with.arguments", Integer.valueOf(1)));
+  }
+
+  /** Tests {@link Translations#format(String, Object...)}. */
+  @Test
+  public void format_aNumberArgument_usesTheLocaleOfTheTranslations() {
+    assertEquals("1.234 arguments.", Translations.forLocale(Locale.GERMAN).format("known.string.with.choice", Integer.valueOf(1234)));
+    assertEquals("1,234 arguments.", Translations.forLocale(Locale.ENGLISH).format("known.string.with.choice", Integer.valueOf(1234)));
+  }
+
+  /**
+   * Tests {@link Translations#formatTo(Appendable, String, Object...)}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void formatTo_anUnknownString_appendsTheOriginalString() throws IOException {
+    StringBuilder builder = new StringBuilder();
+    Translations.forLocale(Locale.ITALIAN).formatTo(builder, "unknown.string");
+    assertEquals("unknown.string", builder.toString());
+  }
+
+  /** Tests {@link Translations#forLocale(Locale)}. */
+  @Test
+  public void forLocale_sameLocale_returnsTheSameInstance() {
+    assertSame(Translations.forLocale(Locale.FRENCH), Translations.forLocale(Locale.FRENCH));
+    assertEquals(Locale.FRENCH, Translations.forLocale(Locale.FRENCH).getLocale());
+  }
+
+  /** Tests {@link Translations#getDefault()}. */
+  @Test
+  public void getDefault_always_returnsTheTranslationsOfTheDefaultLocale() {
+    Locale.setDefault(Locale.ITALIAN);
+    Translations.initialize();
+    assertEquals(Locale.ITALIAN, Translations.getDefault().getLocale());
+  }
+
   /**
-   * Tests {@link Translations} constructor inaccessible.
+   * Tests {@link Translations#reload()}.
    *
    * @throws Exception Not expected.
    */
   @Test
-  public void constructor_always_isPrivate() throws Exception {
-    Constructor<?>[] constructors = Translations.class.getDeclaredConstructors();
-    assertEquals(1, constructors.length);
+  public void reload_aChangedLabel_returnsTheNewTranslationToTheExistingInstances() throws Exception {
+    Path directory = temporaryFolder.getRoot().toPath();
+    writeLabels(directory.resolve("labels.properties"), "known.string.with.arguments = Old {0}");
+    Translations.watch(directory);
+    Translations english = Translations.forLocale(Locale.ENGLISH);
+    assertEquals("Old 1", english.format("known.string.with.arguments", Integer.valueOf(1)));
 
-    assertFalse(constructors[0].isAccessible());
+    writeLabels(directory.resolve("labels.properties"), "known.string.with.arguments = New {0}");
+    Translations.reload();
+    assertEquals("New 1", english.format("known.string.with.arguments", Integer.valueOf(1)));
+  }
+
+  /**
+   * Tests {@link Translations#reload()}.
+   *
+   * @throws Exception Not expected.
+   */
+  @Test
+  public void reload_anInstanceNoLongerCached_returnsTheNewTranslation() throws Exception {
+    Path directory = temporaryFolder.getRoot().toPath();
+    writeLabels(directory.resolve("labels.properties"), "known.string.with.arguments = Old {0}");
+    Translations.watch(directory);
+    Translations english = Translations.forLocale(Locale.ENGLISH);
+
+    // Drops the instance from the cache of the last used languages
+    for (int i = 0; i < 20; i++) {
+      Translations.forLocale(new Locale("x" + i));
+    }
+
+    Translations.initialize();
+    writeLabels(directory.resolve("labels.properties"), "known.string.with.arguments = New {0}");
+    Translations.reload();
+    assertEquals("New 1", english.format("known.string.with.arguments", Integer.valueOf(1)));
+  }
+
+  /** Tests {@link Translations#resolve(String...)}. */
+  @Test
+  public void resolve_someKeys_returnsATableInTheSameOrder() {
+    TranslationTable table = Translations.forLocale(Locale.ENGLISH).resolve("known.string.with.arguments", "known.string.without.arguments");
+    assertEquals("A known string with 1 argument.", table.format(0, Integer.valueOf(1)));
+    assertEquals("A known string without arguments.", table.get(1));
+  }
+
+  /** Tests {@link Translations#setCompactStorage(boolean)}. */
+  @Test
+  public void setCompactStorage_true_returnsTheSameTranslations() {
+    Translations.setCompactStorage(true);
+    Translations.initialize();
+    assertEquals("Una stringa conosciuta con 1 argomento.", Translations.forLocale(Locale.ITALIAN).format("known.string.with.arguments", Integer.valueOf(1)));
+    assertEquals("A known string without arguments.", Translations.forLocale(Locale.GERMAN).format("known.string.without.arguments"));
+    assertEquals("unknown.string", Translations.forLocale(Locale.GERMAN).format("unknown.string"));
+  }
 
-    // For coverage only, we call the constructor!
-    constructors[0].setAccessible(true);
-    constructors[0].newInstance((Object[]) null);
+  /** Resets the translations. */
+  @After
+  public void tearDown() {
+    Translations.stopWatching();
+    Translations.setCompactStorage(false);
+    Translations.initialize();
+  }
+
+  /** Tests {@link Translations#toString()}. */
+  @Test
+  public void toString_always_returnsAString() {
+    assertEquals("Translations[locale=fr]", Translations.forLocale(Locale.FRENCH).toString());
   }
 
   /** Tests {@link Translations#translate(String, Object...)}. */
@@ -47,6 +179,23 @@ public class TranslationsTest {
     assertEquals("A known string with 1 argument.", Translations.translate("known.string.with.arguments", Integer.valueOf(1)));
   }
 
+  /** Tests {@link Translations#translate(String, Object...)}. */
+  @Test
+  public void translate_aKnownStringWithChoice_returnsTheFormattedTranslation() {
+    Locale.setDefault(Locale.ENGLISH);
+    Translations.initialize();
+    assertEquals("No arguments.", Translations.translate("known.string.with.choice", Integer.valueOf(0)));
+    assertEquals("1,234 arguments.", Translations.translate("known.string.with.choice", Integer.valueOf(1234)));
+  }
+
+  /** Tests {@link Translations#translate(String, Object...)}. */
+  @Test
+  public void translate_aKnownStringWithQuotesForADefinedLanguage_returnsTheTranslationFromRightPropertiesFile() {
+    Locale.setDefault(Locale.ITALIAN);
+    Translations.initialize();
+    assertEquals("L'unica stringa conosciuta con 1 argomento.", Translations.translate("known.string.with.quote", Integer.valueOf(1)));
+  }
+
   /** Tests {@link Translations#translate(String, Object...)}. */
   @Test
   public void translate_aKnownStringWithoutArgumentsForADefinedLanguage_returnsTheTranslationFromRightPropertiesFile() {
@@ -69,4 +218,77 @@ public class TranslationsTest {
     Translations.initialize();
     assertEquals("unknown.string", Translations.translate("unknown.string"));
   }
+
+  /**
+   * Tests {@link Translations#translateTo(Appendable, String, Object...)}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void translateTo_aKnownString_appendsTheTranslation() throws IOException {
+    Locale.setDefault(Locale.ITALIAN);
+    Translations.initialize();
+    StringBuilder builder = new StringBuilder();
+    Translations.translateTo(builder, "known.string.with.arguments", Integer.valueOf(1));
+    assertEquals("Una stringa conosciuta con 1 argomento.", builder.toString());
+  }
+
+  /**
+   * Tests {@link Translations#watch(Path)}.
+   *
+   * @throws Exception Not expected.
+   */
+  @Test
+  public void watch_aFileChanges_reloadsTheTranslations() throws Exception {
+    Locale.setDefault(Locale.ITALIAN);
+    Path directory = temporaryFolder.getRoot().toPath();
+    writeLabels(directory.resolve("labels.properties"), "known.string.without.arguments = Default");
+    writeLabels(directory.resolve("labels_it.properties"), "known.string.without.arguments = Prima");
+    Translations.watch(directory);
+    assertEquals("Prima", Translations.translate("known.string.without.arguments"));
+
+    writeLabels(directory.resolve("labels_it.properties"), "known.string.without.arguments = Dopo");
+
+    for (int i = 0; i < 100 && !"Dopo".equals(Translations.translate("known.string.without.arguments")); i++) {
+      Thread.sleep(100);
+    }
+
+    assertEquals("Dopo", Translations.translate("known.string.without.arguments"));
+  }
+
+  /**
+   * Tests {@link Translations#watch(Path)}.
+   *
+   * @throws Exception Not expected.
+   */
+  @Test
+  public void watch_theDirectoryIsDeleted_stopsWatching() throws Exception {
+    Path directory = temporaryFolder.newFolder().toPath();
+    writeLabels(directory.resolve("labels.properties"), "known.string.without.arguments = Watched");
+    Translations.watch(directory);
+    assertEquals("Watched", Translations.forLocale(Locale.ENGLISH).format("known.string.without.arguments"));
+
+    Files.delete(directory.resolve("labels.properties"));
+    Files.delete(directory);
+
+    for (int i = 0; i < 100 && !"A known string without arguments.".equals(Translations.forLocale(Locale.ENGLISH).format("known.string.without.arguments")); i++) {
+      Thread.sleep(100);
+    }
+
+    assertEquals("A known string without arguments.", Translations.forLocale(Locale.ENGLISH).format("known.string.without.arguments"));
+  }
+
+  /**
+   * Tests {@link Translations#watch(Path)}.
+   *
+   * @throws Exception Expected.
+   */
+  @Test(expected = NoSuchFileException.class)
+  public void watch_aMissingDirectory_throwsAnException() throws Exception {
+    Translations.watch(temporaryFolder.getRoot().toPath().resolve("missing"));
+  }
+
+  private static void writeLabels(final Path inFile, final String inContent) throws IOException {
+    Files.write(inFile, Collections.singletonList(inContent), StandardCharsets.ISO_8859_1);
+  }
 }
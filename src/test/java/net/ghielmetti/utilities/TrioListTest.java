@@ -0,0 +1,84 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Comparator;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link TrioList} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+@Deprecated
+@SuppressWarnings("deprecation")
+public class TrioListTest {
+  private static TrioList<Integer, String, Double> list() {
+    TrioList<Integer, String, Double> list = new TrioList<>(Integer.class, String.class, Double.class);
+    list.add(Integer.valueOf(3), "b", Double.valueOf(0.5));
+    list.add(Integer.valueOf(1), "c", Double.valueOf(0.1));
+    list.add(Integer.valueOf(2), "a", Double.valueOf(0.3));
+    return list;
+  }
+
+  /** Tests {@link TrioList#add(Trio)}. */
+  @Test
+  public void add_aTrio_canBeRetrieved() {
+    TrioList<Integer, String, Double> list = list();
+    list.add(new Trio<>(Integer.valueOf(4), null, Double.valueOf(1)));
+    assertEquals(new Trio<>(Integer.valueOf(4), null, Double.valueOf(1)), list.get(3));
+  }
+
+  /** Tests {@link TrioList#binarySearchCenter(Object)}. */
+  @Test
+  public void binarySearchCenter_sortedList_findsTheObject() {
+    TrioList<Integer, String, Double> list = list();
+    list.sortByCenter();
+    assertEquals(2, list.binarySearchCenter("c"));
+    assertEquals(-1, list.binarySearchCenter("0"));
+  }
+
+  /** Tests {@link TrioList#remove(int)}. */
+  @Test
+  public void remove_aTrio_movesTheFollowingTrios() {
+    TrioList<Integer, String, Double> list = list();
+    list.remove(0);
+    assertEquals("c", list.getCenter(0));
+    assertEquals(Double.valueOf(0.3), list.getRight(1));
+  }
+
+  /** Tests {@link TrioList#set(int, Trio)}. */
+  @Test
+  public void set_aNullInAPrimitiveColumn_keepsThePreviousTrio() {
+    TrioList<Integer, String, Double> list = list();
+
+    try {
+      list.set(0, new Trio<>(Integer.valueOf(9), "z", null));
+    } catch (@SuppressWarnings("unused") NullPointerException e) {
+      assertEquals(new Trio<>(Integer.valueOf(3), "b", Double.valueOf(0.5)), list.get(0));
+      return;
+    }
+
+    throw new AssertionError("No exception");
+  }
+
+  /** Tests {@link TrioList#sortByLeft()}. */
+  @Test
+  public void sortByLeft_always_sortsTheTrios() {
+    TrioList<Integer, String, Double> list = list();
+    list.sortByLeft();
+    assertEquals(new Trio<>(Integer.valueOf(1), "c", Double.valueOf(0.1)), list.get(0));
+    assertEquals(new Trio<>(Integer.valueOf(3), "b", Double.valueOf(0.5)), list.get(2));
+    assertEquals(1, list.binarySearchLeft(Integer.valueOf(2)));
+  }
+
+  /** Tests {@link TrioList#sortByRight(Comparator)}. */
+  @Test
+  public void sortByRight_aComparator_sortsTheTrios() {
+    TrioList<Integer, String, Double> list = list();
+    list.sortByRight(Comparator.reverseOrder());
+    assertEquals("b", list.getCenter(0));
+    assertEquals(0, list.binarySearchRight(Double.valueOf(0.5), Comparator.reverseOrder()));
+  }
+}
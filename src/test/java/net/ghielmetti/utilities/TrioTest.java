@@ -2,9 +2,15 @@ package net.ghielmetti.utilities;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Test;
 
 /**
@@ -21,6 +27,31 @@ public class TrioTest {
     assertNotNull(new Trio<>("a", "b", "c"));
   }
 
+  /** Tests {@link Trio#equals(Object)}. */
+  @Test
+  public void equals_differentCachedHashes_returnsFalse() {
+    Trio<String, String, String> trio = new Trio<>("1", "2", "3");
+    Trio<String, String, String> other = new Trio<>("1", "2", "0");
+
+    // Both hash codes cached and different
+    assertTrue(trio.hashCode() != other.hashCode());
+    assertFalse(trio.equals(other));
+    assertFalse(other.equals(trio));
+  }
+
+  /** Tests {@link Trio#equals(Object)}. */
+  @Test
+  public void equals_equalCachedHashes_returnsTrue() {
+    Trio<String, String, String> trio = new Trio<>("1", "2", "3");
+    Trio<String, String, String> other = new Trio<>("1", "2", "3");
+    trio.hashCode();
+
+    // Only one hash code cached
+    assertTrue(trio.equals(other));
+    other.hashCode();
+    assertTrue(trio.equals(other));
+  }
+
   /** Tests {@link Trio#equals(Object)}. */
   @Test
   public void equals_equalObjects_returnsTrue() {
@@ -45,6 +76,21 @@ public class TrioTest {
     assertTrue(new Trio<>("1", "2", null).equals(new Trio<>("1", "2", null)));
   }
 
+  /** Tests {@link Trio#equals(Object)}. */
+  @Test
+  public void equals_mutatedComponent_comparesTheComponents() {
+    List<String> list = new ArrayList<>();
+    list.add("1");
+    Trio<String, List<String>, String> trio = new Trio<>("0", list, "2");
+    Trio<String, List<String>, String> other = new Trio<String, List<String>, String>("0", new ArrayList<>(), "2");
+
+    // Hash code cached before the component changes
+    assertTrue(trio.hashCode() != other.hashCode());
+    other.getCenter().add("1");
+    assertTrue(trio.equals(other));
+    assertTrue(other.equals(trio));
+  }
+
   /** Tests {@link Trio#equals(Object)}. */
   @Test
   public void equals_notEqualObjects_returnsFalse() {
@@ -142,6 +188,17 @@ public class TrioTest {
     assertEquals("c", new Trio<>("a", "b", "c").getRight());
   }
 
+  /** Tests {@link Trio#hashCode()}. */
+  @Test
+  public void hashCode_calledTwice_returnsTheSameHash() {
+    Trio<String, String, String> trio = new Trio<>("1", "2", "3");
+    int hash = trio.hashCode();
+
+    assertEquals(hash, trio.hashCode());
+    // The interned instance has the same hash code as the constructed one
+    assertEquals(hash, Trio.of("1", "2", "3").hashCode());
+  }
+
   /** Tests {@link Trio#hashCode()}. */
   @Test
   public void hashCode_equalObjects_returnsSameHash() {
@@ -172,6 +229,22 @@ public class TrioTest {
     assertTrue(new Trio<>("1", "2", "3").hashCode() != new Trio<>("a", "b", "c").hashCode());
   }
 
+  /** Tests {@link Trio#of(Object, Object, Object)}. */
+  @Test
+  public void of_equalObjects_returnsTheSameInstance() {
+    Trio<String, Integer, String> trio = Trio.of(new String("a"), Integer.valueOf(1000), null);
+    assertSame(trio, Trio.of(new String("a"), Integer.valueOf(1000), null));
+    assertEquals(new Trio<>("a", Integer.valueOf(1000), null), trio);
+    assertEquals(new Trio<>("a", Integer.valueOf(1000), null).hashCode(), trio.hashCode());
+  }
+
+  /** Tests {@link Trio#of(Object, Object, Object)}. */
+  @Test
+  public void of_notEqualObjects_returnsDifferentTrios() {
+    assertNotEquals(Trio.of("a", "b", "c"), Trio.of("a", "b", "d"));
+    assertNotSame(Trio.of(Integer.valueOf(1), "b", "c"), Trio.of(Long.valueOf(1), "b", "c"));
+  }
+
   /** Tests {@link Trio#toString()}. */
   @Test
   public void toString_always_returnsAString() {
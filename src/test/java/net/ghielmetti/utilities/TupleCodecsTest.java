@@ -0,0 +1,35 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link TupleCodecs} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class TupleCodecsTest {
+  /**
+   * Tests {@link TupleCodecs#nullable(TupleCodec)}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void nullable_nullAndValues_areReadBack() throws IOException {
+    TupleCodec<Double> codec = TupleCodecs.nullable(TupleCodecs.DOUBLE);
+    ByteBuffer buffer = ByteBuffer.allocate(100);
+    TupleOutput output = TupleOutput.of(buffer);
+    codec.write(output, null);
+    codec.write(output, Double.valueOf(2.5));
+    assertEquals(10, buffer.position());
+    buffer.flip();
+    TupleInput input = TupleInput.of(buffer);
+    assertNull(codec.read(input));
+    assertEquals(Double.valueOf(2.5), codec.read(input));
+  }
+}
@@ -0,0 +1,299 @@
+package net.ghielmetti.utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the {@link HashMap} lookups of {@link Pair} and {@link Trio} with the previous hash code (31 multiplier,
+ * computed at each call) kept in {@link LegacyPair} and {@link LegacyTrio}.<br>
+ * The keys are the cells of a narrow grid, with small columns, the best case for the previous hash code. Run with the
+ * {@link #main(String[])} method, it prints the buckets collision rate of each key kind, and of the pairs of a square
+ * grid, the worst case for the previous hash code, before running the JMH measures.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+@Deprecated
+@SuppressWarnings("deprecation")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TupleHashBenchmark {
+  private static final int ROWS    = 2000;
+  private static final int COLUMNS = 32;
+  private static final int KEYS    = ROWS * COLUMNS;
+
+  private Map<Pair<Integer, Integer>, Integer>                pairs;
+  private Map<LegacyPair, Integer>                            legacyPairs;
+  private Map<Trio<Integer, Integer, Integer>, Integer>       trios;
+  private Map<LegacyTrio, Integer>                            legacyTrios;
+  private Map<Pair<Pair<Integer, Integer>, Integer>, Integer> deepPairs;
+  private Map<LegacyPair, Integer>                            legacyDeepPairs;
+  // Equal to the keys of the maps but different instances, as in a real lookup
+  private Object[]                                            pairProbes;
+  private Object[]                                            legacyPairProbes;
+  private Object[]                                            trioProbes;
+  private Object[]                                            legacyTrioProbes;
+  private Object[]                                            deepPairProbes;
+  private Object[]                                            legacyDeepPairProbes;
+
+  /**
+   * Prints the collision rates and runs the benchmark.
+   *
+   * @param inArguments Not used.
+   * @throws RunnerException If the benchmark fails.
+   */
+  public static void main(final String[] inArguments) throws RunnerException {
+    TupleHashBenchmark benchmark = new TupleHashBenchmark();
+    benchmark.setUp();
+    System.out.println("Bucket collisions for " + KEYS + " keys in a HashMap:");
+    System.out.println("  Pair           " + collisionRate(benchmark.pairProbes));
+    System.out.println("  LegacyPair     " + collisionRate(benchmark.legacyPairProbes));
+    System.out.println("  Trio           " + collisionRate(benchmark.trioProbes));
+    System.out.println("  LegacyTrio     " + collisionRate(benchmark.legacyTrioProbes));
+    System.out.println("  DeepPair       " + collisionRate(benchmark.deepPairProbes));
+    System.out.println("  LegacyDeepPair " + collisionRate(benchmark.legacyDeepPairProbes));
+    System.out.println("  SquarePair     " + collisionRate(squareGrid(false)));
+    System.out.println("  LegacySquare   " + collisionRate(squareGrid(true)));
+    new Runner(new OptionsBuilder().include(TupleHashBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  /**
+   * Returns the percentage of keys that don't have a bucket of their own in a {@link HashMap} of default load factor.
+   *
+   * @param inKeys The keys.
+   * @return The collision rate.
+   */
+  private static String collisionRate(final Object[] inKeys) {
+    int tableSize = Integer.highestOneBit(inKeys.length * 4 / 3) << 1;
+    Set<Integer> buckets = new HashSet<>();
+
+    for (Object key : inKeys) {
+      int h = key.hashCode();
+      // The same spreading as the one of HashMap
+      buckets.add(Integer.valueOf((h ^ h >>> 16) & tableSize - 1));
+    }
+
+    return String.format("%.1f%%", Double.valueOf(100.0 * (inKeys.length - buckets.size()) / inKeys.length));
+  }
+
+  private static int lookup(final Map<?, Integer> inMap, final Object[] inProbes) {
+    int sum = 0;
+
+    for (Object probe : inProbes) {
+      sum += inMap.get(probe).intValue();
+    }
+
+    return sum;
+  }
+
+  /**
+   * Returns the pairs of the cells of a square grid of {@link #KEYS} cells.
+   *
+   * @param inLegacy <code>true</code> for {@link LegacyPair}, <code>false</code> for {@link Pair}.
+   * @return The pairs.
+   */
+  private static Object[] squareGrid(final boolean inLegacy) {
+    int side = (int) Math.sqrt(KEYS);
+    Object[] keys = new Object[side * side];
+
+    for (int row = 0; row < side; row++) {
+      for (int column = 0; column < side; column++) {
+        Integer r = Integer.valueOf(row);
+        Integer c = Integer.valueOf(column);
+        keys[row * side + column] = inLegacy ? new LegacyPair(r, c) : new Pair<>(r, c);
+      }
+    }
+
+    return keys;
+  }
+
+  /**
+   * Lookups with the {@link Pair} of {@link Pair} keys.
+   *
+   * @return A value to avoid dead code elimination.
+   */
+  @Benchmark
+  @OperationsPerInvocation(KEYS)
+  public int deepPair() {
+    return lookup(deepPairs, deepPairProbes);
+  }
+
+  /**
+   * Lookups with the {@link LegacyPair} of {@link LegacyPair} keys.
+   *
+   * @return A value to avoid dead code elimination.
+   */
+  @Benchmark
+  @OperationsPerInvocation(KEYS)
+  public int legacyDeepPair() {
+    return lookup(legacyDeepPairs, legacyDeepPairProbes);
+  }
+
+  /**
+   * Lookups with the {@link LegacyPair} keys.
+   *
+   * @return A value to avoid dead code elimination.
+   */
+  @Benchmark
+  @OperationsPerInvocation(KEYS)
+  public int legacyPair() {
+    return lookup(legacyPairs, legacyPairProbes);
+  }
+
+  /**
+   * Lookups with the {@link LegacyTrio} keys.
+   *
+   * @return A value to avoid dead code elimination.
+   */
+  @Benchmark
+  @OperationsPerInvocation(KEYS)
+  public int legacyTrio() {
+    return lookup(legacyTrios, legacyTrioProbes);
+  }
+
+  /**
+   * Lookups with the {@link Pair} keys.
+   *
+   * @return A value to avoid dead code elimination.
+   */
+  @Benchmark
+  @OperationsPerInvocation(KEYS)
+  public int pair() {
+    return lookup(pairs, pairProbes);
+  }
+
+  /** Creates the maps and the probes. */
+  @Setup
+  public void setUp() {
+    pairs = new HashMap<>();
+    legacyPairs = new HashMap<>();
+    trios = new HashMap<>();
+    legacyTrios = new HashMap<>();
+    deepPairs = new HashMap<>();
+    legacyDeepPairs = new HashMap<>();
+    pairProbes = new Object[KEYS];
+    legacyPairProbes = new Object[KEYS];
+    trioProbes = new Object[KEYS];
+    legacyTrioProbes = new Object[KEYS];
+    deepPairProbes = new Object[KEYS];
+    legacyDeepPairProbes = new Object[KEYS];
+
+    // The probes are looked up in random order, like in a real application
+    List<Integer> order = new ArrayList<>();
+
+    for (int i = 0; i < KEYS; i++) {
+      order.add(Integer.valueOf(i));
+    }
+
+    Collections.shuffle(order, new Random(1));
+
+    for (int row = 0; row < ROWS; row++) {
+      for (int column = 0; column < COLUMNS; column++) {
+        int index = order.get(row * COLUMNS + column).intValue();
+        Integer r = Integer.valueOf(row);
+        Integer c = Integer.valueOf(column);
+        Integer s = Integer.valueOf(column % 4);
+        Integer value = Integer.valueOf(row);
+
+        pairs.put(new Pair<>(r, c), value);
+        legacyPairs.put(new LegacyPair(r, c), value);
+        trios.put(new Trio<>(s, r, c), value);
+        legacyTrios.put(new LegacyTrio(s, r, c), value);
+        deepPairs.put(new Pair<>(new Pair<>(r, c), s), value);
+        legacyDeepPairs.put(new LegacyPair(new LegacyPair(r, c), s), value);
+        pairProbes[index] = new Pair<>(r, c);
+        legacyPairProbes[index] = new LegacyPair(r, c);
+        trioProbes[index] = new Trio<>(s, r, c);
+        legacyTrioProbes[index] = new LegacyTrio(s, r, c);
+        deepPairProbes[index] = new Pair<>(new Pair<>(r, c), s);
+        legacyDeepPairProbes[index] = new LegacyPair(new LegacyPair(r, c), s);
+      }
+    }
+  }
+
+  /**
+   * Lookups with the {@link Trio} keys.
+   *
+   * @return A value to avoid dead code elimination.
+   */
+  @Benchmark
+  @OperationsPerInvocation(KEYS)
+  public int trio() {
+    return lookup(trios, trioProbes);
+  }
+
+  /** A pair with the previous hash code of {@link Pair}. */
+  private static final class LegacyPair {
+    private final Object left;
+    private final Object right;
+
+    LegacyPair(final Object inLeft, final Object inRight) {
+      left = inLeft;
+      right = inRight;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      return obj instanceof LegacyPair && Objects.equals(left, ((LegacyPair) obj).left) && Objects.equals(right, ((LegacyPair) obj).right);
+    }
+
+    @Override
+    public int hashCode() {
+      return (31 + Objects.hashCode(left)) * 31 + Objects.hashCode(right);
+    }
+  }
+
+  /** A trio with the previous hash code of {@link Trio}. */
+  private static final class LegacyTrio {
+    private final Object left;
+    private final Object center;
+    private final Object right;
+
+    LegacyTrio(final Object inLeft, final Object inCenter, final Object inRight) {
+      left = inLeft;
+      center = inCenter;
+      right = inRight;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof LegacyTrio)) {
+        return false;
+      }
+
+      LegacyTrio other = (LegacyTrio) obj;
+      return Objects.equals(left, other.left) && Objects.equals(center, other.center) && Objects.equals(right, other.right);
+    }
+
+    @Override
+    public int hashCode() {
+      return ((31 + Objects.hashCode(center)) * 31 + Objects.hashCode(left)) * 31 + Objects.hashCode(right);
+    }
+  }
+}
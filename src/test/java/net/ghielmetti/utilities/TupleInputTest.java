@@ -0,0 +1,175 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link TupleInput} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+@Deprecated
+@SuppressWarnings("deprecation")
+public class TupleInputTest {
+  /**
+   * Tests {@link TupleInput#of(java.io.DataInput)}.
+   *
+   * @throws IOException Expected.
+   */
+  @Test(expected = EOFException.class)
+  public void of_aTruncatedStream_throwsAnException() throws IOException {
+    TupleInput.of(new DataInputStream(new ByteArrayInputStream(new byte[] { (byte) 0x80 }))).readInt();
+  }
+
+  /**
+   * Tests {@link TupleInput#readInt()}.
+   *
+   * @throws IOException Expected.
+   */
+  @Test(expected = StreamCorruptedException.class)
+  public void readInt_overflowingFifthByte_throwsAnException() throws IOException {
+    TupleInput.of(ByteBuffer.wrap(new byte[] { -1, -1, -1, -1, 0x10 })).readInt();
+  }
+
+  /**
+   * Tests {@link TupleInput#readInt()}.
+   *
+   * @throws IOException Expected.
+   */
+  @Test(expected = StreamCorruptedException.class)
+  public void readInt_tooManyBytes_throwsAnException() throws IOException {
+    TupleInput.of(ByteBuffer.wrap(new byte[] { -1, -1, -1, -1, -1, 1 })).readInt();
+  }
+
+  /**
+   * Tests {@link TupleInput#readLong()}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void readLong_anyValue_returnsTheWrittenValue() throws IOException {
+    long[] values = { 0, 1, -1, 63, -64, 64, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE };
+    ByteBuffer buffer = ByteBuffer.allocate(200);
+    TupleOutput output = TupleOutput.of(buffer);
+
+    for (long value : values) {
+      output.writeLong(value);
+      output.writeInt((int) value);
+    }
+
+    buffer.flip();
+    TupleInput input = TupleInput.of(buffer);
+
+    for (long value : values) {
+      assertEquals(value, input.readLong());
+      assertEquals((int) value, input.readInt());
+    }
+  }
+
+  /**
+   * Tests {@link TupleInput#readPair(TupleCodec, TupleCodec)}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void readPair_aStreamOfPairs_returnsThePairs() throws IOException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    TupleOutput output = TupleOutput.of(new DataOutputStream(stream));
+
+    for (int i = 0; i < 100; i++) {
+      output.writePair(new Pair<>("key" + i % 7, Double.valueOf(i / 3.0)), TupleCodecs.STRING, TupleCodecs.DOUBLE);
+    }
+
+    TupleInput input = TupleInput.of(new DataInputStream(new ByteArrayInputStream(stream.toByteArray())));
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals(new Pair<>("key" + i % 7, Double.valueOf(i / 3.0)), input.readPair(TupleCodecs.STRING, TupleCodecs.DOUBLE));
+    }
+  }
+
+  /**
+   * Tests {@link TupleInput#readString()}.
+   *
+   * @throws IOException Expected.
+   */
+  @Test(expected = StreamCorruptedException.class)
+  public void readString_aLengthLongerThanTheBuffer_throwsAnException() throws IOException {
+    TupleInput.of(ByteBuffer.wrap(new byte[] { TupleOutput.NEW_STRING, -1, -1, -1, 0x7F, 'a' })).readString();
+  }
+
+  /**
+   * Tests {@link TupleInput#readString()}.
+   *
+   * @throws IOException Expected.
+   */
+  @Test(expected = EOFException.class)
+  public void readString_aLengthLongerThanTheInput_throwsAnException() throws IOException {
+    TupleInput.of(new DataInputStream(new ByteArrayInputStream(new byte[] { TupleOutput.NEW_STRING, -1, -1, -1, -1, 0x07, 'a' }))).readString();
+  }
+
+  /**
+   * Tests {@link TupleInput#readString()}.
+   *
+   * @throws IOException Expected.
+   */
+  @Test(expected = StreamCorruptedException.class)
+  public void readString_aNegativeLength_throwsAnException() throws IOException {
+    TupleInput.of(ByteBuffer.wrap(new byte[] { TupleOutput.NEW_STRING, -1, -1, -1, -1, 0x0F })).readString();
+  }
+
+  /**
+   * Tests {@link TupleInput#readString()}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void readString_repeatedStrings_returnsTheSameInstance() throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(100);
+    TupleOutput output = TupleOutput.of(buffer);
+    output.writeString("ünïcödé");
+    output.writeString(null);
+    output.writeString("ünïcödé");
+    buffer.flip();
+    TupleInput input = TupleInput.of(buffer);
+    String first = input.readString();
+    assertEquals("ünïcödé", first);
+    assertNull(input.readString());
+    assertSame(first, input.readString());
+  }
+
+  /**
+   * Tests {@link TupleInput#readString()}.
+   *
+   * @throws IOException Expected.
+   */
+  @Test(expected = StreamCorruptedException.class)
+  public void readString_unknownReference_throwsAnException() throws IOException {
+    TupleInput.of(ByteBuffer.wrap(new byte[] { 5 })).readString();
+  }
+
+  /**
+   * Tests {@link TupleInput#readTrio(TupleCodec, TupleCodec, TupleCodec)}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void readTrio_aTrio_returnsTheTrio() throws IOException {
+    Trio<Integer, String, Long> trio = new Trio<>(Integer.valueOf(-7), null, Long.valueOf(1L << 40));
+    ByteBuffer buffer = ByteBuffer.allocate(100);
+    TupleOutput.of(buffer).writeTrio(trio, TupleCodecs.INTEGER, TupleCodecs.STRING, TupleCodecs.LONG);
+    buffer.flip();
+    assertEquals(trio, TupleInput.of(buffer).readTrio(TupleCodecs.INTEGER, TupleCodecs.STRING, TupleCodecs.LONG));
+  }
+}
@@ -0,0 +1,101 @@
+package net.ghielmetti.utilities;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link TupleOutput} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+@Deprecated
+@SuppressWarnings("deprecation")
+public class TupleOutputTest {
+  /**
+   * Tests {@link TupleOutput#of(ByteBuffer)}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void of_bothOutputs_writeTheSameBytes() throws IOException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    ByteBuffer buffer = ByteBuffer.allocate(100);
+    TupleOutput data = TupleOutput.of(new DataOutputStream(stream));
+    TupleOutput bytes = TupleOutput.of(buffer);
+
+    for (TupleOutput output : new TupleOutput[] { data, bytes }) {
+      output.writeTrio(new Trio<>("é", Double.valueOf(1.5), Long.valueOf(-300)), TupleCodecs.STRING, TupleCodecs.DOUBLE, TupleCodecs.LONG);
+    }
+
+    byte[] written = new byte[buffer.position()];
+    buffer.flip();
+    buffer.get(written);
+    assertArrayEquals(stream.toByteArray(), written);
+  }
+
+  /**
+   * Tests {@link TupleOutput#writeInt(int)}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void writeInt_smallValues_takeOneByte() throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(100);
+    TupleOutput output = TupleOutput.of(buffer);
+    output.writeInt(0);
+    output.writeInt(-64);
+    output.writeInt(63);
+    assertEquals(3, buffer.position());
+    output.writeInt(Integer.MIN_VALUE);
+    assertEquals(8, buffer.position());
+  }
+
+  /**
+   * Tests {@link TupleOutput#writeLong(long)}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void writeLong_extremeValues_takeTenBytes() throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(100);
+    TupleOutput output = TupleOutput.of(buffer);
+    output.writeLong(Long.MAX_VALUE);
+    output.writeLong(Long.MIN_VALUE);
+    assertEquals(20, buffer.position());
+  }
+
+  /**
+   * Tests {@link TupleOutput#writePair(Pair, TupleCodec, TupleCodec)}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void writePair_smallValues_takesFewBytes() throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(100);
+    TupleOutput.of(buffer).writePair(new Pair<>(Integer.valueOf(5), Long.valueOf(-5)), TupleCodecs.INTEGER, TupleCodecs.LONG);
+    assertEquals(2, buffer.position());
+  }
+
+  /**
+   * Tests {@link TupleOutput#writeString(String)}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void writeString_repeatedStrings_areWrittenOnce() throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(100);
+    TupleOutput output = TupleOutput.of(buffer);
+    output.writeString("a long string");
+    assertEquals(15, buffer.position());
+    output.writeString("a long string");
+    output.writeString(null);
+    assertEquals(17, buffer.position());
+  }
+}
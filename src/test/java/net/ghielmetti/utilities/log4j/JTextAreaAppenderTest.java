@@ -1,9 +1,303 @@
 package net.ghielmetti.utilities.log4j;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+
+import org.apache.log4j.Layout;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import net.ghielmetti.utilities.swing.JLogView;
+import net.ghielmetti.utilities.swing.JTextAreaPanel;
+import net.ghielmetti.utilities.swing.LogStore;
+import net.ghielmetti.utilities.swing.text.JBoundedDocument;
+
 /**
  * Tests for {@link JTextAreaAppender} class.
  * 
  * @author Leopoldo Ghielmetti
  */
 public class JTextAreaAppenderTest {
+  private final BlockingLayout layout   = new BlockingLayout();
+  private JTextAreaAppender    appender = new JTextAreaAppender();
+
+  private static LoggingEvent event(final Level inLevel, final String inMessage) {
+    return new LoggingEvent(JTextAreaAppenderTest.class.getName(), Logger.getLogger("test"), inLevel, inMessage, null);
+  }
+
+  private static String text(final JTextAreaPanel inPanel) throws InterruptedException, InvocationTargetException {
+    String[] text = new String[1];
+    SwingUtilities.invokeAndWait(() -> text[0] = ((JTextArea) ((JScrollPane) inPanel.getComponent(0)).getViewport().getView()).getText());
+    return text[0];
+  }
+
+  /** Closes the appender. */
+  @After
+  public void close() {
+    layout.release.countDown();
+    appender.close();
+  }
+
+  /** Tests {@link JTextAreaAppender#close()}. */
+  @Test
+  public void close_queuedEvents_formatted() throws InterruptedException, InvocationTargetException {
+    startAsync(10, "DROP_OLDEST");
+    appender.doAppend(event(Level.INFO, "e1"));
+    layout.entered.await();
+    appender.doAppend(event(Level.INFO, "e2"));
+    appender.doAppend(event(Level.INFO, "e3"));
+    Thread closer = new Thread(appender::close);
+
+    // The interruption of the formatter ends the wait of the first event
+    closer.start();
+    layout.awaitFormatted(1);
+    layout.release.countDown();
+    closer.join(5000);
+
+    assertFalse(closer.isAlive());
+    assertEquals(Arrays.asList("e1", "e2", "e3"), layout.awaitFormatted(3));
+    assertEquals(0, appender.getQueuedEvents());
+    assertEquals(0, appender.getDroppedEvents());
+  }
+
+  /** Tests {@link JTextAreaAppender#doAppend(LoggingEvent)}. */
+  @Test
+  public void doAppend_async_formattedByAppenderThread() throws InterruptedException, InvocationTargetException {
+    startAsync(10, "DROP_OLDEST");
+    layout.release.countDown();
+
+    appender.doAppend(event(Level.INFO, "e1"));
+    appender.doAppend(event(Level.INFO, "e2"));
+
+    assertEquals(Arrays.asList("e1", "e2"), layout.awaitFormatted(2));
+    assertEquals(0, appender.getDroppedEvents());
+    assertTrue(layout.threads.get(0).startsWith("JTextAreaAppender "));
+    waitForText("e1\ne2\n");
+  }
+
+  /** Tests {@link JTextAreaAppender#doAppend(LoggingEvent)}. */
+  @Test
+  public void doAppend_blockFullQueueNoRoom_droppedAfterTimeout() throws InterruptedException {
+    startAsync(1, "BLOCK");
+    appender.doAppend(event(Level.INFO, "e1"));
+    layout.entered.await();
+    appender.doAppend(event(Level.INFO, "e2"));
+
+    // The formatter stays stuck on the first event
+    appender.doAppend(event(Level.INFO, "e3"));
+
+    assertEquals(1, appender.getDroppedEvents());
+    assertEquals(1, appender.getQueuedEvents());
+    layout.release.countDown();
+  }
+
+  /** Tests {@link JTextAreaAppender#doAppend(LoggingEvent)}. */
+  @Test
+  public void doAppend_blockFullQueue_waitsForRoom() throws InterruptedException {
+    startAsync(1, "BLOCK");
+    appender.doAppend(event(Level.INFO, "e1"));
+    layout.entered.await();
+    appender.doAppend(event(Level.INFO, "e2"));
+    Thread logger = new Thread(() -> appender.doAppend(event(Level.INFO, "e3")));
+
+    logger.start();
+    logger.join(200);
+
+    assertTrue(logger.isAlive());
+    // Read while the blocked logging thread holds the lock of the appender
+    assertEquals(1, appender.getQueuedEvents());
+
+    layout.release.countDown();
+    logger.join(5000);
+
+    assertFalse(logger.isAlive());
+    assertEquals(Arrays.asList("e1", "e2", "e3"), layout.awaitFormatted(3));
+    assertEquals(0, appender.getDroppedEvents());
+  }
+
+  /** Tests {@link JTextAreaAppender#doAppend(LoggingEvent)}. */
+  @Test
+  public void doAppend_dropBelowLevelFullQueue_lowLevelsDropped() throws InterruptedException {
+    startAsync(2, "DROP_BELOW_LEVEL");
+    appender.doAppend(event(Level.INFO, "e1"));
+    layout.entered.await();
+
+    appender.doAppend(event(Level.INFO, "e2"));
+    appender.doAppend(event(Level.INFO, "e3"));
+    appender.doAppend(event(Level.DEBUG, "e4"));
+
+    assertEquals(1, appender.getDroppedEvents());
+
+    appender.doAppend(event(Level.ERROR, "e5"));
+
+    assertEquals(2, appender.getDroppedEvents());
+    assertEquals(2, appender.getQueuedEvents());
+
+    layout.release.countDown();
+
+    assertEquals(Arrays.asList("e1", "e3", "e5"), layout.awaitFormatted(3));
+  }
+
+  /** Tests {@link JTextAreaAppender#doAppend(LoggingEvent)}. */
+  @Test
+  public void doAppend_dropOldestFullQueue_oldestDropped() throws InterruptedException, InvocationTargetException {
+    startAsync(2, "DROP_OLDEST");
+    appender.doAppend(event(Level.INFO, "e1"));
+    layout.entered.await();
+
+    appender.doAppend(event(Level.INFO, "e2"));
+    appender.doAppend(event(Level.INFO, "e3"));
+    appender.doAppend(event(Level.INFO, "e4"));
+
+    assertEquals(1, appender.getDroppedEvents());
+    assertEquals(2, appender.getQueuedEvents());
+
+    layout.release.countDown();
+
+    assertEquals(Arrays.asList("e1", "e3", "e4"), layout.awaitFormatted(3));
+    waitForText("e1\n... 1 events dropped ...\ne3\ne4\n");
+  }
+
+  /** Tests {@link JTextAreaAppender#doAppend(LoggingEvent)}. */
+  @Test
+  public void doAppend_logView_recordAppended() throws InterruptedException {
+    appender.setName("logView");
+    appender.setLayout(layout);
+    appender.setLogView(true);
+    appender.setBatchSize(1);
+    LogStore store = ((JLogView) ((JScrollPane) appender.getPanel().getComponent(0)).getViewport().getView()).getStore();
+
+    appender.doAppend(new LoggingEvent(JTextAreaAppenderTest.class.getName(), Logger.getLogger("test"), 1234L, Level.ERROR, "e1", null, null, null, null, null));
+
+    for (int i = 0; i < 100 && store.getLineCount() == 0; i++) {
+      Thread.sleep(JTextAreaPanel.DRAIN_DELAY);
+    }
+
+    assertEquals("e1", store.getLine(0));
+    assertEquals(Level.ERROR_INT, store.getLevel(0));
+    assertEquals(1234L, store.getTimestamp(0));
+    assertEquals("test", store.getLogger(0));
+    // The layout isn't used by the log view
+    assertTrue(layout.formatted.isEmpty());
+  }
+
+  /** Tests {@link JTextAreaAppender#isAsync()}. */
+  @Test
+  public void isAsync_new_synchronous() {
+    assertFalse(appender.isAsync());
+    assertEquals("DROP_OLDEST", appender.getOverflowPolicy());
+    assertEquals(Level.WARN, appender.getDropThreshold());
+    assertEquals(JTextAreaAppender.DEFAULT_BUFFER_SIZE, appender.getBufferSize());
+    assertEquals(0, appender.getQueuedEvents());
+  }
+
+  /** Tests {@link JTextAreaAppender#setBufferSize(int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void setBufferSize_zero_throwsException() {
+    appender.setBufferSize(0);
+  }
+
+  /** Tests {@link JTextAreaAppender#setMaximumLines(int)}. */
+  @Test
+  public void setMaximumLines_configuration_panelLimited() {
+    // Forces the configuration
+    LoggerFactory.getLogger(JTextAreaAppenderTest.class);
+    JTextAreaPanel panel = JTextAreaAppender.getTextAreaPanel("textArea2");
+
+    assertEquals(10000, panel.getMaximumLines());
+    assertEquals(JBoundedDocument.UNBOUNDED, panel.getMaximumCharacters());
+  }
+
+  /** Tests {@link JTextAreaAppender#setOverflowPolicy(String)}. */
+  @Test
+  public void setOverflowPolicy_lowerCase_accepted() {
+    appender.setOverflowPolicy("block");
+
+    assertEquals("BLOCK", appender.getOverflowPolicy());
+  }
+
+  /** Tests {@link JTextAreaAppender#setOverflowPolicy(String)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void setOverflowPolicy_unknown_throwsException() {
+    appender.setOverflowPolicy("DROP_NEWEST");
+  }
+
+  private void startAsync(final int inBufferSize, final String inOverflowPolicy) {
+    appender.setName("async");
+    appender.setLayout(layout);
+    appender.setAsync(true);
+    appender.setBufferSize(inBufferSize);
+    appender.setOverflowPolicy(inOverflowPolicy);
+  }
+
+  private void waitForText(final String inText) throws InterruptedException, InvocationTargetException {
+    String expected = inText.replace("\n", Layout.LINE_SEP);
+
+    for (int i = 0; i < 100 && !expected.equals(text(appender.getPanel())); i++) {
+      Thread.sleep(JTextAreaPanel.DRAIN_DELAY);
+    }
+
+    assertEquals(expected, text(appender.getPanel()));
+  }
+
+  /** A layout recording the formatted events, the first one waits until it's released. */
+  private static final class BlockingLayout extends Layout {
+    private final CountDownLatch entered   = new CountDownLatch(1);
+    private final CountDownLatch release   = new CountDownLatch(1);
+    private final List<String>   formatted = Collections.synchronizedList(new ArrayList<>());
+    private final List<String>   threads   = Collections.synchronizedList(new ArrayList<>());
+
+    BlockingLayout() {
+      // nothing to do
+    }
+
+    @Override
+    public void activateOptions() {
+      // nothing to do
+    }
+
+    @Override
+    public String format(final LoggingEvent inEvent) {
+      entered.countDown();
+
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      threads.add(Thread.currentThread().getName());
+      formatted.add(inEvent.getRenderedMessage());
+      return inEvent.getRenderedMessage() + LINE_SEP;
+    }
+
+    @Override
+    public boolean ignoresThrowable() {
+      return true;
+    }
+
+    List<String> awaitFormatted(final int inCount) throws InterruptedException {
+      for (int i = 0; i < 100 && formatted.size() < inCount; i++) {
+        Thread.sleep(JTextAreaPanel.DRAIN_DELAY);
+      }
+
+      return new ArrayList<>(formatted);
+    }
+  }
 }
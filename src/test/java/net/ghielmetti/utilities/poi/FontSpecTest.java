@@ -0,0 +1,74 @@
+package net.ghielmetti.utilities.poi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.junit.Test;
+
+/**
+ * Tests for {@link FontSpec} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class FontSpecTest {
+  /** Tests {@link FontSpec.Builder#build()}. */
+  @Test
+  public void build_allAttributes_areKept() {
+    FontSpec font = FontSpec.builder().name("Arial").height(14).color(IndexedColors.RED).bold(true).italic(true).underline(true).build();
+    assertEquals("Arial", font.getName());
+    assertEquals(14, font.getHeight());
+    assertEquals(IndexedColors.RED, font.getColor());
+    assertTrue(font.isBold());
+    assertTrue(font.isItalic());
+    assertTrue(font.isUnderline());
+  }
+
+  /** Tests {@link FontSpec#DEFAULT}. */
+  @Test
+  public void default_always_hasNoAttribute() {
+    assertNull(FontSpec.DEFAULT.getName());
+    assertEquals(0, FontSpec.DEFAULT.getHeight());
+    assertNull(FontSpec.DEFAULT.getColor());
+    assertFalse(FontSpec.DEFAULT.isBold());
+  }
+
+  /** Tests {@link FontSpec#equals(Object)}. */
+  @Test
+  public void equals_differentAttribute_returnsFalse() {
+    assertNotEquals(FontSpec.builder().bold(true).build(), FontSpec.builder().italic(true).build());
+    assertNotEquals(FontSpec.builder().height(10).build(), FontSpec.builder().height(11).build());
+    assertNotEquals(FontSpec.DEFAULT, null);
+  }
+
+  /** Tests {@link FontSpec#equals(Object)}. */
+  @Test
+  public void equals_sameAttributes_returnsTrue() {
+    FontSpec font1 = FontSpec.builder().name("Arial").bold(true).build();
+    FontSpec font2 = FontSpec.builder().bold(true).name("Arial").build();
+    assertEquals(font1, font2);
+    assertEquals(font1.hashCode(), font2.hashCode());
+  }
+
+  /** Tests {@link FontSpec.Builder#height(int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void height_tooLarge_throwsAnException() {
+    FontSpec.builder().height(410);
+  }
+
+  /** Tests {@link FontSpec#toBuilder()}. */
+  @Test
+  public void toBuilder_always_returnsAnEqualFont() {
+    FontSpec font = FontSpec.builder().name("Arial").height(8).color(IndexedColors.BLUE).underline(true).build();
+    assertEquals(font, font.toBuilder().build());
+  }
+
+  /** Tests {@link FontSpec#toString()}. */
+  @Test
+  public void toString_always_returnsTheAttributes() {
+    assertEquals("FontSpec[name=null, height=12, color=null, bold=true, italic=false, underline=false]", FontSpec.builder().height(12).bold(true).build().toString());
+  }
+}
@@ -0,0 +1,116 @@
+package net.ghielmetti.utilities.poi;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Date;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link SheetBuffer} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class SheetBufferTest {
+  private HSSFWorkbook workbook;
+  private Sheet        sheet;
+  private CellStyle[]  cellStyles;
+  private SheetBuffer  buffer;
+
+  /** Tests {@link SheetBuffer#addBlank()}. */
+  @Test
+  public void addBlank_always_writesABlankCellWithTheStyle() {
+    buffer.addBlank();
+    buffer.addBlank();
+    buffer.writeTo(sheet, 0, cellStyles);
+    assertEquals(CellType.BLANK, sheet.getRow(0).getCell(1).getCellTypeEnum());
+    assertEquals(cellStyles[1], sheet.getRow(0).getCell(1).getCellStyle());
+  }
+
+  /** Tests {@link SheetBuffer#addBoolean(boolean)}. */
+  @Test
+  public void addBoolean_always_writesABooleanCell() {
+    buffer.addBoolean(true);
+    buffer.addBoolean(false);
+    buffer.writeTo(sheet, 0, cellStyles);
+    assertEquals(true, sheet.getRow(0).getCell(0).getBooleanCellValue());
+    assertEquals(false, sheet.getRow(0).getCell(1).getBooleanCellValue());
+  }
+
+  /** Tests {@link SheetBuffer#addDate(Date)}. */
+  @Test
+  public void addDate_always_writesADateCell() {
+    Date date = new Date(1_500_000_000_000L);
+    buffer.addDate(date);
+    buffer.addBlank();
+    buffer.writeTo(sheet, 0, cellStyles);
+    assertEquals(date, sheet.getRow(0).getCell(0).getDateCellValue());
+  }
+
+  /** Tests {@link SheetBuffer#addNumber(double)}. */
+  @Test
+  public void addNumber_manyRows_growsAndWritesThemAll() {
+    for (int i = 0; i < 3000; i++) {
+      buffer.addNumber(i);
+    }
+
+    assertEquals(1500, buffer.writeTo(sheet, 0, cellStyles));
+    assertEquals(2999, sheet.getRow(1499).getCell(1).getNumericCellValue(), 0);
+  }
+
+  /** Tests {@link SheetBuffer#addText(String)}. */
+  @Test
+  public void addText_always_writesAStringCell() {
+    buffer.addText("a");
+    buffer.addText("b");
+    buffer.writeTo(sheet, 5, cellStyles);
+    Row row = sheet.getRow(5);
+    assertEquals("a", row.getCell(0).getStringCellValue());
+    assertEquals("b", row.getCell(1).getStringCellValue());
+  }
+
+  /**
+   * Closes the workbook.
+   *
+   * @throws IOException If the closing fails.
+   */
+  @After
+  public void close() throws IOException {
+    workbook.close();
+  }
+
+  /** Tests {@link SheetBuffer#getRows()}. */
+  @Test
+  public void getRows_incompleteRow_isNotCounted() {
+    buffer.addText("a");
+    buffer.addText("b");
+    buffer.addText("c");
+    assertEquals(1, buffer.getRows());
+  }
+
+  /** Prepares the buffer. */
+  @Before
+  public void setUp() {
+    workbook = new HSSFWorkbook();
+    sheet = workbook.createSheet();
+    Styles styles = new Styles(workbook);
+    cellStyles = new CellStyle[] { styles.getStyle("NNL0Tnnnn"), styles.getStyle("NNR0Nnnnn") };
+    buffer = new SheetBuffer(2);
+  }
+
+  /** Tests {@link SheetBuffer#toString()}. */
+  @Test
+  public void toString_always_returnsTheDescription() {
+    buffer.addNumber(1);
+    buffer.addNumber(2);
+    assertEquals("SheetBuffer[columns=2, rows=1]", buffer.toString());
+  }
+}
@@ -0,0 +1,126 @@
+package net.ghielmetti.utilities.poi;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Date;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link SheetColumn} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class SheetColumnTest {
+  private Cell cell;
+
+  /** Tests {@link SheetColumn#getStyleCode()}. */
+  @Test
+  public void getStyleCode_always_returnsTheCode() {
+    assertEquals(42, SheetColumn.ofText(String::valueOf, 42).getStyleCode());
+  }
+
+  /** Tests {@link SheetColumn#getStyleSpec()}. */
+  @Test
+  public void getStyleSpec_styleCode_returnsNull() {
+    assertEquals(null, SheetColumn.ofText(String::valueOf, 42).getStyleSpec());
+  }
+
+  /** Tests {@link SheetColumn#getWidth()}. */
+  @Test
+  public void getWidth_notSet_returnsZero() {
+    assertEquals(0, SheetColumn.ofText(String::valueOf, 0).getWidth());
+  }
+
+  /** Tests {@link SheetColumn#ofBoolean(java.util.function.Predicate, int)}. */
+  @Test
+  public void ofBoolean_aRecord_setsABooleanCell() {
+    SheetColumn.<String> ofBoolean(String::isEmpty, 0).setValue(cell, "");
+    assertEquals(CellType.BOOLEAN, cell.getCellTypeEnum());
+    assertEquals(true, cell.getBooleanCellValue());
+  }
+
+  /** Tests {@link SheetColumn#ofDate(java.util.function.Function, StyleSpec)}. */
+  @Test
+  public void ofDate_aDate_setsANumericCell() {
+    Date date = new Date(1_500_000_000_000L);
+    SheetColumn<Date> column = SheetColumn.ofDate(d -> d, StyleSpec.builder().format(StyleSpec.DATE_FORMAT).build());
+    column.setValue(cell, date);
+    assertEquals(CellType.NUMERIC, cell.getCellTypeEnum());
+    assertEquals(date, cell.getDateCellValue());
+    assertEquals(StyleSpec.DATE_FORMAT, column.getStyleSpec().getFormat());
+  }
+
+  /** Tests {@link SheetColumn#ofDate(java.util.function.Function, StyleSpec)}. */
+  @Test
+  public void ofDate_null_leavesTheCellBlank() {
+    SheetColumn.<String> ofDate(s -> null, StyleSpec.DEFAULT).setValue(cell, "abc");
+    assertEquals(CellType.BLANK, cell.getCellTypeEnum());
+  }
+
+  /** Tests {@link SheetColumn#ofNumber(java.util.function.ToDoubleFunction, int)}. */
+  @Test
+  public void ofNumber_aNumber_setsANumericCell() {
+    SheetColumn.<String> ofNumber(String::length, 0).setValue(cell, "abc");
+    assertEquals(CellType.NUMERIC, cell.getCellTypeEnum());
+    assertEquals(3, cell.getNumericCellValue(), 0);
+  }
+
+  /** Tests {@link SheetColumn#ofNumber(java.util.function.ToDoubleFunction, int)}. */
+  @Test
+  public void ofNumber_NaN_leavesTheCellBlank() {
+    SheetColumn.<String> ofNumber(s -> Double.NaN, 0).setValue(cell, "abc");
+    assertEquals(CellType.BLANK, cell.getCellTypeEnum());
+  }
+
+  /** Tests {@link SheetColumn#ofText(java.util.function.Function, int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void ofText_invalidStyleCode_throwsAnException() {
+    SheetColumn.ofText(String::valueOf, StyleKey.COUNT);
+  }
+
+  /** Tests {@link SheetColumn#ofText(java.util.function.Function, int)}. */
+  @Test
+  public void ofText_null_leavesTheCellBlank() {
+    SheetColumn.<String> ofText(s -> null, 0).setValue(cell, "abc");
+    assertEquals(CellType.BLANK, cell.getCellTypeEnum());
+  }
+
+  /** Tests {@link SheetColumn#ofText(java.util.function.Function, int)}. */
+  @Test
+  public void ofText_aText_setsAStringCell() {
+    SheetColumn.<String> ofText(String::toUpperCase, 0).setValue(cell, "abc");
+    assertEquals(CellType.STRING, cell.getCellTypeEnum());
+    assertEquals("ABC", cell.getStringCellValue());
+  }
+
+  /** Prepares the cell. */
+  @Before
+  public void setUp() {
+    @SuppressWarnings("resource")
+    HSSFWorkbook workbook = new HSSFWorkbook();
+    cell = workbook.createSheet().createRow(0).createCell(0);
+  }
+
+  /** Tests {@link SheetColumn#setWidth(int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void setWidth_negative_throwsAnException() {
+    SheetColumn.ofText(String::valueOf, 0).setWidth(-1);
+  }
+
+  /** Tests {@link SheetColumn#setWidth(int)}. */
+  @Test
+  public void setWidth_valid_isReturned() {
+    assertEquals(20, SheetColumn.ofText(String::valueOf, 0).setWidth(20).getWidth());
+  }
+
+  /** Tests {@link SheetColumn#toString()}. */
+  @Test
+  public void toString_always_returnsTheDescription() {
+    assertEquals("OfText[styleCode=3, width=10]", SheetColumn.ofText(String::valueOf, 3).setWidth(10).toString());
+  }
+}
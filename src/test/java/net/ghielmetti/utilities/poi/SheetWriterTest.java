@@ -0,0 +1,160 @@
+package net.ghielmetti.utilities.poi;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.ghielmetti.utilities.TranslationTable;
+import net.ghielmetti.utilities.Translations;
+
+/**
+ * Tests for {@link SheetWriter} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class SheetWriterTest {
+  private static final int    TEXT_STYLE   = StyleKey.encode("NNL0Tnnnn");
+  private static final int    NUMBER_STYLE = StyleKey.encode("NNR0Nnnnn");
+  private static final int    HEADER_STYLE = StyleKey.encode("GBC0Vnnbn");
+
+  private XSSFWorkbook        workbook;
+  private Styles              styles;
+  private Sheet               sheet;
+  private SheetWriter<String> writer;
+
+  private static TranslationTable headers() {
+    return Translations.forLocale(Locale.ENGLISH).resolve("known.string.with.arguments", "known.string.without.arguments");
+  }
+
+  /**
+   * Closes the workbook.
+   *
+   * @throws IOException If the closing fails.
+   */
+  @After
+  public void close() throws IOException {
+    workbook.close();
+  }
+
+  /** Tests {@link SheetWriter#setHeaders(TranslationTable, int)}. */
+  @Test
+  public void setHeaders_emptySheet_writesTheHeadersFirst() {
+    writer.setHeaders(headers(), HEADER_STYLE);
+    assertEquals(1, writer.write(sheet, Stream.of("abc")));
+    assertEquals("A known string with {0} argument.", sheet.getRow(0).getCell(0).getStringCellValue());
+    assertEquals("A known string without arguments.", sheet.getRow(0).getCell(1).getStringCellValue());
+    assertEquals(styles.getStyle(HEADER_STYLE), sheet.getRow(0).getCell(0).getCellStyle());
+    assertEquals("abc", sheet.getRow(1).getCell(0).getStringCellValue());
+  }
+
+  /** Tests {@link SheetWriter#setHeaders(TranslationTable, int)}. */
+  @Test
+  public void setHeaders_sheetNotEmpty_writesNoHeaders() {
+    writer.write(sheet, Stream.of("abc"));
+    writer.setHeaders(headers(), HEADER_STYLE);
+    writer.write(sheet, Stream.of("de"));
+    assertEquals(1, sheet.getLastRowNum());
+    assertEquals("de", sheet.getRow(1).getCell(0).getStringCellValue());
+  }
+
+  /** Tests {@link SheetWriter#setHeaders(TranslationTable, int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void setHeaders_wrongNumber_throwsAnException() {
+    new SheetWriter<String>(styles, Collections.emptyList()).setHeaders(headers(), HEADER_STYLE);
+  }
+
+  /** Prepares the writer. */
+  @Before
+  public void setUp() {
+    workbook = new XSSFWorkbook();
+    styles = new Styles(workbook);
+    sheet = workbook.createSheet();
+    writer = new SheetWriter<>(styles, Arrays.asList(SheetColumn.<String> ofText(s -> s, TEXT_STYLE).setWidth(30), SheetColumn.<String> ofNumber(String::length, NUMBER_STYLE)));
+  }
+
+  /** Tests {@link SheetWriter#toString()}. */
+  @Test
+  public void toString_always_returnsTheDescription() {
+    assertEquals("SheetWriter[columns=2]", writer.toString());
+  }
+
+  /** Tests {@link SheetWriter#write(Sheet, SheetBuffer)}. */
+  @Test
+  public void write_buffer_writesTheSameRowsAsTheRecords() {
+    writer.setHeaders(headers(), HEADER_STYLE);
+    SheetBuffer buffer = writer.buffer(Arrays.asList("a", "bc").iterator());
+    assertEquals(2, writer.write(sheet, buffer));
+    assertEquals(2, sheet.getLastRowNum());
+    assertEquals("bc", sheet.getRow(2).getCell(0).getStringCellValue());
+    assertEquals(2, sheet.getRow(2).getCell(1).getNumericCellValue(), 0);
+    assertEquals(styles.getStyle(NUMBER_STYLE), sheet.getRow(2).getCell(1).getCellStyle());
+  }
+
+  /** Tests {@link SheetWriter#write(Sheet, java.util.Iterator)}. */
+  @Test
+  public void write_iterator_writesOneRowByRecord() {
+    assertEquals(2, writer.write(sheet, Arrays.asList("a", "bc").iterator()));
+    assertEquals(1, sheet.getLastRowNum());
+    assertEquals("bc", sheet.getRow(1).getCell(0).getStringCellValue());
+    assertEquals(2, sheet.getRow(1).getCell(1).getNumericCellValue(), 0);
+  }
+
+  /** Tests {@link SheetWriter#write(Sheet, Stream)}. */
+  @Test
+  public void write_nonEmptySheet_appendsTheRows() {
+    writer.write(sheet, Stream.of("a"));
+    writer.write(sheet, Stream.of("bc", "def"));
+    assertEquals(2, sheet.getLastRowNum());
+    assertEquals("def", sheet.getRow(2).getCell(0).getStringCellValue());
+  }
+
+  /** Tests {@link SheetWriter#write(Sheet, Stream)}. */
+  @Test
+  public void write_someRecords_setsTheStylesAndTheWidths() {
+    writer.write(sheet, Stream.of("a", "bc"));
+    Row row = sheet.getRow(1);
+    assertEquals(styles.getStyle(TEXT_STYLE), row.getCell(0).getCellStyle());
+    assertEquals(styles.getStyle(NUMBER_STYLE), row.getCell(1).getCellStyle());
+    assertEquals(30 * 256, sheet.getColumnWidth(0));
+    assertEquals(2, styles.getCreatedStyles());
+  }
+
+  /** Tests {@link SheetWriter#write(Sheet, Stream)}. */
+  @Test
+  public void write_styleSpec_usesTheStyleOfTheDescription() {
+    StyleSpec dateStyle = StyleSpec.builder().format(StyleSpec.DATE_FORMAT).build();
+    SheetWriter<Date> dateWriter = new SheetWriter<>(styles, Collections.singletonList(SheetColumn.<Date> ofDate(d -> d, dateStyle)));
+    dateWriter.write(sheet, Stream.of(new Date(0)));
+    assertEquals(styles.getCellStyle(dateStyle), sheet.getRow(0).getCell(0).getCellStyle());
+    assertEquals(new Date(0), sheet.getRow(0).getCell(0).getDateCellValue());
+  }
+
+  /**
+   * Tests {@link SheetWriter#write(Sheet, Stream)}.
+   *
+   * @throws IOException If the closing fails.
+   */
+  @Test
+  public void write_streamingWorkbook_writesTheRows() throws IOException {
+    try (SXSSFWorkbook streaming = new SXSSFWorkbook(10)) {
+      Sheet streamingSheet = streaming.createSheet();
+      SheetWriter<String> streamingWriter = new SheetWriter<>(new Styles(streaming), Collections.singletonList(SheetColumn.<String> ofText(s -> s, TEXT_STYLE)));
+      assertEquals(1000, streamingWriter.write(streamingSheet, Stream.generate(() -> "x").limit(1000)));
+      assertEquals(999, streamingSheet.getLastRowNum());
+      streaming.dispose();
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package net.ghielmetti.utilities.poi;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * Writes a streamed XLSX file of one million styled rows (by default) and reports the throughput and the peak heap.
+ * <br>
+ * It's not a JMH benchmark, the measure is a single long run: <code>StreamingStylesBenchmark [rows]</code>.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class StreamingStylesBenchmark {
+  private static final int COLUMNS = 10;
+  // The rows kept in memory by the streaming workbook
+  private static final int WINDOW  = 100;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param inArguments The number of rows, optional.
+   * @throws IOException If the file can't be written.
+   */
+  public static void main(final String[] inArguments) throws IOException {
+    int rows = inArguments.length > 0 ? Integer.parseInt(inArguments[0]) : 1_000_000;
+    File file = File.createTempFile("styles", ".xlsx");
+    resetPeaks();
+    long start = System.nanoTime();
+
+    try (OutputStream stream = new FileOutputStream(file)) {
+      write(rows, stream);
+    }
+
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("%d rows of %d cells in %.1f s: %.0f rows/s, peak heap %d MB, file %d MB%n", Integer.valueOf(rows), Integer.valueOf(COLUMNS), Double.valueOf(seconds), Double.valueOf(rows / seconds), Long.valueOf(peakHeap() >> 20), Long.valueOf(file.length() >> 20));
+
+    if (!file.delete()) {
+      file.deleteOnExit();
+    }
+  }
+
+  private static long peakHeap() {
+    long peak = 0;
+
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        peak += pool.getPeakUsage().getUsed();
+      }
+    }
+
+    return peak;
+  }
+
+  private static void resetPeaks() {
+    System.gc();
+
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      pool.resetPeakUsage();
+    }
+  }
+
+  private static void write(final int inRows, final OutputStream inStream) throws IOException {
+    SXSSFWorkbook workbook = new SXSSFWorkbook(WINDOW);
+    workbook.setCompressTempFiles(true);
+
+    try {
+      Styles styles = new Styles(workbook);
+      // The codes are computed once, the cells only use them
+      int[] codes = { StyleKey.encode("NNR0Nnnnn"), StyleKey.encode("GNR0Nnnnn"), StyleKey.encode("NBL0Tnnnn"), StyleKey.encode("GBL0Tnnbn") };
+      Sheet sheet = workbook.createSheet("Data");
+
+      for (int r = 0; r < inRows; r++) {
+        Row row = sheet.createRow(r);
+
+        for (int c = 0; c < COLUMNS; c++) {
+          Cell cell = row.createCell(c);
+
+          if (c < COLUMNS / 2) {
+            cell.setCellValue(r * 0.5 + c);
+            cell.setCellStyle(styles.getStyle(codes[r & 1]));
+          } else {
+            cell.setCellValue("R" + r);
+            cell.setCellStyle(styles.getStyle(codes[2 + (r & 1)]));
+          }
+        }
+      }
+
+      workbook.write(inStream);
+    } finally {
+      workbook.dispose();
+      workbook.close();
+    }
+  }
+}
@@ -0,0 +1,248 @@
+package net.ghielmetti.utilities.poi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+/**
+ * Tests for {@link StyleCompactor} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class StyleCompactorTest {
+  private static final String[] STYLES = { "NNL0Tnnnn", "GBC0Vnnbn", "bHR3TTLBR", "NNR0Nnnnn" };
+
+  private static CellStyle boldStyle(final Workbook inWorkbook) {
+    Font font = inWorkbook.createFont();
+    font.setBold(true);
+    CellStyle cellStyle = inWorkbook.createCellStyle();
+    cellStyle.setFont(font);
+    cellStyle.setAlignment(HorizontalAlignment.CENTER);
+    return cellStyle;
+  }
+
+  // Writes a row of cells using the given styles
+  private static void fill(final Sheet inSheet, final CellStyle... inCellStyles) {
+    Row row = inSheet.createRow(inSheet.getPhysicalNumberOfRows());
+
+    for (int c = 0; c < inCellStyles.length; c++) {
+      row.createCell(c).setCellValue(c);
+      row.getCell(c).setCellStyle(inCellStyles[c]);
+    }
+  }
+
+  /**
+   * Tests {@link StyleCompactor#compact()}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void compact_differentStyles_areKept() throws IOException {
+    try (Workbook workbook = new XSSFWorkbook()) {
+      CellStyle thin = workbook.createCellStyle();
+      thin.setBorderTop(BorderStyle.THIN);
+      CellStyle thick = workbook.createCellStyle();
+      thick.setBorderTop(BorderStyle.THICK);
+      fill(workbook.createSheet(), thin, thick);
+      StyleCompactor compactor = new StyleCompactor(new Styles(workbook));
+      compactor.compact();
+      assertEquals(0, compactor.getMergedStyles());
+      assertNotEquals(workbook.getSheetAt(0).getRow(0).getCell(0).getCellStyle().getIndex(), workbook.getSheetAt(0).getRow(0).getCell(1).getCellStyle().getIndex());
+    }
+  }
+
+  /**
+   * Tests {@link StyleCompactor#compact()}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void compact_duplicateFontsAndStyles_mergesThem() throws IOException {
+    try (Workbook workbook = new XSSFWorkbook()) {
+      CellStyle first = boldStyle(workbook);
+      CellStyle second = boldStyle(workbook);
+      fill(workbook.createSheet(), first, second, boldStyle(workbook));
+      StyleCompactor compactor = new StyleCompactor(new Styles(workbook));
+      compactor.compact();
+      assertEquals(2, compactor.getMergedFonts());
+      assertEquals(2, compactor.getMergedStyles());
+
+      for (int c = 0; c < 3; c++) {
+        assertEquals(first.getIndex(), workbook.getSheetAt(0).getRow(0).getCell(c).getCellStyle().getIndex());
+        assertEquals(c, workbook.getSheetAt(0).getRow(0).getCell(c).getNumericCellValue(), 0);
+      }
+    }
+  }
+
+  /**
+   * Tests {@link StyleCompactor#compact()}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void compact_duplicateRowAndColumnStyles_areReplaced() throws IOException {
+    try (Workbook workbook = new HSSFWorkbook()) {
+      CellStyle first = boldStyle(workbook);
+      CellStyle second = boldStyle(workbook);
+      Sheet sheet = workbook.createSheet();
+      fill(sheet, first);
+      sheet.getRow(0).setRowStyle(second);
+      sheet.setDefaultColumnStyle(0, second);
+      new StyleCompactor(new Styles(workbook)).compact();
+      int index = sheet.getRow(0).getCell(0).getCellStyle().getIndex();
+      assertEquals(index, sheet.getRow(0).getRowStyle().getIndex());
+      assertEquals(index, sheet.getColumnStyle(0).getIndex());
+    }
+  }
+
+  /**
+   * Tests {@link StyleCompactor#compact()}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void compact_manyXlsxStyles_duplicatesAfter32767AreReplaced() throws IOException {
+    try (Workbook workbook = new XSSFWorkbook()) {
+      List<CellStyle> cellStyles = new ArrayList<>();
+
+      // The short index of the last styles is negative
+      while (workbook.getNumCellStyles() < 33000) {
+        CellStyle cellStyle = workbook.createCellStyle();
+        cellStyle.setRotation((short) 45);
+        cellStyles.add(cellStyle);
+      }
+
+      CellStyle first = cellStyles.get(0);
+      CellStyle last = cellStyles.get(cellStyles.size() - 1);
+      fill(workbook.createSheet(), last);
+      // Column styles past the cells, on a sheet without rows
+      XSSFSheet empty = (XSSFSheet) workbook.createSheet();
+      empty.setDefaultColumnStyle(200, cellStyles.get(1));
+      // The interface can't set a style after 32767
+      empty.setDefaultColumnStyle(300, first);
+      empty.getColumnHelper().getColumn(300, false).setStyle(last.getIndex() & 0xFFFF);
+      StyleCompactor compactor = new StyleCompactor(new Styles(workbook));
+      compactor.compact();
+      assertEquals(32998, compactor.getMergedStyles());
+      assertEquals(first.getIndex(), workbook.getSheetAt(0).getRow(0).getCell(0).getCellStyle().getIndex());
+      assertEquals(first.getIndex(), empty.getColumnStyle(200).getIndex());
+      assertEquals(first.getIndex(), empty.getColumnHelper().getColumn(300, false).getStyle());
+    }
+  }
+
+  /**
+   * Tests {@link StyleCompactor#compact()}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void compact_xlsWorkbook_removesTheDuplicates() throws IOException {
+    try (Workbook workbook = new HSSFWorkbook()) {
+      int initialStyles = workbook.getNumCellStyles();
+      int initialFonts = workbook.getNumberOfFonts();
+      Sheet sheet = workbook.createSheet();
+
+      for (int r = 0; r < 100; r++) {
+        fill(sheet, boldStyle(workbook), boldStyle(workbook));
+      }
+
+      new StyleCompactor(new Styles(workbook)).compact();
+      assertEquals(sheet.getRow(0).getCell(0).getCellStyle().getIndex(), sheet.getRow(99).getCell(1).getCellStyle().getIndex());
+      assertEquals(initialStyles + 1, workbook.getNumCellStyles());
+      assertEquals(initialFonts + 1, workbook.getNumberOfFonts());
+      assertTrue(workbook.getFontAt(sheet.getRow(99).getCell(1).getCellStyle().getFontIndex()).getBold());
+    }
+  }
+
+  /**
+   * Tests {@link StyleCompactor#compact()}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void compact_xlsStylesOfStyles_areReused() throws IOException {
+    try (Workbook workbook = new HSSFWorkbook()) {
+      compact_stylesOfStyles_areReused(workbook);
+    }
+  }
+
+  /**
+   * Tests {@link StyleCompactor#compact()}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void compact_xlsxKnownDuplicateStyle_isForgotten() throws IOException {
+    try (Workbook workbook = new XSSFWorkbook()) {
+      CellStyle first = new Styles(workbook).getStyle(STYLES[0]);
+      Styles styles = new Styles(workbook);
+      // An identical style, merged in the first one
+      CellStyle duplicate = styles.getStyle(STYLES[0]);
+      fill(workbook.createSheet(), first, duplicate);
+      StyleCompactor compactor = new StyleCompactor(styles);
+      compactor.compact();
+      assertEquals(1, compactor.getMergedStyles());
+      assertEquals(first.getIndex(), styles.getStyle(STYLES[0]).getIndex());
+    }
+  }
+
+  /**
+   * Tests {@link StyleCompactor#compact()}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void compact_xlsxStylesOfStyles_areReused() throws IOException {
+    try (Workbook workbook = new XSSFWorkbook()) {
+      compact_stylesOfStyles_areReused(workbook);
+    }
+  }
+
+  /** Tests {@link StyleCompactor#toString()}. */
+  @Test
+  public void toString_always_returnsTheCounters() {
+    assertEquals("StyleCompactor[mergedFonts=0, mergedStyles=0, registeredStyles=0]", new StyleCompactor(new Styles(new HSSFWorkbook())).toString());
+  }
+
+  private void compact_stylesOfStyles_areReused(final Workbook inWorkbook) {
+    Styles previous = new Styles(inWorkbook);
+    Sheet sheet = inWorkbook.createSheet();
+
+    for (String style : STYLES) {
+      fill(sheet, previous.getStyle(style));
+    }
+
+    int createdStyles = inWorkbook.getNumCellStyles();
+    Styles styles = new Styles(inWorkbook);
+    StyleCompactor compactor = new StyleCompactor(styles);
+    compactor.compact();
+    // The default style is also the style of the code 0 and a XLSX style rotated by 270° is also rotated by 180°
+    assertTrue(compactor.getRegisteredStyles() >= STYLES.length + 1);
+
+    for (int r = 0; r < STYLES.length; r++) {
+      assertEquals(sheet.getRow(r).getCell(0).getCellStyle().getIndex(), styles.getStyle(STYLES[r]).getIndex());
+    }
+
+    assertEquals(0, styles.getCreatedStyles());
+    assertEquals(createdStyles, inWorkbook.getNumCellStyles());
+    // The bold font is reused by the new styles
+    styles.getStyle("NBR0Vnnnn");
+    assertEquals(0, styles.getCreatedFonts());
+  }
+}
@@ -0,0 +1,110 @@
+package net.ghielmetti.utilities.poi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import net.ghielmetti.utilities.poi.StyleKey.Alignment;
+import net.ghielmetti.utilities.poi.StyleKey.Border;
+import net.ghielmetti.utilities.poi.StyleKey.Color;
+import net.ghielmetti.utilities.poi.StyleKey.FontWeight;
+import net.ghielmetti.utilities.poi.StyleKey.Format;
+import net.ghielmetti.utilities.poi.StyleKey.Rotation;
+
+/**
+ * Tests for {@link StyleKey} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class StyleKeyTest {
+  /** Tests {@link StyleKey.Builder#build()}. */
+  @Test
+  public void build_allParts_returnsTheKeyOfTheStyleString() {
+    StyleKey key = StyleKey.builder().color(Color.WHITE).fontWeight(FontWeight.BOLD).alignment(Alignment.RIGHT).rotation(Rotation.DEGREES_180).format(Format.VARIABLE).border(Border.THIN).borderBottom(Border.THICK).build();
+    assertEquals(StyleKey.of("WBR2VtlBr"), key);
+    assertEquals(Border.THICK, key.getBorderBottom());
+    assertEquals(Border.THIN, key.getBorderRight());
+  }
+
+  /** Tests {@link StyleKey.Builder#build()}. */
+  @Test
+  public void build_noParts_returnsTheDefaultKey() {
+    assertEquals(StyleKey.DEFAULT, StyleKey.builder().build());
+    assertEquals("NNN0Vnnnn", StyleKey.DEFAULT.getStyleName());
+  }
+
+  /** Tests {@link StyleKey#encode(String)}. */
+  @Test
+  public void encode_allStyleStrings_returnsDistinctCodes() {
+    Set<Integer> codes = new HashSet<>();
+
+    for (char color : "NWOTGrgb".toCharArray()) {
+      for (char font : "NBH".toCharArray()) {
+        for (char alignment : "LCRN".toCharArray()) {
+          for (char rotation : "0123".toCharArray()) {
+            for (char format : "VNT".toCharArray()) {
+              for (char top : "tTn".toCharArray()) {
+                for (char left : "lLn".toCharArray()) {
+                  for (char bottom : "bBn".toCharArray()) {
+                    for (char right : "rRn".toCharArray()) {
+                      String style = new String(new char[] { color, font, alignment, rotation, format, top, left, bottom, right });
+                      int code = StyleKey.encode(style);
+                      codes.add(Integer.valueOf(code));
+                      assertEquals(style, StyleKey.of(code).getStyleName());
+                    }
+                  }
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+
+    assertEquals(StyleKey.COUNT, codes.size());
+  }
+
+  /** Tests {@link StyleKey#encode(String)}. */
+  @Test
+  public void encode_anInvalidLetter_throwsAnExceptionNamingThePart() {
+    try {
+      StyleKey.encode("WBR2Vtlbx");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Invalid border right \"x\", should be one of (r, R, n)", e.getMessage());
+      return;
+    }
+
+    throw new AssertionError("No exception");
+  }
+
+  /** Tests {@link StyleKey#equals(Object)}. */
+  @Test
+  public void equals_differentKeys_returnsFalse() {
+    assertNotEquals(StyleKey.of("WBR2Vtlbr"), StyleKey.of("WBR2Vtlbn"));
+    assertNotEquals(StyleKey.DEFAULT, "NNN0Vnnnn");
+  }
+
+  /** Tests {@link StyleKey#of(int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void of_anInvalidCode_throwsAnException() {
+    StyleKey.of(StyleKey.COUNT);
+  }
+
+  /** Tests {@link StyleKey#toBuilder()}. */
+  @Test
+  public void toBuilder_always_keepsAllTheParts() {
+    StyleKey key = StyleKey.of("gHC3TTLBR");
+    assertEquals(key, key.toBuilder().build());
+    assertEquals(StyleKey.of("gHC3TTLBn"), key.toBuilder().borderRight(Border.NONE).build());
+  }
+
+  /** Tests {@link StyleKey#toString()}. */
+  @Test
+  public void toString_always_returnsAString() {
+    assertEquals("StyleKey[code=0, style=NNN0Vnnnn]", StyleKey.DEFAULT.toString());
+  }
+}
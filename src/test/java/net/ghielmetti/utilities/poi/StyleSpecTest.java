@@ -0,0 +1,99 @@
+package net.ghielmetti.utilities.poi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+import org.junit.Test;
+
+/**
+ * Tests for {@link StyleSpec} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class StyleSpecTest {
+  /** Tests {@link StyleSpec.Builder#border(BorderStyle)}. */
+  @Test
+  public void border_always_setsTheFourBorders() {
+    StyleSpec style = StyleSpec.builder().border(BorderStyle.DOTTED).build();
+    assertEquals(BorderStyle.DOTTED, style.getBorderTop());
+    assertEquals(BorderStyle.DOTTED, style.getBorderLeft());
+    assertEquals(BorderStyle.DOTTED, style.getBorderBottom());
+    assertEquals(BorderStyle.DOTTED, style.getBorderRight());
+  }
+
+  /** Tests {@link StyleSpec.Builder#build()}. */
+  @Test
+  public void build_allParts_areKept() {
+    FontSpec font = FontSpec.builder().height(14).build();
+    StyleSpec style = StyleSpec.builder().font(font).format(StyleSpec.CURRENCY_FORMAT).fillColor(IndexedColors.LIME).alignment(HorizontalAlignment.RIGHT).verticalAlignment(VerticalAlignment.TOP).rotation(-45).wrapText(true).borderColor(IndexedColors.RED).build();
+    assertSame(font, style.getFont());
+    assertEquals(StyleSpec.CURRENCY_FORMAT, style.getFormat());
+    assertEquals(IndexedColors.LIME, style.getFillColor());
+    assertEquals(HorizontalAlignment.RIGHT, style.getAlignment());
+    assertEquals(VerticalAlignment.TOP, style.getVerticalAlignment());
+    assertEquals(-45, style.getRotation());
+    assertTrue(style.isWrapText());
+    assertEquals(IndexedColors.RED, style.getBorderColor());
+  }
+
+  /** Tests {@link StyleSpec#DEFAULT}. */
+  @Test
+  public void default_always_hasTheDefaultParts() {
+    assertSame(FontSpec.DEFAULT, StyleSpec.DEFAULT.getFont());
+    assertNull(StyleSpec.DEFAULT.getFormat());
+    assertNull(StyleSpec.DEFAULT.getFillColor());
+    assertEquals(HorizontalAlignment.GENERAL, StyleSpec.DEFAULT.getAlignment());
+    assertEquals(VerticalAlignment.BOTTOM, StyleSpec.DEFAULT.getVerticalAlignment());
+    assertEquals(BorderStyle.NONE, StyleSpec.DEFAULT.getBorderTop());
+  }
+
+  /** Tests {@link StyleSpec#equals(Object)}. */
+  @Test
+  public void equals_differentParts_returnsFalse() {
+    assertNotEquals(StyleSpec.builder().format(StyleSpec.DATE_FORMAT).build(), StyleSpec.builder().format(StyleSpec.DATE_TIME_FORMAT).build());
+    assertNotEquals(StyleSpec.builder().font(FontSpec.builder().bold(true).build()).build(), StyleSpec.DEFAULT);
+    assertNotEquals(StyleSpec.DEFAULT, null);
+  }
+
+  /** Tests {@link StyleSpec#equals(Object)}. */
+  @Test
+  public void equals_equalParts_returnsTrue() {
+    StyleSpec style1 = StyleSpec.builder().font(FontSpec.builder().bold(true).build()).format(StyleSpec.DATE_FORMAT).build();
+    StyleSpec style2 = StyleSpec.builder().format(StyleSpec.DATE_FORMAT).font(FontSpec.builder().bold(true).build()).build();
+    assertEquals(style1, style2);
+    assertEquals(style1.hashCode(), style2.hashCode());
+  }
+
+  /** Tests {@link StyleSpec.Builder#font(FontSpec)}. */
+  @Test(expected = NullPointerException.class)
+  public void font_null_throwsAnException() {
+    StyleSpec.builder().font(null);
+  }
+
+  /** Tests {@link StyleSpec.Builder#rotation(int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void rotation_outOfRange_throwsAnException() {
+    StyleSpec.builder().rotation(91);
+  }
+
+  /** Tests {@link StyleSpec#toBuilder()}. */
+  @Test
+  public void toBuilder_always_returnsAnEqualStyle() {
+    StyleSpec style = StyleSpec.builder().fillColor(IndexedColors.CORAL).borderLeft(BorderStyle.THICK).rotation(30).build();
+    assertEquals(style, style.toBuilder().build());
+    assertNotEquals(style, style.toBuilder().borderRight(BorderStyle.THIN).build());
+  }
+
+  /** Tests {@link StyleSpec#toString()}. */
+  @Test
+  public void toString_always_returnsTheParts() {
+    assertEquals("StyleSpec[font=" + FontSpec.DEFAULT + ", format=@, fillColor=null, alignment=GENERAL, verticalAlignment=BOTTOM, rotation=0, wrapText=false, borders=NONE/NONE/THIN/NONE, borderColor=BLACK]", StyleSpec.builder().format(StyleSpec.TEXT_FORMAT).borderBottom(BorderStyle.THIN).build().toString());
+  }
+}
@@ -0,0 +1,104 @@
+package net.ghielmetti.utilities.poi;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the cost of getting an already created style of {@link Styles} by style string (built for each cell, as the
+ * callers usually do) and by code.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StylesBenchmark {
+  private static final String COLORS = "NWOTGrgb";
+  private static final String FONTS  = "NBH";
+  private static final int    CELLS  = 8 * 3;
+
+  private Styles styles;
+  private int[]  codes;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param inArguments Not used.
+   * @throws RunnerException If the benchmark fails.
+   */
+  public static void main(final String[] inArguments) throws RunnerException {
+    new Runner(new OptionsBuilder().include(StylesBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  /**
+   * Gets the styles by code.
+   *
+   * @return A value to avoid dead code elimination.
+   */
+  @Benchmark
+  @OperationsPerInvocation(CELLS)
+  public int byCode() {
+    int sum = 0;
+
+    for (int code : codes) {
+      sum += styles.getStyle(code).getIndex();
+    }
+
+    return sum;
+  }
+
+  /**
+   * Gets the styles by style string.
+   *
+   * @return A value to avoid dead code elimination.
+   */
+  @Benchmark
+  @OperationsPerInvocation(CELLS)
+  public int byString() {
+    int sum = 0;
+
+    for (int i = 0; i < COLORS.length(); i++) {
+      for (int j = 0; j < FONTS.length(); j++) {
+        CellStyle style = styles.getStyle(COLORS.charAt(i) + "" + FONTS.charAt(j) + "R0Ntlbr");
+        sum += style.getIndex();
+      }
+    }
+
+    return sum;
+  }
+
+  /** Creates the styles. */
+  @Setup
+  @SuppressWarnings("resource")
+  public void setUp() {
+    styles = new Styles(new HSSFWorkbook());
+    codes = new int[CELLS];
+
+    for (int i = 0; i < COLORS.length(); i++) {
+      for (int j = 0; j < FONTS.length(); j++) {
+        codes[i * FONTS.length() + j] = StyleKey.encode(COLORS.charAt(i) + "" + FONTS.charAt(j) + "R0Ntlbr");
+      }
+    }
+
+    byString();
+  }
+}
@@ -1,11 +1,38 @@
 package net.ghielmetti.utilities.poi;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
 
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -17,18 +44,201 @@ import org.junit.Test;
 public class StylesTest {
   private Styles styles;
 
+  private static int[] codes(final int inFrom, final int inTo) {
+    int[] codes = new int[inTo - inFrom];
+
+    for (int i = 0; i < codes.length; i++) {
+      codes[i] = inFrom + i;
+    }
+
+    return codes;
+  }
+
+  /**
+   * Runs the task for the numbers from 0 to 9999 on 8 threads started together.
+   *
+   * @param inTask The task.
+   * @return The distinct results.
+   * @throws Exception If a task fails.
+   */
+  private static Set<CellStyle> concurrently(final IntFunction<CellStyle> inTask) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<List<CellStyle>>> results = new ArrayList<>();
+
+    try {
+      for (int t = 0; t < 8; t++) {
+        int first = t;
+        results.add(executor.submit(() -> {
+          start.await();
+          List<CellStyle> cellStyles = new ArrayList<>();
+
+          for (int i = first; i < 10_000; i += 8) {
+            cellStyles.add(inTask.apply(i));
+          }
+
+          return cellStyles;
+        }));
+      }
+
+      start.countDown();
+      Set<CellStyle> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+
+      for (Future<List<CellStyle>> result : results) {
+        distinct.addAll(result.get());
+      }
+
+      return distinct;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Tests {@link Styles#checkCapacity(int...)}. */
+  @Test
+  public void checkCapacity_fewStyles_doesNothing() {
+    styles.checkCapacity(0, 1, 2, 2);
+  }
+
+  /** Tests {@link Styles#checkCapacity(int...)}. */
+  @Test(expected = IllegalStateException.class)
+  public void checkCapacity_tooManyStyles_throwsAnException() {
+    styles.checkCapacity(codes(0, 5000));
+  }
+
   /** Tests {@link Styles#Styles(Workbook)}. */
   @Test
   public void constructor_always_createsAnObject() {
     assertNotNull(styles);
   }
 
+  /** Tests {@link Styles#getAvailableStyles()}. */
+  @Test
+  public void getAvailableStyles_newStyles_decreases() {
+    int available = styles.getAvailableStyles();
+    styles.getStyle(1);
+    styles.getStyle(1);
+    styles.getStyle(2);
+    assertEquals(available - 2, styles.getAvailableStyles());
+    assertEquals(2, styles.getCreatedStyles());
+  }
+
+  /** Tests {@link Styles#getCellStyle(StyleSpec)}. */
+  @Test
+  public void getCellStyle_allParts_areApplied() {
+    FontSpec font = FontSpec.builder().name("Courier New").height(14).color(IndexedColors.DARK_RED).italic(true).build();
+    CellStyle cellStyle = styles.getCellStyle(StyleSpec.builder().font(font).format(StyleSpec.DATE_FORMAT).fillColor(IndexedColors.LIGHT_YELLOW).alignment(HorizontalAlignment.CENTER).verticalAlignment(VerticalAlignment.TOP).rotation(45).border(BorderStyle.MEDIUM).borderColor(IndexedColors.BLUE).build());
+    Font poiFont = styles.getWorkbook().getFontAt(cellStyle.getFontIndex());
+    assertEquals("Courier New", poiFont.getFontName());
+    assertEquals(14, poiFont.getFontHeightInPoints());
+    assertEquals(IndexedColors.DARK_RED.getIndex(), poiFont.getColor());
+    assertTrue(poiFont.getItalic());
+    assertEquals(StyleSpec.DATE_FORMAT, cellStyle.getDataFormatString());
+    assertEquals(IndexedColors.LIGHT_YELLOW.getIndex(), cellStyle.getFillForegroundColor());
+    assertEquals(FillPatternType.SOLID_FOREGROUND, cellStyle.getFillPatternEnum());
+    assertEquals(HorizontalAlignment.CENTER, cellStyle.getAlignmentEnum());
+    assertEquals(VerticalAlignment.TOP, cellStyle.getVerticalAlignmentEnum());
+    assertEquals(45, cellStyle.getRotation());
+    assertEquals(BorderStyle.MEDIUM, cellStyle.getBorderLeftEnum());
+    assertEquals(IndexedColors.BLUE.getIndex(), cellStyle.getBottomBorderColor());
+  }
+
+  /**
+   * Tests {@link Styles#getCellStyle(StyleSpec)}.
+   *
+   * @throws Exception Not expected.
+   */
+  @Test
+  public void getCellStyle_concurrentThreads_createEachStyleOnce() throws Exception {
+    IndexedColors[] colors = IndexedColors.values();
+    Set<CellStyle> cellStyles = concurrently(i -> styles.getCellStyle(StyleSpec.builder().fillColor(colors[i % 10]).font(FontSpec.builder().bold(i % 2 == 0).build()).build()));
+    assertEquals(10, cellStyles.size());
+    assertEquals(10, styles.getCreatedStyles());
+    assertEquals(1, styles.getCreatedFonts());
+  }
+
+  /** Tests {@link Styles#getCellStyle(StyleSpec)}. */
+  @Test
+  public void getCellStyle_defaultFont_createsNoFont() {
+    assertEquals(0, styles.getCellStyle(StyleSpec.builder().format(StyleSpec.CURRENCY_FORMAT).build()).getFontIndex());
+    assertEquals(0, styles.getCreatedFonts());
+  }
+
+  /** Tests {@link Styles#getCellStyle(StyleSpec)}. */
+  @Test
+  public void getCellStyle_equalSpecs_returnsTheSameStyle() {
+    CellStyle cellStyle = styles.getCellStyle(StyleSpec.builder().fillColor(IndexedColors.AQUA).build());
+    assertSame(cellStyle, styles.getCellStyle(StyleSpec.builder().fillColor(IndexedColors.AQUA).build()));
+    assertEquals(1, styles.getCreatedStyles());
+  }
+
+  /** Tests {@link Styles#getCellStyle(StyleSpec)}. */
+  @Test
+  public void getCellStyle_sameFontAndFormat_areShared() {
+    FontSpec bold = FontSpec.builder().bold(true).height(12).build();
+    StyleSpec date = StyleSpec.builder().font(bold).format(StyleSpec.DATE_FORMAT).build();
+    CellStyle left = styles.getCellStyle(date.toBuilder().alignment(HorizontalAlignment.LEFT).build());
+    CellStyle right = styles.getCellStyle(date.toBuilder().alignment(HorizontalAlignment.RIGHT).build());
+    assertEquals(left.getFontIndex(), right.getFontIndex());
+    assertEquals(left.getDataFormat(), right.getDataFormat());
+    assertEquals(2, styles.getCreatedStyles());
+    assertEquals(1, styles.getCreatedFonts());
+  }
+
+  /** Tests {@link Styles#getCellStyle(StyleSpec)}. */
+  @Test(expected = IllegalStateException.class)
+  public void getCellStyle_workbookFull_throwsAnException() {
+    fillWorkbook();
+    styles.getCellStyle(StyleSpec.builder().fillColor(IndexedColors.AQUA).build());
+  }
+
+  /** Tests {@link Styles#getCreatedFonts()}. */
+  @Test
+  public void getCreatedFonts_boldAndHiddenFonts_countsTheFonts() {
+    styles.getStyle("WBR2Vtlbr");
+    styles.getStyle("WBR2Vtlbn");
+    styles.getStyle("WHR2Vtlbr");
+    styles.getStyle("rHR2Vtlbr");
+    assertEquals(3, styles.getCreatedFonts());
+  }
+
+  /** Tests {@link Styles#getMaximumStyles()}. */
+  @Test
+  public void getMaximumStyles_anXlsWorkbook_returns4000() {
+    assertEquals(4000, styles.getMaximumStyles());
+  }
+
+  /**
+   * Tests {@link Styles#getMaximumStyles()}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void getMaximumStyles_aStreamingWorkbook_returns64000() throws IOException {
+    try (SXSSFWorkbook workbook = new SXSSFWorkbook()) {
+      assertEquals(64000, new Styles(workbook).getMaximumStyles());
+      workbook.dispose();
+    }
+  }
+
   /** Tests {@link Styles#getStyle(String)}. */
   @Test
   public void getStyle_aKnownValidStyleName_returnsTheSameStyleObject() {
     assertSame(styles.getStyle("WBR2Vtlbr"), styles.getStyle("WBR2Vtlbr"));
   }
 
+  /**
+   * Tests {@link Styles#getStyle(int)}.
+   *
+   * @throws Exception Not expected.
+   */
+  @Test
+  public void getStyle_concurrentThreads_createEachStyleOnce() throws Exception {
+    Set<CellStyle> cellStyles = concurrently(i -> styles.getStyle(i % 50 * 1000));
+    assertEquals(50, cellStyles.size());
+    assertEquals(50, styles.getCreatedStyles());
+  }
+
   /** Tests {@link Styles#getStyle(String)}. */
   @Test
   public void getStyle_allPossibleAlignments_returnsAStyle() {
@@ -167,12 +377,101 @@ public class StylesTest {
     assertNull(styles.getStyle(null));
   }
 
+  /** Tests {@link Styles#getStyle(int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void getStyle_anInvalidCode_throwsAnException() {
+    styles.getStyle(-1);
+  }
+
+  /** Tests {@link Styles#getStyle(int)}. */
+  @Test
+  public void getStyle_aStyleCode_returnsTheStyleOfTheStyleName() {
+    assertSame(styles.getStyle("WBR2Vtlbr"), styles.getStyle(StyleKey.of("WBR2Vtlbr").getCode()));
+    assertSame(styles.getStyle("WBR2Vtlbr"), styles.getStyle(StyleKey.encode("WBR2Vtlbr")));
+  }
+
+  /**
+   * Tests {@link Styles#getStyle(int)}.
+   *
+   * @throws IOException Not expected.
+   */
+  @Test
+  public void getStyle_aStreamingWorkbook_sharesTheStylesAcrossSheetsAndFlushedRows() throws IOException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+    try (SXSSFWorkbook workbook = new SXSSFWorkbook(10)) {
+      Styles streamingStyles = new Styles(workbook);
+      int[] codes = { StyleKey.encode("rNL0Nnnnn"), StyleKey.encode("gBR0Tnnnn") };
+
+      for (String name : new String[] { "First", "Second" }) {
+        Sheet sheet = workbook.createSheet(name);
+
+        for (int r = 0; r < 100; r++) {
+          sheet.createRow(r).createCell(0).setCellStyle(streamingStyles.getStyle(codes[r & 1]));
+        }
+      }
+
+      assertEquals(2, streamingStyles.getCreatedStyles());
+      workbook.write(stream);
+      workbook.dispose();
+    }
+
+    try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(stream.toByteArray()))) {
+      // The default style and the two created ones
+      assertEquals(3, workbook.getNumCellStyles());
+
+      for (int s = 0; s < 2; s++) {
+        assertEquals(IndexedColors.RED.getIndex(), workbook.getSheetAt(s).getRow(0).getCell(0).getCellStyle().getFillForegroundColor());
+        assertEquals(IndexedColors.GREEN.getIndex(), workbook.getSheetAt(s).getRow(99).getCell(0).getCellStyle().getFillForegroundColor());
+      }
+    }
+  }
+
+  /** Tests {@link Styles#getStyle(int)}. */
+  @Test(expected = IllegalStateException.class)
+  public void getStyle_noMoreStyles_throwsAnException() {
+    fillWorkbook();
+    styles.getStyle("bHR3TTLBR");
+  }
+
+  /** Tests {@link Styles#getStyle(int)}. */
+  @Test
+  public void getStyle_noMoreStylesWithFallback_returnsTheNearestStyle() {
+    CellStyle expected = styles.getStyle("bHR3TTLBn");
+    fillWorkbook();
+    styles.setFallbackToNearest(true);
+    assertTrue(styles.isFallbackToNearest());
+    assertSame(expected, styles.getStyle("bHR3TTLBR"));
+    assertSame(expected, styles.getStyle("bHR3TTLBR"));
+  }
+
+  /** Tests {@link Styles#getStyle(int)}. */
+  @Test
+  public void getStyle_theFirstAndLastCodes_returnsTheStyles() {
+    assertSame(styles.getStyle("NNN0Vnnnn"), styles.getStyle(0));
+    assertSame(styles.getStyle("bHR3TTLBR"), styles.getStyle(StyleKey.COUNT - 1));
+  }
+
   /** Tests {@link Styles#getStyle(String)}. */
   @Test
   public void getStyle_aValidStyleName_returnsTheStyle() {
     assertNotNull(styles.getStyle("WBR2Vtlbr"));
   }
 
+  /** Tests {@link Styles#hasCapacityFor(int...)}. */
+  @Test
+  public void hasCapacityFor_existingStyles_areNotCounted() {
+    int available = styles.getAvailableStyles();
+    int[] codes = codes(0, available);
+
+    for (int i = 0; i < 10; i++) {
+      styles.getStyle(codes[i]);
+    }
+
+    assertTrue(styles.hasCapacityFor(codes));
+    assertFalse(styles.hasCapacityFor(codes(0, available + 1)));
+  }
+
   /**
    * Initializes the tests.
    *
@@ -183,4 +482,10 @@ public class StylesTest {
   public void setUp() throws Exception {
     styles = new Styles(new HSSFWorkbook());
   }
+
+  private void fillWorkbook() {
+    for (int code = 0; styles.getAvailableStyles() > 0; code++) {
+      styles.getStyle(code);
+    }
+  }
 }
@@ -0,0 +1,122 @@
+package net.ghielmetti.utilities.poi;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link WorkbookExport} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class WorkbookExportTest {
+  private XSSFWorkbook        workbook;
+  private Styles              styles;
+  private ExecutorService     executor;
+  private SheetWriter<String> writer;
+  private WorkbookExport      export;
+
+  /** Tests {@link WorkbookExport#addSheet(String, SheetWriter, Iterable)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void addSheet_existingSheet_throwsAnException() {
+    workbook.createSheet("A");
+    export.addSheet("A", writer, Collections.emptyList());
+  }
+
+  /** Tests {@link WorkbookExport#addSheet(String, SheetWriter, Iterable)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void addSheet_sameNameTwice_throwsAnException() {
+    export.addSheet("A", writer, Collections.emptyList());
+    export.addSheet("a", writer, Collections.emptyList());
+  }
+
+  /**
+   * Closes the workbook and stops the executor.
+   *
+   * @throws IOException If the closing fails.
+   */
+  @After
+  public void close() throws IOException {
+    executor.shutdownNow();
+    workbook.close();
+  }
+
+  /** Prepares the export. */
+  @Before
+  public void setUp() {
+    workbook = new XSSFWorkbook();
+    styles = new Styles(workbook);
+    executor = Executors.newFixedThreadPool(4);
+    writer = new SheetWriter<>(styles, Arrays.asList(SheetColumn.<String> ofText(s -> s, StyleKey.encode("NNL0Tnnnn")), SheetColumn.<String> ofNumber(String::length, StyleKey.encode("NNR0Nnnnn"))));
+    export = new WorkbookExport(workbook);
+  }
+
+  /** Tests {@link WorkbookExport#toString()}. */
+  @Test
+  public void toString_always_returnsTheDescription() {
+    export.addSheet("A", writer, Collections.emptyList());
+    assertEquals("WorkbookExport[sheets=1]", export.toString());
+  }
+
+  /**
+   * Tests {@link WorkbookExport#write(ExecutorService)}.
+   *
+   * @throws InterruptedException Not expected.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void write_failingRecords_throwsTheException() throws InterruptedException {
+    export.addSheet("A", writer, () -> {
+      throw new IllegalStateException("No records");
+    });
+    export.write(executor);
+  }
+
+  /**
+   * Tests {@link WorkbookExport#write(ExecutorService)}.
+   *
+   * @throws InterruptedException Not expected.
+   */
+  @Test
+  public void write_manySheets_writesThemInOrderWithSharedStyles() throws InterruptedException {
+    for (int s = 0; s < 30; s++) {
+      List<String> records = Collections.nCopies(100 + s, "S" + s);
+      export.addSheet("Sheet " + s, writer, records);
+    }
+
+    assertEquals(30 * 100 + 29 * 30 / 2, export.write(executor));
+    assertEquals(30, workbook.getNumberOfSheets());
+    assertEquals(2, styles.getCreatedStyles());
+
+    for (int s = 0; s < 30; s++) {
+      Sheet sheet = workbook.getSheetAt(s);
+      assertEquals("Sheet " + s, sheet.getSheetName());
+      assertEquals(99 + s, sheet.getLastRowNum());
+      assertEquals("S" + s, sheet.getRow(99 + s).getCell(0).getStringCellValue());
+      assertEquals(("S" + s).length(), sheet.getRow(0).getCell(1).getNumericCellValue(), 0);
+    }
+  }
+
+  /**
+   * Tests {@link WorkbookExport#write(ExecutorService)}.
+   *
+   * @throws InterruptedException Not expected.
+   */
+  @Test
+  public void write_twice_writesTheSheetsOnce() throws InterruptedException {
+    export.addSheet("A", writer, Collections.singletonList("a"));
+    assertEquals(1, export.write(executor));
+    assertEquals(0, export.write(executor));
+    assertEquals(1, workbook.getNumberOfSheets());
+  }
+}
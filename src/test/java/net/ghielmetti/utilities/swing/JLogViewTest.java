@@ -0,0 +1,261 @@
+package net.ghielmetti.utilities.swing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import javax.swing.JScrollPane;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+
+import org.apache.log4j.Level;
+import org.junit.Test;
+
+/**
+ * Tests for {@link JLogView} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class JLogViewTest {
+  private static void appendLines(final LogStore inStore, final int inFirst, final int inLast) {
+    for (int i = inFirst; i <= inLast; i++) {
+      inStore.append("line" + i + "\n");
+    }
+  }
+
+  private static Point loggerPoint(final JLogView inView) {
+    // The logger column follows the time and the level
+    return new Point((12 + 1 + 5 + 1) * inView.getFontMetrics(inView.getFont()).charWidth('m') + 1, 1);
+  }
+
+  private static JViewport viewport(final JLogView inView, final int inRows) {
+    JScrollPane scroll = new JScrollPane(inView, JScrollPane.VERTICAL_SCROLLBAR_NEVER, JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+    scroll.setBorder(null);
+    scroll.setSize(400, inRows * inView.getRowHeight());
+    scroll.doLayout();
+    scroll.getViewport().doLayout();
+    return scroll.getViewport();
+  }
+
+  /** Tests {@link JLogView#addActionListener(java.awt.event.ActionListener)}. */
+  @Test
+  public void addActionListener_loggerClicked_notified() {
+    LogStore store = new LogStore();
+    store.append(Level.INFO_INT, 0L, "a.b.C", "message");
+    JLogView view = new JLogView(store);
+    List<String> commands = new ArrayList<>();
+    view.addActionListener(inEvent -> commands.add(inEvent.getActionCommand()));
+    Point logger = loggerPoint(view);
+
+    view.dispatchEvent(new MouseEvent(view, MouseEvent.MOUSE_CLICKED, 0L, 0, logger.x, logger.y, 1, false));
+
+    assertEquals(1, commands.size());
+    assertEquals("a.b.C", commands.get(0));
+  }
+
+  /** Tests {@link JLogView#getLineAt(Point)}. */
+  @Test
+  public void getLineAt_secondRow_secondLine() {
+    LogStore store = new LogStore();
+    appendLines(store, 0, 9);
+    JLogView view = new JLogView(store);
+
+    assertEquals(1, view.getLineAt(new Point(0, view.getRowHeight() + 1)));
+  }
+
+  /** Tests {@link JLogView#getLoggerAt(Point)}. */
+  @Test
+  public void getLoggerAt_logger_name() {
+    LogStore store = new LogStore();
+    store.append(Level.INFO_INT, 0L, "a.b.C", "message\n\tat x");
+    JLogView view = new JLogView(store);
+    Point logger = loggerPoint(view);
+
+    assertEquals("a.b.C", view.getLoggerAt(logger));
+    // The message and the following lines of the event have no logger
+    assertNull(view.getLoggerAt(new Point(logger.x + 6 * view.getFontMetrics(view.getFont()).charWidth('m'), logger.y)));
+    assertNull(view.getLoggerAt(new Point(logger.x, logger.y + view.getRowHeight())));
+  }
+
+  /** Tests {@link JLogView#getPreferredSize()}. */
+  @Test
+  public void getPreferredSize_events_columnsAdded() {
+    LogStore store = new LogStore();
+    store.append(Level.INFO_INT, 0L, "logger", "message");
+    JLogView view = new JLogView(store);
+    int column = view.getFontMetrics(view.getFont()).charWidth('m');
+
+    // The time, the level, the logger and the message, separated by spaces
+    assertEquals(new Dimension((12 + 1 + 5 + 1 + 6 + 1 + 7) * column, view.getRowHeight()), view.getPreferredSize());
+  }
+
+  /** Tests {@link JLogView#getPreferredSize()}. */
+  @Test
+  public void getPreferredSize_lines_longestLineAndAllRows() {
+    LogStore store = new LogStore();
+    appendLines(store, 0, 99);
+    JLogView view = new JLogView(store);
+    int column = view.getFontMetrics(view.getFont()).charWidth('m');
+
+    assertEquals(new Dimension(6 * column, 100 * view.getRowHeight()), view.getPreferredSize());
+  }
+
+  /** Tests {@link JLogView#JLogView(LogStore)}. */
+  @Test
+  public void jLogView_storeChangedByAnotherThread_viewUpdatedInEventDispatchThread() throws Exception {
+    LogStore store = new LogStore();
+    JLogView view = new JLogView(store);
+    AtomicInteger outside = new AtomicInteger();
+    JScrollPane scroll = new JScrollPane(JScrollPane.VERTICAL_SCROLLBAR_NEVER, JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+    scroll.setViewport(new JViewport() {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      public void setViewPosition(final Point inPosition) {
+        outside.addAndGet(SwingUtilities.isEventDispatchThread() ? 0 : 1);
+        super.setViewPosition(inPosition);
+      }
+    });
+    scroll.setViewportView(view);
+    scroll.setSize(400, 10 * view.getRowHeight());
+    scroll.doLayout();
+    // Only the updates of the view following the store are counted
+    outside.set(0);
+
+    appendLines(store, 0, 99);
+    SwingUtilities.invokeAndWait(() -> {
+      // waits for the update of the view
+    });
+
+    assertEquals(0, outside.get());
+    assertEquals(90, view.getLineAt(scroll.getViewport().getViewPosition()));
+  }
+
+  /** Tests {@link JLogView#paintComponent(Graphics)}. */
+  @Test
+  public void paintComponent_manyLines_readsVisibleLinesOnly() {
+    AtomicInteger reads = new AtomicInteger();
+    LogStore store = new LogStore() {
+      @Override
+      public synchronized String getLine(final long inLine) {
+        reads.incrementAndGet();
+        return super.getLine(inLine);
+      }
+    };
+    appendLines(store, 0, 99999);
+    JLogView view = new JLogView(store);
+    view.setSize(view.getPreferredSize());
+    BufferedImage image = new BufferedImage(400, 10 * view.getRowHeight(), BufferedImage.TYPE_INT_RGB);
+    Graphics graphics = image.getGraphics();
+    graphics.translate(0, -5000 * view.getRowHeight());
+    graphics.setClip(0, 5000 * view.getRowHeight(), 400, 10 * view.getRowHeight());
+
+    view.paintComponent(graphics);
+
+    assertTrue("Lines read: " + reads.get(), reads.get() <= 11);
+  }
+
+  /** Tests {@link JLogView#paintComponent(Graphics)}. */
+  @Test
+  public void paintComponent_error_paintedInRed() {
+    LogStore store = new LogStore();
+    store.append(Level.ERROR_INT, 0L, "logger", "WWWWWWWWWW");
+    JLogView view = new JLogView(store);
+    view.setSize(view.getPreferredSize());
+    BufferedImage image = new BufferedImage(view.getWidth(), view.getHeight(), BufferedImage.TYPE_INT_RGB);
+    Graphics graphics = image.getGraphics();
+    graphics.setClip(0, 0, view.getWidth(), view.getHeight());
+
+    view.paintComponent(graphics);
+
+    int red = 0;
+
+    for (int x = 0; x < image.getWidth(); x++) {
+      for (int y = 0; y < image.getHeight(); y++) {
+        int rgb = image.getRGB(x, y);
+        red += (rgb >> 16 & 0xFF) > 0x80 && (rgb >> 8 & 0xFF) < 0x40 && (rgb & 0xFF) < 0x40 ? 1 : 0;
+      }
+    }
+
+    assertTrue("Red pixels: " + red, red > 0);
+  }
+
+  /** Tests {@link JLogView#setIndex(LogIndex)}. */
+  @Test
+  public void setIndex_index_matchingLinesDisplayed() throws Exception {
+    LogStore store = new LogStore();
+    appendLines(store, 0, 99);
+    JLogView view = new JLogView(store);
+    LogIndex index = new LogIndex(store, Pattern.compile("5$"), LogIndex.ALL_LEVELS);
+
+    try {
+      SwingUtilities.invokeAndWait(() -> view.setIndex(index));
+
+      for (int i = 0; i < 1000 && index.isScanning(); i++) {
+        Thread.sleep(5);
+      }
+
+      SwingUtilities.invokeAndWait(() -> {
+        // waits for the notification of the index
+      });
+
+      assertEquals(10 * view.getRowHeight(), view.getPreferredSize().height);
+      assertEquals(15, view.getLineAt(new Point(0, view.getRowHeight() + 1)));
+      assertEquals(-1, view.getLineAt(new Point(0, 10 * view.getRowHeight() + 1)));
+
+      view.setIndex(null);
+
+      assertEquals(100 * view.getRowHeight(), view.getPreferredSize().height);
+    } finally {
+      index.close();
+    }
+  }
+
+  /** Tests {@link JLogView#setAuto(boolean)}. */
+  @Test
+  public void setAuto_false_displayedLinesStay() throws Exception {
+    LogStore store = new LogStore(100, LogStore.UNBOUNDED);
+    JLogView view = new JLogView(store);
+    JViewport viewport = viewport(view, 10);
+    view.setAuto(false);
+    SwingUtilities.invokeAndWait(() -> appendLines(store, 0, 99));
+    viewport.setViewPosition(new Point(0, 50 * view.getRowHeight()));
+
+    // Removes the 11 oldest lines, down to 90 lines
+    SwingUtilities.invokeAndWait(() -> appendLines(store, 100, 100));
+
+    assertEquals(11, store.getFirstLine());
+    assertEquals(50, view.getLineAt(viewport.getViewPosition()));
+  }
+
+  /** Tests {@link JLogView#setAuto(boolean)}. */
+  @Test
+  public void setAuto_true_followsLastLine() throws Exception {
+    LogStore store = new LogStore();
+    JLogView view = new JLogView(store);
+    JViewport viewport = viewport(view, 10);
+    view.setAuto(false);
+    SwingUtilities.invokeAndWait(() -> appendLines(store, 0, 99));
+
+    assertEquals(0, viewport.getViewPosition().y);
+
+    view.setAuto(true);
+
+    assertEquals(90, view.getLineAt(viewport.getViewPosition()));
+
+    SwingUtilities.invokeAndWait(() -> appendLines(store, 100, 109));
+
+    assertEquals(100, view.getLineAt(viewport.getViewPosition()));
+    assertEquals(110 * view.getRowHeight(), view.getHeight());
+  }
+}
@@ -1,9 +1,292 @@
 package net.ghielmetti.utilities.swing;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+
+import org.apache.log4j.Level;
+import org.junit.Test;
+
+import net.ghielmetti.utilities.swing.text.JBoundedDocument;
+
 /**
  * Tests for {@link JTextAreaPanel} class.
  * 
  * @author Leopoldo Ghielmetti
  */
 public class JTextAreaPanelTest {
+  private static void waitForFilter(final JTextAreaPanel inPanel) throws InterruptedException, InvocationTargetException {
+    waitForTimer(inPanel.getFilterTimer());
+  }
+
+  private static void waitForTimer(final Timer inTimer) throws InterruptedException, InvocationTargetException {
+    for (int i = 0; i < 1000 && inTimer.isRunning(); i++) {
+      Thread.sleep(5);
+    }
+
+    assertFalse(inTimer.isRunning());
+    SwingUtilities.invokeAndWait(() -> {
+      // waits for the action of the timer
+    });
+  }
+
+  /** Tests {@link JTextAreaPanel#append(String)}. */
+  @Test
+  public void append_tooManyLines_oldestRemoved() {
+    JTextAreaPanel panel = new JTextAreaPanel();
+    panel.setMaximumLines(10);
+
+    for (int i = 0; i < 10; i++) {
+      panel.append("message" + i + "\n");
+    }
+
+    // All the 10 lines are kept
+    assertEquals("message0\n", panel.getTextArea().getText().substring(0, 9));
+
+    panel.append("message10\n");
+
+    assertEquals("message2\n", panel.getTextArea().getText().substring(0, 9));
+    assertEquals(panel.getTextArea().getDocument().getLength(), panel.getTextArea().getCaretPosition());
+  }
+
+  /** Tests {@link JTextAreaPanel#appendLater(String)}. */
+  @Test
+  public void appendLater_batchSizeReached_singleAppend() throws InterruptedException, InvocationTargetException {
+    JTextAreaPanel panel = new JTextAreaPanel();
+    AtomicInteger inserts = new AtomicInteger();
+    panel.getTextArea().getDocument().addDocumentListener(new InsertCounter(inserts));
+    panel.setBatchSize(3);
+
+    panel.appendLater("a\n");
+    panel.appendLater("b\n");
+    panel.appendLater("c\n");
+    SwingUtilities.invokeAndWait(() -> {
+      // waits for the append posted by the third message
+    });
+
+    assertEquals("a\nb\nc\n", panel.getTextArea().getText());
+    assertEquals(1, inserts.get());
+  }
+
+  /** Tests {@link JTextAreaPanel#appendLater(int, long, String, String)}. */
+  @Test
+  public void appendLater_eventInLogView_recordKept() throws InterruptedException, InvocationTargetException {
+    JTextAreaPanel panel = new JTextAreaPanel();
+    panel.setLogView(true);
+    panel.setBatchSize(2);
+    AtomicInteger changes = new AtomicInteger();
+    LogStore store = panel.getLogView().getStore();
+    store.addChangeListener(inEvent -> changes.incrementAndGet());
+
+    panel.appendLater(Level.ERROR_INT, 10L, "logger", "message");
+    panel.appendLater("text\n");
+    SwingUtilities.invokeAndWait(() -> {
+      // waits for the append posted by the second message
+    });
+
+    assertEquals(2, store.getLineCount());
+    assertEquals("message", store.getLine(0));
+    assertEquals(Level.ERROR_INT, store.getLevel(0));
+    assertEquals("logger", store.getLogger(0));
+    assertEquals("text", store.getLine(1));
+    assertEquals(1, changes.get());
+  }
+
+  /** Tests {@link JTextAreaPanel#appendLater(int, long, String, String)}. */
+  @Test
+  public void appendLater_eventInTextArea_lineWithLevelAndLogger() throws InterruptedException, InvocationTargetException {
+    JTextAreaPanel panel = new JTextAreaPanel();
+    panel.setBatchSize(1);
+
+    panel.appendLater(Level.WARN_INT, 10L, "logger", "message");
+    SwingUtilities.invokeAndWait(() -> {
+      // waits for the append posted by the message
+    });
+
+    assertEquals("WARN logger - message\n", panel.getTextArea().getText());
+  }
+
+  /** Tests {@link JTextAreaPanel#appendLater(String)}. */
+  @Test
+  public void appendLater_fewMessages_appendedAfterDelay() throws InterruptedException, InvocationTargetException {
+    JTextAreaPanel panel = new JTextAreaPanel();
+
+    panel.appendLater("a\n");
+    panel.appendLater("b\n");
+    // The timer stops once it has appended the messages
+    waitForTimer(panel.getDrainTimer());
+
+    assertEquals("a\nb\n", panel.getTextArea().getText());
+  }
+
+  /** Tests {@link JTextAreaPanel#clear()}. */
+  @Test
+  public void clear_text_empty() {
+    JTextAreaPanel panel = new JTextAreaPanel();
+    panel.append("message\n");
+
+    panel.clear();
+
+    assertEquals("", panel.getTextArea().getText());
+  }
+
+  /** Tests {@link JTextAreaPanel#getBatchSize()}. */
+  @Test
+  public void getBatchSize_new_default() {
+    assertEquals(JTextAreaPanel.DEFAULT_BATCH_SIZE, new JTextAreaPanel().getBatchSize());
+  }
+
+  /** Tests {@link JTextAreaPanel#getFilterField()}. */
+  @Test
+  public void getFilterField_typing_indexBuiltAfterDelay() throws InterruptedException, InvocationTargetException {
+    JTextAreaPanel panel = new JTextAreaPanel();
+    panel.setLogView(true);
+
+    panel.getFilterField().setText("ex");
+    panel.getFilterField().setText("exc");
+
+    // Not scanned while typing
+    assertNull(panel.getLogView().getIndex());
+
+    waitForFilter(panel);
+
+    assertEquals("exc", panel.getLogView().getIndex().getPattern().pattern());
+    panel.close();
+  }
+
+  /** Tests {@link JTextAreaPanel#getMaximumLines()}. */
+  @Test
+  public void getMaximumLines_new_unbounded() {
+    JTextAreaPanel panel = new JTextAreaPanel();
+
+    assertEquals(JBoundedDocument.UNBOUNDED, panel.getMaximumLines());
+    assertEquals(JBoundedDocument.UNBOUNDED, panel.getMaximumCharacters());
+  }
+
+  /** Tests {@link JTextAreaPanel#setBatchSize(int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void setBatchSize_zero_throwsException() {
+    new JTextAreaPanel().setBatchSize(0);
+  }
+
+  /** Tests {@link JTextAreaPanel#setFilter(String, Level)}. */
+  @Test
+  public void setFilter_invalidRegex_previousFilterKept() throws BadLocationException, InterruptedException, InvocationTargetException {
+    JTextAreaPanel panel = new JTextAreaPanel();
+    panel.setLogView(true);
+    panel.setFilter("a", Level.ALL);
+    LogIndex index = panel.getLogView().getIndex();
+
+    panel.getFilterField().getDocument().insertString(1, "[", null);
+    waitForFilter(panel);
+
+    assertEquals(index, panel.getLogView().getIndex());
+    assertEquals(Color.RED, panel.getFilterField().getBackground());
+    panel.close();
+  }
+
+  /** Tests {@link JTextAreaPanel#setFilter(String, Level)}. */
+  @Test
+  public void setFilter_regexAndLevel_indexOfLogView() throws InterruptedException, InvocationTargetException {
+    JTextAreaPanel panel = new JTextAreaPanel();
+    panel.setLogView(true);
+
+    panel.setFilter("exception", Level.WARN);
+
+    LogIndex index = panel.getLogView().getIndex();
+    assertEquals("exception", panel.getFilter());
+    assertEquals(Level.WARN, panel.getFilterLevel());
+    assertEquals("exception", index.getPattern().pattern());
+    assertEquals(Level.WARN_INT, index.getMinimumLevel());
+
+    // The changes of the filter bar don't build another index
+    waitForFilter(panel);
+
+    assertSame(index, panel.getLogView().getIndex());
+
+    panel.setFilter("", Level.ALL);
+
+    assertNull(panel.getLogView().getIndex());
+    panel.close();
+  }
+
+  /** Tests {@link JTextAreaPanel#setLogView(boolean)}. */
+  @Test
+  public void setLogView_false_linesMovedBack() {
+    JTextAreaPanel panel = new JTextAreaPanel();
+    panel.setLogView(true);
+    panel.append("message1\nmessage2\n");
+
+    panel.setLogView(false);
+
+    assertFalse(panel.isLogView());
+    assertEquals("message1\nmessage2\n", panel.getTextArea().getText());
+    assertEquals(0, panel.getLogView().getStore().getLineCount());
+  }
+
+  /** Tests {@link JTextAreaPanel#setLogView(boolean)}. */
+  @Test
+  public void setLogView_true_linesInStore() {
+    JTextAreaPanel panel = new JTextAreaPanel();
+    panel.setMaximumLines(10);
+    panel.append("message1\n");
+
+    panel.setLogView(true);
+    panel.append("message2\n");
+
+    LogStore store = panel.getLogView().getStore();
+    assertTrue(panel.isLogView());
+    assertEquals("", panel.getTextArea().getText());
+    assertEquals(2, store.getLineCount());
+    assertEquals("message2", store.getLine(store.getFirstLine() + 1));
+    assertEquals(10, store.getMaximumLines());
+  }
+
+  /** Tests {@link JTextAreaPanel#setMaximumCharacters(int)}. */
+  @Test
+  public void setMaximumCharacters_longerText_oldestRemoved() {
+    JTextAreaPanel panel = new JTextAreaPanel();
+    panel.append("message1\nmessage2\n");
+
+    panel.setMaximumCharacters(10);
+
+    assertEquals(10, panel.getMaximumCharacters());
+    assertEquals("message2\n", panel.getTextArea().getText());
+  }
+
+  /** Counts the insertions in a document. */
+  private static final class InsertCounter implements DocumentListener {
+    private final AtomicInteger inserts;
+
+    InsertCounter(final AtomicInteger inInserts) {
+      inserts = inInserts;
+    }
+
+    @Override
+    public void changedUpdate(final DocumentEvent inEvent) {
+      // nothing to do
+    }
+
+    @Override
+    public void insertUpdate(final DocumentEvent inEvent) {
+      inserts.incrementAndGet();
+    }
+
+    @Override
+    public void removeUpdate(final DocumentEvent inEvent) {
+      // nothing to do
+    }
+  }
 }
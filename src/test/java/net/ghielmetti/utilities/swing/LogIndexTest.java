@@ -0,0 +1,180 @@
+package net.ghielmetti.utilities.swing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import javax.swing.SwingUtilities;
+
+import org.apache.log4j.Level;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests for {@link LogIndex} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class LogIndexTest {
+  private LogIndex index;
+
+  private static void appendLines(final LogStore inStore, final int inFirst, final int inLast) {
+    for (int i = inFirst; i <= inLast; i++) {
+      inStore.append("line" + i + "\n");
+    }
+  }
+
+  private static void waitForScan(final LogIndex inIndex) throws InterruptedException {
+    for (int i = 0; i < 1000 && inIndex.isScanning(); i++) {
+      Thread.sleep(5);
+    }
+
+    assertFalse(inIndex.isScanning());
+  }
+
+  /** Tests {@link LogIndex#addChangeListener(javax.swing.event.ChangeListener)}. */
+  @Test
+  public void addChangeListener_match_notifiedInEventDispatchThread() throws InterruptedException, InvocationTargetException {
+    LogStore store = new LogStore();
+    index = new LogIndex(store, Pattern.compile("7"), LogIndex.ALL_LEVELS);
+    AtomicInteger notifications = new AtomicInteger();
+    index.addChangeListener(inEvent -> notifications.addAndGet(SwingUtilities.isEventDispatchThread() ? 1 : 1000));
+
+    appendLines(store, 0, 9);
+    waitForScan(index);
+    SwingUtilities.invokeAndWait(() -> {
+      // waits for the notification
+    });
+
+    assertEquals(1, notifications.get());
+  }
+
+  /** Closes the index. */
+  @After
+  public void close() {
+    if (index != null) {
+      index.close();
+    }
+  }
+
+  /** Tests {@link LogIndex#close()}. */
+  @Test
+  public void close_newLines_notScanned() throws InterruptedException {
+    LogStore store = new LogStore();
+    index = new LogIndex(store, null, LogIndex.ALL_LEVELS);
+    appendLines(store, 0, 9);
+    waitForScan(index);
+
+    index.close();
+    appendLines(store, 10, 19);
+
+    assertFalse(index.isScanning());
+    assertEquals(10, index.getSize());
+  }
+
+  /** Tests {@link LogIndex#LogIndex(LogStore, Pattern, int)}. */
+  @Test
+  public void logIndex_history_matchingLinesIndexed() throws InterruptedException {
+    LogStore store = new LogStore();
+    appendLines(store, 0, 9999);
+
+    index = new LogIndex(store, Pattern.compile("7$"), LogIndex.ALL_LEVELS);
+    waitForScan(index);
+
+    assertEquals(1000, index.getSize());
+    assertEquals(7, index.getLine(0));
+    assertEquals(9997, index.getLine(999));
+    assertEquals(-1, index.getLine(1000));
+  }
+
+  /** Tests {@link LogIndex#LogIndex(LogStore, Pattern, int)}. */
+  @Test
+  public void logIndex_minimumLevel_lowerLevelsSkipped() throws InterruptedException {
+    LogStore store = new LogStore();
+    store.append("text\n");
+    store.append(Level.DEBUG_INT, 0L, "logger", "debug");
+    store.append(Level.ERROR_INT, 0L, "logger", "error\n\tat x");
+
+    index = new LogIndex(store, null, Level.WARN_INT);
+    waitForScan(index);
+
+    // The stack trace has the level of its event
+    assertEquals(2, index.getSize());
+    assertEquals(2, index.getLine(0));
+    assertEquals(3, index.getLine(1));
+  }
+
+  /** Tests {@link LogIndex#LogIndex(LogStore, Pattern, int)}. */
+  @Test
+  public void logIndex_newLines_onlyNewLinesScanned() throws InterruptedException {
+    AtomicInteger reads = new AtomicInteger();
+    LogStore store = new LogStore() {
+      @Override
+      public synchronized String getLine(final long inLine) {
+        reads.incrementAndGet();
+        return super.getLine(inLine);
+      }
+    };
+    appendLines(store, 0, 9999);
+    index = new LogIndex(store, Pattern.compile("line1"), LogIndex.ALL_LEVELS);
+    waitForScan(index);
+    reads.set(0);
+
+    appendLines(store, 10000, 10009);
+    waitForScan(index);
+
+    assertEquals(10, reads.get());
+    assertEquals(1111 + 10, index.getSize());
+    assertEquals(10009, index.getLine(index.getEndEntry() - 1));
+  }
+
+  /** Tests {@link LogIndex#LogIndex(LogStore, Pattern, int)}. */
+  @Test
+  public void logIndex_openLine_scannedOnceTerminated() throws InterruptedException {
+    LogStore store = new LogStore();
+    index = new LogIndex(store, Pattern.compile("ab"), LogIndex.ALL_LEVELS);
+
+    store.append("a");
+    waitForScan(index);
+
+    assertEquals(0, index.getSize());
+
+    store.append("b\n");
+    waitForScan(index);
+
+    assertEquals(1, index.getSize());
+  }
+
+  /** Tests {@link LogIndex#LogIndex(LogStore, Pattern, int)}. */
+  @Test
+  public void logIndex_removedLines_entriesRemoved() throws InterruptedException {
+    LogStore store = new LogStore(100, LogStore.UNBOUNDED);
+    index = new LogIndex(store, null, LogIndex.ALL_LEVELS);
+
+    appendLines(store, 0, 99);
+    waitForScan(index);
+
+    // Removes the 11 oldest lines, down to 90 lines
+    appendLines(store, 100, 100);
+    waitForScan(index);
+
+    assertEquals(store.getLineCount(), index.getSize());
+    assertEquals(11, index.getFirstEntry());
+    assertEquals(store.getFirstLine(), index.getLine(index.getFirstEntry()));
+  }
+
+  /** Tests {@link LogIndex#toString()}. */
+  @Test
+  public void toString_lines_describesIndex() throws InterruptedException {
+    LogStore store = new LogStore();
+    appendLines(store, 0, 2);
+
+    index = new LogIndex(store, Pattern.compile("line[12]"), LogIndex.ALL_LEVELS);
+    waitForScan(index);
+
+    assertEquals("LogIndex[firstEntry=0, endEntry=2, scannedLine=3]", index.toString());
+  }
+}
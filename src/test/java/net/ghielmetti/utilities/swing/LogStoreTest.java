@@ -0,0 +1,224 @@
+package net.ghielmetti.utilities.swing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Level;
+import org.junit.Test;
+
+/**
+ * Tests for {@link LogStore} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class LogStoreTest {
+  private static void appendLines(final LogStore inStore, final int inFirst, final int inLast) {
+    for (int i = inFirst; i <= inLast; i++) {
+      inStore.append("line" + i + "\n");
+    }
+  }
+
+  /** Tests {@link LogStore#addChangeListener(javax.swing.event.ChangeListener)}. */
+  @Test
+  public void addChangeListener_append_notified() {
+    LogStore store = new LogStore();
+    AtomicInteger changes = new AtomicInteger();
+    store.addChangeListener(inEvent -> changes.incrementAndGet());
+
+    store.append("line1\nline2\n");
+    store.clear();
+
+    assertEquals(2, changes.get());
+  }
+
+  /** Tests {@link LogStore#append(int, long, String, String)}. */
+  @Test
+  public void append_event_recordKept() {
+    LogStore store = new LogStore();
+
+    store.append(Level.WARN_INT, 1000L, "a.b", "message\n\tat x");
+
+    assertEquals(2, store.getLineCount());
+    assertEquals("message", store.getLine(0));
+    assertTrue(store.isEventStart(0));
+    assertEquals(Level.WARN_INT, store.getLevel(0));
+    assertEquals(1000L, store.getTimestamp(0));
+    assertEquals("a.b", store.getLogger(0));
+    assertFalse(store.isEventStart(1));
+    assertEquals(Level.WARN_INT, store.getLevel(1));
+    assertEquals("a.b", store.getLogger(1));
+    assertEquals(3, store.getLongestLogger());
+  }
+
+  /** Tests {@link LogStore#append(int, long, String, String)}. */
+  @Test
+  public void append_eventAfterOpenLine_newLine() {
+    LogStore store = new LogStore();
+    store.append("open");
+
+    store.append(Level.INFO_INT, 0L, "a", "");
+    store.append("text");
+
+    assertEquals(3, store.getLineCount());
+    assertEquals("open", store.getLine(0));
+    assertEquals(0, store.getLevel(0));
+    assertNull(store.getLogger(0));
+    assertEquals("", store.getLine(1));
+    assertTrue(store.isEventStart(1));
+    assertEquals("text", store.getLine(2));
+    assertFalse(store.isEventStart(2));
+  }
+
+  /** Tests {@link LogStore#append(int, long, String, String)}. */
+  @Test
+  public void append_manyEvents_recordsFollowLines() {
+    LogStore store = new LogStore(3000, LogStore.UNBOUNDED);
+
+    for (int i = 0; i < 10000; i++) {
+      store.append(Level.DEBUG_INT, i, "logger" + i % 3, "message" + i);
+    }
+
+    long first = store.getFirstLine();
+    assertEquals(first, store.getTimestamp(first));
+    assertEquals("logger" + first % 3, store.getLogger(first));
+    assertEquals("message9999", store.getLine(9999));
+    assertEquals("logger0", store.getLogger(9999));
+    assertEquals(0, store.getLevel(first - 1));
+  }
+
+  /** Tests {@link LogStore#append(String)}. */
+  @Test
+  public void append_manyLines_ringsGrow() {
+    LogStore store = new LogStore(3000, LogStore.UNBOUNDED);
+
+    appendLines(store, 0, 9999);
+
+    assertEquals("line9999", store.getLine(9999));
+    assertEquals(store.getEndLine() - store.getFirstLine(), store.getLineCount());
+    assertEquals("line" + store.getFirstLine(), store.getLine(store.getFirstLine()));
+  }
+
+  /** Tests {@link LogStore#append(String)}. */
+  @Test
+  public void append_openLine_continued() {
+    LogStore store = new LogStore();
+
+    store.append("first ");
+    store.append("line\r\nsecond");
+
+    assertEquals(2, store.getLineCount());
+    assertEquals("first line", store.getLine(0));
+    assertEquals("second", store.getLine(1));
+
+    store.append("\n\n");
+
+    assertEquals(3, store.getLineCount());
+    assertEquals("second", store.getLine(1));
+    assertEquals("", store.getLine(2));
+  }
+
+  /** Tests {@link LogStore#append(String)}. */
+  @Test
+  public void append_tooLongLine_lineCut() {
+    LogStore store = new LogStore(LogStore.UNBOUNDED, 10);
+
+    store.append("abcdefghijklmnop");
+
+    assertEquals(1, store.getLineCount());
+    assertEquals("hijklmnop", store.getLine(0));
+  }
+
+  /** Tests {@link LogStore#append(String)}. */
+  @Test
+  public void append_tooManyCharacters_wholeLinesRemoved() {
+    LogStore store = new LogStore(LogStore.UNBOUNDED, 30);
+
+    appendLines(store, 1, 7);
+
+    assertEquals(2, store.getFirstLine());
+    assertEquals("line3", store.getLine(2));
+  }
+
+  /** Tests {@link LogStore#append(String)}. */
+  @Test
+  public void append_tooManyLines_chunkRemoved() {
+    LogStore store = new LogStore(20, LogStore.UNBOUNDED);
+
+    appendLines(store, 0, 19);
+
+    assertEquals(0, store.getFirstLine());
+
+    appendLines(store, 20, 20);
+
+    assertEquals(3, store.getFirstLine());
+    assertEquals(18, store.getLineCount());
+    assertNull(store.getLine(2));
+    assertEquals("line3", store.getLine(3));
+  }
+
+  /** Tests {@link LogStore#clear()}. */
+  @Test
+  public void clear_lines_numberingContinues() {
+    LogStore store = new LogStore();
+    appendLines(store, 0, 2);
+
+    store.clear();
+    appendLines(store, 3, 3);
+
+    assertEquals(3, store.getFirstLine());
+    assertEquals(1, store.getLineCount());
+    assertEquals("line3", store.getLine(3));
+  }
+
+  /** Tests {@link LogStore#getLine(long)}. */
+  @Test
+  public void getLine_notAdded_null() {
+    LogStore store = new LogStore();
+    appendLines(store, 0, 0);
+
+    assertNull(store.getLine(1));
+    assertNull(store.getLine(-1));
+  }
+
+  /** Tests {@link LogStore#getLongestLine()}. */
+  @Test
+  public void getLongestLine_tab_countsTabSize() {
+    LogStore store = new LogStore();
+
+    store.append("12345\n\tat x\n");
+
+    assertEquals(LogStore.TAB_SIZE + 4, store.getLongestLine());
+  }
+
+  /** Tests {@link LogStore#LogStore(int, int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void logStore_noCharacter_throwsException() {
+    new LogStore(10, 0);
+  }
+
+  /** Tests {@link LogStore#setMaximumLines(int)}. */
+  @Test
+  public void setMaximumLines_fewerLines_linesRemoved() {
+    LogStore store = new LogStore();
+    appendLines(store, 0, 2);
+
+    store.setMaximumLines(2);
+
+    assertEquals(2, store.getMaximumLines());
+    assertEquals(2, store.getLineCount());
+    assertEquals("line1", store.getLine(1));
+  }
+
+  /** Tests {@link LogStore#toString()}. */
+  @Test
+  public void toString_lines_describesStore() {
+    LogStore store = new LogStore();
+    appendLines(store, 0, 1);
+
+    assertEquals("LogStore[firstLine=0, endLine=2, characters=10]", store.toString());
+  }
+}
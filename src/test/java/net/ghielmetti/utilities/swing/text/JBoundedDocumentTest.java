@@ -0,0 +1,118 @@
+package net.ghielmetti.utilities.swing.text;
+
+import static org.junit.Assert.assertEquals;
+
+import javax.swing.text.BadLocationException;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link JBoundedDocument} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class JBoundedDocumentTest {
+  private static void appendLines(final JBoundedDocument inDocument, final int inFirst, final int inLast) throws BadLocationException {
+    for (int i = inFirst; i <= inLast; i++) {
+      inDocument.insertString(inDocument.getLength(), "line" + i + "\n", null);
+    }
+  }
+
+  private static String text(final JBoundedDocument inDocument) throws BadLocationException {
+    return inDocument.getText(0, inDocument.getLength());
+  }
+
+  /** Tests {@link JBoundedDocument#JBoundedDocument(int, int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_noLine_throwsException() {
+    new JBoundedDocument(0, 10);
+  }
+
+  /** Tests {@link JBoundedDocument#JBoundedDocument()}. */
+  @Test
+  public void constructor_noLimits_unbounded() {
+    JBoundedDocument document = new JBoundedDocument();
+
+    assertEquals(JBoundedDocument.UNBOUNDED, document.getMaximumLines());
+    assertEquals(JBoundedDocument.UNBOUNDED, document.getMaximumCharacters());
+  }
+
+  /** Tests {@link JBoundedDocument#insertString(int, String, javax.swing.text.AttributeSet)}. */
+  @Test
+  public void insertString_tooLongLine_lineCut() throws BadLocationException {
+    JBoundedDocument document = new JBoundedDocument(JBoundedDocument.UNBOUNDED, 10);
+
+    document.insertString(0, "abcdefghijklmnop", null);
+
+    assertEquals("hijklmnop", text(document));
+  }
+
+  /** Tests {@link JBoundedDocument#insertString(int, String, javax.swing.text.AttributeSet)}. */
+  @Test
+  public void insertString_tooManyCharacters_wholeLinesRemoved() throws BadLocationException {
+    JBoundedDocument document = new JBoundedDocument(JBoundedDocument.UNBOUNDED, 40);
+
+    appendLines(document, 1, 7);
+
+    assertEquals("line2\nline3\nline4\nline5\nline6\nline7\n", text(document));
+  }
+
+  /** Tests {@link JBoundedDocument#insertString(int, String, javax.swing.text.AttributeSet)}. */
+  @Test
+  public void insertString_tooManyLines_chunkRemoved() throws BadLocationException {
+    JBoundedDocument document = new JBoundedDocument(20, JBoundedDocument.UNBOUNDED);
+
+    appendLines(document, 1, 20);
+
+    // The empty line after the last newline doesn't count
+    assertEquals(21, document.getDefaultRootElement().getElementCount());
+    assertEquals("line1\n", document.getText(0, 6));
+
+    appendLines(document, 21, 21);
+
+    // 18 lines are kept, and the empty line after the last newline
+    assertEquals(19, document.getDefaultRootElement().getElementCount());
+    assertEquals("line4\n", document.getText(0, 6));
+
+    appendLines(document, 22, 23);
+
+    assertEquals(21, document.getDefaultRootElement().getElementCount());
+    assertEquals("line4\n", document.getText(0, 6));
+  }
+
+  /** Tests {@link JBoundedDocument#setMaximumCharacters(int)}. */
+  @Test
+  public void setMaximumCharacters_shorterText_linesRemoved() throws BadLocationException {
+    JBoundedDocument document = new JBoundedDocument();
+    appendLines(document, 1, 3);
+
+    document.setMaximumCharacters(10);
+
+    assertEquals(10, document.getMaximumCharacters());
+    assertEquals("line3\n", text(document));
+  }
+
+  /** Tests {@link JBoundedDocument#setMaximumLines(int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void setMaximumLines_negative_throwsException() {
+    new JBoundedDocument().setMaximumLines(-1);
+  }
+
+  /** Tests {@link JBoundedDocument#setMaximumLines(int)}. */
+  @Test
+  public void setMaximumLines_fewerLines_linesRemoved() throws BadLocationException {
+    JBoundedDocument document = new JBoundedDocument();
+    appendLines(document, 1, 3);
+
+    document.setMaximumLines(2);
+
+    assertEquals(2, document.getMaximumLines());
+    assertEquals("line2\nline3\n", text(document));
+  }
+
+  /** Tests {@link JBoundedDocument#toString()}. */
+  @Test
+  public void toString_limits_describesLimits() {
+    assertEquals("JBoundedDocument[maximumLines=10, maximumCharacters=2000]", new JBoundedDocument(10, 2000).toString());
+  }
+}
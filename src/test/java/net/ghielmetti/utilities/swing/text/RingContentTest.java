@@ -0,0 +1,189 @@
+package net.ghielmetti.utilities.swing.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.GapContent;
+import javax.swing.text.PlainDocument;
+import javax.swing.text.Position;
+import javax.swing.text.Segment;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link RingContent} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class RingContentTest {
+  /** Tests {@link RingContent#RingContent(int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_noCapacity_throwsException() {
+    new RingContent(0);
+  }
+
+  /** Tests {@link RingContent#createPosition(int)}. */
+  @Test(expected = BadLocationException.class)
+  public void createPosition_afterEnd_throwsException() throws BadLocationException {
+    new RingContent().createPosition(2);
+  }
+
+  /** Tests {@link RingContent#createPosition(int)}. */
+  @Test
+  public void createPosition_removedAtBeginning_notUpdatedAnymore() throws BadLocationException {
+    RingContent content = new RingContent();
+    content.insertString(0, "line1\nline2\n");
+    Position position = content.createPosition(3);
+    content.createPosition(8);
+
+    content.remove(0, 6);
+
+    assertEquals(0, position.getOffset());
+    assertEquals(1, content.getMarkCount());
+  }
+
+  /** Tests {@link RingContent#createPosition(int)}. */
+  @Test
+  public void createPosition_sameOffset_shared() throws BadLocationException {
+    RingContent content = new RingContent();
+    PlainDocument document = new PlainDocument(content);
+
+    for (int i = 0; i < 1000; i++) {
+      document.insertString(document.getLength(), "line" + i + "\n", null);
+    }
+
+    // One position by line boundary (1001 lines with the last empty one), the replaced lines leave none at the end
+    assertEquals(1002, content.getMarkCount());
+  }
+
+  /** Tests {@link RingContent#getChars(int, int, Segment)}. */
+  @Test
+  public void getChars_aroundTheEnd_copied() throws BadLocationException {
+    RingContent content = new RingContent(8);
+    content.insertString(0, "abcdef");
+    content.remove(0, 4);
+    content.insertString(2, "ghij");
+    Segment segment = new Segment();
+
+    content.getChars(0, 6, segment);
+
+    assertEquals("efghij", segment.toString());
+    assertEquals(8, content.getCapacity());
+  }
+
+  /** Tests {@link RingContent#getChars(int, int, Segment)}. */
+  @Test
+  public void getChars_partialReturn_contiguousPart() throws BadLocationException {
+    RingContent content = new RingContent(8);
+    content.insertString(0, "abcdef");
+    content.remove(0, 4);
+    content.insertString(2, "ghij");
+    Segment segment = new Segment();
+    segment.setPartialReturn(true);
+
+    content.getChars(0, 6, segment);
+
+    assertEquals("ef", segment.toString());
+  }
+
+  /** Tests {@link RingContent#getString(int, int)}. */
+  @Test(expected = BadLocationException.class)
+  public void getString_afterEnd_throwsException() throws BadLocationException {
+    new RingContent().getString(0, 2);
+  }
+
+  /** Tests {@link RingContent#getString(int, int)}. */
+  @Test
+  public void getString_new_newline() throws BadLocationException {
+    RingContent content = new RingContent();
+
+    assertEquals(1, content.length());
+    assertEquals("\n", content.getString(0, 1));
+  }
+
+  /** Tests {@link RingContent#insertString(int, String)}. */
+  @Test(expected = BadLocationException.class)
+  public void insertString_afterNewline_throwsException() throws BadLocationException {
+    new RingContent().insertString(1, "a");
+  }
+
+  /** Tests {@link RingContent#insertString(int, String)}. */
+  @Test
+  public void insertString_beyondCapacity_grows() throws BadLocationException {
+    RingContent content = new RingContent(4);
+
+    content.insertString(0, "abcdefghij");
+
+    assertEquals(16, content.getCapacity());
+    assertEquals("abcdefghij\n", content.getString(0, content.length()));
+  }
+
+  /** Tests {@link RingContent#insertString(int, String)} and {@link RingContent#remove(int, int)}. */
+  @Test
+  public void insertString_randomEdits_likeGapContent() throws BadLocationException {
+    Random random = new Random(42);
+    RingContent ring = new RingContent(4);
+    GapContent gap = new GapContent();
+    List<Position> ringPositions = new ArrayList<>();
+    List<Position> gapPositions = new ArrayList<>();
+
+    for (int i = 0; i < 5000; i++) {
+      int length = gap.length();
+      int operation = random.nextInt(10);
+
+      if (operation < 5) {
+        int where = random.nextInt(3) == 0 ? random.nextInt(length) : length - 1;
+        String text = Integer.toString(i) + (random.nextBoolean() ? "\n" : "");
+        assertSame(null, ring.insertString(where, text));
+        gap.insertString(where, text);
+      } else if (operation < 8 && length > 1) {
+        int where = random.nextInt(2) == 0 ? 0 : random.nextInt(length - 1);
+        int count = random.nextInt(Math.min(20, length - where - 1) + 1);
+        ring.remove(where, count);
+        gap.remove(where, count);
+      } else {
+        int offset = random.nextInt(length + 1);
+        ringPositions.add(ring.createPosition(offset));
+        gapPositions.add(gap.createPosition(offset));
+      }
+
+      assertEquals(gap.getString(0, gap.length()), ring.getString(0, ring.length()));
+
+      for (int p = 0; p < gapPositions.size(); p++) {
+        assertEquals("Position " + p + " at step " + i, gapPositions.get(p).getOffset(), ringPositions.get(p).getOffset());
+      }
+    }
+  }
+
+  /** Tests {@link RingContent#remove(int, int)}. */
+  @Test
+  public void remove_atBeginning_positionsFollow() throws BadLocationException {
+    RingContent content = new RingContent();
+    content.insertString(0, "line1\nline2\n");
+    Position start = content.createPosition(6);
+    Position end = content.createPosition(12);
+
+    content.remove(0, 6);
+
+    assertEquals("line2\n\n", content.getString(0, content.length()));
+    assertEquals(0, start.getOffset());
+    assertEquals(6, end.getOffset());
+  }
+
+  /** Tests {@link RingContent#remove(int, int)}. */
+  @Test(expected = BadLocationException.class)
+  public void remove_finalNewline_throwsException() throws BadLocationException {
+    new RingContent().remove(0, 1);
+  }
+
+  /** Tests {@link RingContent#toString()}. */
+  @Test
+  public void toString_new_describesContent() {
+    assertEquals("RingContent[length=1, capacity=1024, positions=0]", new RingContent().toString());
+  }
+}